@@ -0,0 +1,22 @@
+package pe.edu.vallegrande.vg_ms_attorney.blocking;
+
+import reactor.blockhound.BlockHound;
+import reactor.blockhound.BlockingOperationError;
+import reactor.blockhound.integration.BlockHoundIntegration;
+
+// Configuración de BlockHound para el perfil blockhound (cargada por ServiceLoader al instalarse en las pruebas):
+// registra cada llamada bloqueante en BlockingViolations además de lanzar el error en el hilo que bloqueó.
+public class BlockingAllowances implements BlockHoundIntegration {
+
+    @Override
+    public void applyTo(BlockHound.Builder builder) {
+        // El driver de Mongo genera el id de sesión con UUID.randomUUID: la primera lectura de /dev/urandom es
+        // bloqueante pero breve y luego queda en el buffer de SecureRandom
+        builder.allowBlockingCallsInside("java.util.UUID", "randomUUID");
+        builder.blockingMethodCallback(method -> {
+            BlockingOperationError error = new BlockingOperationError(method);
+            BlockingViolations.record(error);
+            throw error;
+        });
+    }
+}
@@ -0,0 +1,47 @@
+package pe.edu.vallegrande.vg_ms_attorney.blocking;
+
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Comprueba que el perfil está activo: un bloqueo en un hilo parallel se detecta aunque el código lo trague
+class BlockingDetectionTest {
+
+    @Test
+    void detectsBlockingCallSwallowedByThePipeline() {
+        Mono<String> swallowed = Mono.delay(Duration.ofMillis(1))
+                .map(tick -> {
+                    try {
+                        Thread.sleep(10);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    return "bloqueó";
+                })
+                .onErrorResume(e -> Mono.just("error tragado"));
+
+        StepVerifier.create(swallowed).expectNext("error tragado").verifyComplete();
+
+        var violations = BlockingViolations.drain();
+        assertEquals(1, violations.size());
+        assertTrue(violations.get(0).getMessage().contains("java.lang.Thread.sleep"));
+    }
+
+    @Test
+    void blockingOnBoundedElasticIsAllowed() {
+        Mono<String> offloaded = Mono.fromCallable(() -> {
+                    Thread.sleep(10);
+                    return "ok";
+                })
+                .subscribeOn(Schedulers.boundedElastic());
+
+        StepVerifier.create(offloaded).expectNext("ok").verifyComplete();
+        assertTrue(BlockingViolations.drain().isEmpty());
+    }
+}
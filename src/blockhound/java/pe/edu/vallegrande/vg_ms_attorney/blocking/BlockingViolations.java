@@ -0,0 +1,26 @@
+package pe.edu.vallegrande.vg_ms_attorney.blocking;
+
+import reactor.blockhound.BlockingOperationError;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Llamadas bloqueantes detectadas en hilos no bloqueantes desde la última prueba.
+// Se guardan aparte porque el BlockingOperationError puede terminar tragado por un onErrorResume del código probado.
+public final class BlockingViolations {
+
+    private static final List<BlockingOperationError> violations = new ArrayList<>();
+
+    private BlockingViolations() {
+    }
+
+    static synchronized void record(BlockingOperationError error) {
+        violations.add(error);
+    }
+
+    public static synchronized List<BlockingOperationError> drain() {
+        List<BlockingOperationError> drained = List.copyOf(violations);
+        violations.clear();
+        return drained;
+    }
+}
@@ -0,0 +1,30 @@
+package pe.edu.vallegrande.vg_ms_attorney.blocking;
+
+import org.junit.jupiter.api.extension.AfterEachCallback;
+import org.junit.jupiter.api.extension.BeforeEachCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import reactor.blockhound.BlockingOperationError;
+
+import java.util.List;
+
+// Falla la prueba si durante su ejecución algún hilo no bloqueante (event loop, parallel) bloqueó,
+// aunque el error no haya llegado hasta la aserción. Se registra por autodetección de extensiones en el perfil blockhound.
+public class FailOnBlockingExtension implements BeforeEachCallback, AfterEachCallback {
+
+    @Override
+    public void beforeEach(ExtensionContext context) {
+        BlockingViolations.drain();
+    }
+
+    @Override
+    public void afterEach(ExtensionContext context) {
+        List<BlockingOperationError> violations = BlockingViolations.drain();
+        if (violations.isEmpty()) {
+            return;
+        }
+        AssertionError failure = new AssertionError(violations.size() + " llamada(s) bloqueante(s) en hilos no bloqueantes: "
+                + violations.get(0).getMessage(), violations.get(0));
+        violations.stream().skip(1).forEach(failure::addSuppressed);
+        throw failure;
+    }
+}
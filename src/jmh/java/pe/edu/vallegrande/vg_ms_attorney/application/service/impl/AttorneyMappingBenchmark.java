@@ -0,0 +1,64 @@
+package pe.edu.vallegrande.vg_ms_attorney.application.service.impl;
+
+import org.mapstruct.factory.Mappers;
+import org.modelmapper.ModelMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import pe.edu.vallegrande.vg_ms_attorney.AttorneyFixtures;
+import pe.edu.vallegrande.vg_ms_attorney.application.mapper.AttorneyMapper;
+import pe.edu.vallegrande.vg_ms_attorney.domain.dto.AttorneyRequest;
+import pe.edu.vallegrande.vg_ms_attorney.domain.dto.AttorneySummary;
+import pe.edu.vallegrande.vg_ms_attorney.domain.model.Attorney;
+
+import java.util.concurrent.TimeUnit;
+
+// Mapeo de createAttorney / importación: ModelMapper (anterior, por reflexión) frente a AttorneyMapper (MapStruct)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AttorneyMappingBenchmark {
+
+    private final ModelMapper modelMapper = new ModelMapper();
+    private final AttorneyMapper attorneyMapper = Mappers.getMapper(AttorneyMapper.class);
+    private final Attorney attorney = AttorneyFixtures.attorney(1);
+    private final AttorneyRequest request = modelMapper.map(attorney, AttorneyRequest.class);
+
+    @Benchmark
+    public Attorney modelMapperShared() {
+        return modelMapper.map(attorney, Attorney.class);
+    }
+
+    // Costo de crear el ModelMapper en cada llamada (incluye la introspección del tipo)
+    @Benchmark
+    public Attorney modelMapperNewInstance() {
+        return new ModelMapper().map(attorney, Attorney.class);
+    }
+
+    @Benchmark
+    public Attorney mapStructCreate() {
+        return attorneyMapper.toNewAttorney(request);
+    }
+
+    // Copia + merge de PATCH, como en applyChanges
+    @Benchmark
+    public Attorney mapStructMerge() {
+        Attorney updated = attorneyMapper.copy(attorney);
+        attorneyMapper.merge(request, updated);
+        return updated;
+    }
+
+    @Benchmark
+    public AttorneySummary mapStructSummary() {
+        return attorneyMapper.toSummary(attorney);
+    }
+}
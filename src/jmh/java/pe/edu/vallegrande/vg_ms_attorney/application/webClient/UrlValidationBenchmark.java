@@ -0,0 +1,63 @@
+package pe.edu.vallegrande.vg_ms_attorney.application.webClient;
+
+import org.apache.commons.validator.routines.UrlValidator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Validación previa de safeExternalRequest: la versión anterior (UrlValidator nuevo en cada llamada + URI)
+// frente a OutboundUrlPolicy, que normaliza la lista permitida una sola vez
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class UrlValidationBenchmark {
+
+    private static final List<String> ALLOWED_DOMAINS = List.of("https://api.permitido.com");
+
+    @Param({
+            "https://api.permitido.com/recursos/123?incluir=detalle",
+            "https://otro-dominio.com/recursos/123",
+            "http://api.permitido.com/sin-https"
+    })
+    public String url;
+
+    private final OutboundUrlPolicy policy = new OutboundUrlPolicy(ALLOWED_DOMAINS);
+
+    @Benchmark
+    public boolean previousCheck() {
+        return isValidUrl(url) && isAllowedDomain(url);
+    }
+
+    @Benchmark
+    public boolean outboundUrlPolicy() {
+        return policy.allowedUri(url) != null;
+    }
+
+    private static boolean isValidUrl(String url) {
+        return new UrlValidator(new String[]{"https"}).isValid(url);
+    }
+
+    private static boolean isAllowedDomain(String url) {
+        try {
+            URI uri = new URI(url);
+            return ALLOWED_DOMAINS.contains(uri.getScheme() + "://" + uri.getHost());
+        } catch (URISyntaxException e) {
+            return false;
+        }
+    }
+}
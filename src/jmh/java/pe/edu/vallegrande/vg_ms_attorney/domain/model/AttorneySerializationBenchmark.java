@@ -0,0 +1,54 @@
+package pe.edu.vallegrande.vg_ms_attorney.domain.model;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import pe.edu.vallegrande.vg_ms_attorney.AttorneyFixtures;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Serialización JSON de las respuestas: un apoderado (/{id}) y listas del tamaño de /actives
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AttorneySerializationBenchmark {
+
+    @Param({"50", "500", "5000"})
+    public int size;
+
+    // Misma configuración base que el ObjectMapper de Spring Boot (JavaTimeModule, sin fechas como timestamp)
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    private Attorney attorney;
+    private List<Attorney> attorneys;
+
+    @Setup
+    public void setUp() {
+        attorney = AttorneyFixtures.attorney(1);
+        attorneys = AttorneyFixtures.attorneys(size);
+    }
+
+    @Benchmark
+    public byte[] writeAttorney() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(attorney);
+    }
+
+    @Benchmark
+    public byte[] writeList() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(attorneys);
+    }
+}
@@ -0,0 +1,82 @@
+package pe.edu.vallegrande.vg_ms_attorney.presentation.filter;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.WebFilterChain;
+import pe.edu.vallegrande.vg_ms_attorney.application.metrics.ReactiveTimers;
+import pe.edu.vallegrande.vg_ms_attorney.application.webClient.AuthServiceClient;
+import pe.edu.vallegrande.vg_ms_attorney.application.webClient.TokenValidationCache;
+import pe.edu.vallegrande.vg_ms_attorney.domain.dto.TokenValidationResponse;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+// Costo del filtro de autenticación por solicitud con un AuthServiceClient sin red.
+// baseline mide lo mismo sin el filtro (creación del exchange y la cadena), para restarlo.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AuthenticationFilterBenchmark {
+
+    private static final String TOKEN = "eyJhbGciOiJSUzI1NiJ9.eyJzdWIiOiJiZW5jaCJ9.firma";
+    private static final TokenValidationResponse VALID = new TokenValidationResponse(true, "ADMIN", "bench");
+    private static final WebFilterChain CHAIN = exchange -> Mono.empty();
+
+    // direct: el cliente responde sin caché; cached: la respuesta sale de TokenValidationCache
+    @Param({"direct", "cached"})
+    public String validation;
+
+    private AuthenticationFilter filter;
+
+    @Setup
+    public void setUp() {
+        filter = new AuthenticationFilter(new StubAuthServiceClient("cached".equals(validation)), "/api/v1");
+    }
+
+    @Benchmark
+    public Void baseline() {
+        return CHAIN.filter(exchange()).block();
+    }
+
+    @Benchmark
+    public Void filter() {
+        return filter.filter(exchange(), CHAIN).block();
+    }
+
+    private static MockServerWebExchange exchange() {
+        return MockServerWebExchange.from(MockServerHttpRequest.get("/directives/attorney/api/v1/actives")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + TOKEN));
+    }
+
+    static class StubAuthServiceClient extends AuthServiceClient {
+
+        private final TokenValidationCache cache;
+
+        StubAuthServiceClient(boolean cached) {
+            super(null, null, null, VerificationMode.REMOTE, false, new ReactiveTimers(new SimpleMeterRegistry()));
+            this.cache = cached ? new TokenValidationCache(1000, Duration.ofMinutes(5), new SimpleMeterRegistry()) : null;
+        }
+
+        @Override
+        public Mono<TokenValidationResponse> validateToken(String token) {
+            return cache == null ? Mono.just(VALID) : cache.get(token, t -> Mono.just(VALID));
+        }
+    }
+}
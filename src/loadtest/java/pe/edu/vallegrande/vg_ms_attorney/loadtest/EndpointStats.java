@@ -0,0 +1,68 @@
+package pe.edu.vallegrande.vg_ms_attorney.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+// Resultados de una operación: histograma de latencias en microsegundos (incluye respuestas con error)
+// y conteo de errores por causa ("HTTP 409", "TimeoutException", ...)
+public class EndpointStats {
+
+    private static final long HIGHEST_MICROS = TimeUnit.MINUTES.toMicros(2);
+
+    private final Histogram latencies = new ConcurrentHistogram(HIGHEST_MICROS, 3);
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder skipped = new LongAdder();
+    private final Map<String, LongAdder> errors = new ConcurrentHashMap<>();
+
+    public void success(long latencyNanos) {
+        requests.increment();
+        latencies.recordValue(micros(latencyNanos));
+    }
+
+    public void failure(long latencyNanos, String cause) {
+        requests.increment();
+        latencies.recordValue(micros(latencyNanos));
+        errors.computeIfAbsent(cause, k -> new LongAdder()).increment();
+    }
+
+    // La solicitud no se envió porque se alcanzó max-in-flight: el servicio no da abasto con el RPS pedido
+    public void skip() {
+        skipped.increment();
+    }
+
+    public long requests() {
+        return requests.sum();
+    }
+
+    public long skipped() {
+        return skipped.sum();
+    }
+
+    public long errorCount() {
+        return errors.values().stream().mapToLong(LongAdder::sum).sum();
+    }
+
+    public Map<String, Long> errors() {
+        Map<String, Long> counts = new TreeMap<>();
+        errors.forEach((cause, count) -> counts.put(cause, count.sum()));
+        return counts;
+    }
+
+    public double percentileMillis(double percentile) {
+        return latencies.getValueAtPercentile(percentile) / 1000.0;
+    }
+
+    public double maxMillis() {
+        return latencies.getMaxValue() / 1000.0;
+    }
+
+    private static long micros(long nanos) {
+        return Math.min(Math.max(TimeUnit.NANOSECONDS.toMicros(nanos), 1), HIGHEST_MICROS);
+    }
+}
@@ -0,0 +1,182 @@
+package pe.edu.vallegrande.vg_ms_attorney.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.google.auth.oauth2.AccessToken;
+import com.google.auth.oauth2.GoogleCredentials;
+import com.google.firebase.FirebaseApp;
+import com.google.firebase.FirebaseOptions;
+import com.google.firebase.internal.FirebaseProcessEnvironment;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+import reactor.netty.http.server.HttpServerRequest;
+import reactor.netty.http.server.HttpServerResponse;
+
+import java.time.Duration;
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Backend falso de Firebase Auth: implementa en memoria las llamadas de identitytoolkit que usa el servicio
+// (accounts, :lookup, :update, :delete, :batchCreate, :batchDelete). El SDK se dirige aquí con
+// FIREBASE_AUTH_EMULATOR_HOST, el mismo mecanismo que usa con el emulador oficial de Firebase.
+// latency simula el tiempo de respuesta de Google para que el pool de FirebaseExecutor trabaje como en producción.
+public class FakeFirebaseAuthServer implements AutoCloseable {
+
+    public static final String PROJECT_ID = "vg-ms-attorney-loadtest";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Map<String, ObjectNode> users = new ConcurrentHashMap<>();
+    private final Map<String, AtomicLong> calls = new ConcurrentHashMap<>();
+    private final Duration latency;
+    private final DisposableServer server;
+
+    public FakeFirebaseAuthServer(Duration latency) {
+        this.latency = latency;
+        this.server = HttpServer.create()
+                .host("127.0.0.1")
+                .port(0)
+                .handle(this::handle)
+                .bindNow();
+    }
+
+    // Debe llamarse antes de arrancar la aplicación: FirebaseConfig reutiliza la FirebaseApp ya inicializada.
+    // Las credenciales son un token fijo, así el SDK no intenta obtener un token OAuth de Google.
+    public void installAsDefaultFirebaseApp() {
+        FirebaseProcessEnvironment.setenv("FIREBASE_AUTH_EMULATOR_HOST", "127.0.0.1:" + server.port());
+        if (FirebaseApp.getApps().isEmpty()) {
+            Date farFuture = new Date(System.currentTimeMillis() + Duration.ofDays(365).toMillis());
+            FirebaseApp.initializeApp(FirebaseOptions.builder()
+                    .setCredentials(GoogleCredentials.create(new AccessToken("owner", farFuture)))
+                    .setProjectId(PROJECT_ID)
+                    .build());
+        }
+    }
+
+    public int userCount() {
+        return users.size();
+    }
+
+    public Map<String, AtomicLong> calls() {
+        return calls;
+    }
+
+    @Override
+    public void close() {
+        server.disposeNow();
+    }
+
+    private Mono<Void> handle(HttpServerRequest request, HttpServerResponse response) {
+        String path = request.uri();
+        int query = path.indexOf('?');
+        if (query >= 0) {
+            path = path.substring(0, query);
+        }
+        String operation = path.substring(path.lastIndexOf('/') + 1);
+        calls.computeIfAbsent(operation, k -> new AtomicLong()).incrementAndGet();
+
+        return request.receive().aggregate().asString().defaultIfEmpty("{}")
+                .delayElement(latency)
+                .flatMap(body -> {
+                    ObjectNode result;
+                    try {
+                        result = apply(operation, (ObjectNode) objectMapper.readTree(body));
+                    } catch (FirebaseError e) {
+                        return send(response, HttpResponseStatus.BAD_REQUEST, error(e.getMessage()));
+                    } catch (Exception e) {
+                        return send(response, HttpResponseStatus.BAD_REQUEST, error("INVALID_ARGUMENT : " + e.getMessage()));
+                    }
+                    return send(response, HttpResponseStatus.OK, result);
+                });
+    }
+
+    private ObjectNode apply(String operation, ObjectNode body) {
+        switch (operation) {
+            case "accounts":
+                return createUser(body);
+            case "accounts:lookup":
+                return lookup(body);
+            case "accounts:update":
+                return updateUser(body);
+            case "accounts:delete":
+                users.remove(body.path("localId").asText());
+                return objectMapper.createObjectNode();
+            case "accounts:batchCreate":
+                body.path("users").forEach(user -> users.put(user.path("localId").asText(), user.deepCopy()));
+                return objectMapper.createObjectNode();
+            case "accounts:batchDelete":
+                body.path("localIds").forEach(uid -> users.remove(uid.asText()));
+                return objectMapper.createObjectNode();
+            default:
+                throw new FirebaseError("OPERATION_NOT_ALLOWED");
+        }
+    }
+
+    private ObjectNode createUser(ObjectNode body) {
+        String uid = body.hasNonNull("localId") ? body.get("localId").asText() : Long.toHexString(System.nanoTime());
+        ObjectNode user = body.deepCopy();
+        user.put("localId", uid);
+        user.remove("password");
+        if (users.putIfAbsent(uid, user) != null) {
+            throw new FirebaseError("DUPLICATE_LOCAL_ID");
+        }
+        return objectMapper.createObjectNode().put("localId", uid);
+    }
+
+    private ObjectNode lookup(ObjectNode body) {
+        ObjectNode result = objectMapper.createObjectNode();
+        body.path("localId").forEach(uid -> {
+            ObjectNode user = users.get(uid.asText());
+            if (user != null) {
+                result.withArray("users").add(user);
+            }
+        });
+        return result;
+    }
+
+    private ObjectNode updateUser(ObjectNode body) {
+        String uid = body.path("localId").asText();
+        ObjectNode user = users.get(uid);
+        if (user == null) {
+            throw new FirebaseError("USER_NOT_FOUND");
+        }
+        synchronized (user) {
+            body.fields().forEachRemaining(field -> {
+                switch (field.getKey()) {
+                    case "disableUser" -> user.set("disabled", field.getValue());
+                    case "password", "localId" -> {
+                    }
+                    case "deleteAttribute" -> field.getValue().forEach(attribute -> user.remove(attribute.asText()));
+                    default -> user.set(field.getKey(), field.getValue());
+                }
+            });
+        }
+        return objectMapper.createObjectNode().put("localId", uid);
+    }
+
+    private JsonNode error(String message) {
+        ObjectNode error = objectMapper.createObjectNode();
+        error.putObject("error").put("code", 400).put("message", message);
+        return error;
+    }
+
+    private Mono<Void> send(HttpServerResponse response, HttpResponseStatus status, JsonNode body) {
+        return response.status(status)
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .sendString(Mono.just(body.toString()))
+                .then();
+    }
+
+    // Código de error de identitytoolkit; el SDK lo traduce a AuthErrorCode (por ejemplo DUPLICATE_LOCAL_ID → UID_ALREADY_EXISTS)
+    private static class FirebaseError extends RuntimeException {
+        FirebaseError(String code) {
+            super(code);
+        }
+    }
+}
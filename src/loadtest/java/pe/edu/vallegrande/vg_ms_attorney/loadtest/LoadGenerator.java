@@ -0,0 +1,248 @@
+package pe.edu.vallegrande.vg_ms_attorney.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import pe.edu.vallegrande.vg_ms_attorney.loadtest.LoadTestOptions.Operation;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+// Genera tráfico de modelo abierto: cada solicitud tiene una hora de envío programada según el RPS y la latencia
+// se mide desde esa hora, no desde el envío real. Así las demoras del propio generador o del servicio saturado
+// aparecen en los percentiles en lugar de ocultarse (omisión coordinada).
+public class LoadGenerator implements AutoCloseable {
+
+    private static final String BASE_PATH = "/directives/attorney/api/v1";
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+    private static final String[] NAMES = {"María Fernanda", "José Luis", "Rosa Elena", "Juan Carlos", "Ana Lucía", "Víctor Raúl"};
+    private static final String[] SURNAMES = {"Quispe Huamán", "Mamani Flores", "Peña Rojas", "Gutiérrez Díaz", "Núñez Chávez", "Ramírez Torres"};
+
+    private final LoadTestOptions options;
+    private final ConnectionProvider connectionProvider;
+    private final WebClient webClient;
+    private final Random random;
+    private final List<String> ids = new ArrayList<>();
+    private final List<String> documentNumbers = new ArrayList<>();
+    private final AtomicInteger nextDocument;
+    private final Operation[] weightedOperations;
+
+    public LoadGenerator(LoadTestOptions options, String appBaseUrl) {
+        this.options = options;
+        this.random = new Random(options.seed());
+        this.nextDocument = new AtomicInteger(options.seedSize());
+        this.connectionProvider = ConnectionProvider.builder("loadtest")
+                .maxConnections(options.maxInFlight())
+                .pendingAcquireMaxCount(-1)
+                .build();
+        this.webClient = WebClient.builder()
+                .baseUrl(appBaseUrl + BASE_PATH)
+                .clientConnector(new ReactorClientHttpConnector(HttpClient.create(connectionProvider)
+                        .responseTimeout(REQUEST_TIMEOUT)))
+                .codecs(codecs -> codecs.defaultCodecs().maxInMemorySize(16 * 1024 * 1024))
+                .build();
+
+        // Cada operación aparece tantas veces como su peso; se elige con un solo nextInt
+        List<Operation> table = new ArrayList<>();
+        options.mix().forEach((operation, weight) -> {
+            for (int i = 0; i < weight; i++) {
+                table.add(operation);
+            }
+        });
+        this.weightedOperations = table.toArray(Operation[]::new);
+    }
+
+    // Carga seedSize apoderados por /import (NDJSON) y guarda sus ids y documentos para las búsquedas
+    public void seed() {
+        List<Map<String, Object>> rows = new ArrayList<>(options.seedSize());
+        for (int i = 0; i < options.seedSize(); i++) {
+            rows.add(attorney(i));
+        }
+        List<JsonNode> results = webClient.post()
+                .uri("/import")
+                .header(HttpHeaders.AUTHORIZATION, bearer(0))
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .accept(MediaType.APPLICATION_NDJSON)
+                .body(Flux.fromIterable(rows), Map.class)
+                .retrieve()
+                .bodyToFlux(JsonNode.class)
+                .collectList()
+                .block(Duration.ofMinutes(10));
+        for (JsonNode result : results) {
+            if (result.path("success").asBoolean()) {
+                int row = (int) result.path("row").asLong(); // índice de la fila, desde 0
+                register(result.path("idAttorney").asText(), (String) rows.get(row).get("documentNumber"));
+            }
+        }
+        if (ids.isEmpty()) {
+            throw new IllegalStateException("No se pudo cargar ningún apoderado: " + results.stream().limit(3).toList());
+        }
+    }
+
+    public int datasetSize() {
+        synchronized (ids) {
+            return ids.size();
+        }
+    }
+
+    // Envía rps * duration solicitudes y espera a que terminen las que quedaron en curso
+    public Map<Operation, EndpointStats> run(Duration duration) {
+        Map<Operation, EndpointStats> stats = new EnumMap<>(Operation.class);
+        options.mix().keySet().forEach(operation -> stats.put(operation, new EndpointStats()));
+        Semaphore inFlight = new Semaphore(options.maxInFlight());
+        double intervalNanos = TimeUnit.SECONDS.toNanos(1) / (double) options.rps();
+        long total = Math.max(1, (long) (duration.toNanos() / intervalNanos));
+        long start = System.nanoTime();
+
+        for (long i = 0; i < total; i++) {
+            long intended = start + (long) (i * intervalNanos);
+            long wait = intended - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            Operation operation = weightedOperations[random.nextInt(weightedOperations.length)];
+            EndpointStats endpoint = stats.get(operation);
+            if (!inFlight.tryAcquire()) {
+                endpoint.skip();
+                continue;
+            }
+            request(operation)
+                    .timeout(REQUEST_TIMEOUT)
+                    .doFinally(signal -> inFlight.release())
+                    .subscribe(status -> {
+                        long latency = System.nanoTime() - intended;
+                        if (status >= 200 && status < 300) {
+                            endpoint.success(latency);
+                        } else {
+                            endpoint.failure(latency, "HTTP " + status);
+                        }
+                    }, error -> endpoint.failure(System.nanoTime() - intended, error.getClass().getSimpleName()));
+        }
+        try {
+            inFlight.tryAcquire(options.maxInFlight(), REQUEST_TIMEOUT.toSeconds() + 5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return stats;
+    }
+
+    // Los valores aleatorios se eligen aquí, en el hilo del generador, para que la secuencia dependa solo de la semilla
+    private Mono<Integer> request(Operation operation) {
+        String token = bearer(random.nextInt(options.tokens()));
+        switch (operation) {
+            case LIST: {
+                String cursor = random.nextBoolean() ? randomId() : null;
+                return exchange(webClient.get()
+                        .uri(builder -> builder.path("/actives/page")
+                                .queryParam("size", 20)
+                                .queryParamIfPresent("cursor", Optional.ofNullable(cursor))
+                                .build())
+                        .header(HttpHeaders.AUTHORIZATION, token));
+            }
+            case LOOKUP:
+                return exchange(webClient.get().uri("/{id}", randomId()).header(HttpHeaders.AUTHORIZATION, token));
+            case LOOKUP_DNI:
+                return exchange(webClient.get().uri("/document/{dni}", randomDocument()).header(HttpHeaders.AUTHORIZATION, token));
+            case SEARCH: {
+                // Lo que escribe el usuario: 2 a 6 letras del apellido o los primeros dígitos de un documento
+                String text = random.nextBoolean()
+                        ? SURNAMES[random.nextInt(SURNAMES.length)].substring(0, 2 + random.nextInt(5))
+                        : randomDocument().substring(0, 4);
+                return exchange(webClient.get()
+                        .uri(builder -> builder.path("/search").queryParam("q", text).queryParam("size", 10).build())
+                        .header(HttpHeaders.AUTHORIZATION, token));
+            }
+            case CREATE: {
+                Map<String, Object> attorney = attorney(nextDocument.getAndIncrement());
+                return webClient.post()
+                        .uri("/create")
+                        .header(HttpHeaders.AUTHORIZATION, token)
+                        .bodyValue(attorney)
+                        .exchangeToMono(response -> {
+                            int status = response.statusCode().value();
+                            if (!response.statusCode().is2xxSuccessful()) {
+                                return response.releaseBody().thenReturn(status);
+                            }
+                            return response.bodyToMono(JsonNode.class)
+                                    .doOnNext(created -> register(created.path("idAttorney").asText(), (String) attorney.get("documentNumber")))
+                                    .thenReturn(status);
+                        });
+            }
+            case UPDATE:
+                return exchange(webClient.patch()
+                        .uri("/patch/{id}", randomId())
+                        .header(HttpHeaders.AUTHORIZATION, token)
+                        .bodyValue(Map.of("cellphone", String.format("9%08d", random.nextInt(100_000_000)))));
+            default:
+                return Mono.error(new IllegalArgumentException("Operación desconocida: " + operation));
+        }
+    }
+
+    private static Mono<Integer> exchange(WebClient.RequestHeadersSpec<?> spec) {
+        return spec.exchangeToMono(response -> response.releaseBody().thenReturn(response.statusCode().value()));
+    }
+
+    private void register(String id, String documentNumber) {
+        synchronized (ids) {
+            ids.add(id);
+            documentNumbers.add(documentNumber);
+        }
+    }
+
+    private String randomId() {
+        synchronized (ids) {
+            return ids.get(random.nextInt(ids.size()));
+        }
+    }
+
+    private String randomDocument() {
+        synchronized (ids) {
+            return documentNumbers.get(random.nextInt(documentNumbers.size()));
+        }
+    }
+
+    private static String bearer(int token) {
+        return "Bearer " + StubAuthServer.TOKEN_PREFIX + token;
+    }
+
+    // Mismos campos que AttorneyRequest, con email y documento únicos por índice
+    private static Map<String, Object> attorney(int i) {
+        Map<String, Object> attorney = new LinkedHashMap<>();
+        attorney.put("names", NAMES[i % NAMES.length]);
+        attorney.put("surnames", SURNAMES[(i / NAMES.length) % SURNAMES.length]);
+        attorney.put("sex", "F");
+        attorney.put("birth_date", "1985-04-12");
+        attorney.put("baptism", "Sí");
+        attorney.put("first_Communion", "Sí");
+        attorney.put("confirmation", "No");
+        attorney.put("marriage", "Sí");
+        attorney.put("relationship", "Madre");
+        attorney.put("email", "carga" + i + "@vallegrande.edu.pe");
+        attorney.put("cellphone", "987654321");
+        attorney.put("address", "Av. Los Próceres 1234, San Vicente de Cañete");
+        attorney.put("documentType", "DNI");
+        attorney.put("documentNumber", String.format("%08d", i));
+        return attorney;
+    }
+
+    @Override
+    public void close() {
+        connectionProvider.dispose();
+    }
+}
@@ -0,0 +1,100 @@
+package pe.edu.vallegrande.vg_ms_attorney.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import pe.edu.vallegrande.vg_ms_attorney.loadtest.LoadTestOptions.Operation;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+// Tabla por operación en consola y el mismo contenido en JSON para comparar entre ejecuciones
+public class LoadReport {
+
+    private static final double[] PERCENTILES = {50, 90, 95, 99, 99.9};
+
+    private final LoadTestOptions options;
+    private final Map<Operation, EndpointStats> stats;
+    private final Duration elapsed;
+
+    public LoadReport(LoadTestOptions options, Map<Operation, EndpointStats> stats, Duration elapsed) {
+        this.options = options;
+        this.stats = stats;
+        this.elapsed = elapsed;
+    }
+
+    public String table() {
+        StringBuilder table = new StringBuilder(String.format(Locale.ROOT,
+                "%-11s %9s %9s %8s %9s %9s %9s %9s %9s %9s %9s%n",
+                "operation", "requests", "req/s", "errors", "skipped", "p50 ms", "p90 ms", "p95 ms", "p99 ms", "p99.9 ms", "max ms"));
+        stats.forEach((operation, endpoint) -> table.append(String.format(Locale.ROOT,
+                "%-11s %9d %9.1f %7.2f%% %9d %9.2f %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                operation.key(), endpoint.requests(), throughput(endpoint), errorRate(endpoint) * 100, endpoint.skipped(),
+                endpoint.percentileMillis(50), endpoint.percentileMillis(90), endpoint.percentileMillis(95),
+                endpoint.percentileMillis(99), endpoint.percentileMillis(99.9), endpoint.maxMillis())));
+        stats.forEach((operation, endpoint) -> endpoint.errors()
+                .forEach((cause, count) -> table.append(String.format("  %s: %s x%d%n", operation.key(), cause, count))));
+        return table.toString();
+    }
+
+    public void write(Map<String, Object> environment) throws IOException {
+        Map<String, Object> report = new LinkedHashMap<>();
+        Map<String, Object> parameters = new LinkedHashMap<>();
+        parameters.put("rps", options.rps());
+        parameters.put("duration", options.duration().toString());
+        parameters.put("warmup", options.warmup().toString());
+        parameters.put("mix", mix());
+        parameters.put("seed", options.seed());
+        parameters.put("seedSize", options.seedSize());
+        parameters.put("tokens", options.tokens());
+        parameters.put("maxInFlight", options.maxInFlight());
+        report.put("options", parameters);
+        report.put("elapsedSeconds", seconds());
+        report.put("environment", environment);
+
+        Map<String, Object> endpoints = new LinkedHashMap<>();
+        stats.forEach((operation, endpoint) -> {
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("requests", endpoint.requests());
+            entry.put("throughput", throughput(endpoint));
+            entry.put("errors", endpoint.errorCount());
+            entry.put("errorRate", errorRate(endpoint));
+            entry.put("skipped", endpoint.skipped());
+            Map<String, Double> latency = new LinkedHashMap<>();
+            for (double percentile : PERCENTILES) {
+                latency.put("p" + (percentile % 1 == 0 ? String.valueOf((int) percentile) : String.valueOf(percentile)),
+                        endpoint.percentileMillis(percentile));
+            }
+            latency.put("max", endpoint.maxMillis());
+            entry.put("latencyMillis", latency);
+            entry.put("errorCauses", endpoint.errors());
+            endpoints.put(operation.key(), entry);
+        });
+        report.put("endpoints", endpoints);
+
+        Files.createDirectories(options.report().toAbsolutePath().getParent());
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(options.report().toFile(), report);
+    }
+
+    private Map<String, Integer> mix() {
+        Map<String, Integer> mix = new LinkedHashMap<>();
+        options.mix().forEach((operation, weight) -> mix.put(operation.key(), weight));
+        return mix;
+    }
+
+    private double seconds() {
+        return elapsed.toNanos() / 1e9;
+    }
+
+    private double throughput(EndpointStats endpoint) {
+        return (endpoint.requests() - endpoint.errorCount()) / seconds();
+    }
+
+    private static double errorRate(EndpointStats endpoint) {
+        long attempted = endpoint.requests() + endpoint.skipped();
+        return attempted == 0 ? 0 : (endpoint.errorCount() + endpoint.skipped()) / (double) attempted;
+    }
+}
@@ -0,0 +1,88 @@
+package pe.edu.vallegrande.vg_ms_attorney.loadtest;
+
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.reactive.context.ReactiveWebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.testcontainers.containers.MongoDBContainer;
+import pe.edu.vallegrande.vg_ms_attorney.VgMsAttorneyApplication;
+import pe.edu.vallegrande.vg_ms_attorney.loadtest.LoadTestOptions.Operation;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// Prueba de carga autocontenida: MongoDB local, autenticación simulada y Firebase falso; no usa Atlas, Koyeb ni Google.
+// mvn -Ploadtest -DskipTests verify -Dloadtest.args="--rps=200 --duration=PT2M --mix=list:50,lookup:50"
+public class LoadTest {
+
+    private static final String DATABASE = "vg-ms-attorney-loadtest";
+    // Latencia simulada de Firebase Auth (identitytoolkit suele responder en 50-150 ms)
+    private static final Duration FIREBASE_LATENCY = Duration.ofMillis(80);
+
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options = LoadTestOptions.parse(args);
+        MongoDBContainer mongo = null;
+        try (StubAuthServer auth = new StubAuthServer();
+             FakeFirebaseAuthServer firebase = new FakeFirebaseAuthServer(FIREBASE_LATENCY)) {
+            String mongoUri = options.mongoUri();
+            if (mongoUri == null) {
+                // Replica set de un nodo: las transacciones del outbox y los change streams lo requieren
+                mongo = new MongoDBContainer("mongo:7.0");
+                mongo.start();
+                mongoUri = mongo.getReplicaSetUrl(DATABASE);
+            }
+            firebase.installAsDefaultFirebaseApp();
+
+            try (ConfigurableApplicationContext app = start(mongoUri, auth.baseUrl());
+                 LoadGenerator generator = new LoadGenerator(options, "http://127.0.0.1:" + port(app))) {
+                System.out.println("Cargando " + options.seedSize() + " apoderados...");
+                generator.seed();
+
+                if (!options.warmup().isZero()) {
+                    System.out.println("Calentamiento " + options.warmup() + " a " + options.rps() + " req/s...");
+                    generator.run(options.warmup());
+                }
+                System.out.println("Midiendo " + options.duration() + " a " + options.rps() + " req/s, mezcla " + options.mix() + "...");
+                long start = System.nanoTime();
+                Map<Operation, EndpointStats> stats = generator.run(options.duration());
+                Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+
+                LoadReport report = new LoadReport(options, stats, elapsed);
+                System.out.println(report.table());
+                Map<String, Object> environment = new LinkedHashMap<>();
+                environment.put("mongo", options.mongoUri() == null ? "testcontainers mongo:7.0" : "external");
+                environment.put("datasetSize", generator.datasetSize());
+                environment.put("authValidations", auth.validations());
+                environment.put("firebaseUsers", firebase.userCount());
+                environment.put("firebaseCalls", firebase.calls());
+                environment.put("firebaseLatencyMillis", FIREBASE_LATENCY.toMillis());
+                environment.put("availableProcessors", Runtime.getRuntime().availableProcessors());
+                environment.put("javaVersion", System.getProperty("java.version"));
+                report.write(environment);
+                System.out.println("Reporte: " + options.report().toAbsolutePath());
+            }
+        } finally {
+            if (mongo != null) {
+                mongo.stop();
+            }
+        }
+        System.exit(0);
+    }
+
+    // Se pasan como argumentos para que tengan prioridad sobre application.yml
+    private static ConfigurableApplicationContext start(String mongoUri, String authBaseUrl) {
+        return new SpringApplicationBuilder(VgMsAttorneyApplication.class)
+                .web(WebApplicationType.REACTIVE)
+                .run("--server.port=0",
+                        "--spring.data.mongodb.uri=" + mongoUri,
+                        "--auth.service.base-url=" + authBaseUrl,
+                        "--auth.verification.mode=REMOTE",
+                        "--spring.devtools.restart.enabled=false",
+                        "--logging.level.root=WARN");
+    }
+
+    private static int port(ConfigurableApplicationContext app) {
+        return ((ReactiveWebServerApplicationContext) app).getWebServer().getPort();
+    }
+}
@@ -0,0 +1,91 @@
+package pe.edu.vallegrande.vg_ms_attorney.loadtest;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+// Parámetros de la prueba en formato --clave=valor (el prefijo -- es opcional). Con la misma semilla, tamaño de datos y mezcla,
+// la secuencia de operaciones generada es la misma en cada ejecución.
+//   --rps=100                 solicitudes por segundo (modelo abierto: se envían aunque las anteriores no hayan respondido)
+//   --duration=PT60S          duración de la medición
+//   --warmup=PT15S            calentamiento previo, no se incluye en el reporte
+//   --mix=list:30,lookup:30,lookup_dni:10,create:10,update:20   (también search:N)
+//   --seed=42                 semilla de la secuencia de operaciones
+//   --seed-size=1000          apoderados cargados por /import antes de empezar
+//   --tokens=50               tokens Bearer distintos (ejercita la caché de validación)
+//   --max-in-flight=1000      solicitudes simultáneas; las que superan el límite se cuentan como omitidas
+//   --mongo-uri=mongodb://... MongoDB propio (debe ser replica set por las transacciones); sin él se usa Testcontainers
+//   --report=target/loadtest-report.json
+public record LoadTestOptions(int rps,
+                              Duration duration,
+                              Duration warmup,
+                              Map<Operation, Integer> mix,
+                              long seed,
+                              int seedSize,
+                              int tokens,
+                              int maxInFlight,
+                              String mongoUri,
+                              Path report) {
+
+    // LIST: página de activos; LOOKUP / LOOKUP_DNI: búsqueda por id o documento; SEARCH: autocompletar por prefijo;
+    // CREATE: alta; UPDATE: PATCH de un campo
+    public enum Operation {
+        LIST, LOOKUP, LOOKUP_DNI, SEARCH, CREATE, UPDATE;
+
+        // Nombre usado en --mix y en el reporte
+        public String key() {
+            return name().toLowerCase(Locale.ROOT);
+        }
+    }
+
+    public static LoadTestOptions parse(String[] args) {
+        Map<String, String> values = new LinkedHashMap<>();
+        for (String arg : args) {
+            if (arg.isBlank()) {
+                continue;
+            }
+            String option = arg.startsWith("--") ? arg.substring(2) : arg;
+            int separator = option.indexOf('=');
+            if (separator <= 0) {
+                throw new IllegalArgumentException("Argumento inválido: " + arg + " (se espera --clave=valor)");
+            }
+            values.put(option.substring(0, separator), option.substring(separator + 1));
+        }
+        LoadTestOptions options = new LoadTestOptions(
+                Integer.parseInt(values.getOrDefault("rps", "100")),
+                Duration.parse(values.getOrDefault("duration", "PT60S")),
+                Duration.parse(values.getOrDefault("warmup", "PT15S")),
+                parseMix(values.getOrDefault("mix", "list:30,lookup:30,lookup_dni:10,create:10,update:20")),
+                Long.parseLong(values.getOrDefault("seed", "42")),
+                Integer.parseInt(values.getOrDefault("seed-size", "1000")),
+                Integer.parseInt(values.getOrDefault("tokens", "50")),
+                Integer.parseInt(values.getOrDefault("max-in-flight", "1000")),
+                values.get("mongo-uri"),
+                Path.of(values.getOrDefault("report", "target/loadtest-report.json")));
+        if (options.rps() <= 0 || options.tokens() <= 0 || options.maxInFlight() <= 0 || options.seedSize() <= 0) {
+            throw new IllegalArgumentException("rps, tokens, max-in-flight y seed-size deben ser mayores que cero");
+        }
+        return options;
+    }
+
+    private static Map<Operation, Integer> parseMix(String mix) {
+        Map<Operation, Integer> weights = new LinkedHashMap<>();
+        for (String entry : mix.split(",")) {
+            String[] parts = entry.trim().split(":");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Entrada de mezcla inválida: " + entry + " (se espera operacion:peso)");
+            }
+            int weight = Integer.parseInt(parts[1].trim());
+            if (weight < 0) {
+                throw new IllegalArgumentException("El peso de " + parts[0] + " no puede ser negativo");
+            }
+            weights.put(Operation.valueOf(parts[0].trim().toUpperCase(Locale.ROOT)), weight);
+        }
+        if (weights.values().stream().mapToInt(Integer::intValue).sum() == 0) {
+            throw new IllegalArgumentException("La mezcla debe tener al menos una operación con peso");
+        }
+        return weights;
+    }
+}
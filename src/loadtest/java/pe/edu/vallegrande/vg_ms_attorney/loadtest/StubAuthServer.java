@@ -0,0 +1,52 @@
+package pe.edu.vallegrande.vg_ms_attorney.loadtest;
+
+import io.netty.handler.codec.http.HttpResponseStatus;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+// Reemplaza al servicio de autenticación remoto: GET /firebase-users/validate acepta cualquier token Bearer
+// que empiece con TOKEN_PREFIX y responde con el rol ADMIN, igual que el servicio real para un administrador.
+public class StubAuthServer implements AutoCloseable {
+
+    public static final String TOKEN_PREFIX = "loadtest-";
+
+    private final AtomicLong validations = new AtomicLong();
+    private final DisposableServer server;
+
+    public StubAuthServer() {
+        this.server = HttpServer.create()
+                .host("127.0.0.1")
+                .port(0)
+                .route(routes -> routes.get("/firebase-users/validate", (request, response) -> {
+                    validations.incrementAndGet();
+                    String authorization = request.requestHeaders().get(HttpHeaders.AUTHORIZATION);
+                    if (authorization == null || !authorization.startsWith("Bearer " + TOKEN_PREFIX)) {
+                        return response.status(HttpResponseStatus.UNAUTHORIZED)
+                                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                                .sendString(Mono.just("{\"valid\":false}"));
+                    }
+                    String uid = authorization.substring("Bearer ".length());
+                    return response.header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                            .sendString(Mono.just("{\"valid\":true,\"role\":\"ADMIN\",\"uid\":\"" + uid + "\"}"));
+                }))
+                .bindNow();
+    }
+
+    public String baseUrl() {
+        return "http://127.0.0.1:" + server.port() + "/firebase-users";
+    }
+
+    public long validations() {
+        return validations.get();
+    }
+
+    @Override
+    public void close() {
+        server.disposeNow();
+    }
+}
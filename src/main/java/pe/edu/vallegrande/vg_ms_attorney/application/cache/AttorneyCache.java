@@ -0,0 +1,141 @@
+package pe.edu.vallegrande.vg_ms_attorney.application.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import pe.edu.vallegrande.vg_ms_attorney.application.mapper.AttorneyMapper;
+import pe.edu.vallegrande.vg_ms_attorney.domain.model.Attorney;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+// Caché de lectura de Attorney: una sola entrada por idAttorney, alcanzable también por email y DNI.
+// - Guarda copias sin contraseña y entrega una copia nueva en cada lectura: quien la reciba puede modificarla sin
+//   alterar la entrada
+// - Una carga que empezó antes de invalidar su id (o de invalidateAll) no se guarda: traería el documento anterior
+//   a la escritura que invalidó
+@Component
+public class AttorneyCache {
+
+    private final AttorneyMapper attorneyMapper;
+    private final Cache<String, Attorney> byId;
+    private final Map<String, String> idByEmail = new ConcurrentHashMap<>();
+    private final Map<String, String> idByDni = new ConcurrentHashMap<>();
+    // Generación de la última invalidación de cada id; se conserva `ttl` y una carga más larga no se guarda
+    private final Cache<String, Long> invalidatedAt;
+    private final AtomicLong generation = new AtomicLong();
+    private final long maxLoadNanos;
+    private volatile long invalidatedAllAt;
+
+    public AttorneyCache(AttorneyMapper attorneyMapper,
+                         @Value("${attorney.cache.max-size:2000}") long maxSize,
+                         @Value("${attorney.cache.ttl:PT10M}") Duration ttl,
+                         MeterRegistry meterRegistry) {
+        this.attorneyMapper = attorneyMapper;
+        this.maxLoadNanos = ttl.toNanos();
+        this.invalidatedAt = Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .build();
+        this.byId = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                // Sincrónico para que los índices secundarios se limpien antes de volver a registrarse
+                .executor(Runnable::run)
+                .<String, Attorney>removalListener((id, attorney, cause) -> {
+                    if (attorney != null) {
+                        removeKey(idByEmail, attorney.getEmail(), id);
+                        removeKey(idByDni, attorney.getDocumentNumber(), id);
+                    }
+                })
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, byId, "attorney");
+    }
+
+    public Mono<Attorney> findById(String id, Function<String, Mono<Attorney>> loader) {
+        return readThrough(byId.getIfPresent(id), id, loader);
+    }
+
+    public Mono<Attorney> findByEmail(String email, Function<String, Mono<Attorney>> loader) {
+        Attorney cached = lookup(idByEmail.get(email));
+        // Un índice secundario puede quedar apuntando a una entrada cuyo email ya cambió
+        return readThrough(cached != null && email.equals(cached.getEmail()) ? cached : null, email, loader);
+    }
+
+    public Mono<Attorney> findByDni(String dni, Function<String, Mono<Attorney>> loader) {
+        Attorney cached = lookup(idByDni.get(dni));
+        return readThrough(cached != null && dni.equals(cached.getDocumentNumber()) ? cached : null, dni, loader);
+    }
+
+    // La generación se registra antes de quitar la entrada: un put concurrente la ve o queda antes de la remoción
+    public void invalidate(String id) {
+        if (id != null) {
+            invalidatedAt.put(id, generation.incrementAndGet());
+            byId.invalidate(id);
+        }
+    }
+
+    public void invalidateAll() {
+        invalidatedAllAt = generation.incrementAndGet();
+        byId.invalidateAll();
+    }
+
+    private static void removeKey(Map<String, String> index, String key, String id) {
+        if (key != null) {
+            index.remove(key, id);
+        }
+    }
+
+    private Attorney lookup(String id) {
+        return id != null ? byId.getIfPresent(id) : null;
+    }
+
+    private Mono<Attorney> readThrough(Attorney cached, String key, Function<String, Mono<Attorney>> loader) {
+        if (cached != null) {
+            return Mono.just(attorneyMapper.copy(cached));
+        }
+        return Mono.defer(() -> {
+            long startedAt = generation.get();
+            long startedNanos = System.nanoTime();
+            return loader.apply(key).map(loaded -> {
+                Attorney entry = attorneyMapper.copy(loaded);
+                entry.setPassword(null);
+                put(entry, startedAt, startedNanos);
+                return attorneyMapper.copy(entry);
+            });
+        });
+    }
+
+    private void put(Attorney attorney, long startedAt, long startedNanos) {
+        String id = attorney.getIdAttorney();
+        if (id == null || invalidatedAllAt > startedAt || System.nanoTime() - startedNanos > maxLoadNanos) {
+            return;
+        }
+        // compute bloquea la clave: una invalidación de este id no puede intercalarse entre la comprobación y el put
+        boolean[] stored = {false};
+        byId.asMap().compute(id, (key, current) -> {
+            Long invalidated = invalidatedAt.getIfPresent(key);
+            if ((invalidated != null && invalidated > startedAt) || invalidatedAllAt > startedAt) {
+                return current;
+            }
+            stored[0] = true;
+            return attorney;
+        });
+        if (!stored[0]) {
+            return;
+        }
+        if (attorney.getEmail() != null) {
+            idByEmail.put(attorney.getEmail(), id);
+        }
+        if (attorney.getDocumentNumber() != null) {
+            idByDni.put(attorney.getDocumentNumber(), id);
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package pe.edu.vallegrande.vg_ms_attorney.application.cache;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import pe.edu.vallegrande.vg_ms_attorney.application.changefeed.AttorneyChangeListener;
+import pe.edu.vallegrande.vg_ms_attorney.domain.dto.AttorneyChangeEvent;
+
+// Invalida la caché local con los eventos del change stream compartido (AttorneyChangeStream)
+// cuando otra réplica del servicio modifica un documento
+@Component
+public class AttorneyCacheInvalidator implements AttorneyChangeListener {
+
+    private final AttorneyCache attorneyCache;
+    private final boolean enabled;
+
+    public AttorneyCacheInvalidator(AttorneyCache attorneyCache,
+                                    @Value("${attorney.cache.change-stream-enabled:true}") boolean enabled) {
+        this.attorneyCache = attorneyCache;
+        this.enabled = enabled;
+    }
+
+    @Override
+    public void onChange(AttorneyChangeEvent event) {
+        if (!enabled) {
+            return;
+        }
+        if (event.getIdAttorney() != null) {
+            attorneyCache.invalidate(event.getIdAttorney());
+        } else {
+            // drop, rename o invalidate: no hay un documento concreto
+            attorneyCache.invalidateAll();
+        }
+    }
+
+    // Mientras el stream estuvo caído se pudieron perder eventos: se vacía la caché
+    @Override
+    public void onReset() {
+        if (enabled) {
+            attorneyCache.invalidateAll();
+        }
+    }
+}
@@ -0,0 +1,302 @@
+package pe.edu.vallegrande.vg_ms_attorney.application.changefeed;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.stereotype.Component;
+import pe.edu.vallegrande.vg_ms_attorney.domain.dto.AttorneyChangeEvent;
+import pe.edu.vallegrande.vg_ms_attorney.domain.dto.AttorneyChangeFeedRequest;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+import reactor.core.scheduler.Schedulers;
+import reactor.util.concurrent.Queues;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+import static pe.edu.vallegrande.vg_ms_attorney.application.util.AttorneyUtil.Activo;
+import static pe.edu.vallegrande.vg_ms_attorney.application.util.AttorneyUtil.Inactivo;
+
+// Feed de cambios para otros servicios, alimentado por el change stream compartido:
+// - cada suscriptor tiene su propio buffer acotado (buffer-size); si se llena, según `overflow` se descartan eventos
+//   (y luego se avisa cuántos con un evento "dropped") o se cierra la conexión para que el cliente se reconecte
+// - se guardan los últimos replay-size eventos: al reconectar con el id del último evento recibido se reenvía lo que
+//   falta; si ese id ya no está (muy antiguo o la instancia se reinició) el cliente sigue con un change stream propio
+//   desde ese resume token. Solo si Mongo ya no lo tiene en el oplog se envía "reset" y el cliente debe recargar
+// - los filtros por operación y estado se aplican antes del buffer, así que no ocupan lugar
+@Component
+public class AttorneyChangeFeed implements AttorneyChangeListener {
+
+    public static final String RESET = "reset";
+    public static final String DROPPED = "dropped";
+
+    public enum Overflow { DROP, DISCONNECT }
+
+    private enum Registration { FULL, LIVE, RESUME }
+
+    private static final Set<String> OPERATIONS = Set.of("insert", "update", "replace", "delete");
+    // Elementos que publishOn toma del buffer para entregarlos fuera del hilo del change stream
+    static final int DELIVERY_PREFETCH = 32;
+
+    private final AttorneyChangeHistory history;
+    private final int bufferSize;
+    private final int replaySize;
+    private final int maxSubscribers;
+    private final Overflow defaultOverflow;
+    private final Duration heartbeat;
+    private final Counter dropped;
+    private final Counter disconnected;
+
+    // Protegidos por `this`: el change stream publica y los clientes se suscriben en hilos distintos
+    private final Deque<AttorneyChangeEvent> recent = new ArrayDeque<>();
+    private final List<Subscriber> subscribers = new ArrayList<>();
+
+    public AttorneyChangeFeed(AttorneyChangeHistory history,
+                              MeterRegistry meterRegistry,
+                              @Value("${attorney.change-feed.buffer-size:256}") int bufferSize,
+                              @Value("${attorney.change-feed.replay-size:1000}") int replaySize,
+                              @Value("${attorney.change-feed.max-subscribers:500}") int maxSubscribers,
+                              @Value("${attorney.change-feed.overflow:DISCONNECT}") Overflow defaultOverflow,
+                              @Value("${attorney.change-feed.heartbeat:PT15S}") Duration heartbeat) {
+        this.history = history;
+        this.bufferSize = Math.max(bufferSize, 1);
+        this.replaySize = Math.max(replaySize, 0);
+        this.maxSubscribers = maxSubscribers;
+        this.defaultOverflow = defaultOverflow;
+        this.heartbeat = heartbeat;
+        this.dropped = meterRegistry.counter("attorney.changefeed.dropped");
+        this.disconnected = meterRegistry.counter("attorney.changefeed.disconnected");
+        Gauge.builder("attorney.changefeed.subscribers", this, AttorneyChangeFeed::subscriberCount).register(meterRegistry);
+    }
+
+    // Valida la solicitud antes de devolver el flujo (IllegalArgumentException); la suscripción se registra al suscribirse.
+    // IllegalStateException si ya hay max-subscribers conectados: aquí para responder 503 antes de abrir el flujo, y
+    // como error del flujo si el cupo se llenó entre esta comprobación y la suscripción (register decide).
+    public Flux<AttorneyChangeEvent> subscribe(AttorneyChangeFeedRequest request, String lastEventId) {
+        Filter filter = Filter.of(request.getOperations(), request.getStatus());
+        Overflow overflow = request.getOverflow() == null ? defaultOverflow : parseOverflow(request.getOverflow());
+        String after = request.getAfter() != null ? request.getAfter() : lastEventId;
+        if (subscriberCount() >= maxSubscribers) {
+            throw tooManySubscribers();
+        }
+        return Flux.defer(() -> {
+            Subscriber subscriber = new Subscriber(filter, overflow,
+                    Sinks.many().unicast().onBackpressureBuffer(Queues.<AttorneyChangeEvent>get(bufferSize).get()));
+            Registration registration = register(subscriber, after);
+            if (registration == Registration.FULL) {
+                return Flux.error(tooManySubscribers());
+            }
+            Flux<AttorneyChangeEvent> events = registration == Registration.RESUME
+                    ? resume(subscriber, after)
+                    : subscriber.sink.asFlux();
+            return events
+                    .doFinally(signal -> unregister(subscriber))
+                    .publishOn(Schedulers.parallel(), DELIVERY_PREFETCH);
+        });
+    }
+
+    // Eventos SSE con el resume token como id (el navegador lo reenvía en Last-Event-ID al reconectar) y un
+    // comentario cada `heartbeat` para que proxies y balanceadores no cierren la conexión inactiva
+    public Flux<ServerSentEvent<AttorneyChangeEvent>> serverSentEvents(Flux<AttorneyChangeEvent> events) {
+        Sinks.Empty<Void> finished = Sinks.empty();
+        Flux<ServerSentEvent<AttorneyChangeEvent>> data = events
+                .map(event -> ServerSentEvent.builder(event).id(event.getId()).event(event.getOperation()).build())
+                .doFinally(signal -> finished.tryEmitEmpty());
+        Flux<ServerSentEvent<AttorneyChangeEvent>> keepAlive = Flux.interval(heartbeat)
+                .map(tick -> ServerSentEvent.<AttorneyChangeEvent>builder().comment("keep-alive").build())
+                .takeUntilOther(finished.asMono());
+        return Flux.merge(data, keepAlive);
+    }
+
+    @Override
+    public synchronized void onChange(AttorneyChangeEvent event) {
+        if (replaySize > 0 && event.getId() != null) {
+            if (recent.size() == replaySize) {
+                recent.removeFirst();
+            }
+            recent.addLast(event);
+        }
+        // Copia: offer puede sacar suscriptores de la lista
+        for (Subscriber subscriber : List.copyOf(subscribers)) {
+            subscriber.offer(event);
+        }
+    }
+
+    @Override
+    public synchronized void onReset() {
+        recent.clear();
+        for (Subscriber subscriber : List.copyOf(subscribers)) {
+            subscriber.offer(marker(RESET, null));
+        }
+    }
+
+    // Cupo, reenvío y alta bajo el mismo lock que onChange: ningún evento queda entre los reenviados y los nuevos.
+    // FULL si ya hay max-subscribers registrados; RESUME si el id no está en memoria pero puede ser un resume token
+    // (el suscriptor ocupa su cupo pero no recibe el stream compartido)
+    private synchronized Registration register(Subscriber subscriber, String after) {
+        if (subscribers.size() >= maxSubscribers) {
+            return Registration.FULL;
+        }
+        subscribers.add(subscriber);
+        if (after == null) {
+            return Registration.LIVE;
+        }
+        List<AttorneyChangeEvent> missed = null;
+        for (AttorneyChangeEvent event : recent) {
+            if (missed != null) {
+                missed.add(event);
+            } else if (after.equals(event.getId())) {
+                missed = new ArrayList<>();
+            }
+        }
+        if (missed != null) {
+            missed.forEach(subscriber::offer);
+            return Registration.LIVE;
+        }
+        if (!AttorneyChangeHistory.isTokenId(after)) {
+            subscriber.offer(marker(RESET, null));
+            return Registration.LIVE;
+        }
+        subscriber.resuming = true;
+        return Registration.RESUME;
+    }
+
+    // Change stream propio desde el último evento del cliente; si Mongo ya no tiene ese punto, "reset" y el stream compartido
+    private Flux<AttorneyChangeEvent> resume(Subscriber subscriber, String after) {
+        return history.after(after)
+                .filter(subscriber.filter::matches)
+                .onErrorResume(AttorneyChangeHistory::resumeFailed, e -> {
+                    joinLive(subscriber);
+                    return subscriber.sink.asFlux();
+                });
+    }
+
+    private synchronized void joinLive(Subscriber subscriber) {
+        subscriber.resuming = false;
+        subscriber.offer(marker(RESET, null));
+    }
+
+    private synchronized void unregister(Subscriber subscriber) {
+        subscribers.remove(subscriber);
+    }
+
+    private synchronized int subscriberCount() {
+        return subscribers.size();
+    }
+
+    private IllegalStateException tooManySubscribers() {
+        return new IllegalStateException("Se alcanzó el máximo de " + maxSubscribers + " suscriptores del feed");
+    }
+
+    private static AttorneyChangeEvent marker(String operation, Long count) {
+        return new AttorneyChangeEvent(null, operation, null, null, null, null, null, count);
+    }
+
+    private static Overflow parseOverflow(String overflow) {
+        try {
+            return Overflow.valueOf(overflow.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("overflow inválido: " + overflow + " (drop o disconnect)");
+        }
+    }
+
+    // Sin operaciones se aceptan todas. Con estado, también los eventos que cambian el campo status: con solo dos
+    // estados, un documento que cambió de estado y ya no tiene el filtrado acaba de salir de él.
+    record Filter(Set<String> operations, String status) {
+
+        static Filter of(List<String> operations, String status) {
+            Set<String> accepted = new LinkedHashSet<>();
+            if (operations != null) {
+                for (String operation : operations) {
+                    String name = operation.trim().toLowerCase(Locale.ROOT);
+                    if (name.isEmpty()) {
+                        continue;
+                    }
+                    if (!OPERATIONS.contains(name)) {
+                        throw new IllegalArgumentException("Operación inválida: " + operation);
+                    }
+                    accepted.add(name);
+                }
+            }
+            if (status != null && !Activo.equals(status) && !Inactivo.equals(status)) {
+                throw new IllegalArgumentException("Estado inválido: " + status);
+            }
+            return new Filter(Set.copyOf(accepted), status);
+        }
+
+        boolean matches(AttorneyChangeEvent event) {
+            if (RESET.equals(event.getOperation()) || DROPPED.equals(event.getOperation())) {
+                return true;
+            }
+            if (!operations.isEmpty() && !operations.contains(event.getOperation())) {
+                return false;
+            }
+            if (status == null || status.equals(event.getStatus())) {
+                return true;
+            }
+            return event.getUpdatedFields() != null && event.getUpdatedFields().contains("status");
+        }
+    }
+
+    // Siempre se usa con el lock del feed tomado, así que las emisiones sobre el sink no compiten entre sí
+    private final class Subscriber {
+
+        private final Filter filter;
+        private final Overflow overflow;
+        private final Sinks.Many<AttorneyChangeEvent> sink;
+        private long droppedEvents;
+        private boolean closed;
+        // Con un change stream propio (resume): no recibe los eventos del compartido
+        private boolean resuming;
+
+        private Subscriber(Filter filter, Overflow overflow, Sinks.Many<AttorneyChangeEvent> sink) {
+            this.filter = filter;
+            this.overflow = overflow;
+            this.sink = sink;
+        }
+
+        private void offer(AttorneyChangeEvent event) {
+            if (closed || resuming || !filter.matches(event)) {
+                return;
+            }
+            // Primero el aviso de los descartados, para que el cliente sepa que hubo un hueco antes de este evento
+            if (droppedEvents > 0) {
+                Sinks.EmitResult result = sink.tryEmitNext(marker(DROPPED, droppedEvents));
+                if (result.isSuccess()) {
+                    droppedEvents = 0;
+                } else if (result != Sinks.EmitResult.FAIL_OVERFLOW) {
+                    close();
+                    return;
+                }
+            }
+            Sinks.EmitResult result = droppedEvents == 0 ? sink.tryEmitNext(event) : Sinks.EmitResult.FAIL_OVERFLOW;
+            if (result.isSuccess()) {
+                return;
+            }
+            if (result != Sinks.EmitResult.FAIL_OVERFLOW) {
+                close(); // Cliente desconectado
+            } else if (overflow == Overflow.DISCONNECT) {
+                // Se entrega lo que ya está en el buffer y se cierra; el cliente reconecta con el último id recibido
+                disconnected.increment();
+                sink.tryEmitComplete();
+                close();
+            } else {
+                droppedEvents++;
+                dropped.increment();
+            }
+        }
+
+        private void close() {
+            closed = true;
+            subscribers.remove(this);
+        }
+    }
+}
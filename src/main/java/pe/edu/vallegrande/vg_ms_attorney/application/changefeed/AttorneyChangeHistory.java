@@ -0,0 +1,111 @@
+package pe.edu.vallegrande.vg_ms_attorney.application.changefeed;
+
+import com.mongodb.MongoException;
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
+import com.mongodb.client.model.changestream.FullDocument;
+import com.mongodb.client.model.changestream.UpdateDescription;
+import org.bson.BsonDocument;
+import org.bson.BsonString;
+import org.bson.BsonValue;
+import org.bson.Document;
+import org.springframework.data.mongodb.core.ChangeStreamEvent;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.stereotype.Component;
+import pe.edu.vallegrande.vg_ms_attorney.application.mapper.AttorneyMapper;
+import pe.edu.vallegrande.vg_ms_attorney.domain.dto.AttorneyChangeEvent;
+import pe.edu.vallegrande.vg_ms_attorney.domain.model.Attorney;
+import reactor.core.publisher.Flux;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+// Change streams de la colección attorney: el compartido (AttorneyChangeStream) y los de un solo cliente del feed que
+// reconecta con un id que ya no está en memoria (AttorneyChangeFeed). Va aparte de AttorneyChangeStream porque el feed
+// es uno de sus listeners y no puede depender de él.
+@Component
+public class AttorneyChangeHistory {
+
+    // InvalidResumeToken, ChangeStreamFatalError y ChangeStreamHistoryLost: el token ya no sirve para continuar
+    private static final Set<Integer> RESUME_FAILED = Set.of(260, 280, 286);
+    private static final Pattern TOKEN_ID = Pattern.compile("[0-9A-Fa-f]+");
+
+    private final ReactiveMongoTemplate mongoTemplate;
+    private final AttorneyMapper attorneyMapper;
+
+    public AttorneyChangeHistory(ReactiveMongoTemplate mongoTemplate, AttorneyMapper attorneyMapper) {
+        this.mongoTemplate = mongoTemplate;
+        this.attorneyMapper = attorneyMapper;
+    }
+
+    // Cambios posteriores al token; sin token, desde ahora
+    Flux<ChangeStreamEvent<Attorney>> watch(BsonValue token) {
+        return mongoTemplate.changeStream(Attorney.class)
+                .withOptions(options -> {
+                    // Documento completo también en los update, para filtrar por estado y enviarlo en el feed
+                    options.fullDocumentLookup(FullDocument.UPDATE_LOOKUP);
+                    if (token != null) {
+                        options.resumeAfter(token);
+                    }
+                })
+                .watchCollection(Attorney.class)
+                .listen();
+    }
+
+    // Cambios posteriores al evento con ese id; falla con resumeFailed si Mongo ya no lo tiene en el oplog
+    Flux<AttorneyChangeEvent> after(String eventId) {
+        return watch(new BsonDocument("_data", new BsonString(eventId))).map(this::toEvent);
+    }
+
+    // El feed es público: el documento se envía como AttorneyDetail, sin password ni claves de búsqueda
+    AttorneyChangeEvent toEvent(ChangeStreamEvent<Attorney> change) {
+        ChangeStreamDocument<Document> raw = change.getRaw();
+        BsonDocument key = raw != null ? raw.getDocumentKey() : null;
+        String idAttorney = key != null && key.isObjectId("_id") ? key.getObjectId("_id").getValue().toHexString() : null;
+
+        List<String> updatedFields = null;
+        UpdateDescription update = raw != null ? raw.getUpdateDescription() : null;
+        if (update != null) {
+            updatedFields = new ArrayList<>();
+            if (update.getUpdatedFields() != null) {
+                updatedFields.addAll(update.getUpdatedFields().keySet());
+            }
+            if (update.getRemovedFields() != null) {
+                updatedFields.addAll(update.getRemovedFields());
+            }
+        }
+        Attorney attorney = change.getBody();
+        return new AttorneyChangeEvent(
+                tokenId(change.getResumeToken()),
+                change.getOperationType() != null ? change.getOperationType().getValue() : "unknown",
+                idAttorney,
+                attorney != null ? attorney.getStatus() : null,
+                updatedFields,
+                attorney != null ? attorneyMapper.toDetail(attorney) : null,
+                change.getTimestamp(),
+                null);
+    }
+
+    // Solo un id con la forma de tokenId puede ser un resume token
+    static boolean isTokenId(String eventId) {
+        return eventId != null && TOKEN_ID.matcher(eventId).matches();
+    }
+
+    static boolean resumeFailed(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof MongoException mongo && RESUME_FAILED.contains(mongo.getCode())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // El token es {_data: "<hex>"}; el texto basta para identificarlo ante los clientes
+    private static String tokenId(BsonValue token) {
+        if (token instanceof BsonDocument document && document.isString("_data")) {
+            return document.getString("_data").getValue();
+        }
+        return token != null ? token.toString() : null;
+    }
+}
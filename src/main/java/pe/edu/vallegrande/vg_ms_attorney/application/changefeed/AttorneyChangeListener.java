@@ -0,0 +1,14 @@
+package pe.edu.vallegrande.vg_ms_attorney.application.changefeed;
+
+import pe.edu.vallegrande.vg_ms_attorney.domain.dto.AttorneyChangeEvent;
+
+// Consumidor del change stream compartido (AttorneyChangeStream). Se llama en el hilo del stream, uno a la vez:
+// no debe bloquear ni tardar.
+public interface AttorneyChangeListener {
+
+    void onChange(AttorneyChangeEvent event);
+
+    // El stream empezó sin poder continuar desde el último evento (arranque o historial perdido en el oplog):
+    // los eventos anteriores no se van a recibir
+    void onReset();
+}
@@ -0,0 +1,91 @@
+package pe.edu.vallegrande.vg_ms_attorney.application.changefeed;
+
+import org.bson.BsonValue;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.ChangeStreamEvent;
+import org.springframework.stereotype.Component;
+import pe.edu.vallegrande.vg_ms_attorney.domain.dto.AttorneyChangeEvent;
+import pe.edu.vallegrande.vg_ms_attorney.domain.model.Attorney;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+import java.util.List;
+
+// Único change stream de la colección attorney por instancia; reparte cada evento a los AttorneyChangeListener
+// (invalidación de la caché y feed de cambios). Tras un error se reconecta continuando desde el último resume token,
+// así que no se pierden eventos; solo si Mongo ya no tiene ese punto en el oplog empieza de nuevo y avisa con onReset().
+@Component
+public class AttorneyChangeStream implements DisposableBean {
+
+    private final AttorneyChangeHistory history;
+    private final List<AttorneyChangeListener> listeners;
+    private final boolean enabled;
+    private volatile BsonValue resumeToken;
+    private Disposable subscription;
+
+    public AttorneyChangeStream(AttorneyChangeHistory history,
+                                List<AttorneyChangeListener> listeners,
+                                @Value("${attorney.change-stream.enabled:true}") boolean enabled) {
+        this.history = history;
+        this.listeners = listeners;
+        this.enabled = enabled;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled || listeners.isEmpty()) {
+            return;
+        }
+        subscription = Flux.defer(this::listen)
+                .doOnError(e -> System.err.println("Attorney change stream error: " + e.getMessage()))
+                .retryWhen(Retry.backoff(Long.MAX_VALUE, Duration.ofSeconds(1)).maxBackoff(Duration.ofMinutes(1)))
+                .subscribe(this::dispatch);
+    }
+
+    private Flux<ChangeStreamEvent<Attorney>> listen() {
+        BsonValue token = resumeToken;
+        Flux<ChangeStreamEvent<Attorney>> events = history.watch(token)
+                .doOnError(e -> {
+                    if (AttorneyChangeHistory.resumeFailed(e)) {
+                        resumeToken = null;
+                    }
+                });
+        if (token != null) {
+            return events;
+        }
+        return events.doOnSubscribe(s -> listeners.forEach(listener -> {
+            try {
+                listener.onReset();
+            } catch (RuntimeException e) {
+                System.err.println("Error resetting attorney change listener: " + e.getMessage());
+            }
+        }));
+    }
+
+    private void dispatch(ChangeStreamEvent<Attorney> change) {
+        AttorneyChangeEvent event = history.toEvent(change);
+        for (AttorneyChangeListener listener : listeners) {
+            try {
+                listener.onChange(event);
+            } catch (RuntimeException e) {
+                System.err.println("Error dispatching attorney change: " + e.getMessage());
+            }
+        }
+        // Se guarda después de entregarlo: si la instancia se reconecta, continúa desde aquí
+        if (change.getResumeToken() != null) {
+            resumeToken = change.getResumeToken();
+        }
+    }
+
+    @Override
+    public void destroy() {
+        if (subscription != null) {
+            subscription.dispose();
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package pe.edu.vallegrande.vg_ms_attorney.application.config;
+
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import pe.edu.vallegrande.vg_ms_attorney.application.healthcheck.RuntimeDiagnostics;
+
+// Un indicador por señal de RuntimeDiagnostics (el nombre del bean sin "HealthIndicator" es el nombre en /actuator/health).
+// Los grupos liveness y readiness se arman en application.yml (management.endpoint.health.group).
+@Configuration
+public class DiagnosticsHealthConfig {
+
+    @Bean
+    public HealthIndicator heapHealthIndicator(RuntimeDiagnostics diagnostics) {
+        return () -> diagnostics.readiness("heap");
+    }
+
+    @Bean
+    public HealthIndicator gcHealthIndicator(RuntimeDiagnostics diagnostics) {
+        return () -> diagnostics.readiness("gc");
+    }
+
+    @Bean
+    public HealthIndicator nettyBuffersHealthIndicator(RuntimeDiagnostics diagnostics) {
+        return () -> diagnostics.readiness("nettyBuffers");
+    }
+
+    @Bean
+    public HealthIndicator eventLoopHealthIndicator(RuntimeDiagnostics diagnostics) {
+        return () -> diagnostics.readiness("eventLoop");
+    }
+
+    @Bean
+    public HealthIndicator mongoPoolHealthIndicator(RuntimeDiagnostics diagnostics) {
+        return () -> diagnostics.readiness("mongoPool");
+    }
+
+    @Bean
+    public HealthIndicator firebaseQueueHealthIndicator(RuntimeDiagnostics diagnostics) {
+        return () -> diagnostics.readiness("firebaseQueue");
+    }
+
+    @Bean
+    public HealthIndicator runtimeLivenessHealthIndicator(RuntimeDiagnostics diagnostics) {
+        return diagnostics::liveness;
+    }
+}
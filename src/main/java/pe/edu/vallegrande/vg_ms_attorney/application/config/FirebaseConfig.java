@@ -5,6 +5,7 @@ import com.google.firebase.FirebaseApp;
 import com.google.firebase.FirebaseOptions;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
 
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
@@ -12,7 +13,9 @@ import java.io.IOException;
 @Configuration
 public class FirebaseConfig {
 
+    // Lazy: las credenciales se leen en la primera llamada a Firebase y no durante el arranque
     @Bean
+    @Lazy
     public FirebaseApp firebaseApp() throws IOException {
         if (FirebaseApp.getApps().isEmpty()) {
             // JSON de credenciales directamente en el código
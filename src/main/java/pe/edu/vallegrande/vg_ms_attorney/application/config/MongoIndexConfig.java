@@ -0,0 +1,114 @@
+package pe.edu.vallegrande.vg_ms_attorney.application.config;
+
+import com.mongodb.MongoException;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexDefinition;
+import org.springframework.data.mongodb.core.index.IndexResolver;
+import org.springframework.data.mongodb.core.index.MongoPersistentEntityIndexResolver;
+import org.springframework.data.mongodb.core.index.ReactiveIndexOperations;
+import pe.edu.vallegrande.vg_ms_attorney.domain.model.Attorney;
+import pe.edu.vallegrande.vg_ms_attorney.domain.model.FirebaseSyncEvent;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Crea al arrancar los índices declarados en Attorney y en el outbox (@Indexed / @CompoundIndex).
+// Se ejecuta en segundo plano para que una base no disponible no bloquee el arranque, pero las búsquedas y la
+// unicidad de email y documento dependen de ellos: mientras alguno no exista, el indicador mongoIndexes (grupo
+// readiness) está DOWN y cada índice se reintenta hasta crearse.
+@Configuration(proxyBeanMethods = false)
+public class MongoIndexConfig implements DisposableBean {
+
+    // IndexOptionsConflict / IndexKeySpecsConflict: existe un índice con el mismo nombre y otra definición
+    private static final Set<Integer> INDEX_CONFLICT = Set.of(85, 86);
+
+    private final ReactiveMongoTemplate mongoTemplate;
+    private final Duration retryBackoff;
+    // Índices aún no creados y el último error de cada uno
+    private final Map<String, String> pending = new ConcurrentHashMap<>();
+    private volatile boolean started;
+    private Disposable subscription;
+
+    public MongoIndexConfig(ReactiveMongoTemplate mongoTemplate,
+                            @Value("${mongo.indexes.retry-backoff:PT1S}") Duration retryBackoff) {
+        this.mongoTemplate = mongoTemplate;
+        this.retryBackoff = retryBackoff;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void ensureIndexes() {
+        IndexResolver resolver = new MongoPersistentEntityIndexResolver(mongoTemplate.getConverter().getMappingContext());
+
+        List<Class<?>> types = List.of(Attorney.class, FirebaseSyncEvent.class);
+        types.forEach(type -> resolver.resolveIndexFor(type).forEach(index -> pending.put(name(type, index), "pending")));
+        started = true;
+        subscription = Flux.fromIterable(types)
+                .flatMap(type -> ensureIndexes(resolver, type))
+                .subscribe();
+    }
+
+    @Bean
+    public HealthIndicator mongoIndexesHealthIndicator() {
+        return () -> started
+                ? (pending.isEmpty() ? Health.up() : Health.down()).withDetails(pending).build()
+                : Health.unknown().build();
+    }
+
+    private Flux<String> ensureIndexes(IndexResolver resolver, Class<?> type) {
+        ReactiveIndexOperations indexOps = mongoTemplate.indexOps(type);
+        return Flux.fromIterable(resolver.resolveIndexFor(type))
+                .flatMap(index -> {
+                    String name = name(type, index);
+                    return Mono.defer(() -> ensureIndex(indexOps, index))
+                            // Por ejemplo, datos duplicados que impiden crear un índice único
+                            .doOnError(e -> {
+                                System.err.println("Error creating index " + name + ": " + e.getMessage());
+                                pending.put(name, String.valueOf(e.getMessage()));
+                            })
+                            .retryWhen(Retry.backoff(Long.MAX_VALUE, retryBackoff).maxBackoff(Duration.ofMinutes(1)))
+                            .doOnNext(created -> pending.remove(name));
+                });
+    }
+
+    // Un índice creado antes con otras opciones (p. ej. único sin sparse) se reemplaza por el declarado
+    private Mono<String> ensureIndex(ReactiveIndexOperations indexOps, IndexDefinition index) {
+        return indexOps.ensureIndex(index)
+                .onErrorResume(MongoIndexConfig::conflict, e -> indexOps.dropIndex(index.getIndexOptions().getString("name"))
+                        .then(indexOps.ensureIndex(index)));
+    }
+
+    private static String name(Class<?> type, IndexDefinition index) {
+        return type.getSimpleName() + "." + index.getIndexOptions().getString("name");
+    }
+
+    private static boolean conflict(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof MongoException mongo && INDEX_CONFLICT.contains(mongo.getCode())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public void destroy() {
+        if (subscription != null) {
+            subscription.dispose();
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package pe.edu.vallegrande.vg_ms_attorney.application.config;
+
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.ImportRuntimeHints;
+import pe.edu.vallegrande.vg_ms_attorney.domain.dto.AttorneyChangeEvent;
+import pe.edu.vallegrande.vg_ms_attorney.domain.dto.AttorneyChangeFeedRequest;
+import pe.edu.vallegrande.vg_ms_attorney.domain.dto.AttorneyDetail;
+import pe.edu.vallegrande.vg_ms_attorney.domain.dto.AttorneyExportRequest;
+import pe.edu.vallegrande.vg_ms_attorney.domain.dto.AttorneyLookupRequest;
+import pe.edu.vallegrande.vg_ms_attorney.domain.dto.AttorneyLookupResponse;
+import pe.edu.vallegrande.vg_ms_attorney.domain.dto.AttorneyLookupResult;
+import pe.edu.vallegrande.vg_ms_attorney.domain.dto.AttorneyPage;
+import pe.edu.vallegrande.vg_ms_attorney.domain.dto.AttorneyRequest;
+import pe.edu.vallegrande.vg_ms_attorney.domain.dto.AttorneySearchPage;
+import pe.edu.vallegrande.vg_ms_attorney.domain.dto.AttorneySummary;
+import pe.edu.vallegrande.vg_ms_attorney.domain.dto.BulkStatusRequest;
+import pe.edu.vallegrande.vg_ms_attorney.domain.dto.BulkStatusResult;
+import pe.edu.vallegrande.vg_ms_attorney.domain.dto.ImportResult;
+import pe.edu.vallegrande.vg_ms_attorney.domain.dto.QueryPlanReport;
+import pe.edu.vallegrande.vg_ms_attorney.domain.dto.TokenValidationResponse;
+import pe.edu.vallegrande.vg_ms_attorney.domain.model.Attorney;
+import pe.edu.vallegrande.vg_ms_attorney.domain.model.AttorneyStatistics;
+import pe.edu.vallegrande.vg_ms_attorney.domain.model.FirebaseSyncEvent;
+
+// Metadatos de reflexión que se generan con el procesamiento AOT (perfil fast-startup): Jackson y el mapeo de Mongo
+// usan los getters, setters y constructores que Lombok genera en modelos y DTOs, que el análisis estático no ve.
+@Configuration
+@ImportRuntimeHints(RuntimeHintsConfig.DomainHints.class)
+public class RuntimeHintsConfig {
+
+    static final Class<?>[] DOMAIN_TYPES = {
+            Attorney.class, AttorneyStatistics.class, FirebaseSyncEvent.class,
+            AttorneyChangeEvent.class, AttorneyChangeFeedRequest.class, AttorneyDetail.class, AttorneyExportRequest.class,
+            AttorneyLookupRequest.class, AttorneyLookupResponse.class, AttorneyLookupResult.class,
+            AttorneyPage.class, AttorneyRequest.class, AttorneySearchPage.class, AttorneySummary.class,
+            BulkStatusRequest.class, BulkStatusResult.class, ImportResult.class, QueryPlanReport.class,
+            TokenValidationResponse.class
+    };
+
+    static class DomainHints implements RuntimeHintsRegistrar {
+
+        @Override
+        public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+            // Propiedades para Jackson (getters/setters y tipos anidados)
+            new BindingReflectionHintsRegistrar().registerReflectionHints(hints.reflection(), DOMAIN_TYPES);
+            // Spring Data lee y escribe los documentos por campo
+            for (Class<?> type : new Class<?>[]{Attorney.class, AttorneyStatistics.class, FirebaseSyncEvent.class}) {
+                hints.reflection().registerType(type, MemberCategory.DECLARED_FIELDS, MemberCategory.INVOKE_DECLARED_CONSTRUCTORS);
+            }
+        }
+    }
+}
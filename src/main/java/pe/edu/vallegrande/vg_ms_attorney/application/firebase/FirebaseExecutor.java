@@ -0,0 +1,146 @@
+package pe.edu.vallegrande.vg_ms_attorney.application.firebase;
+
+import com.google.firebase.FirebaseApp;
+import com.google.firebase.auth.FirebaseAuth;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import pe.edu.vallegrande.vg_ms_attorney.application.metrics.ReactiveTimers;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Ejecuta las llamadas bloqueantes del Admin SDK de Firebase fuera del event loop de Netty, en dos pools acotados
+// (hilos + cola) con timeout por llamada:
+// - firebase: escrituras (outbox, importación masiva)
+// - firebase-verify: verificación de ID tokens, para que una descarga del outbox o una importación no deje sin
+//   autenticación al resto de solicitudes
+// Cada llamada se mide en el timer firebase.call con la operación del Admin SDK como etiqueta
+@Component
+public class FirebaseExecutor implements DisposableBean {
+
+    @FunctionalInterface
+    public interface FirebaseCall<T> {
+        T apply(FirebaseAuth auth) throws Exception;
+    }
+
+    @FunctionalInterface
+    public interface FirebaseAction {
+        void accept(FirebaseAuth auth) throws Exception;
+    }
+
+    private final ObjectProvider<FirebaseApp> firebaseApp;
+    private final ReactiveTimers timers;
+    private final Bulkhead writes;
+    private final Bulkhead verification;
+
+    public FirebaseExecutor(ObjectProvider<FirebaseApp> firebaseApp,
+                            MeterRegistry meterRegistry,
+                            ReactiveTimers timers,
+                            @Value("${firebase.executor.threads:8}") int threads,
+                            @Value("${firebase.executor.queue-capacity:200}") int queueCapacity,
+                            @Value("${firebase.executor.call-timeout:PT10S}") Duration callTimeout,
+                            @Value("${firebase.executor.verification.threads:4}") int verificationThreads,
+                            @Value("${firebase.executor.verification.queue-capacity:500}") int verificationQueueCapacity,
+                            @Value("${firebase.executor.verification.call-timeout:PT3S}") Duration verificationTimeout) {
+        this.firebaseApp = firebaseApp;
+        this.timers = timers;
+        this.writes = new Bulkhead("firebase", threads, queueCapacity, callTimeout, meterRegistry);
+        this.verification = new Bulkhead("firebase-verify", verificationThreads, verificationQueueCapacity,
+                verificationTimeout, meterRegistry);
+    }
+
+    public <T> Mono<T> call(String operation, FirebaseCall<T> call) {
+        return execute(writes, operation, call);
+    }
+
+    public Mono<Void> run(String operation, FirebaseAction action) {
+        return call(operation, auth -> {
+            action.accept(auth);
+            return Boolean.TRUE;
+        }).then();
+    }
+
+    // Verificación de tokens en su propio pool
+    public <T> Mono<T> verify(String operation, FirebaseCall<T> call) {
+        return execute(verification, operation, call);
+    }
+
+    private <T> Mono<T> execute(Bulkhead bulkhead, String operation, FirebaseCall<T> call) {
+        // La FirebaseApp (lectura de credenciales) se crea en la primera llamada, en un hilo de estos pools
+        return Mono.fromCallable(() -> call.apply(FirebaseAuth.getInstance(firebaseApp.getObject())))
+                .subscribeOn(bulkhead.scheduler)
+                .timeout(bulkhead.timeout)
+                .doOnError(TimeoutException.class, e -> bulkhead.timeouts.increment())
+                .transform(timers.mono("firebase.call", operation));
+    }
+
+    public int concurrency() {
+        return writes.pool.getMaximumPoolSize();
+    }
+
+    public int queueDepth() {
+        return writes.pool.getQueue().size();
+    }
+
+    public int queueCapacity() {
+        return writes.pool.getQueue().size() + writes.pool.getQueue().remainingCapacity();
+    }
+
+    @Override
+    public void destroy() {
+        writes.dispose();
+        verification.dispose();
+    }
+
+    private static final class Bulkhead {
+
+        private final ThreadPoolExecutor pool;
+        private final Scheduler scheduler;
+        private final Duration timeout;
+        private final Counter rejected;
+        private final Counter timeouts;
+
+        private Bulkhead(String name, int threads, int queueCapacity, Duration timeout, MeterRegistry meterRegistry) {
+            this.timeout = timeout;
+            this.rejected = meterRegistry.counter("firebase.calls.rejected", "pool", name);
+            this.timeouts = meterRegistry.counter("firebase.calls.timeout", "pool", name);
+
+            AtomicInteger threadCount = new AtomicInteger();
+            this.pool = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                    new ArrayBlockingQueue<>(queueCapacity),
+                    runnable -> {
+                        Thread thread = new Thread(runnable, name + "-" + threadCount.incrementAndGet());
+                        thread.setDaemon(true);
+                        return thread;
+                    },
+                    (runnable, executor) -> {
+                        rejected.increment();
+                        throw new RejectedExecutionException("Cola de llamadas a " + name + " llena");
+                    });
+            this.pool.allowCoreThreadTimeOut(true);
+
+            // executor.active, executor.queued, executor.queue.remaining, executor.pool.size...{name=firebase|firebase-verify}
+            ExecutorService monitored = ExecutorServiceMetrics.monitor(meterRegistry, pool, name);
+            this.scheduler = Schedulers.fromExecutorService(monitored, name);
+        }
+
+        private void dispose() {
+            scheduler.dispose();
+            pool.shutdown();
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package pe.edu.vallegrande.vg_ms_attorney.application.firebase;
+
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.stereotype.Component;
+import pe.edu.vallegrande.vg_ms_attorney.domain.model.FirebaseSyncEvent;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+// Registra los cambios que deben llegar a Firebase. Se llama dentro de la misma transacción
+// que la escritura del Attorney, de modo que ambos se confirman o se descartan juntos.
+@Component
+public class FirebaseOutbox {
+
+    private final ReactiveMongoTemplate mongoTemplate;
+
+    public FirebaseOutbox(ReactiveMongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    public Mono<FirebaseSyncEvent> enqueue(String attorneyId, FirebaseSyncEvent.Type type) {
+        return mongoTemplate.insert(newEvent(attorneyId, type));
+    }
+
+    public Mono<Void> enqueueAll(Collection<String> attorneyIds, FirebaseSyncEvent.Type type) {
+        if (attorneyIds.isEmpty()) {
+            return Mono.empty();
+        }
+        List<FirebaseSyncEvent> events = attorneyIds.stream().map(id -> newEvent(id, type)).toList();
+        return mongoTemplate.insertAll(events).then();
+    }
+
+    private static FirebaseSyncEvent newEvent(String attorneyId, FirebaseSyncEvent.Type type) {
+        LocalDateTime now = LocalDateTime.now();
+        FirebaseSyncEvent event = new FirebaseSyncEvent();
+        event.setAttorneyId(attorneyId);
+        event.setType(type);
+        event.setStatus(FirebaseSyncEvent.Status.PENDING);
+        event.setNextAttemptAt(now);
+        event.setCreatedAt(now);
+        return event;
+    }
+}
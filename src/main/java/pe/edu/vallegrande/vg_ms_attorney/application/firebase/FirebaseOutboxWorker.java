@@ -0,0 +1,296 @@
+package pe.edu.vallegrande.vg_ms_attorney.application.firebase;
+
+import com.google.firebase.auth.AuthErrorCode;
+import com.google.firebase.auth.FirebaseAuthException;
+import com.google.firebase.auth.UserRecord;
+import com.mongodb.client.result.UpdateResult;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+import pe.edu.vallegrande.vg_ms_attorney.domain.model.Attorney;
+import pe.edu.vallegrande.vg_ms_attorney.domain.model.FirebaseSyncEvent;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static pe.edu.vallegrande.vg_ms_attorney.application.util.AttorneyUtil.Inactivo;
+import static pe.edu.vallegrande.vg_ms_attorney.application.util.AttorneyUtil.RolApoderado;
+import static pe.edu.vallegrande.vg_ms_attorney.domain.model.FirebaseSyncEvent.Status.DONE;
+import static pe.edu.vallegrande.vg_ms_attorney.domain.model.FirebaseSyncEvent.Status.FAILED;
+import static pe.edu.vallegrande.vg_ms_attorney.domain.model.FirebaseSyncEvent.Status.PENDING;
+import static pe.edu.vallegrande.vg_ms_attorney.domain.model.FirebaseSyncEvent.Status.PROCESSING;
+
+// Vacía el outbox hacia Firebase en lotes. Cada lote se reclama con un updateMulti que repite la condición de
+// disponibilidad y marca los eventos con un token y un plazo (lease), así varias réplicas pueden correr el worker
+// sin procesar dos veces el mismo evento; si una réplica cae, el evento vuelve a estar disponible cuando vence el plazo.
+@Component
+public class FirebaseOutboxWorker implements DisposableBean {
+
+    // Eventos reclamados por lote como máximo; el lote completo se guarda en memoria antes de procesarlo
+    static final int MAX_BATCH_SIZE = 1000;
+
+    private final ReactiveMongoTemplate mongoTemplate;
+    private final FirebaseExecutor firebaseExecutor;
+    private final boolean enabled;
+    private final Duration pollInterval;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final Duration lease;
+    private final Duration initialBackoff;
+    private final Duration maxBackoff;
+
+    private final AtomicLong depth = new AtomicLong();
+    private final AtomicLong oldestPendingSeconds = new AtomicLong();
+    private final AtomicLong failedEvents = new AtomicLong();
+    private final Counter processed;
+    private final Counter retried;
+    private final Counter failed;
+    private final Timer lag;
+
+    private Disposable subscription;
+
+    public FirebaseOutboxWorker(ReactiveMongoTemplate mongoTemplate,
+                                FirebaseExecutor firebaseExecutor,
+                                MeterRegistry meterRegistry,
+                                @Value("${firebase.outbox.enabled:true}") boolean enabled,
+                                @Value("${firebase.outbox.poll-interval:PT1S}") Duration pollInterval,
+                                @Value("${firebase.outbox.batch-size:100}") int batchSize,
+                                @Value("${firebase.outbox.max-attempts:10}") int maxAttempts,
+                                @Value("${firebase.outbox.lease:PT1M}") Duration lease,
+                                @Value("${firebase.outbox.initial-backoff:PT2S}") Duration initialBackoff,
+                                @Value("${firebase.outbox.max-backoff:PT10M}") Duration maxBackoff) {
+        this.mongoTemplate = mongoTemplate;
+        this.firebaseExecutor = firebaseExecutor;
+        this.enabled = enabled;
+        this.pollInterval = pollInterval;
+        this.batchSize = Math.min(Math.max(batchSize, 1), MAX_BATCH_SIZE);
+        this.maxAttempts = Math.max(maxAttempts, 1);
+        this.lease = lease;
+        this.initialBackoff = initialBackoff;
+        this.maxBackoff = maxBackoff;
+
+        meterRegistry.gauge("firebase.outbox.depth", depth);
+        meterRegistry.gauge("firebase.outbox.oldest.pending.seconds", oldestPendingSeconds);
+        meterRegistry.gauge("firebase.outbox.failed.events", failedEvents);
+        this.processed = meterRegistry.counter("firebase.outbox.processed");
+        this.retried = meterRegistry.counter("firebase.outbox.retried");
+        this.failed = meterRegistry.counter("firebase.outbox.failed");
+        // Tiempo desde que se registró el cambio hasta que quedó aplicado en Firebase
+        this.lag = Timer.builder("firebase.outbox.lag").publishPercentiles(0.5, 0.95, 0.99).register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        subscription = Flux.interval(pollInterval)
+                .onBackpressureDrop()
+                .concatMap(tick -> refreshGauges()
+                        .then(drain())
+                        .onErrorResume(e -> {
+                            System.err.println("Error draining Firebase outbox: " + e.getMessage());
+                            return Mono.empty();
+                        }), 1)
+                .subscribe();
+    }
+
+    // Reclama hasta batchSize eventos y los procesa; los de un mismo apoderado se aplican en orden.
+    // Los grupos se arman en memoria con el lote completo: con groupBy sobre el flujo, los grupos que exceden la
+    // concurrencia de flatMap quedan sin suscriptor, llenan el buffer de groupBy y el lote no termina nunca.
+    Mono<Void> drain() {
+        return claimBatch()
+                .collectList()
+                .flatMapMany(events -> {
+                    Map<String, List<FirebaseSyncEvent>> byAttorney = new LinkedHashMap<>();
+                    events.forEach(event -> byAttorney.computeIfAbsent(event.getAttorneyId(), id -> new ArrayList<>()).add(event));
+                    return Flux.fromIterable(byAttorney.values());
+                })
+                .flatMap(events -> Flux.fromIterable(events).concatMap(this::process), firebaseExecutor.concurrency())
+                .then();
+    }
+
+    // Tres consultas por lote en lugar de un findAndModify por evento: los ids disponibles más antiguos, un updateMulti
+    // que los reclama con un token si siguen disponibles (otra réplica pudo ganarlos) y la lectura de los reclamados
+    private Flux<FirebaseSyncEvent> claimBatch() {
+        LocalDateTime now = LocalDateTime.now();
+        Query candidates = Query.query(claimable(now))
+                .with(Sort.by(Sort.Direction.ASC, "createdAt"))
+                .limit(batchSize);
+        candidates.fields().include("_id");
+        return mongoTemplate.find(candidates, FirebaseSyncEvent.class)
+                .map(FirebaseSyncEvent::getId)
+                .collectList()
+                .filter(ids -> !ids.isEmpty())
+                .flatMapMany(ids -> {
+                    String token = UUID.randomUUID().toString();
+                    Update update = new Update()
+                            .set("status", PROCESSING)
+                            .set("lockedUntil", now.plus(lease))
+                            .set("claimToken", token);
+                    Query claim = Query.query(new Criteria().andOperator(Criteria.where("_id").in(ids), claimable(now)));
+                    return mongoTemplate.updateMulti(claim, update, FirebaseSyncEvent.class)
+                            .filter(result -> result.getModifiedCount() > 0)
+                            .flatMapMany(result -> mongoTemplate.find(
+                                    Query.query(Criteria.where("claimToken").is(token))
+                                            .with(Sort.by(Sort.Direction.ASC, "createdAt")),
+                                    FirebaseSyncEvent.class));
+                });
+    }
+
+    private static Criteria claimable(LocalDateTime now) {
+        return new Criteria().orOperator(
+                Criteria.where("status").is(PENDING).and("nextAttemptAt").lte(now),
+                Criteria.where("status").is(PROCESSING).and("lockedUntil").lte(now));
+    }
+
+    private Mono<Void> process(FirebaseSyncEvent event) {
+        return mongoTemplate.findById(event.getAttorneyId(), Attorney.class)
+                .flatMap(attorney -> apply(event.getType(), attorney).thenReturn(attorney))
+                // Si el apoderado ya no existe no hay nada que sincronizar
+                .then(Mono.defer(() -> markDone(event)))
+                .onErrorResume(e -> markFailed(event, e));
+    }
+
+    // Aplica el estado actual del apoderado; repetir la misma llamada deja a Firebase igual
+    private Mono<Void> apply(FirebaseSyncEvent.Type type, Attorney attorney) {
+        String uid = attorney.getUid();
+        if (uid == null) {
+            return Mono.empty();
+        }
+        String displayName = attorney.getNames() + " " + attorney.getSurnames();
+        boolean disabled = Inactivo.equals(attorney.getStatus());
+        return switch (type) {
+            case CREATE_USER -> firebaseExecutor.run("createUser", auth -> {
+                try {
+                    auth.createUser(new UserRecord.CreateRequest()
+                            .setUid(uid)
+                            .setEmail(attorney.getEmail())
+                            .setPassword(attorney.getPassword())
+                            .setDisplayName(displayName)
+                            .setDisabled(disabled));
+                } catch (FirebaseAuthException e) {
+                    if (e.getAuthErrorCode() != AuthErrorCode.UID_ALREADY_EXISTS) {
+                        throw e;
+                    }
+                    // Reintento de un evento ya aplicado: se deja el usuario con el estado actual
+                    auth.updateUser(new UserRecord.UpdateRequest(uid)
+                            .setEmail(attorney.getEmail())
+                            .setPassword(attorney.getPassword())
+                            .setDisplayName(displayName)
+                            .setDisabled(disabled));
+                }
+                String role = attorney.getRole() != null ? attorney.getRole() : RolApoderado;
+                auth.setCustomUserClaims(uid, Map.of("role", role));
+            });
+            case UPDATE_PROFILE -> firebaseExecutor.run("updateProfile", auth -> auth.updateUser(
+                    new UserRecord.UpdateRequest(uid).setDisplayName(displayName)));
+            case SET_DISABLED -> firebaseExecutor.run("setDisabled", auth -> auth.updateUser(
+                    new UserRecord.UpdateRequest(uid).setDisabled(disabled)));
+            case SET_PASSWORD -> firebaseExecutor.run("setPassword", auth -> auth.updateUser(
+                    new UserRecord.UpdateRequest(uid).setPassword(attorney.getPassword())));
+        };
+    }
+
+    private Mono<Void> markDone(FirebaseSyncEvent event) {
+        LocalDateTime now = LocalDateTime.now();
+        Update update = new Update()
+                .set("status", DONE)
+                .set("processedAt", now)
+                .unset("lockedUntil")
+                .unset("claimToken")
+                .unset("lastError");
+        return mongoTemplate.updateFirst(claimed(event), update, FirebaseSyncEvent.class)
+                .filter(result -> leaseHeld(event, result))
+                .doOnNext(result -> {
+                    processed.increment();
+                    lag.record(Duration.between(event.getCreatedAt(), now));
+                })
+                .then();
+    }
+
+    private Mono<Void> markFailed(FirebaseSyncEvent event, Throwable error) {
+        int attempts = event.getAttempts() + 1;
+        boolean exhausted = attempts >= maxAttempts;
+        Update update = new Update()
+                .set("attempts", attempts)
+                .set("lastError", String.valueOf(error.getMessage()))
+                .unset("lockedUntil")
+                .unset("claimToken");
+        if (exhausted) {
+            update.set("status", FAILED);
+        } else {
+            update.set("status", PENDING)
+                    .set("nextAttemptAt", LocalDateTime.now().plus(backoff(attempts, initialBackoff, maxBackoff)));
+        }
+        return mongoTemplate.updateFirst(claimed(event), update, FirebaseSyncEvent.class)
+                .filter(result -> leaseHeld(event, result))
+                .doOnNext(result -> {
+                    if (exhausted) {
+                        System.err.println("Firebase sync gave up for attorney " + event.getAttorneyId() + " (" + event.getType() + "): " + error.getMessage());
+                    }
+                    (exhausted ? failed : retried).increment();
+                })
+                .then();
+    }
+
+    // Solo se cierra el evento si el reclamo sigue siendo nuestro: si el lease venció, otra réplica pudo
+    // reclamarlo con otro token y su resultado es el que cuenta
+    private static Query claimed(FirebaseSyncEvent event) {
+        return Query.query(Criteria.where("_id").is(event.getId()).and("claimToken").is(event.getClaimToken()));
+    }
+
+    private static boolean leaseHeld(FirebaseSyncEvent event, UpdateResult result) {
+        if (result.getMatchedCount() > 0) {
+            return true;
+        }
+        System.err.println("Firebase sync lease lost for event " + event.getId() + " (" + event.getType() + ")");
+        return false;
+    }
+
+    // Espera exponencial: initial, 2*initial, 4*initial... hasta max
+    static Duration backoff(int attempts, Duration initial, Duration max) {
+        int shift = Math.min(Math.max(attempts - 1, 0), 30);
+        Duration delay = initial.multipliedBy(1L << shift);
+        return delay.compareTo(max) > 0 ? max : delay;
+    }
+
+    private Mono<Void> refreshGauges() {
+        Query pending = Query.query(Criteria.where("status").in(PENDING, PROCESSING));
+        Query oldest = Query.query(Criteria.where("status").in(PENDING, PROCESSING))
+                .with(Sort.by(Sort.Direction.ASC, "createdAt"));
+        return Mono.when(
+                mongoTemplate.count(pending, FirebaseSyncEvent.class).doOnNext(depth::set),
+                mongoTemplate.count(Query.query(Criteria.where("status").is(FAILED)), FirebaseSyncEvent.class).doOnNext(failedEvents::set),
+                mongoTemplate.findOne(oldest, FirebaseSyncEvent.class)
+                        .map(event -> Duration.between(event.getCreatedAt(), LocalDateTime.now()).toSeconds())
+                        .defaultIfEmpty(0L)
+                        .doOnNext(oldestPendingSeconds::set));
+    }
+
+    @Override
+    public void destroy() {
+        if (subscription != null) {
+            subscription.dispose();
+        }
+    }
+}
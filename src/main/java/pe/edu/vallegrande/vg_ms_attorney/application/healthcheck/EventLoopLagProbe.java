@@ -0,0 +1,74 @@
+package pe.edu.vallegrande.vg_ms_attorney.application.healthcheck;
+
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.LongSupplier;
+
+// Mide el retraso de los event loops: en cada muestra encola una tarea vacía en cada loop y anota cuánto tardó
+// en ejecutarse. Si la tarea anterior aún no corrió (loop bloqueado), el retraso es el tiempo que lleva esperando.
+// Es un solo bean para RuntimeDiagnostics y EventLoopStallDetector: hay como máximo una tarea de prueba por loop.
+@Component
+public class EventLoopLagProbe {
+
+    private final LongSupplier clock;
+    private final Map<Executor, Probe> probes = new ConcurrentHashMap<>();
+
+    public EventLoopLagProbe() {
+        this(System::nanoTime);
+    }
+
+    EventLoopLagProbe(LongSupplier clock) {
+        this.clock = clock;
+    }
+
+    // Mayor retraso entre todos los loops, en nanosegundos
+    long sample(Iterable<? extends Executor> loops) {
+        long max = 0;
+        for (Lag lag : sampleEach(loops)) {
+            max = Math.max(max, Math.max(lag.lastNanos(), lag.waitingNanos()));
+        }
+        return max;
+    }
+
+    // Estado de cada loop: lastNanos es lo que tardó la última tarea de prueba que corrió y waitingNanos lo que lleva
+    // esperando la pendiente (0 si no hay). thread es el hilo del loop, null hasta que corre la primera tarea.
+    synchronized List<Lag> sampleEach(Iterable<? extends Executor> loops) {
+        List<Lag> lags = new ArrayList<>();
+        for (Executor executor : loops) {
+            Probe probe = probes.computeIfAbsent(executor, e -> new Probe());
+            long now = clock.getAsLong();
+            long submittedAt = probe.submittedAt;
+            if (submittedAt == 0) {
+                probe.submittedAt = now;
+                try {
+                    executor.execute(() -> {
+                        probe.thread = Thread.currentThread();
+                        probe.lastLag = clock.getAsLong() - probe.submittedAt;
+                        probe.submittedAt = 0;
+                    });
+                } catch (RejectedExecutionException e) {
+                    probe.submittedAt = 0; // Loop apagándose
+                }
+                lags.add(new Lag(executor, probe.thread, probe.lastLag, 0));
+            } else {
+                lags.add(new Lag(executor, probe.thread, probe.lastLag, now - submittedAt));
+            }
+        }
+        return lags;
+    }
+
+    record Lag(Executor loop, Thread thread, long lastNanos, long waitingNanos) {
+    }
+
+    private static final class Probe {
+        private volatile Thread thread;
+        private volatile long submittedAt;
+        private volatile long lastLag;
+    }
+}
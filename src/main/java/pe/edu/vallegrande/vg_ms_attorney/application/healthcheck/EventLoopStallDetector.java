@@ -0,0 +1,123 @@
+package pe.edu.vallegrande.vg_ms_attorney.application.healthcheck;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import reactor.netty.http.HttpResources;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+// Detección de bloqueos de los event loops en producción (el perfil blockhound cubre las pruebas).
+// Un hilo propio muestrea cada check-interval la tarea de prueba de EventLoopLagProbe; si lleva más de `threshold`
+// sin ejecutarse, el loop está bloqueado o saturado y se reporta la pila del hilo en ese momento (lo que está
+// ejecutando) junto con el contador eventloop.stalls. No falla nada: solo informa, y solo una vez por bloqueo.
+@Component
+public class EventLoopStallDetector implements DisposableBean {
+
+    private static final int MAX_FRAMES = 40;
+
+    private final boolean enabled;
+    private final Duration checkInterval;
+    private final long thresholdNanos;
+    private final MeterRegistry meterRegistry;
+    private final Timer stallDuration;
+    private final EventLoopLagProbe probe;
+    // Loops con un bloqueo ya reportado que todavía no terminó, con la mayor espera observada
+    private final Map<Executor, Long> stalled = new ConcurrentHashMap<>();
+
+    private ScheduledExecutorService scheduler;
+
+    public EventLoopStallDetector(MeterRegistry meterRegistry,
+                                  EventLoopLagProbe probe,
+                                  @Value("${diagnostics.stall-detection.enabled:false}") boolean enabled,
+                                  @Value("${diagnostics.stall-detection.threshold:PT0.2S}") Duration threshold,
+                                  @Value("${diagnostics.stall-detection.check-interval:PT0.05S}") Duration checkInterval) {
+        this.meterRegistry = meterRegistry;
+        this.probe = probe;
+        this.enabled = enabled;
+        this.checkInterval = checkInterval;
+        this.thresholdNanos = threshold.toNanos();
+        // Duración total de cada bloqueo reportado, medida cuando el loop vuelve a ejecutar la tarea
+        this.stallDuration = Timer.builder("eventloop.stall.duration")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "eventloop-stall-detector");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(() -> {
+            try {
+                check();
+            } catch (RuntimeException e) {
+                System.err.println("Error checking event loop stalls: " + e.getMessage());
+            }
+        }, 0, checkInterval.toNanos(), TimeUnit.NANOSECONDS);
+    }
+
+    void check() {
+        check(HttpResources.get().onServer(true));
+    }
+
+    void check(Iterable<? extends Executor> loops) {
+        for (EventLoopLagProbe.Lag lag : probe.sampleEach(loops)) {
+            if (lag.waitingNanos() > thresholdNanos) {
+                if (stalled.put(lag.loop(), lag.waitingNanos()) == null) {
+                    report(lag.thread(), lag.waitingNanos());
+                }
+            } else {
+                Long observed = stalled.remove(lag.loop());
+                if (observed != null) {
+                    // Normalmente la tarea que esperaba durante el bloqueo ya corrió y su retraso es la duración total;
+                    // si RuntimeDiagnostics ya encoló otra, queda la mayor espera observada
+                    stallDuration.record(Math.max(observed, lag.lastNanos()), TimeUnit.NANOSECONDS);
+                }
+            }
+        }
+    }
+
+    // thread es null si el loop se bloqueó antes de ejecutar la primera tarea de prueba: se cuenta, pero sin pila
+    private void report(Thread thread, long blockedNanos) {
+        String name = thread != null ? thread.getName() : "unknown";
+        Counter.builder("eventloop.stalls")
+                .tag("thread", name)
+                .register(meterRegistry)
+                .increment();
+
+        StackTraceElement[] stack = thread != null ? thread.getStackTrace() : new StackTraceElement[0];
+        StringBuilder message = new StringBuilder("Event loop ").append(name)
+                .append(" blocked for ").append(TimeUnit.NANOSECONDS.toMillis(blockedNanos)).append(" ms:");
+        for (int i = 0; i < Math.min(stack.length, MAX_FRAMES); i++) {
+            message.append(System.lineSeparator()).append("\tat ").append(stack[i]);
+        }
+        if (stack.length > MAX_FRAMES) {
+            message.append(System.lineSeparator()).append("\t... ").append(stack.length - MAX_FRAMES).append(" more");
+        }
+        System.err.println(message);
+    }
+
+    @Override
+    public void destroy() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package pe.edu.vallegrande.vg_ms_attorney.application.healthcheck;
+
+// Estado con histéresis para una señal numérica: se activa cuando el valor llega a `enter` durante `samples`
+// muestras seguidas y solo se desactiva cuando baja a `exit` (< enter) otras `samples` muestras seguidas.
+// Así un pico aislado o un valor que ronda el umbral no hace oscilar las sondas del orquestador.
+class Hysteresis {
+
+    private final double enter;
+    private final double exit;
+    private final int samples;
+
+    private volatile boolean active;
+    private int streak;
+
+    Hysteresis(double enter, double exit, int samples) {
+        this.enter = enter;
+        this.exit = exit;
+        this.samples = Math.max(samples, 1);
+    }
+
+    boolean update(double value) {
+        boolean towardsChange = active ? value <= exit : value >= enter;
+        streak = towardsChange ? streak + 1 : 0;
+        if (streak >= samples) {
+            active = !active;
+            streak = 0;
+        }
+        return active;
+    }
+
+    boolean isActive() {
+        return active;
+    }
+}
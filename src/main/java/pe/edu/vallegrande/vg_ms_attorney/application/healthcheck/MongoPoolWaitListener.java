@@ -0,0 +1,66 @@
+package pe.edu.vallegrande.vg_ms_attorney.application.healthcheck;
+
+import com.mongodb.MongoClientSettings;
+import com.mongodb.event.ConnectionCheckOutFailedEvent;
+import com.mongodb.event.ConnectionCheckOutStartedEvent;
+import com.mongodb.event.ConnectionCheckedOutEvent;
+import com.mongodb.event.ConnectionPoolListener;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Tiempo que cada operación espera para obtener una conexión del pool de Mongo (mongodb.driver.pool.wait).
+// Las métricas de Micrometer para el pool solo dan tamaños; la espera es lo que crece cuando el pool se queda corto.
+@Component
+public class MongoPoolWaitListener implements ConnectionPoolListener, MongoClientSettingsBuilderCustomizer {
+
+    private final Timer wait;
+    private final AtomicLong maxWaitNanos = new AtomicLong();
+    private final AtomicInteger waiting = new AtomicInteger();
+
+    public MongoPoolWaitListener(MeterRegistry meterRegistry) {
+        this.wait = Timer.builder("mongodb.driver.pool.wait")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void customize(MongoClientSettings.Builder builder) {
+        builder.applyToConnectionPoolSettings(pool -> pool.addConnectionPoolListener(this));
+    }
+
+    @Override
+    public void connectionCheckOutStarted(ConnectionCheckOutStartedEvent event) {
+        waiting.incrementAndGet();
+    }
+
+    @Override
+    public void connectionCheckedOut(ConnectionCheckedOutEvent event) {
+        record(event.getElapsedTime(TimeUnit.NANOSECONDS));
+    }
+
+    @Override
+    public void connectionCheckOutFailed(ConnectionCheckOutFailedEvent event) {
+        record(event.getElapsedTime(TimeUnit.NANOSECONDS));
+    }
+
+    // Mayor espera desde la llamada anterior
+    long takeMaxWaitNanos() {
+        return maxWaitNanos.getAndSet(0);
+    }
+
+    int waiting() {
+        return waiting.get();
+    }
+
+    private void record(long nanos) {
+        waiting.decrementAndGet();
+        wait.record(nanos, TimeUnit.NANOSECONDS);
+        maxWaitNanos.accumulateAndGet(nanos, Math::max);
+    }
+}
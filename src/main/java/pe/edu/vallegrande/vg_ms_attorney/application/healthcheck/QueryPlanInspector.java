@@ -0,0 +1,114 @@
+package pe.edu.vallegrande.vg_ms_attorney.application.healthcheck;
+
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.convert.QueryMapper;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentEntity;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.repository.query.parser.Part;
+import org.springframework.data.repository.query.parser.PartTree;
+import org.springframework.stereotype.Component;
+import pe.edu.vallegrande.vg_ms_attorney.application.service.impl.AttorneyServiceImpl;
+import pe.edu.vallegrande.vg_ms_attorney.domain.dto.QueryPlanReport;
+import pe.edu.vallegrande.vg_ms_attorney.domain.model.Attorney;
+import pe.edu.vallegrande.vg_ms_attorney.domain.repository.AttorneyRepository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static pe.edu.vallegrande.vg_ms_attorney.application.util.AttorneyUtil.Activo;
+
+// Ejecuta explain() sobre las consultas derivadas de AttorneyRepository (a partir del nombre de cada método, como
+// hace Spring Data) y sobre la consulta del listado paginado, para detectar cualquiera que termine en COLLSCAN
+@Component
+public class QueryPlanInspector {
+
+    private static final String COLLSCAN = "COLLSCAN";
+    // Valor de ejemplo: el plan depende de la forma del filtro, no del valor
+    private static final String SAMPLE = "explain";
+
+    private final ReactiveMongoTemplate mongoTemplate;
+
+    public QueryPlanInspector(ReactiveMongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    public Flux<QueryPlanReport> inspect() {
+        return Flux.fromIterable(queries().entrySet())
+                .concatMap(entry -> explain(entry.getValue())
+                        .map(plan -> report(entry.getKey(), plan)));
+    }
+
+    static Map<String, Query> queries() {
+        Map<String, Query> queries = new LinkedHashMap<>();
+        Arrays.stream(AttorneyRepository.class.getDeclaredMethods())
+                .filter(method -> !method.isDefault() && !Modifier.isStatic(method.getModifiers()))
+                .sorted(Comparator.comparing(Method::getName))
+                .forEach(method -> queries.put(method.getName(), derivedQuery(method.getName())));
+        queries.put("listPage", AttorneyServiceImpl.pageQuery(Activo, new ObjectId(), 1));
+        return queries;
+    }
+
+    // Arma el filtro que Spring Data deriva del nombre del método (findByXAndY, findByXInOrYIn...)
+    static Query derivedQuery(String methodName) {
+        PartTree tree = new PartTree(methodName, Attorney.class);
+        List<Criteria> alternatives = new ArrayList<>();
+        for (PartTree.OrPart orPart : tree) {
+            List<Criteria> conditions = new ArrayList<>();
+            for (Part part : orPart) {
+                String property = part.getProperty().toDotPath();
+                conditions.add(switch (part.getType()) {
+                    case SIMPLE_PROPERTY -> Criteria.where(property).is(SAMPLE);
+                    case IN -> Criteria.where(property).in(List.of(SAMPLE));
+                    default -> throw new IllegalStateException("Tipo de condición no soportado en " + methodName + ": " + part.getType());
+                });
+            }
+            alternatives.add(conditions.size() == 1 ? conditions.get(0) : new Criteria().andOperator(conditions));
+        }
+        return Query.query(alternatives.size() == 1 ? alternatives.get(0) : new Criteria().orOperator(alternatives));
+    }
+
+    private Mono<Document> explain(Query query) {
+        // Nombres de propiedad a nombres de campo en Mongo (idAttorney -> _id), igual que al ejecutar la consulta
+        MongoPersistentEntity<?> entity = mongoTemplate.getConverter().getMappingContext().getRequiredPersistentEntity(Attorney.class);
+        QueryMapper mapper = new QueryMapper(mongoTemplate.getConverter());
+        Document filter = mapper.getMappedObject(query.getQueryObject(), entity);
+        Document sort = mapper.getMappedSort(query.getSortObject(), entity);
+        return mongoTemplate.getCollection(mongoTemplate.getCollectionName(Attorney.class))
+                .flatMap(collection -> Mono.from(collection.find(filter)
+                        .sort(sort)
+                        .limit(1)
+                        .explain()));
+    }
+
+    static QueryPlanReport report(String name, Document explain) {
+        Document queryPlanner = explain.get("queryPlanner", Document.class);
+        Object winningPlan = queryPlanner != null ? queryPlanner.get("winningPlan") : null;
+        List<String> stages = new ArrayList<>();
+        collectStages(winningPlan, stages);
+        return new QueryPlanReport(name, stages, stages.contains(COLLSCAN));
+    }
+
+    // Recorre el plan ganador (inputStage, inputStages, queryPlan...) y acumula el nombre de cada etapa
+    private static void collectStages(Object node, List<String> stages) {
+        if (node instanceof Document document) {
+            Object stage = document.get("stage");
+            if (stage instanceof String name) {
+                stages.add(name);
+            }
+            document.values().forEach(value -> collectStages(value, stages));
+        } else if (node instanceof List<?> list) {
+            list.forEach(value -> collectStages(value, stages));
+        }
+    }
+}
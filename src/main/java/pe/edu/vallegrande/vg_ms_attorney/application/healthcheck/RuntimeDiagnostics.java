@@ -0,0 +1,252 @@
+package pe.edu.vallegrande.vg_ms_attorney.application.healthcheck;
+
+import com.sun.management.GcInfo;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.netty.buffer.ByteBufAllocatorMetric;
+import io.netty.buffer.PooledByteBufAllocator;
+import io.netty.util.internal.PlatformDependent;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import pe.edu.vallegrande.vg_ms_attorney.application.firebase.FirebaseExecutor;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.netty.http.HttpResources;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.management.MemoryUsage;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+// Diagnóstico del proceso, muestreado cada sample-interval (no en cada consulta a /actuator/health):
+// - heap: heap ocupado tras el último GC respecto a maxMemory; free/total oscila con cada GC y con el crecimiento del heap
+// - gc: fracción del tiempo en pausas de GC y pausas por minuto
+// - nettyBuffers: memoria directa usada por Netty respecto al máximo
+// - eventLoop: retraso con que los event loops de Reactor Netty ejecutan una tarea de prueba
+// - mongoPool: mayor espera para obtener una conexión del pool de Mongo
+// - firebaseQueue: ocupación de la cola de FirebaseExecutor
+// Cada señal pasa por dos histéresis: `degraded` saca la instancia de readiness y `failed` (solo las señales de un
+// proceso que no se recupera solo) la marca DOWN en liveness.
+@Component
+public class RuntimeDiagnostics implements DisposableBean {
+
+    private static final Set<String> HEAP_POOLS = ManagementFactory.getMemoryPoolMXBeans().stream()
+            .filter(pool -> pool.getType() == MemoryType.HEAP)
+            .map(MemoryPoolMXBean::getName)
+            .collect(Collectors.toUnmodifiableSet());
+
+    private final FirebaseExecutor firebaseExecutor;
+    private final MongoPoolWaitListener mongoPool;
+    private final boolean enabled;
+    private final Duration interval;
+    private final EventLoopLagProbe eventLoopProbe;
+    private final Map<String, Check> checks = new LinkedHashMap<>();
+
+    private long lastSampleNanos;
+    private long lastGcTimeMillis;
+    private long lastGcCount;
+    private Disposable subscription;
+
+    public RuntimeDiagnostics(FirebaseExecutor firebaseExecutor,
+                              MongoPoolWaitListener mongoPool,
+                              EventLoopLagProbe eventLoopProbe,
+                              MeterRegistry meterRegistry,
+                              @Value("${diagnostics.enabled:true}") boolean enabled,
+                              @Value("${diagnostics.sample-interval:PT5S}") Duration interval) {
+        this.firebaseExecutor = firebaseExecutor;
+        this.mongoPool = mongoPool;
+        this.eventLoopProbe = eventLoopProbe;
+        this.enabled = enabled;
+        this.interval = interval;
+
+        // Umbrales de entrada y salida; con muestras cada 5 s, 3 muestras son 15 s sostenidos
+        checks.put("heap", new Check(new Hysteresis(0.85, 0.75, 3), new Hysteresis(0.97, 0.90, 6)));
+        checks.put("gc", new Check(new Hysteresis(0.25, 0.10, 3), null));
+        checks.put("nettyBuffers", new Check(new Hysteresis(0.90, 0.75, 3), null));
+        checks.put("eventLoop", new Check(new Hysteresis(500, 100, 2), new Hysteresis(10_000, 1_000, 3)));
+        checks.put("mongoPool", new Check(new Hysteresis(1_000, 200, 3), null));
+        checks.put("firebaseQueue", new Check(new Hysteresis(0.80, 0.50, 2), null));
+
+        // Valor crudo de cada señal (fracción 0-1 o milisegundos)
+        checks.forEach((name, check) -> Gauge.builder("diagnostics.signal", check, Check::value)
+                .tag("check", name)
+                .register(meterRegistry));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        subscription = Flux.interval(Duration.ZERO, interval)
+                .onBackpressureDrop()
+                .subscribe(tick -> {
+                    try {
+                        sample();
+                    } catch (RuntimeException e) {
+                        System.err.println("Error sampling runtime diagnostics: " + e.getMessage());
+                    }
+                });
+    }
+
+    synchronized void sample() {
+        long now = System.nanoTime();
+        long elapsedMillis = lastSampleNanos == 0 ? 0 : (now - lastSampleNanos) / 1_000_000;
+        lastSampleNanos = now;
+
+        sampleHeap();
+        sampleGc(elapsedMillis);
+        sampleNettyBuffers();
+
+        double lagMillis = eventLoopProbe.sample(HttpResources.get().onServer(true)) / 1_000_000.0;
+        checks.get("eventLoop").update(lagMillis, Map.of("lag_ms", lagMillis));
+
+        double waitMillis = mongoPool.takeMaxWaitNanos() / 1_000_000.0;
+        checks.get("mongoPool").update(waitMillis, Map.of("max_wait_ms", waitMillis, "waiting", mongoPool.waiting()));
+
+        int depth = firebaseExecutor.queueDepth();
+        int capacity = firebaseExecutor.queueCapacity();
+        checks.get("firebaseQueue").update(capacity == 0 ? 0 : (double) depth / capacity,
+                Map.of("queue_depth", depth, "queue_capacity", capacity));
+    }
+
+    private void sampleHeap() {
+        MemoryUsage heap = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage();
+        long max = heap.getMax() > 0 ? heap.getMax() : Runtime.getRuntime().maxMemory();
+        long afterGc = heapAfterLastGc();
+        long live = afterGc >= 0 ? afterGc : heap.getUsed();
+
+        Map<String, Object> details = new LinkedHashMap<>();
+        details.put("used_bytes", heap.getUsed());
+        details.put("max_bytes", max);
+        details.put("used_percent", percent(heap.getUsed(), max));
+        details.put("after_gc_percent", percent(live, max));
+        checks.get("heap").update((double) live / max, details);
+    }
+
+    // Heap ocupado al terminar el GC más reciente (lo que de verdad está vivo); -1 si el JVM no lo informa
+    private static long heapAfterLastGc() {
+        GcInfo latest = null;
+        for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+            if (collector instanceof com.sun.management.GarbageCollectorMXBean gc) {
+                GcInfo info = gc.getLastGcInfo();
+                if (info != null && (latest == null || info.getEndTime() > latest.getEndTime())) {
+                    latest = info;
+                }
+            }
+        }
+        if (latest == null) {
+            return -1;
+        }
+        return latest.getMemoryUsageAfterGc().entrySet().stream()
+                .filter(entry -> HEAP_POOLS.contains(entry.getKey()))
+                .mapToLong(entry -> entry.getValue().getUsed())
+                .sum();
+    }
+
+    private void sampleGc(long elapsedMillis) {
+        long time = 0;
+        long count = 0;
+        for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+            // Los ciclos concurrentes (ZGC Cycles, G1 Concurrent GC) no detienen la aplicación
+            String name = collector.getName();
+            if (name.contains("Cycles") || name.contains("Concurrent")) {
+                continue;
+            }
+            time += Math.max(collector.getCollectionTime(), 0);
+            count += Math.max(collector.getCollectionCount(), 0);
+        }
+        double overhead = 0;
+        double perMinute = 0;
+        if (elapsedMillis > 0) {
+            overhead = (double) (time - lastGcTimeMillis) / elapsedMillis;
+            perMinute = (count - lastGcCount) * 60_000.0 / elapsedMillis;
+        }
+        lastGcTimeMillis = time;
+        lastGcCount = count;
+        checks.get("gc").update(overhead, Map.of(
+                "pause_percent", Math.round(overhead * 1000) / 10.0,
+                "pauses_per_minute", Math.round(perMinute * 10) / 10.0,
+                "total_pause_ms", time));
+    }
+
+    private void sampleNettyBuffers() {
+        long max = PlatformDependent.maxDirectMemory();
+        ByteBufAllocatorMetric pooled = PooledByteBufAllocator.DEFAULT.metric();
+        long used = PlatformDependent.usedDirectMemory();
+        if (used < 0) {
+            used = pooled.usedDirectMemory(); // Netty no lleva la cuenta (p. ej. usa Cleaner): solo lo del pool
+        }
+        Map<String, Object> details = new LinkedHashMap<>();
+        details.put("direct_used_bytes", used);
+        details.put("direct_max_bytes", max);
+        details.put("pooled_direct_bytes", pooled.usedDirectMemory());
+        details.put("pooled_heap_bytes", pooled.usedHeapMemory());
+        checks.get("nettyBuffers").update(max > 0 ? (double) used / max : 0, details);
+    }
+
+    // Estado de una señal para el grupo readiness
+    public Health readiness(String name) {
+        Check check = checks.get(name);
+        Health.Builder builder = check.degraded.isActive() ? Health.outOfService() : Health.up();
+        return builder.withDetails(check.details).build();
+    }
+
+    // DOWN si alguna señal lleva tiempo en un nivel del que el proceso no se recupera sin reiniciar
+    public Health liveness() {
+        Map<String, Object> failed = new LinkedHashMap<>();
+        checks.forEach((name, check) -> {
+            if (check.failed != null && check.failed.isActive()) {
+                failed.put(name, check.value);
+            }
+        });
+        return (failed.isEmpty() ? Health.up() : Health.down()).withDetails(failed).build();
+    }
+
+    private static double percent(long value, long max) {
+        return Math.round(value * 1000.0 / max) / 10.0;
+    }
+
+    @Override
+    public void destroy() {
+        if (subscription != null) {
+            subscription.dispose();
+        }
+    }
+
+    private static final class Check {
+
+        private final Hysteresis degraded;
+        private final Hysteresis failed;
+        private volatile double value;
+        private volatile Map<String, Object> details = Map.of();
+
+        private Check(Hysteresis degraded, Hysteresis failed) {
+            this.degraded = degraded;
+            this.failed = failed;
+        }
+
+        private void update(double value, Map<String, Object> details) {
+            this.value = value;
+            this.details = details;
+            degraded.update(value);
+            if (failed != null) {
+                failed.update(value);
+            }
+        }
+
+        private double value() {
+            return value;
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package pe.edu.vallegrande.vg_ms_attorney.application.mapper;
+
+import org.mapstruct.BeanMapping;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.MappingTarget;
+import org.mapstruct.NullValuePropertyMappingStrategy;
+import org.mapstruct.ReportingPolicy;
+import pe.edu.vallegrande.vg_ms_attorney.domain.dto.AttorneyDetail;
+import pe.edu.vallegrande.vg_ms_attorney.domain.dto.AttorneyRequest;
+import pe.edu.vallegrande.vg_ms_attorney.domain.dto.AttorneySummary;
+import pe.edu.vallegrande.vg_ms_attorney.domain.model.Attorney;
+
+// Mapeos generados en compilación por MapStruct (AttorneyMapperImpl): llamadas directas a getters/setters, sin reflexión.
+// unmappedTargetPolicy = ERROR obliga a decidir aquí qué hacer con cada campo nuevo de Attorney.
+// Las claves de búsqueda no vienen en la solicitud: se recalculan con AttorneySearchKeys.
+@Mapper(componentModel = "spring", unmappedTargetPolicy = ReportingPolicy.ERROR)
+public interface AttorneyMapper {
+
+    // Alta: solo los campos de la solicitud; el servicio asigna los que administra
+    @Mapping(target = "idAttorney", ignore = true)
+    @Mapping(target = "uid", ignore = true)
+    @Mapping(target = "role", ignore = true)
+    @Mapping(target = "password", ignore = true)
+    @Mapping(target = "createdAt", ignore = true)
+    @Mapping(target = "updatedAt", ignore = true)
+    @Mapping(target = "status", ignore = true)
+    @Mapping(target = "version", ignore = true)
+    @Mapping(target = "searchTokens", ignore = true)
+    @Mapping(target = "searchName", ignore = true)
+    Attorney toNewAttorney(AttorneyRequest request);
+
+    // PUT: la solicitud reemplaza todos los campos editables, incluso con null
+    @Mapping(target = "idAttorney", ignore = true)
+    @Mapping(target = "uid", ignore = true)
+    @Mapping(target = "role", ignore = true)
+    @Mapping(target = "password", ignore = true)
+    @Mapping(target = "createdAt", ignore = true)
+    @Mapping(target = "updatedAt", ignore = true)
+    @Mapping(target = "status", ignore = true)
+    @Mapping(target = "version", ignore = true)
+    @Mapping(target = "searchTokens", ignore = true)
+    @Mapping(target = "searchName", ignore = true)
+    void replace(AttorneyRequest request, @MappingTarget Attorney target);
+
+    // PATCH: los campos null de la solicitud se consideran "sin cambio"
+    @BeanMapping(nullValuePropertyMappingStrategy = NullValuePropertyMappingStrategy.IGNORE)
+    @Mapping(target = "idAttorney", ignore = true)
+    @Mapping(target = "uid", ignore = true)
+    @Mapping(target = "role", ignore = true)
+    @Mapping(target = "password", ignore = true)
+    @Mapping(target = "createdAt", ignore = true)
+    @Mapping(target = "updatedAt", ignore = true)
+    @Mapping(target = "status", ignore = true)
+    @Mapping(target = "version", ignore = true)
+    @Mapping(target = "searchTokens", ignore = true)
+    @Mapping(target = "searchName", ignore = true)
+    void merge(AttorneyRequest request, @MappingTarget Attorney target);
+
+    Attorney copy(Attorney attorney);
+
+    AttorneySummary toSummary(Attorney attorney);
+
+    // Sin password ni claves de búsqueda: AttorneyDetail no tiene esos campos
+    AttorneyDetail toDetail(Attorney attorney);
+}
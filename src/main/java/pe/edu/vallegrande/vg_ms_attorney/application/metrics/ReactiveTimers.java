@@ -0,0 +1,61 @@
+package pe.edu.vallegrande.vg_ms_attorney.application.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+// Mide un Mono/Flux desde la suscripción hasta que termina (no el ensamblado, como haría @Timed).
+// Etiquetas de baja cardinalidad: operation, outcome (success, error, cancelled) y exception (nombre de la clase).
+// Uso: mono.transform(timers.mono("attorney.service", "findById"))
+@Component
+public class ReactiveTimers {
+
+    private static final double[] PERCENTILES = {0.5, 0.95, 0.99};
+
+    private final MeterRegistry meterRegistry;
+
+    public ReactiveTimers(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    public <T> Function<Mono<T>, Mono<T>> mono(String name, String operation) {
+        return mono -> Mono.defer(() -> {
+            Timer.Sample sample = Timer.start(meterRegistry);
+            AtomicReference<Throwable> error = new AtomicReference<>();
+            return mono
+                    .doOnError(error::set)
+                    .doFinally(signal -> sample.stop(timer(name, operation, signal, error.get())));
+        });
+    }
+
+    public <T> Function<Flux<T>, Flux<T>> flux(String name, String operation) {
+        return flux -> Flux.defer(() -> {
+            Timer.Sample sample = Timer.start(meterRegistry);
+            AtomicReference<Throwable> error = new AtomicReference<>();
+            return flux
+                    .doOnError(error::set)
+                    .doFinally(signal -> sample.stop(timer(name, operation, signal, error.get())));
+        });
+    }
+
+    private Timer timer(String name, String operation, SignalType signal, Throwable error) {
+        String outcome = switch (signal) {
+            case ON_ERROR -> "error";
+            case CANCEL -> "cancelled";
+            default -> "success";
+        };
+        return Timer.builder(name)
+                .tag("operation", operation)
+                .tag("outcome", outcome)
+                .tag("exception", error == null ? "none" : error.getClass().getSimpleName())
+                .publishPercentiles(PERCENTILES)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,60 @@
+package pe.edu.vallegrande.vg_ms_attorney.application.search;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.ReactiveBulkOperations;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+import pe.edu.vallegrande.vg_ms_attorney.domain.model.Attorney;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+// Genera las claves de búsqueda de los apoderados guardados antes de que existieran (sin searchName).
+// Corre en segundo plano al arrancar; las escrituras nuevas ya guardan las claves (AttorneySearchKeys).
+@Component
+public class AttorneySearchBackfill {
+
+    private static final int BATCH_SIZE = 500;
+
+    private final ReactiveMongoTemplate mongoTemplate;
+    private final boolean enabled;
+
+    public AttorneySearchBackfill(ReactiveMongoTemplate mongoTemplate,
+                                  @Value("${attorney.search.backfill-enabled:true}") boolean enabled) {
+        this.mongoTemplate = mongoTemplate;
+        this.enabled = enabled;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        if (!enabled) {
+            return;
+        }
+        Query missing = Query.query(Criteria.where("searchName").exists(false));
+        missing.fields().include(AttorneySearchKeys.SOURCE_FIELDS.toArray(String[]::new));
+
+        mongoTemplate.find(missing, Attorney.class)
+                .buffer(BATCH_SIZE)
+                .concatMap(this::writeKeys)
+                .subscribe(null, e -> System.err.println("Error generating search keys: " + e.getMessage()));
+    }
+
+    // Solo se escribe si el documento sigue sin claves: una edición concurrente ya las habrá calculado con los datos nuevos
+    private Mono<Integer> writeKeys(List<Attorney> batch) {
+        ReactiveBulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Attorney.class);
+        for (Attorney attorney : batch) {
+            AttorneySearchKeys.apply(attorney);
+            bulk.updateOne(Query.query(Criteria.where("_id").is(attorney.getIdAttorney()).and("searchName").exists(false)),
+                    new Update()
+                            .set("searchTokens", attorney.getSearchTokens())
+                            .set("searchName", attorney.getSearchName()));
+        }
+        return bulk.execute().map(result -> result.getModifiedCount());
+    }
+}
@@ -0,0 +1,100 @@
+package pe.edu.vallegrande.vg_ms_attorney.application.search;
+
+import pe.edu.vallegrande.vg_ms_attorney.domain.model.Attorney;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+// Claves de búsqueda guardadas en cada apoderado para la búsqueda por prefijo sin tildes:
+// - searchTokens: cada palabra de names y surnames, y el documentNumber, normalizados (índice multikey con status)
+// - searchName: "surnames names" normalizado, para ordenar y puntuar los resultados
+// Normalizar quita tildes y diéresis (José → jose, Güere → guere); la ñ queda como n (Peña → pena).
+public final class AttorneySearchKeys {
+
+    public static final List<String> SOURCE_FIELDS = List.of("names", "surnames", "documentNumber");
+
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final int MAX_TERMS = 5;
+
+    private AttorneySearchKeys() {
+    }
+
+    public static void apply(Attorney attorney) {
+        attorney.setSearchTokens(tokens(attorney));
+        attorney.setSearchName(searchName(attorney.getNames(), attorney.getSurnames()));
+    }
+
+    public static String normalize(String value) {
+        if (value == null) {
+            return "";
+        }
+        String decomposed = Normalizer.normalize(value, Normalizer.Form.NFD);
+        return SEPARATORS.matcher(MARKS.matcher(decomposed).replaceAll("").toLowerCase(Locale.ROOT))
+                .replaceAll(" ")
+                .trim();
+    }
+
+    public static List<String> tokens(Attorney attorney) {
+        Set<String> tokens = new LinkedHashSet<>();
+        tokens.addAll(words(attorney.getNames()));
+        tokens.addAll(words(attorney.getSurnames()));
+        tokens.addAll(words(attorney.getDocumentNumber()));
+        return new ArrayList<>(tokens);
+    }
+
+    public static String searchName(String names, String surnames) {
+        return (normalize(surnames) + " " + normalize(names)).trim();
+    }
+
+    // Términos de la consulta, sin repetir y del más largo al más corto: el primero es el más selectivo y el que usa el índice
+    public static List<String> terms(String query) {
+        return words(query).stream()
+                .distinct()
+                .sorted(Comparator.comparingInt(String::length).reversed())
+                .limit(MAX_TERMS)
+                .toList();
+    }
+
+    // Puntaje de relevancia (mayor es mejor) para un apoderado que ya coincide con todos los términos
+    public static int score(String normalizedQuery, List<String> terms, Attorney attorney) {
+        String document = attorney.getDocumentNumber() == null ? "" : attorney.getDocumentNumber();
+        if (terms.size() == 1 && document.equals(terms.get(0))) {
+            return 100; // Documento exacto
+        }
+        if (terms.size() == 1 && !document.isEmpty() && document.startsWith(terms.get(0))) {
+            return 90;
+        }
+        String surnamesFirst = attorney.getSearchName() != null
+                ? attorney.getSearchName()
+                : searchName(attorney.getNames(), attorney.getSurnames());
+        if (surnamesFirst.startsWith(normalizedQuery)) {
+            return 80; // "quispe hua..." en el orden apellidos-nombres
+        }
+        String namesFirst = (normalize(attorney.getNames()) + " " + normalize(attorney.getSurnames())).trim();
+        if (namesFirst.startsWith(normalizedQuery)) {
+            return 70; // "maria fer..." en el orden nombres-apellidos
+        }
+        List<String> surnames = words(attorney.getSurnames());
+        if (!surnames.isEmpty() && terms.stream().anyMatch(surnames.get(0)::startsWith)) {
+            return 50; // Coincide el primer apellido
+        }
+        List<String> names = words(attorney.getNames());
+        if (!names.isEmpty() && terms.stream().anyMatch(names.get(0)::startsWith)) {
+            return 40; // Coincide el primer nombre
+        }
+        return 10;
+    }
+
+    private static List<String> words(String value) {
+        String normalized = normalize(value);
+        return normalized.isEmpty() ? List.of() : Arrays.asList(normalized.split(" "));
+    }
+}
@@ -0,0 +1,9 @@
+package pe.edu.vallegrande.vg_ms_attorney.application.service;
+
+import pe.edu.vallegrande.vg_ms_attorney.application.util.AttorneyExportWriter;
+import pe.edu.vallegrande.vg_ms_attorney.domain.dto.AttorneyExportRequest;
+import reactor.core.publisher.Flux;
+
+public interface AttorneyExportService {
+    Flux<byte[]> export(AttorneyExportRequest request, AttorneyExportWriter writer, boolean gzip);
+}
@@ -0,0 +1,9 @@
+package pe.edu.vallegrande.vg_ms_attorney.application.service;
+
+import pe.edu.vallegrande.vg_ms_attorney.domain.dto.AttorneyRequest;
+import pe.edu.vallegrande.vg_ms_attorney.domain.dto.ImportResult;
+import reactor.core.publisher.Flux;
+
+public interface AttorneyImportService {
+    Flux<ImportResult> importAttorneys(Flux<AttorneyRequest> attorneys);
+}
@@ -1,19 +1,37 @@
 package pe.edu.vallegrande.vg_ms_attorney.application.service;
 
+import pe.edu.vallegrande.vg_ms_attorney.domain.dto.AttorneyLookupRequest;
+import pe.edu.vallegrande.vg_ms_attorney.domain.dto.AttorneyLookupResponse;
+import pe.edu.vallegrande.vg_ms_attorney.domain.dto.AttorneyLookupResult;
+import pe.edu.vallegrande.vg_ms_attorney.domain.dto.AttorneyPage;
+import pe.edu.vallegrande.vg_ms_attorney.domain.dto.AttorneyRequest;
+import pe.edu.vallegrande.vg_ms_attorney.domain.dto.AttorneySearchPage;
+import pe.edu.vallegrande.vg_ms_attorney.domain.dto.BulkStatusResult;
 import pe.edu.vallegrande.vg_ms_attorney.domain.model.Attorney;
+import pe.edu.vallegrande.vg_ms_attorney.domain.model.AttorneyStatistics;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.List;
+
 public interface AttorneyService {
     Flux<Attorney> listAllActive();
     Flux<Attorney> listAllInactive();
-    Mono<Attorney> createAttorney (Attorney attorney);
+    Mono<AttorneyPage> listActivePage(String cursor, int size);
+    Mono<AttorneyPage> listInactivePage(String cursor, int size);
+    Mono<AttorneySearchPage> search(String query, String status, int page, int size);
+    Mono<AttorneyStatistics> getStatistics();
+    Mono<Attorney> createAttorney (AttorneyRequest attorney);
     Mono<Attorney> deleteAttorney(String id);
     Mono<Attorney> reactivateAttorney(String id);
-    Mono<Attorney> updateAttorney(String id, Attorney attorney);
+    Mono<BulkStatusResult> changeStatus(List<String> ids, String status);
+    Mono<Attorney> updateAttorney(String id, AttorneyRequest attorney);
+    Mono<Attorney> patchAttorney(String id, AttorneyRequest changes);
     Mono<Attorney> updatePassword(String id, String newPassword);
     Mono<Attorney> findByDni(String dni);
     Mono<Attorney> findById(String id);
     Mono<Attorney> findByEmail(String email);
+    Mono<AttorneyLookupResponse> lookup(AttorneyLookupRequest request);
+    Flux<AttorneyLookupResult> lookupStream(AttorneyLookupRequest request);
 
 }
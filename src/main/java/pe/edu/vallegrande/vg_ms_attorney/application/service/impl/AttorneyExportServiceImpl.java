@@ -0,0 +1,93 @@
+package pe.edu.vallegrande.vg_ms_attorney.application.service.impl;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+import pe.edu.vallegrande.vg_ms_attorney.application.metrics.ReactiveTimers;
+import pe.edu.vallegrande.vg_ms_attorney.application.service.AttorneyExportService;
+import pe.edu.vallegrande.vg_ms_attorney.application.util.AttorneyExportWriter;
+import pe.edu.vallegrande.vg_ms_attorney.application.util.GzipChunks;
+import pe.edu.vallegrande.vg_ms_attorney.domain.dto.AttorneyExportRequest;
+import pe.edu.vallegrande.vg_ms_attorney.domain.model.Attorney;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+
+import static pe.edu.vallegrande.vg_ms_attorney.application.util.AttorneyUtil.Activo;
+import static pe.edu.vallegrande.vg_ms_attorney.application.util.AttorneyUtil.Inactivo;
+
+@Service
+public class AttorneyExportServiceImpl implements AttorneyExportService {
+
+    // Límite del tamaño de lote que puede pedir el cliente
+    private static final int MAX_BATCH_SIZE = 5000;
+
+    private final ReactiveMongoTemplate mongoTemplate;
+    private final ReactiveTimers timers;
+    private final int batchSize;
+
+    @Autowired
+    public AttorneyExportServiceImpl(ReactiveMongoTemplate mongoTemplate,
+                                     ReactiveTimers timers,
+                                     @Value("${attorney.export.batch-size:500}") int batchSize) {
+        this.mongoTemplate = mongoTemplate;
+        this.timers = timers;
+        this.batchSize = Math.min(Math.max(batchSize, 1), MAX_BATCH_SIZE);
+    }
+
+    // Recorre el cursor de Mongo en orden de _id: el driver pide el siguiente lote (batchSize documentos, solo con
+    // los campos exportados) cuando el cliente consumió el anterior, y cada lote se escribe como un bloque de la
+    // respuesta. La memoria depende del tamaño del lote, no de la colección.
+    // Los filtros se validan antes de devolver el flujo (IllegalArgumentException); la consulta empieza al suscribirse.
+    @Override
+    public Flux<byte[]> export(AttorneyExportRequest request, AttorneyExportWriter writer, boolean gzip) {
+        Query query = query(request);
+        int size = request.getBatchSize() == null ? batchSize : Math.min(Math.max(request.getBatchSize(), 1), MAX_BATCH_SIZE);
+        query.cursorBatchSize(size);
+        query.fields().include(writer.fields().toArray(String[]::new));
+
+        Flux<byte[]> text = Mono.just(writer.header())
+                .filter(header -> !header.isEmpty())
+                .concatWith(mongoTemplate.find(query, Attorney.class)
+                        .buffer(size)
+                        .map(writer::write))
+                .map(chunk -> chunk.getBytes(StandardCharsets.UTF_8));
+        Flux<byte[]> chunks = !gzip ? text : Flux.using(GzipChunks::new,
+                compressor -> text.map(compressor::compress)
+                        .concatWith(Mono.fromCallable(compressor::finish)),
+                GzipChunks::close);
+        return chunks
+                .filter(bytes -> bytes.length > 0)
+                .transform(timers.flux("attorney.service", "export"));
+    }
+
+    private static Query query(AttorneyExportRequest request) {
+        Criteria criteria = new Criteria();
+        String status = request.getStatus();
+        if (status != null) {
+            if (!Activo.equals(status) && !Inactivo.equals(status)) {
+                throw new IllegalArgumentException("Estado inválido: " + status);
+            }
+            criteria = criteria.and("status").is(status); // Usa el índice (status, _id)
+        }
+        if (request.getUpdatedFrom() != null || request.getUpdatedTo() != null) {
+            if (request.getUpdatedFrom() != null && request.getUpdatedTo() != null
+                    && !request.getUpdatedFrom().isBefore(request.getUpdatedTo())) {
+                throw new IllegalArgumentException("updatedFrom debe ser anterior a updatedTo");
+            }
+            Criteria updatedAt = criteria.and("updatedAt");
+            if (request.getUpdatedFrom() != null) {
+                updatedAt = updatedAt.gte(request.getUpdatedFrom());
+            }
+            if (request.getUpdatedTo() != null) {
+                updatedAt.lt(request.getUpdatedTo());
+            }
+        }
+        return Query.query(criteria).with(Sort.by(Sort.Direction.ASC, "_id"));
+    }
+}
@@ -0,0 +1,292 @@
+package pe.edu.vallegrande.vg_ms_attorney.application.service.impl;
+
+import com.google.firebase.auth.ErrorInfo;
+import com.google.firebase.auth.ImportUserRecord;
+import com.google.firebase.auth.UserImportOptions;
+import com.google.firebase.auth.hash.HmacSha256;
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.bulk.BulkWriteError;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.stereotype.Service;
+import pe.edu.vallegrande.vg_ms_attorney.application.firebase.FirebaseExecutor;
+import pe.edu.vallegrande.vg_ms_attorney.application.mapper.AttorneyMapper;
+import pe.edu.vallegrande.vg_ms_attorney.application.search.AttorneySearchKeys;
+import pe.edu.vallegrande.vg_ms_attorney.application.stats.AttorneyStatsCounters;
+import pe.edu.vallegrande.vg_ms_attorney.application.stats.AttorneyStatsDelta;
+import pe.edu.vallegrande.vg_ms_attorney.application.metrics.ReactiveTimers;
+import pe.edu.vallegrande.vg_ms_attorney.application.service.AttorneyImportService;
+import pe.edu.vallegrande.vg_ms_attorney.domain.dto.AttorneyRequest;
+import pe.edu.vallegrande.vg_ms_attorney.domain.dto.ImportResult;
+import pe.edu.vallegrande.vg_ms_attorney.domain.model.Attorney;
+import pe.edu.vallegrande.vg_ms_attorney.domain.repository.AttorneyRepository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.function.Tuple2;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static pe.edu.vallegrande.vg_ms_attorney.application.util.AttorneyUtil.Activo;
+import static pe.edu.vallegrande.vg_ms_attorney.application.util.AttorneyUtil.RolApoderado;
+
+@Service
+public class AttorneyImportServiceImpl implements AttorneyImportService {
+
+    // Límite de importUsers del Admin SDK por llamada
+    private static final int FIREBASE_IMPORT_LIMIT = 1000;
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+    private static final int GENERATED_KEY_BYTES = 32;
+
+    private final AttorneyRepository attorneyRepository;
+    private final ReactiveMongoTemplate mongoTemplate;
+    private final FirebaseExecutor firebaseExecutor;
+    private final ReactiveTimers timers;
+    private final AttorneyMapper attorneyMapper;
+    private final AttorneyStatsCounters statsCounters;
+    private final int batchSize;
+    private final byte[] hashKey;
+
+    @Autowired
+    public AttorneyImportServiceImpl(AttorneyRepository attorneyRepository,
+                                     ReactiveMongoTemplate mongoTemplate,
+                                     FirebaseExecutor firebaseExecutor,
+                                     ReactiveTimers timers,
+                                     AttorneyMapper attorneyMapper,
+                                     AttorneyStatsCounters statsCounters,
+                                     @Value("${attorney.import.batch-size:500}") int batchSize,
+                                     @Value("${firebase.import.hash-key:}") String hashKey) {
+        this.attorneyRepository = attorneyRepository;
+        this.mongoTemplate = mongoTemplate;
+        this.firebaseExecutor = firebaseExecutor;
+        this.timers = timers;
+        this.attorneyMapper = attorneyMapper;
+        this.statsCounters = statsCounters;
+        this.batchSize = Math.min(Math.max(batchSize, 1), FIREBASE_IMPORT_LIMIT);
+        this.hashKey = hashKey(hashKey);
+    }
+
+    // La clave viaja con cada importUsers (UserImportOptions.withHash) y Firebase la guarda junto al hash, así que no
+    // hace falta compartirla entre instancias: sin clave configurada se genera una aleatoria por proceso
+    static byte[] hashKey(String configured) {
+        if (configured != null && !configured.isBlank()) {
+            return configured.getBytes(StandardCharsets.UTF_8);
+        }
+        byte[] key = new byte[GENERATED_KEY_BYTES];
+        new SecureRandom().nextBytes(key);
+        return key;
+    }
+
+    // Procesa el flujo en lotes consecutivos: cada lote se pide al origen solo cuando el anterior terminó
+    @Override
+    public Flux<ImportResult> importAttorneys(Flux<AttorneyRequest> attorneys) {
+        return attorneys
+                .index()
+                .buffer(batchSize)
+                .concatMap(this::importBatch)
+                .transform(timers.flux("attorney.service", "importAttorneys"));
+    }
+
+    private Flux<ImportResult> importBatch(List<Tuple2<Long, AttorneyRequest>> rows) {
+        List<ImportResult> rejected = new ArrayList<>();
+        List<Tuple2<Long, AttorneyRequest>> candidates = new ArrayList<>();
+        for (Tuple2<Long, AttorneyRequest> row : rows) {
+            AttorneyRequest attorney = row.getT2();
+            if (isBlank(attorney.getEmail()) || isBlank(attorney.getDocumentNumber())) {
+                rejected.add(ImportResult.failed(row.getT1(), attorney.getEmail(), "email y documentNumber son obligatorios"));
+            } else {
+                candidates.add(row);
+            }
+        }
+        if (candidates.isEmpty()) {
+            return Flux.fromIterable(rejected);
+        }
+
+        // importUsers no valida unicidad de email, así que se verifica contra Mongo con una sola consulta
+        Set<String> emails = candidates.stream().map(row -> row.getT2().getEmail()).collect(Collectors.toSet());
+        Set<String> documents = candidates.stream().map(row -> row.getT2().getDocumentNumber()).collect(Collectors.toSet());
+
+        return attorneyRepository.findByEmailInOrDocumentNumberIn(emails, documents)
+                .collectList()
+                .flatMapMany(existing -> {
+                    Set<String> takenEmails = new HashSet<>();
+                    Set<String> takenDocuments = new HashSet<>();
+                    existing.forEach(attorney -> {
+                        takenEmails.add(attorney.getEmail());
+                        takenDocuments.add(attorney.getDocumentNumber());
+                    });
+
+                    List<PendingImport> pending = new ArrayList<>();
+                    for (Tuple2<Long, AttorneyRequest> row : candidates) {
+                        AttorneyRequest attorney = row.getT2();
+                        if (!takenEmails.add(attorney.getEmail())) {
+                            rejected.add(ImportResult.failed(row.getT1(), attorney.getEmail(), "El email ya está registrado"));
+                        } else if (!takenDocuments.add(attorney.getDocumentNumber())) {
+                            rejected.add(ImportResult.failed(row.getT1(), attorney.getEmail(), "El documento ya está registrado"));
+                        } else {
+                            pending.add(new PendingImport(row.getT1(), newAttorney(attorney)));
+                        }
+                    }
+                    if (pending.isEmpty()) {
+                        return Flux.fromIterable(rejected);
+                    }
+                    return importIntoFirebase(pending, rejected)
+                            .flatMapMany(imported -> insertIntoMongo(imported, rejected))
+                            .concatWith(Flux.defer(() -> Flux.fromIterable(rejected)))
+                            .sort(Comparator.comparingLong(ImportResult::getRow));
+                });
+    }
+
+    // Crea los usuarios en Firebase en una sola llamada, con el claim "role" incluido
+    private Mono<List<PendingImport>> importIntoFirebase(List<PendingImport> pending, List<ImportResult> rejected) {
+        List<ImportUserRecord> records = new ArrayList<>(pending.size());
+        for (PendingImport item : pending) {
+            Attorney attorney = item.attorney();
+            records.add(ImportUserRecord.builder()
+                    .setUid(attorney.getUid())
+                    .setEmail(attorney.getEmail())
+                    .setDisplayName(attorney.getNames() + " " + attorney.getSurnames())
+                    .setPasswordHash(hashPassword(attorney.getPassword()))
+                    .putCustomClaim("role", RolApoderado)
+                    .build());
+        }
+        UserImportOptions options = UserImportOptions.withHash(HmacSha256.builder().setKey(hashKey).build());
+
+        return firebaseExecutor.call("importUsers", auth -> auth.importUsers(records, options))
+                .map(result -> {
+                    Map<Integer, String> errors = result.getErrors().stream()
+                            .collect(Collectors.toMap(ErrorInfo::getIndex, ErrorInfo::getReason, (a, b) -> a));
+                    List<PendingImport> imported = new ArrayList<>(pending.size());
+                    for (int i = 0; i < pending.size(); i++) {
+                        PendingImport item = pending.get(i);
+                        String error = errors.get(i);
+                        if (error == null) {
+                            imported.add(item);
+                        } else {
+                            rejected.add(ImportResult.failed(item.row(), item.attorney().getEmail(), error));
+                        }
+                    }
+                    return imported;
+                })
+                .onErrorResume(e -> {
+                    System.err.println("Error importing users in Firebase: " + e.getMessage());
+                    pending.forEach(item -> rejected.add(ImportResult.failed(item.row(), item.attorney().getEmail(), e.getMessage())));
+                    return Mono.just(List.of());
+                });
+    }
+
+    // Inserta los documentos en un único bulk no ordenado; las filas que fallen se revierten en Firebase
+    private Flux<ImportResult> insertIntoMongo(List<PendingImport> imported, List<ImportResult> rejected) {
+        if (imported.isEmpty()) {
+            return Flux.empty();
+        }
+        List<Attorney> documents = imported.stream().map(PendingImport::attorney).toList();
+
+        return mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Attorney.class)
+                .insert(documents)
+                .execute()
+                .map(result -> Map.<Integer, String>of())
+                .onErrorResume(e -> Mono.just(bulkErrors(e, imported.size())))
+                .flatMapMany(errors -> {
+                    List<ImportResult> inserted = new ArrayList<>();
+                    List<String> orphanUids = new ArrayList<>();
+                    AttorneyStatsDelta delta = new AttorneyStatsDelta();
+                    for (int i = 0; i < imported.size(); i++) {
+                        PendingImport item = imported.get(i);
+                        String error = errors.get(i);
+                        if (error == null) {
+                            inserted.add(ImportResult.ok(item.row(), item.attorney().getEmail(), item.attorney().getIdAttorney()));
+                            delta.add(item.attorney(), item.attorney().getStatus(), 1);
+                        } else {
+                            rejected.add(ImportResult.failed(item.row(), item.attorney().getEmail(), error));
+                            orphanUids.add(item.attorney().getUid());
+                        }
+                    }
+                    // El bulk no es transaccional: si este $inc falla, la reconciliación periódica corrige los contadores
+                    Mono<Void> stats = statsCounters.apply(delta)
+                            .onErrorResume(e -> {
+                                System.err.println("Error updating attorney statistics: " + e.getMessage());
+                                return Mono.empty();
+                            });
+                    return deleteFirebaseUsers(orphanUids).then(stats).thenMany(Flux.fromIterable(inserted));
+                });
+    }
+
+    private Mono<Void> deleteFirebaseUsers(List<String> uids) {
+        if (uids.isEmpty()) {
+            return Mono.empty();
+        }
+        return firebaseExecutor.call("deleteUsers", auth -> auth.deleteUsers(uids))
+                .then()
+                .onErrorResume(e -> {
+                    System.err.println("Error deleting orphan users in Firebase: " + e.getMessage());
+                    return Mono.empty();
+                });
+    }
+
+    private static Map<Integer, String> bulkErrors(Throwable e, int size) {
+        List<BulkWriteError> writeErrors = null;
+        if (e instanceof BulkOperationException bulk) {
+            writeErrors = bulk.getErrors();
+        } else if (e instanceof MongoBulkWriteException bulk) {
+            writeErrors = bulk.getWriteErrors();
+        }
+        if (writeErrors == null) {
+            // Falló el lote completo: se marca cada fila con el mismo error
+            Map<Integer, String> all = new HashMap<>();
+            for (int i = 0; i < size; i++) {
+                all.put(i, e.getMessage());
+            }
+            return all;
+        }
+        return writeErrors.stream()
+                .collect(Collectors.toMap(BulkWriteError::getIndex, BulkWriteError::getMessage, (a, b) -> a));
+    }
+
+    private Attorney newAttorney(AttorneyRequest attorney) {
+        Attorney newAttorney = attorneyMapper.toNewAttorney(attorney);
+        newAttorney.setIdAttorney(new ObjectId().toHexString());
+        newAttorney.setUid(UUID.randomUUID().toString().replace("-", ""));
+        newAttorney.setRole(RolApoderado);
+        newAttorney.setStatus(Activo);
+        newAttorney.setPassword(attorney.getDocumentNumber()); // Misma contraseña inicial que createAttorney
+        newAttorney.setCreatedAt(LocalDateTime.now());
+        newAttorney.setUpdatedAt(LocalDateTime.now());
+        AttorneySearchKeys.apply(newAttorney);
+        return newAttorney;
+    }
+
+    private byte[] hashPassword(String password) {
+        try {
+            Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+            mac.init(new SecretKeySpec(hashKey, HMAC_ALGORITHM));
+            return mac.doFinal(password.getBytes(StandardCharsets.UTF_8));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("No se pudo calcular el hash de la contraseña", e);
+        }
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+
+    private record PendingImport(long row, Attorney attorney) {
+    }
+}
@@ -1,238 +1,484 @@
 package pe.edu.vallegrande.vg_ms_attorney.application.service.impl;
 
-import com.google.firebase.auth.FirebaseAuth;
-import com.google.firebase.auth.UserRecord;
+import com.mongodb.MongoExecutionTimeoutException;
+import org.bson.types.ObjectId;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import pe.edu.vallegrande.vg_ms_attorney.application.cache.AttorneyCache;
+import pe.edu.vallegrande.vg_ms_attorney.application.firebase.FirebaseOutbox;
+import pe.edu.vallegrande.vg_ms_attorney.application.mapper.AttorneyMapper;
+import pe.edu.vallegrande.vg_ms_attorney.application.metrics.ReactiveTimers;
+import pe.edu.vallegrande.vg_ms_attorney.application.search.AttorneySearchKeys;
+import pe.edu.vallegrande.vg_ms_attorney.application.stats.AttorneyStatsCounters;
+import pe.edu.vallegrande.vg_ms_attorney.application.stats.AttorneyStatsDelta;
+import pe.edu.vallegrande.vg_ms_attorney.domain.dto.AttorneyDetail;
+import pe.edu.vallegrande.vg_ms_attorney.domain.dto.AttorneyLookupRequest;
+import pe.edu.vallegrande.vg_ms_attorney.domain.dto.AttorneyLookupResponse;
+import pe.edu.vallegrande.vg_ms_attorney.domain.dto.AttorneyLookupResult;
+import pe.edu.vallegrande.vg_ms_attorney.domain.dto.AttorneyPage;
+import pe.edu.vallegrande.vg_ms_attorney.domain.dto.AttorneyRequest;
+import pe.edu.vallegrande.vg_ms_attorney.domain.dto.AttorneySearchPage;
+import pe.edu.vallegrande.vg_ms_attorney.domain.dto.BulkStatusResult;
+import pe.edu.vallegrande.vg_ms_attorney.domain.dto.AttorneySummary;
 import pe.edu.vallegrande.vg_ms_attorney.domain.model.Attorney;
+import pe.edu.vallegrande.vg_ms_attorney.domain.model.AttorneyStatistics;
+import pe.edu.vallegrande.vg_ms_attorney.domain.model.FirebaseSyncEvent;
 import pe.edu.vallegrande.vg_ms_attorney.domain.repository.AttorneyRepository;
 import pe.edu.vallegrande.vg_ms_attorney.application.service.AttorneyService;
+import pe.edu.vallegrande.vg_ms_attorney.application.util.AttorneyLookupKeys;
+import pe.edu.vallegrande.vg_ms_attorney.application.util.AttorneyUpdates;
 import pe.edu.vallegrande.vg_ms_attorney.application.util.AttorneyUtil;
-import pe.edu.vallegrande.vg_ms_attorney.application.webClient.AuthServiceClient;
-import org.springframework.web.reactive.function.client.WebClient;
+import pe.edu.vallegrande.vg_ms_attorney.application.util.MongoTransactions;
+import pe.edu.vallegrande.vg_ms_attorney.application.webClient.ExternalFetchClient;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
-import org.modelmapper.ModelMapper;
-import java.net.URI;
-import java.net.URISyntaxException;
-import org.apache.commons.validator.routines.UrlValidator;
+import reactor.util.retry.Retry;
+import java.time.Duration;
 import java.time.LocalDateTime;
-import java.util.HashMap;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+import java.util.regex.Pattern;
 
 import static pe.edu.vallegrande.vg_ms_attorney.application.util.AttorneyUtil.Activo;
 import static pe.edu.vallegrande.vg_ms_attorney.application.util.AttorneyUtil.Inactivo;
+import static pe.edu.vallegrande.vg_ms_attorney.application.util.AttorneyUtil.RolApoderado;
 
 @Service
 public class AttorneyServiceImpl implements AttorneyService {
 
-    // Lista de dominios permitidos para solicitudes salientes
-    private static final List<String> ALLOWED_DOMAINS = List.of("https://api.permitido.com");
+    // Tamaño máximo de página para los listados paginados
+    private static final int MAX_PAGE_SIZE = 500;
+    // Reintentos cuando otra escritura cambió la versión entre la lectura y el $set
+    private static final int MAX_VERSION_RETRIES = 3;
+    // Máximo de ids por cambio de estado masivo
+    private static final int MAX_BULK_STATUS_IDS = 5000;
+    // Tamaño máximo de página y largo mínimo del término más largo en la búsqueda
+    private static final int MAX_SEARCH_PAGE_SIZE = 50;
+    private static final int MIN_SEARCH_TERM_LENGTH = 2;
+    // Máximo de claves (ids + documentos + emails) por búsqueda en lote
+    private static final int MAX_LOOKUP_KEYS = 5000;
+    // Timer con la latencia y el resultado de cada método del servicio (etiqueta operation)
+    private static final String SERVICE_METRIC = "attorney.service";
 
     private final AttorneyRepository attorneyRepository;
-    private final AuthServiceClient authServiceClient;
-    private final ModelMapper modelMapper = new ModelMapper();
+    private final ReactiveMongoTemplate mongoTemplate;
+    private final ExternalFetchClient externalFetchClient;
+    private final FirebaseOutbox firebaseOutbox;
+    private final TransactionalOperator transactionalOperator;
+    private final AttorneyCache attorneyCache;
+    private final ReactiveTimers timers;
+    private final AttorneyMapper attorneyMapper;
+    private final AttorneyStatsCounters statsCounters;
+    private final Duration searchTimeout;
+    private final int searchCandidates;
 
     @Autowired
-    public AttorneyServiceImpl(AttorneyRepository attorneyRepository, AuthServiceClient authServiceClient) {
+    public AttorneyServiceImpl(AttorneyRepository attorneyRepository, ReactiveMongoTemplate mongoTemplate,
+                               ExternalFetchClient externalFetchClient, FirebaseOutbox firebaseOutbox,
+                               TransactionalOperator transactionalOperator, AttorneyCache attorneyCache,
+                               ReactiveTimers timers, AttorneyMapper attorneyMapper, AttorneyStatsCounters statsCounters,
+                               @Value("${attorney.search.timeout:PT0.3S}") Duration searchTimeout,
+                               @Value("${attorney.search.max-candidates:200}") int searchCandidates) {
         this.attorneyRepository = attorneyRepository;
-        this.authServiceClient = authServiceClient;
+        this.mongoTemplate = mongoTemplate;
+        this.externalFetchClient = externalFetchClient;
+        this.firebaseOutbox = firebaseOutbox;
+        this.transactionalOperator = transactionalOperator;
+        this.attorneyCache = attorneyCache;
+        this.timers = timers;
+        this.attorneyMapper = attorneyMapper;
+        this.statsCounters = statsCounters;
+        this.searchTimeout = searchTimeout;
+        this.searchCandidates = searchCandidates;
     }
 
-    // Método auxiliar para validar la URL
-    private boolean isValidUrl(String url) {
-        // Define los esquemas permitidos como un arreglo de strings
-        String[] allowedSchemes = {"https"};
-        UrlValidator urlValidator = new UrlValidator(allowedSchemes);  // Usa el constructor con esquemas permitidos
-        return urlValidator.isValid(url);
+    public Mono<String> safeExternalRequest(String url) {
+        // Lista permitida, caché y deduplicación en ExternalFetchClient
+        return externalFetchClient.fetch(url)
+                .onErrorMap(e -> !(e instanceof SecurityException), e -> new RuntimeException("Error en la solicitud externa", e));
     }
 
+    // Método de bienvenida
+    public Mono<String> getWelcomeMessage() {
+        return Mono.just("Bienvenidos al microservicio de apoderados");
+    }
 
-    private boolean isAllowedDomain(String url) {
-        try {
-            URI uri = new URI(url);
-            String domain = uri.getScheme() + "://" + uri.getHost();
-            return ALLOWED_DOMAINS.contains(domain);
-        } catch (URISyntaxException e) {
-            return false;
-        }
+    @Override
+    public Flux<Attorney> listAllActive() {
+        return attorneyRepository.findByStatus(Activo)
+                .transform(timers.flux(SERVICE_METRIC, "listAllActive"));
     }
 
-    public Mono<String> safeExternalRequest(String url) {
-        if (!isValidUrl(url) || !isAllowedDomain(url)) {
-            return Mono.error(new SecurityException("URL no permitida o inválida"));
-        }
+    @Override
+    public Flux<Attorney> listAllInactive() {
+        return attorneyRepository.findByStatus(Inactivo)
+                .transform(timers.flux(SERVICE_METRIC, "listAllInactive"));
+    }
 
-        // Realizar la solicitud HTTP usando authServiceClient
-        return authServiceClient.getWebClient().get()
-                .uri(url)
-                .retrieve()
-                .bodyToMono(String.class)
-                .onErrorResume(e -> Mono.error(new RuntimeException("Error en la solicitud externa", e)));
+    @Override
+    public Mono<AttorneyPage> listActivePage(String cursor, int size) {
+        return listPage(Activo, cursor, size)
+                .transform(timers.mono(SERVICE_METRIC, "listActivePage"));
     }
 
+    @Override
+    public Mono<AttorneyPage> listInactivePage(String cursor, int size) {
+        return listPage(Inactivo, cursor, size)
+                .transform(timers.mono(SERVICE_METRIC, "listInactivePage"));
+    }
 
+    // Paginación por cursor sobre (status, _id): cada página continúa después del último _id entregado
+    private Mono<AttorneyPage> listPage(String status, String cursor, int size) {
+        if (cursor != null && !ObjectId.isValid(cursor)) {
+            return Mono.error(new IllegalArgumentException("Cursor inválido"));
+        }
+        int limit = Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+        // Se pide un elemento extra para saber si existe una página siguiente
+        Query query = pageQuery(status, cursor != null ? new ObjectId(cursor) : null, limit + 1);
 
-    // Método de bienvenida
-    public Mono<String> getWelcomeMessage() {
-        return Mono.just("Bienvenidos al microservicio de apoderados");
+        return mongoTemplate.find(query, AttorneySummary.class, mongoTemplate.getCollectionName(Attorney.class))
+                .collectList()
+                .map(items -> {
+                    if (items.size() <= limit) {
+                        return new AttorneyPage(items, null);
+                    }
+                    List<AttorneySummary> page = items.subList(0, limit);
+                    return new AttorneyPage(page, page.get(limit - 1).getIdAttorney());
+                });
     }
 
+    // Filtro y orden de una página; QueryPlanInspector revisa el plan de esta misma consulta
+    public static Query pageQuery(String status, ObjectId after, int limit) {
+        Criteria criteria = Criteria.where("status").is(status);
+        if (after != null) {
+            criteria = criteria.and("_id").gt(after);
+        }
+        Query query = Query.query(criteria)
+                .with(Sort.by(Sort.Direction.ASC, "_id"))
+                .limit(limit);
+        query.fields().include("names", "surnames", "documentNumber", "status");
+        return query;
+    }
+
+    // Búsqueda por prefijo sobre searchTokens. Se leen como máximo searchCandidates coincidencias en orden de
+    // searchName (índice status + searchName), se ordenan por relevancia en memoria y se devuelve la página pedida.
+    // La relevancia solo se calcula dentro de esa ventana: si hubo más coincidencias la respuesta lleva truncated
+    // y conviene afinar la consulta. searchTimeout limita la consulta en el servidor (maxTimeMS) y la espera del cliente.
     @Override
-    public Flux<Attorney> listAllActive() {
-        return attorneyRepository.findByStatus(Activo);
+    public Mono<AttorneySearchPage> search(String query, String status, int page, int size) {
+        return searchRanked(query, status, page, size)
+                .transform(timers.mono(SERVICE_METRIC, "search"));
     }
 
+    private Mono<AttorneySearchPage> searchRanked(String text, String status, int page, int size) {
+        int limit = Math.min(Math.max(size, 1), MAX_SEARCH_PAGE_SIZE);
+        int offset = Math.max(page, 0) * limit;
+        List<String> terms = AttorneySearchKeys.terms(text);
+        if (terms.isEmpty() || terms.get(0).length() < MIN_SEARCH_TERM_LENGTH || offset >= searchCandidates) {
+            return Mono.just(new AttorneySearchPage(List.of(), Math.max(page, 0), limit, false, offset >= searchCandidates));
+        }
+        String normalizedQuery = AttorneySearchKeys.normalize(text);
+
+        List<Pattern> prefixes = terms.stream()
+                .map(term -> Pattern.compile("^" + Pattern.quote(term)))
+                .toList();
+        // Orden estable antes del límite: la misma consulta devuelve siempre la misma ventana de candidatos
+        Query query = Query.query(Criteria.where("status").is(status).and("searchTokens").all(prefixes))
+                .with(Sort.by(Sort.Direction.ASC, "searchName", "_id"))
+                .limit(searchCandidates)
+                .maxTime(searchTimeout);
+        query.fields().include("names", "surnames", "documentNumber", "status", "searchName");
+
+        Comparator<Attorney> ranking = Comparator
+                .comparingInt((Attorney attorney) -> AttorneySearchKeys.score(normalizedQuery, terms, attorney)).reversed()
+                .thenComparing(attorney -> Objects.requireNonNullElse(attorney.getSearchName(), ""))
+                .thenComparing(Attorney::getIdAttorney);
+
+        return mongoTemplate.find(query, Attorney.class)
+                .collectSortedList(ranking)
+                .timeout(searchTimeout)
+                // maxTimeMS vencido en el servidor: se informa igual que el timeout del cliente
+                .onErrorMap(e -> e instanceof MongoExecutionTimeoutException || e.getCause() instanceof MongoExecutionTimeoutException,
+                        e -> new TimeoutException("La búsqueda superó " + searchTimeout.toMillis() + " ms"))
+                .map(ranked -> {
+                    List<AttorneySummary> items = ranked.stream()
+                            .skip(offset)
+                            .limit(limit)
+                            .map(attorneyMapper::toSummary)
+                            .toList();
+                    return new AttorneySearchPage(items, Math.max(page, 0), limit, ranked.size() > offset + limit,
+                            ranked.size() >= searchCandidates);
+                });
+    }
+
+    // Lectura de los contadores materializados: suma unos pocos documentos, no recorre la colección
     @Override
-    public Flux<Attorney> listAllInactive() {
-        return attorneyRepository.findByStatus(Inactivo);
+    public Mono<AttorneyStatistics> getStatistics() {
+        return statsCounters.read()
+                .transform(timers.mono(SERVICE_METRIC, "getStatistics"));
     }
 
     @Override
     public Mono<Attorney> findByDni(String dni) {
-        return attorneyRepository.findByDocumentNumber(dni);
+        return attorneyCache.findByDni(dni, attorneyRepository::findByDocumentNumber)
+                .transform(timers.mono(SERVICE_METRIC, "findByDni"));
     }
 
     @Override
     public Mono<Attorney> findByEmail(String email) {
-        return attorneyRepository.findByEmail(email);
+        return attorneyCache.findByEmail(email, attorneyRepository::findByEmail)
+                .transform(timers.mono(SERVICE_METRIC, "findByEmail"));
     }
 
     @Override
     public Mono<Attorney> findById(String id) {
-        return attorneyRepository.findById(id);
+        return attorneyCache.findById(id, attorneyRepository::findById)
+                .transform(timers.mono(SERVICE_METRIC, "findById"));
+    }
+
+    // Búsqueda en lote: una consulta $in por tipo de clave (ids, documentos, emails), en paralelo.
+    // No pasa por la caché de lectura para no desplazar las entradas frecuentes con listas de miles de claves.
+    @Override
+    public Mono<AttorneyLookupResponse> lookup(AttorneyLookupRequest request) {
+        return Mono.fromCallable(() -> AttorneyLookupKeys.of(request, MAX_LOOKUP_KEYS))
+                .flatMap(keys -> lookupAll(keys)
+                        .collectList()
+                        .map(keys::toResponse))
+                .transform(timers.mono(SERVICE_METRIC, "lookup"));
+    }
+
+    // Variante en streaming: cada resultado se emite apenas llega del cursor y los no encontrados de cada tipo al
+    // terminar su consulta. Las claves se validan antes de devolver el flujo (IllegalArgumentException).
+    @Override
+    public Flux<AttorneyLookupResult> lookupStream(AttorneyLookupRequest request) {
+        AttorneyLookupKeys keys = AttorneyLookupKeys.of(request, MAX_LOOKUP_KEYS);
+        return lookupAll(keys)
+                .transform(timers.flux(SERVICE_METRIC, "lookupStream"));
+    }
+
+    private Flux<AttorneyLookupResult> lookupAll(AttorneyLookupKeys keys) {
+        return Flux.merge(
+                lookupBy(AttorneyLookupKeys.BY_ID, "_id", keys.ids(), AttorneyDetail::getIdAttorney),
+                lookupBy(AttorneyLookupKeys.BY_DOCUMENT, "documentNumber", keys.documentNumbers(), AttorneyDetail::getDocumentNumber),
+                lookupBy(AttorneyLookupKeys.BY_EMAIL, "email", keys.emails(), AttorneyDetail::getEmail));
+    }
+
+    // El password y las claves de búsqueda no salen de Mongo: se excluyen en la proyección
+    private Flux<AttorneyLookupResult> lookupBy(String by, String field, Set<String> keys, Function<AttorneyDetail, String> keyOf) {
+        if (keys.isEmpty()) {
+            return Flux.empty();
+        }
+        return Flux.defer(() -> {
+            // Las señales de un Flux son secuenciales, así que el conjunto no necesita sincronización
+            Set<String> pending = new LinkedHashSet<>(keys);
+            Query query = Query.query(Criteria.where(field).in(keys));
+            query.fields().exclude("password", "searchTokens", "searchName");
+            return mongoTemplate.find(query, AttorneyDetail.class, mongoTemplate.getCollectionName(Attorney.class))
+                    .filter(attorney -> pending.remove(keyOf.apply(attorney)))
+                    .map(attorney -> AttorneyLookupResult.found(by, keyOf.apply(attorney), attorney))
+                    .concatWith(Flux.defer(() -> Flux.fromIterable(pending)
+                            .map(key -> AttorneyLookupResult.notFound(by, key))));
+        });
     }
 
     @Override
-    public Mono<Attorney> createAttorney(Attorney attorney) {
-        Attorney newAttorney = modelMapper.map(attorney, Attorney.class);
-        newAttorney.setRole("APODERADO");
+    public Mono<Attorney> createAttorney(AttorneyRequest attorney) {
+        Attorney newAttorney = attorneyMapper.toNewAttorney(attorney);
+        // El UID se asigna aquí; el usuario de Firebase se crea después desde el outbox con ese mismo UID
+        newAttorney.setUid(UUID.randomUUID().toString().replace("-", ""));
+        newAttorney.setRole(RolApoderado);
         newAttorney.setStatus(Activo);
+        newAttorney.setPassword(attorney.getDocumentNumber()); // La contraseña inicial es el número de documento
         newAttorney.setCreatedAt(LocalDateTime.now());
         newAttorney.setUpdatedAt(LocalDateTime.now());
+        AttorneySearchKeys.apply(newAttorney);
 
-        // Crear el usuario en Firebase Authentication
-        UserRecord.CreateRequest request = new UserRecord.CreateRequest()
-                .setEmail(attorney.getEmail())
-                .setPassword(attorney.getDocumentNumber()) // La contraseña se establece aquí
-                .setDisplayName(attorney.getNames() + " " + attorney.getSurnames()); // Concatenar nombre y apellido
-
-        return Mono.fromCallable(() -> FirebaseAuth.getInstance().createUser(request))
-                .flatMap(userRecord -> {
-                    // Asignar el UID al nuevo usuario
-                    newAttorney.setUid(userRecord.getUid());
-                    newAttorney.setPassword(attorney.getDocumentNumber()); // Almacenar la contraseña en el campo
-
-                    // Asignar claims personalizados al usuario
-                    try {
-                        Map<String, Object> claims = new HashMap<>();
-                        claims.put("role", "APODERADO");
-
-                        // Asignar los claims de forma sincrónica
-                        FirebaseAuth.getInstance().setCustomUserClaims(userRecord.getUid(), claims);
-                    } catch (Exception e) {
-                        System.err.println("Error setting custom claims: " + e.getMessage());
-                        return Mono.error(e);
-                    }
-
-                    return attorneyRepository.save(newAttorney);
-                })
+        return attorneyRepository.save(newAttorney)
+                .flatMap(saved -> firebaseOutbox.enqueue(saved.getIdAttorney(), FirebaseSyncEvent.Type.CREATE_USER)
+                        .then(statsCounters.apply(AttorneyStatsDelta.created(saved)))
+                        .thenReturn(saved))
+                .as(transactionalOperator::transactional)
+                .retryWhen(MongoTransactions.TRANSIENT_ERRORS)
+                .doOnNext(this::evict)
                 .onErrorResume(e -> {
-                    // Manejar errores (por ejemplo, si falla la creación del usuario en Firebase)
-                    System.err.println("Error creating user in Firebase: " + e.getMessage());
+                    // Manejar errores (por ejemplo, email o documento duplicado)
+                    System.err.println("Error creating attorney: " + e.getMessage());
                     return Mono.error(e);
-                });
+                })
+                .transform(timers.mono(SERVICE_METRIC, "createAttorney"));
     }
 
     @Override
     public Mono<Attorney> deleteAttorney(String id) {
-        return attorneyRepository.findById(id)
-                .flatMap(existingAttorney -> {
-                    // Desactivar cuenta en Firebase
-                    return Mono.fromCallable(() -> FirebaseAuth.getInstance().updateUser(
-                            new UserRecord.UpdateRequest(existingAttorney.getUid())
-                                    .setDisabled(true)
-                    )).then(Mono.defer(() -> {
-                        existingAttorney.setStatus(Inactivo);
-                        return attorneyRepository.save(existingAttorney);
-                    }));
-                });
+        return changeStatus(id, Activo, Inactivo)
+                .transform(timers.mono(SERVICE_METRIC, "deleteAttorney"));
     }
 
     @Override
     public Mono<Attorney> reactivateAttorney(String id) {
-        return attorneyRepository.findById(id)
-                .flatMap(existingAttorney -> {
-                    // Reactivar cuenta en Firebase
-                    return Mono.fromCallable(() -> FirebaseAuth.getInstance().updateUser(
-                            new UserRecord.UpdateRequest(existingAttorney.getUid())
-                                    .setDisabled(false)
-                    )).then(Mono.defer(() -> {
-                        existingAttorney.setStatus(Activo);
-                        return attorneyRepository.save(existingAttorney);
-                    }));
-                });
+        return changeStatus(id, Inactivo, Activo)
+                .transform(timers.mono(SERVICE_METRIC, "reactivateAttorney"));
+    }
+
+    // Transición atómica de estado: un solo findAndModify con el estado actual como precondición,
+    // de modo que dos solicitudes concurrentes no pueden aplicar la misma transición dos veces.
+    // La cuenta de Firebase se desactiva o reactiva desde el outbox.
+    private Mono<Attorney> changeStatus(String id, String fromStatus, String toStatus) {
+        Query query = Query.query(Criteria.where("_id").is(id).and("status").is(fromStatus));
+        return mongoTemplate.findAndModify(query, statusUpdate(toStatus), FindAndModifyOptions.options().returnNew(true), Attorney.class)
+                .flatMap(updatedAttorney -> firebaseOutbox.enqueue(updatedAttorney.getIdAttorney(), FirebaseSyncEvent.Type.SET_DISABLED)
+                        .then(statsCounters.apply(AttorneyStatsDelta.statusChanged(updatedAttorney, fromStatus, toStatus)))
+                        .thenReturn(updatedAttorney))
+                .as(transactionalOperator::transactional)
+                .retryWhen(MongoTransactions.TRANSIENT_ERRORS)
+                .doOnNext(this::evict)
+                // Si no se cumplió la precondición, el apoderado no existe o ya estaba en el estado destino
+                .switchIfEmpty(Mono.defer(() -> attorneyRepository.findById(id)));
     }
 
     @Override
-    public Mono<Attorney> updateAttorney(String id, Attorney attorney) {
-        return attorneyRepository.findById(id)
-                .flatMap(existingAttorney -> {
-                    existingAttorney.setNames(attorney.getNames());
-                    existingAttorney.setSurnames(attorney.getSurnames());
-                    existingAttorney.setSex(attorney.getSex());
-                    existingAttorney.setBirth_date(attorney.getBirth_date());
-                    existingAttorney.setBaptism(attorney.getBaptism());
-                    existingAttorney.setFirst_Communion(attorney.getFirst_Communion());
-                    existingAttorney.setConfirmation(attorney.getConfirmation());
-                    existingAttorney.setMarriage(attorney.getMarriage());
-                    existingAttorney.setRelationship(attorney.getRelationship());
-                    existingAttorney.setEmail(attorney.getEmail());
-                    existingAttorney.setCellphone(attorney.getCellphone());
-                    existingAttorney.setAddress(attorney.getAddress());
-                    existingAttorney.setDocumentType(attorney.getDocumentType());
-                    existingAttorney.setDocumentNumber(attorney.getDocumentNumber());
-                    existingAttorney.setUpdatedAt(LocalDateTime.now());
-
-                    // Actualizar displayName en Firebase si el nombre o apellido cambian
-                    return Mono.fromCallable(() -> FirebaseAuth.getInstance().updateUser(
-                                    new UserRecord.UpdateRequest(existingAttorney.getUid())
-                                            .setDisplayName(attorney.getNames() + " " + attorney.getSurnames())))
-                            .then(attorneyRepository.save(existingAttorney));
-                });
+    public Mono<BulkStatusResult> changeStatus(List<String> ids, String toStatus) {
+        return changeStatusInBulk(ids, toStatus)
+                .transform(timers.mono(SERVICE_METRIC, "changeStatus"));
+    }
+
+    private Mono<BulkStatusResult> changeStatusInBulk(List<String> ids, String toStatus) {
+        if (!Activo.equals(toStatus) && !Inactivo.equals(toStatus)) {
+            return Mono.error(new IllegalArgumentException("Estado inválido: " + toStatus));
+        }
+        if (ids == null || ids.isEmpty() || ids.size() > MAX_BULK_STATUS_IDS) {
+            return Mono.error(new IllegalArgumentException("Se requieren entre 1 y " + MAX_BULK_STATUS_IDS + " ids"));
+        }
+        String fromStatus = Activo.equals(toStatus) ? Inactivo : Activo;
+        Criteria pending = Criteria.where("_id").in(ids).and("status").is(fromStatus);
+
+        // Se leen los campos de las estadísticas para descontarlos del estado anterior y sumarlos al nuevo
+        Query targetQuery = Query.query(pending);
+        targetQuery.fields().include("_id").include(AttorneyStatsDelta.FIELDS.toArray(String[]::new));
+        return mongoTemplate.find(targetQuery, Attorney.class)
+                .collectList()
+                .flatMap(targets -> {
+                    List<String> targetIds = targets.stream().map(Attorney::getIdAttorney).toList();
+                    AttorneyStatsDelta delta = new AttorneyStatsDelta();
+                    targets.forEach(target -> delta.statusChange(target, fromStatus, toStatus));
+                    return mongoTemplate.updateMulti(Query.query(pending), statusUpdate(toStatus), Attorney.class)
+                            // Un evento por apoderado; el worker los envía a Firebase en paralelo
+                            .flatMap(result -> firebaseOutbox.enqueueAll(targetIds, FirebaseSyncEvent.Type.SET_DISABLED)
+                                    .then(statsCounters.apply(delta))
+                                    .thenReturn(new BulkStatusResult(ids.size(), result.getModifiedCount())));
+                })
+                .as(transactionalOperator::transactional)
+                .retryWhen(MongoTransactions.TRANSIENT_ERRORS)
+                .doOnSuccess(result -> ids.forEach(attorneyCache::invalidate));
+    }
+
+    private static Update statusUpdate(String toStatus) {
+        return new Update()
+                .set("status", toStatus)
+                .set("updatedAt", LocalDateTime.now())
+                .inc("version", 1);
     }
 
     @Override
-    public Mono<Attorney> updatePassword(String id, String newPassword) {
+    public Mono<Attorney> updateAttorney(String id, AttorneyRequest attorney) {
+        // PUT: reemplaza todos los campos editables, pero solo escribe los que cambian
+        return applyChanges(id, attorney, false, null)
+                .retryWhen(Retry.max(MAX_VERSION_RETRIES).filter(OptimisticLockingFailureException.class::isInstance))
+                .transform(timers.mono(SERVICE_METRIC, "updateAttorney"));
+    }
+
+    @Override
+    public Mono<Attorney> patchAttorney(String id, AttorneyRequest changes) {
+        Mono<Attorney> patch = applyChanges(id, changes, true, changes.getVersion());
+        // Si el cliente envía la versión que leyó, un conflicto se informa en lugar de reintentarse
+        if (changes.getVersion() == null) {
+            patch = patch.retryWhen(Retry.max(MAX_VERSION_RETRIES).filter(OptimisticLockingFailureException.class::isInstance));
+        }
+        return patch.transform(timers.mono(SERVICE_METRIC, "patchAttorney"));
+    }
+
+    // Lee el documento, calcula los campos modificados y los aplica con un único $set condicionado a la versión
+    private Mono<Attorney> applyChanges(String id, AttorneyRequest changes, boolean partial, Long clientVersion) {
         return attorneyRepository.findById(id)
                 .flatMap(existingAttorney -> {
-                    // Actualizar la contraseña en Firebase Authentication
-                    return Mono.fromCallable(() -> FirebaseAuth.getInstance().updateUser(
-                            new UserRecord.UpdateRequest(existingAttorney.getUid())
-                                    .setPassword(newPassword)
-                    )).then(Mono.defer(() -> {
-                        // Actualizar la contraseña en la base de datos
-                        existingAttorney.setPassword(newPassword);
-                        existingAttorney.setUpdatedAt(LocalDateTime.now());
-                        return attorneyRepository.save(existingAttorney);
-                    }));
+                    Long expectedVersion = clientVersion != null ? clientVersion : existingAttorney.getVersion();
+                    if (!Objects.equals(expectedVersion, existingAttorney.getVersion())) {
+                        return Mono.error(new OptimisticLockingFailureException("El apoderado " + id + " fue modificado por otra solicitud"));
+                    }
+                    Attorney updatedAttorney = attorneyMapper.copy(existingAttorney);
+                    if (partial) {
+                        attorneyMapper.merge(changes, updatedAttorney);
+                    } else {
+                        attorneyMapper.replace(changes, updatedAttorney);
+                    }
+                    Update update = AttorneyUpdates.diff(existingAttorney, updatedAttorney);
+                    if (update.getUpdateObject().isEmpty()) {
+                        return Mono.just(existingAttorney); // Nada que escribir
+                    }
+                    boolean displayNameChanged = AttorneyUpdates.displayNameChanged(update);
+                    update.set("updatedAt", LocalDateTime.now()).inc("version", 1);
+
+                    return versionedUpdate(id, expectedVersion, update)
+                            .flatMap(updated -> {
+                                Mono<Void> stats = statsCounters.apply(AttorneyStatsDelta.updated(existingAttorney, updated));
+                                if (!displayNameChanged) {
+                                    return stats.thenReturn(updated); // Sin cambios de nombre no hay nada que enviar a Firebase
+                                }
+                                return firebaseOutbox.enqueue(updated.getIdAttorney(), FirebaseSyncEvent.Type.UPDATE_PROFILE)
+                                        .then(stats)
+                                        .thenReturn(updated);
+                            })
+                            .as(transactionalOperator::transactional)
+                            .retryWhen(MongoTransactions.TRANSIENT_ERRORS);
                 })
+                .doOnNext(this::evict);
+    }
+
+    private Mono<Attorney> versionedUpdate(String id, Long expectedVersion, Update update) {
+        Query query = Query.query(Criteria.where("_id").is(id).and("version").is(expectedVersion));
+        return mongoTemplate.findAndModify(query, update, FindAndModifyOptions.options().returnNew(true), Attorney.class)
+                .switchIfEmpty(Mono.error(() -> new OptimisticLockingFailureException("El apoderado " + id + " fue modificado por otra solicitud")));
+    }
+
+    @Override
+    public Mono<Attorney> updatePassword(String id, String newPassword) {
+        // Un solo findAndModify en lugar de findById + save del documento completo
+        Update update = new Update()
+                .set("password", newPassword)
+                .set("updatedAt", LocalDateTime.now())
+                .inc("version", 1);
+        return mongoTemplate.findAndModify(Query.query(Criteria.where("_id").is(id)), update,
+                        FindAndModifyOptions.options().returnNew(true), Attorney.class)
+                // La contraseña de Firebase Authentication se actualiza desde el outbox
+                .flatMap(updatedAttorney -> firebaseOutbox.enqueue(updatedAttorney.getIdAttorney(), FirebaseSyncEvent.Type.SET_PASSWORD)
+                        .thenReturn(updatedAttorney))
+                .as(transactionalOperator::transactional)
+                .retryWhen(MongoTransactions.TRANSIENT_ERRORS)
+                .doOnNext(this::evict)
                 .onErrorResume(e -> {
-                    // Manejar errores (por ejemplo, si falla la actualización de la contraseña en Firebase)
-                    System.err.println("Error updating password in Firebase: " + e.getMessage());
+                    System.err.println("Error updating password: " + e.getMessage());
                     return Mono.error(e);
-                });
+                })
+                .transform(timers.mono(SERVICE_METRIC, "updatePassword"));
     }
 
-    // Método para validar el token y el rol en el servicio
-    public Mono<Boolean> validateTokenAndRoles(String token, List<String> requiredRoles) {
-        return authServiceClient.validateToken(token)
-                .flatMap(validationResponse -> {
-                    if (validationResponse.isValid() && requiredRoles.contains(validationResponse.getRole())) {
-                        return Mono.just(true); // Token válido y rol correcto
-                    }
-                    return Mono.just(false); // Token no válido o rol no coincide
-                });
+    // Cada escritura invalida la entrada en la caché de lectura (las demás réplicas se enteran por el change stream)
+    private void evict(Attorney attorney) {
+        attorneyCache.invalidate(attorney.getIdAttorney());
     }
 }
@@ -0,0 +1,167 @@
+package pe.edu.vallegrande.vg_ms_attorney.application.stats;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import pe.edu.vallegrande.vg_ms_attorney.application.util.MongoTransactions;
+import pe.edu.vallegrande.vg_ms_attorney.domain.model.Attorney;
+import pe.edu.vallegrande.vg_ms_attorney.domain.model.AttorneyStatistics;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+
+// Contadores materializados de apoderados. Cada escritura del servicio aplica su AttorneyStatsDelta con $inc
+// dentro de su misma transacción, en uno de `shards` documentos elegido al azar; leer las estadísticas
+// es sumar esos documentos, sin recorrer la colección attorney.
+@Component
+public class AttorneyStatsCounters {
+
+    static final String ID_PREFIX = "attorney-";
+
+    private final ReactiveMongoTemplate mongoTemplate;
+    private final TransactionalOperator transactionalOperator;
+    private final int shards;
+    private final Counter drift;
+
+    public AttorneyStatsCounters(ReactiveMongoTemplate mongoTemplate,
+                                 TransactionalOperator transactionalOperator,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${attorney.stats.shards:8}") int shards) {
+        this.mongoTemplate = mongoTemplate;
+        this.transactionalOperator = transactionalOperator;
+        this.shards = Math.max(shards, 1);
+        // Diferencia total encontrada al reconciliar; distinto de cero indica escrituras que no pasaron por el servicio
+        this.drift = meterRegistry.counter("attorney.stats.drift");
+    }
+
+    public Mono<Void> apply(AttorneyStatsDelta delta) {
+        if (delta.isEmpty()) {
+            return Mono.empty();
+        }
+        String id = ID_PREFIX + ThreadLocalRandom.current().nextInt(shards);
+        return mongoTemplate.upsert(Query.query(Criteria.where("_id").is(id)),
+                        delta.toUpdate().set("updatedAt", LocalDateTime.now()), AttorneyStatistics.class)
+                .then();
+    }
+
+    public Mono<AttorneyStatistics> read() {
+        return mongoTemplate.findAll(AttorneyStatistics.class)
+                .reduce(emptyStatistics(), AttorneyStatsCounters::merge);
+    }
+
+    // Recalcula los contadores con una agregación y reemplaza los documentos en una transacción: si otra escritura
+    // toca los contadores mientras tanto, una de las dos se aborta y se reintenta, así no se pierde ningún incremento.
+    // Devuelve la diferencia total entre los contadores anteriores y los recalculados.
+    public Mono<Long> reconcile() {
+        Mono<Long> reconcile = read()
+                .zipWith(aggregate())
+                .flatMap(current -> {
+                    Map<String, Long> actual = current.getT2().increments();
+                    long difference = difference(paths(current.getT1()), actual);
+                    AttorneyStatistics snapshot = fromPaths(actual);
+                    snapshot.setId(ID_PREFIX + 0);
+                    snapshot.setUpdatedAt(LocalDateTime.now());
+                    snapshot.setReconciledAt(snapshot.getUpdatedAt());
+                    return mongoTemplate.remove(new Query(), AttorneyStatistics.class)
+                            .then(mongoTemplate.insert(snapshot))
+                            .thenReturn(difference);
+                });
+        return reconcile
+                .as(transactionalOperator::transactional)
+                .retryWhen(MongoTransactions.TRANSIENT_ERRORS)
+                .doOnNext(difference -> drift.increment(difference));
+    }
+
+    // Un solo $group por estado y campos; se agrupan pocas combinaciones y se reparten en Java
+    private Mono<AttorneyStatsDelta> aggregate() {
+        List<String> fields = new ArrayList<>(AttorneyStatsDelta.FIELDS);
+        fields.add(0, "status");
+        Aggregation aggregation = Aggregation.newAggregation(Aggregation.group(fields.toArray(String[]::new)).count().as("count"));
+        return mongoTemplate.aggregate(aggregation, Attorney.class, Document.class)
+                .reduce(new AttorneyStatsDelta(), (delta, row) -> {
+                    Document group = row.get("_id", Document.class);
+                    Attorney attorney = new Attorney();
+                    attorney.setRelationship(group.getString("relationship"));
+                    attorney.setSex(group.getString("sex"));
+                    attorney.setBaptism(group.getString("baptism"));
+                    attorney.setFirst_Communion(group.getString("first_Communion"));
+                    attorney.setConfirmation(group.getString("confirmation"));
+                    attorney.setMarriage(group.getString("marriage"));
+                    return delta.add(attorney, group.getString("status"), ((Number) row.get("count")).longValue());
+                });
+    }
+
+    private static AttorneyStatistics emptyStatistics() {
+        AttorneyStatistics statistics = new AttorneyStatistics();
+        statistics.setId("attorney");
+        return statistics;
+    }
+
+    static AttorneyStatistics merge(AttorneyStatistics total, AttorneyStatistics shard) {
+        shard.getTotals().forEach((status, count) -> total.getTotals().merge(status, count, Long::sum));
+        shard.getBreakdowns().forEach((status, fields) -> fields.forEach((field, values) -> values.forEach((value, count) ->
+                total.getBreakdowns()
+                        .computeIfAbsent(status, k -> new HashMap<>())
+                        .computeIfAbsent(field, k -> new HashMap<>())
+                        .merge(value, count, Long::sum))));
+        total.setUpdatedAt(latest(total.getUpdatedAt(), shard.getUpdatedAt()));
+        total.setReconciledAt(latest(total.getReconciledAt(), shard.getReconciledAt()));
+        return total;
+    }
+
+    // Mismas rutas que usa AttorneyStatsDelta ("totals.A", "breakdowns.A.sex.F")
+    static Map<String, Long> paths(AttorneyStatistics statistics) {
+        Map<String, Long> paths = new HashMap<>();
+        statistics.getTotals().forEach((status, count) -> paths.put("totals." + status, count));
+        statistics.getBreakdowns().forEach((status, fields) -> fields.forEach((field, values) -> values.forEach((value, count) ->
+                paths.put("breakdowns." + status + "." + field + "." + value, count))));
+        return paths;
+    }
+
+    static AttorneyStatistics fromPaths(Map<String, Long> paths) {
+        AttorneyStatistics statistics = new AttorneyStatistics();
+        paths.forEach((path, count) -> {
+            String[] parts = path.split("\\.", 4);
+            if (parts[0].equals("totals")) {
+                statistics.getTotals().put(parts[1], count);
+            } else {
+                statistics.getBreakdowns()
+                        .computeIfAbsent(parts[1], k -> new HashMap<>())
+                        .computeIfAbsent(parts[2], k -> new HashMap<>())
+                        .put(parts[3], count);
+            }
+        });
+        return statistics;
+    }
+
+    static long difference(Map<String, Long> stored, Map<String, Long> actual) {
+        Set<String> keys = new HashSet<>(stored.keySet());
+        keys.addAll(actual.keySet());
+        long difference = 0;
+        for (String key : keys) {
+            difference += Math.abs(stored.getOrDefault(key, 0L) - actual.getOrDefault(key, 0L));
+        }
+        return difference;
+    }
+
+    private static LocalDateTime latest(LocalDateTime a, LocalDateTime b) {
+        if (a == null) {
+            return b;
+        }
+        return b == null || a.isAfter(b) ? a : b;
+    }
+}
@@ -0,0 +1,88 @@
+package pe.edu.vallegrande.vg_ms_attorney.application.stats;
+
+import org.springframework.data.mongodb.core.query.Update;
+import pe.edu.vallegrande.vg_ms_attorney.domain.model.Attorney;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+// Cambios a aplicar en los contadores por una o varias escrituras, como rutas de $inc
+// ("totals.A", "breakdowns.A.relationship.Madre"). Las rutas que se compensan (-1 y +1) no se escriben.
+public class AttorneyStatsDelta {
+
+    // Valor usado cuando el campo está vacío
+    public static final String NO_VALUE = "sin_dato";
+
+    static final List<Dimension> DIMENSIONS = List.of(
+            new Dimension("relationship", Attorney::getRelationship),
+            new Dimension("sex", Attorney::getSex),
+            new Dimension("baptism", Attorney::getBaptism),
+            new Dimension("first_Communion", Attorney::getFirst_Communion),
+            new Dimension("confirmation", Attorney::getConfirmation),
+            new Dimension("marriage", Attorney::getMarriage));
+
+    // Campos de Attorney que se cuentan además del estado
+    public static final List<String> FIELDS = DIMENSIONS.stream().map(Dimension::name).toList();
+
+    private final Map<String, Long> increments = new LinkedHashMap<>();
+
+    public static AttorneyStatsDelta created(Attorney attorney) {
+        return new AttorneyStatsDelta().add(attorney, attorney.getStatus(), 1);
+    }
+
+    public static AttorneyStatsDelta updated(Attorney before, Attorney after) {
+        return new AttorneyStatsDelta().add(before, before.getStatus(), -1).add(after, after.getStatus(), 1);
+    }
+
+    public static AttorneyStatsDelta statusChanged(Attorney attorney, String fromStatus, String toStatus) {
+        return new AttorneyStatsDelta().statusChange(attorney, fromStatus, toStatus);
+    }
+
+    public AttorneyStatsDelta add(Attorney attorney, String status, long amount) {
+        String statusKey = key(status);
+        increment("totals." + statusKey, amount);
+        for (Dimension dimension : DIMENSIONS) {
+            increment("breakdowns." + statusKey + "." + dimension.name() + "." + key(dimension.getter().apply(attorney)), amount);
+        }
+        return this;
+    }
+
+    public AttorneyStatsDelta statusChange(Attorney attorney, String fromStatus, String toStatus) {
+        return add(attorney, fromStatus, -1).add(attorney, toStatus, 1);
+    }
+
+    public boolean isEmpty() {
+        return increments.isEmpty();
+    }
+
+    public Map<String, Long> increments() {
+        return increments;
+    }
+
+    public Update toUpdate() {
+        Update update = new Update();
+        increments.forEach(update::inc);
+        return update;
+    }
+
+    private void increment(String path, long amount) {
+        long value = increments.merge(path, amount, Long::sum);
+        if (value == 0) {
+            increments.remove(path);
+        }
+    }
+
+    // Los valores se usan como nombres de campo en Mongo: sin puntos ni $ inicial
+    static String key(String value) {
+        if (value == null || value.isBlank()) {
+            return NO_VALUE;
+        }
+        String key = value.trim().replace('.', '_');
+        return key.startsWith("$") ? "_" + key.substring(1) : key;
+    }
+
+    record Dimension(String name, Function<Attorney, String> getter) {
+    }
+}
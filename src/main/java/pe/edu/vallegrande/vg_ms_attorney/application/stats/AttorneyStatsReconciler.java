@@ -0,0 +1,59 @@
+package pe.edu.vallegrande.vg_ms_attorney.application.stats;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import pe.edu.vallegrande.vg_ms_attorney.application.metrics.ReactiveTimers;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+
+// Recalcula los contadores al arrancar y luego cada `reconcile-interval`, corrigiendo lo que haya quedado
+// desfasado (importaciones a medias, cambios hechos directamente en Mongo, contadores aún no creados).
+@Component
+public class AttorneyStatsReconciler implements DisposableBean {
+
+    private final AttorneyStatsCounters counters;
+    private final ReactiveTimers timers;
+    private final boolean enabled;
+    private final Duration interval;
+
+    private Disposable subscription;
+
+    public AttorneyStatsReconciler(AttorneyStatsCounters counters,
+                                   ReactiveTimers timers,
+                                   @Value("${attorney.stats.enabled:true}") boolean enabled,
+                                   @Value("${attorney.stats.reconcile-interval:PT15M}") Duration interval) {
+        this.counters = counters;
+        this.timers = timers;
+        this.enabled = enabled;
+        this.interval = interval;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        subscription = Flux.interval(Duration.ZERO, interval)
+                .onBackpressureDrop()
+                .concatMap(tick -> counters.reconcile()
+                        .transform(timers.mono("attorney.stats", "reconcile"))
+                        .onErrorResume(e -> {
+                            System.err.println("Error reconciling attorney statistics: " + e.getMessage());
+                            return Mono.empty();
+                        }), 1)
+                .subscribe();
+    }
+
+    @Override
+    public void destroy() {
+        if (subscription != null) {
+            subscription.dispose();
+        }
+    }
+}
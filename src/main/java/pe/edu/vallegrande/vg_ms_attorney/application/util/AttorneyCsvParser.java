@@ -0,0 +1,128 @@
+package pe.edu.vallegrande.vg_ms_attorney.application.util;
+
+import pe.edu.vallegrande.vg_ms_attorney.domain.dto.AttorneyRequest;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+
+// Convierte líneas CSV (la primera es la cabecera con los nombres de los campos de AttorneyRequest) en AttorneyRequest.
+// Un valor entre comillas puede contener saltos de línea: las líneas se agrupan por registro antes de separar los campos
+public final class AttorneyCsvParser {
+
+    // Un registro más largo es casi siempre una comilla sin cerrar que arrastraría el resto del archivo
+    static final int MAX_RECORD_LENGTH = 64 * 1024;
+
+    private static final Map<String, BiConsumer<AttorneyRequest, String>> COLUMNS = Map.ofEntries(
+            Map.entry("names", AttorneyRequest::setNames),
+            Map.entry("surnames", AttorneyRequest::setSurnames),
+            Map.entry("sex", AttorneyRequest::setSex),
+            Map.entry("birth_date", AttorneyRequest::setBirth_date),
+            Map.entry("baptism", AttorneyRequest::setBaptism),
+            Map.entry("first_communion", AttorneyRequest::setFirst_Communion),
+            Map.entry("confirmation", AttorneyRequest::setConfirmation),
+            Map.entry("marriage", AttorneyRequest::setMarriage),
+            Map.entry("relationship", AttorneyRequest::setRelationship),
+            Map.entry("email", AttorneyRequest::setEmail),
+            Map.entry("cellphone", AttorneyRequest::setCellphone),
+            Map.entry("address", AttorneyRequest::setAddress),
+            Map.entry("documenttype", AttorneyRequest::setDocumentType),
+            Map.entry("documentnumber", AttorneyRequest::setDocumentNumber));
+
+    private AttorneyCsvParser() {
+    }
+
+    public static Flux<AttorneyRequest> parse(Flux<String> lines) {
+        return records(lines)
+                .filter(record -> !record.isBlank())
+                .switchOnFirst((first, all) -> {
+                    if (!first.hasValue()) {
+                        return all.thenMany(Flux.<AttorneyRequest>empty());
+                    }
+                    List<BiConsumer<AttorneyRequest, String>> header = header(first.get());
+                    return all.skip(1).map(line -> toAttorney(header, split(line)));
+                });
+    }
+
+    // Une las líneas de un mismo registro: mientras haya una comilla abierta la línea siguiente continúa el valor
+    static Flux<String> records(Flux<String> lines) {
+        return Flux.defer(() -> {
+            StringBuilder pending = new StringBuilder();
+            boolean[] quoted = {false};
+            return lines
+                    .<String>handle((line, sink) -> {
+                        if (quoted[0]) {
+                            pending.append('\n');
+                        }
+                        pending.append(line);
+                        if (pending.length() > MAX_RECORD_LENGTH) {
+                            sink.error(new IllegalArgumentException("Registro CSV de más de " + MAX_RECORD_LENGTH + " caracteres o con comillas sin cerrar"));
+                            return;
+                        }
+                        // "" (comilla escapada) cambia el estado dos veces, así que basta la paridad
+                        if (line.chars().filter(c -> c == '"').count() % 2 == 1) {
+                            quoted[0] = !quoted[0];
+                        }
+                        if (!quoted[0]) {
+                            sink.next(pending.toString());
+                            pending.setLength(0);
+                        }
+                    })
+                    .concatWith(Mono.defer(() -> quoted[0]
+                            ? Mono.error(new IllegalArgumentException("Registro CSV con comillas sin cerrar al final del archivo"))
+                            : Mono.empty()));
+        });
+    }
+
+    private static List<BiConsumer<AttorneyRequest, String>> header(String line) {
+        List<BiConsumer<AttorneyRequest, String>> setters = new ArrayList<>();
+        for (String column : split(line)) {
+            // Las columnas desconocidas se ignoran
+            setters.add(COLUMNS.getOrDefault(column.trim().toLowerCase(), (attorney, value) -> { }));
+        }
+        return setters;
+    }
+
+    private static AttorneyRequest toAttorney(List<BiConsumer<AttorneyRequest, String>> header, List<String> values) {
+        AttorneyRequest attorney = new AttorneyRequest();
+        for (int i = 0; i < header.size() && i < values.size(); i++) {
+            String value = values.get(i).trim();
+            if (!value.isEmpty()) {
+                header.get(i).accept(attorney, value);
+            }
+        }
+        return attorney;
+    }
+
+    // Separa un registro por comas respetando valores entre comillas dobles ("" escapa una comilla)
+    static List<String> split(String line) {
+        List<String> values = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    current.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                values.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+        values.add(current.toString());
+        return values;
+    }
+}
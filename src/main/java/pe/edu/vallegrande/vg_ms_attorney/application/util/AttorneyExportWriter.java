@@ -0,0 +1,197 @@
+package pe.edu.vallegrande.vg_ms_attorney.application.util;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import org.springframework.http.MediaType;
+import pe.edu.vallegrande.vg_ms_attorney.domain.model.Attorney;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Function;
+
+// Convierte lotes de Attorney en texto NDJSON (un objeto por línea) o CSV con los campos pedidos, en el mismo
+// orden. Es el inverso de AttorneyCsvParser: las columnas llevan el nombre de la propiedad y el escape es el mismo.
+public final class AttorneyExportWriter {
+
+    public enum Format {
+        NDJSON(MediaType.APPLICATION_NDJSON),
+        CSV(new MediaType("text", "csv", StandardCharsets.UTF_8));
+
+        private final MediaType mediaType;
+
+        Format(MediaType mediaType) {
+            this.mediaType = mediaType;
+        }
+    }
+
+    private static final JsonFactory JSON = new JsonFactory();
+
+    // Campos exportables en el orden por defecto; password, searchTokens y searchName no se exportan
+    private static final Map<String, Function<Attorney, Object>> COLUMNS = new LinkedHashMap<>();
+
+    static {
+        COLUMNS.put("idAttorney", Attorney::getIdAttorney);
+        COLUMNS.put("uid", Attorney::getUid);
+        COLUMNS.put("names", Attorney::getNames);
+        COLUMNS.put("surnames", Attorney::getSurnames);
+        COLUMNS.put("sex", Attorney::getSex);
+        COLUMNS.put("birth_date", Attorney::getBirth_date);
+        COLUMNS.put("baptism", Attorney::getBaptism);
+        COLUMNS.put("first_Communion", Attorney::getFirst_Communion);
+        COLUMNS.put("confirmation", Attorney::getConfirmation);
+        COLUMNS.put("marriage", Attorney::getMarriage);
+        COLUMNS.put("relationship", Attorney::getRelationship);
+        COLUMNS.put("role", Attorney::getRole);
+        COLUMNS.put("email", Attorney::getEmail);
+        COLUMNS.put("cellphone", Attorney::getCellphone);
+        COLUMNS.put("address", Attorney::getAddress);
+        COLUMNS.put("documentType", Attorney::getDocumentType);
+        COLUMNS.put("documentNumber", Attorney::getDocumentNumber);
+        COLUMNS.put("createdAt", Attorney::getCreatedAt);
+        COLUMNS.put("updatedAt", Attorney::getUpdatedAt);
+        COLUMNS.put("status", Attorney::getStatus);
+        COLUMNS.put("version", Attorney::getVersion);
+    }
+
+    private final Format format;
+    private final List<String> fields;
+    private final List<Function<Attorney, Object>> getters;
+
+    private AttorneyExportWriter(Format format, List<String> fields) {
+        this.format = format;
+        this.fields = fields;
+        this.getters = fields.stream().map(COLUMNS::get).toList();
+    }
+
+    // IllegalArgumentException si el formato o algún campo no existe; sin campos se exportan todos
+    public static AttorneyExportWriter create(String format, List<String> fields) {
+        Format parsed;
+        try {
+            parsed = Format.valueOf((format == null ? "ndjson" : format.trim()).toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Formato inválido: " + format + " (ndjson o csv)");
+        }
+        List<String> selected = new ArrayList<>();
+        if (fields != null) {
+            for (String field : fields) {
+                String name = field.trim();
+                if (name.isEmpty() || selected.contains(name)) {
+                    continue;
+                }
+                if (!COLUMNS.containsKey(name)) {
+                    throw new IllegalArgumentException("Campo no exportable: " + name);
+                }
+                selected.add(name);
+            }
+        }
+        return new AttorneyExportWriter(parsed, selected.isEmpty() ? List.copyOf(COLUMNS.keySet()) : List.copyOf(selected));
+    }
+
+    public MediaType mediaType() {
+        return format.mediaType;
+    }
+
+    public List<String> fields() {
+        return fields;
+    }
+
+    // Primera línea del CSV con los nombres de las columnas; NDJSON no tiene cabecera
+    public String header() {
+        if (format == Format.NDJSON) {
+            return "";
+        }
+        StringBuilder line = new StringBuilder();
+        for (int i = 0; i < fields.size(); i++) {
+            if (i > 0) {
+                line.append(',');
+            }
+            appendCsv(line, fields.get(i));
+        }
+        return line.append('\n').toString();
+    }
+
+    public String write(List<Attorney> attorneys) {
+        return format == Format.NDJSON ? ndjson(attorneys) : csv(attorneys);
+    }
+
+    private String ndjson(List<Attorney> attorneys) {
+        StringWriter out = new StringWriter();
+        try (JsonGenerator generator = JSON.createGenerator(out)) {
+            for (Attorney attorney : attorneys) {
+                generator.writeStartObject();
+                for (int i = 0; i < fields.size(); i++) {
+                    Object value = getters.get(i).apply(attorney);
+                    generator.writeFieldName(fields.get(i));
+                    if (value == null) {
+                        generator.writeNull();
+                    } else if (value instanceof Long number) {
+                        generator.writeNumber(number);
+                    } else {
+                        generator.writeString(text(value));
+                    }
+                }
+                generator.writeEndObject();
+                generator.writeRaw('\n');
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toString();
+    }
+
+    private String csv(List<Attorney> attorneys) {
+        StringBuilder out = new StringBuilder();
+        for (Attorney attorney : attorneys) {
+            for (int i = 0; i < getters.size(); i++) {
+                if (i > 0) {
+                    out.append(',');
+                }
+                Object value = getters.get(i).apply(attorney);
+                if (value != null) {
+                    appendCsv(out, text(value));
+                }
+            }
+            out.append('\n');
+        }
+        return out.toString();
+    }
+
+    // Mismo formato de fechas que la API JSON (ISO con segundos)
+    private static String text(Object value) {
+        if (value instanceof LocalDateTime dateTime) {
+            return DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(dateTime);
+        }
+        return value.toString();
+    }
+
+    // Entre comillas solo si contiene coma, comilla o salto de línea; "" escapa una comilla
+    private static void appendCsv(StringBuilder out, String value) {
+        boolean quote = false;
+        for (int i = 0; i < value.length() && !quote; i++) {
+            char c = value.charAt(i);
+            quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!quote) {
+            out.append(value);
+            return;
+        }
+        out.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"') {
+                out.append('"');
+            }
+            out.append(c);
+        }
+        out.append('"');
+    }
+}
@@ -0,0 +1,75 @@
+package pe.edu.vallegrande.vg_ms_attorney.application.util;
+
+import org.bson.types.ObjectId;
+import pe.edu.vallegrande.vg_ms_attorney.domain.dto.AttorneyDetail;
+import pe.edu.vallegrande.vg_ms_attorney.domain.dto.AttorneyLookupRequest;
+import pe.edu.vallegrande.vg_ms_attorney.domain.dto.AttorneyLookupResponse;
+import pe.edu.vallegrande.vg_ms_attorney.domain.dto.AttorneyLookupResult;
+
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.UnaryOperator;
+
+// Claves de una búsqueda en lote sin vacíos ni repetidos, en el orden recibido. Los ids se pasan a minúsculas
+// porque Mongo devuelve el ObjectId en hexadecimal en minúsculas y la respuesta se indexa con la clave recibida.
+public record AttorneyLookupKeys(Set<String> ids, Set<String> documentNumbers, Set<String> emails) {
+
+    public static final String BY_ID = "id";
+    public static final String BY_DOCUMENT = "documentNumber";
+    public static final String BY_EMAIL = "email";
+
+    // IllegalArgumentException si no hay claves o hay más de maxKeys entre las tres listas
+    public static AttorneyLookupKeys of(AttorneyLookupRequest request, int maxKeys) {
+        AttorneyLookupKeys keys = new AttorneyLookupKeys(
+                distinct(request.getIds(), id -> ObjectId.isValid(id) ? id.toLowerCase(Locale.ROOT) : id),
+                distinct(request.getDocumentNumbers(), UnaryOperator.identity()),
+                distinct(request.getEmails(), UnaryOperator.identity()));
+        int size = keys.size();
+        if (size == 0 || size > maxKeys) {
+            throw new IllegalArgumentException("Se requieren entre 1 y " + maxKeys + " claves");
+        }
+        return keys;
+    }
+
+    public int size() {
+        return ids.size() + documentNumbers.size() + emails.size();
+    }
+
+    // Agrupa los resultados por tipo de clave respetando el orden de la solicitud
+    public AttorneyLookupResponse toResponse(List<AttorneyLookupResult> results) {
+        Map<String, Map<String, AttorneyDetail>> byType = Map.of(
+                BY_ID, emptyEntries(ids),
+                BY_DOCUMENT, emptyEntries(documentNumbers),
+                BY_EMAIL, emptyEntries(emails));
+        int found = 0;
+        for (AttorneyLookupResult result : results) {
+            if (result.isFound()) {
+                byType.get(result.getBy()).put(result.getKey(), result.getAttorney());
+                found++;
+            }
+        }
+        return new AttorneyLookupResponse(byType.get(BY_ID), byType.get(BY_DOCUMENT), byType.get(BY_EMAIL), found, size() - found);
+    }
+
+    private static Set<String> distinct(List<String> values, UnaryOperator<String> normalize) {
+        Set<String> keys = new LinkedHashSet<>();
+        if (values != null) {
+            for (String value : values) {
+                if (value != null && !value.isBlank()) {
+                    keys.add(normalize.apply(value.trim()));
+                }
+            }
+        }
+        return keys;
+    }
+
+    private static Map<String, AttorneyDetail> emptyEntries(Set<String> keys) {
+        Map<String, AttorneyDetail> entries = new LinkedHashMap<>();
+        keys.forEach(key -> entries.put(key, null));
+        return entries;
+    }
+}
@@ -0,0 +1,56 @@
+package pe.edu.vallegrande.vg_ms_attorney.application.util;
+
+import org.springframework.data.mongodb.core.query.Update;
+import pe.edu.vallegrande.vg_ms_attorney.application.search.AttorneySearchKeys;
+import pe.edu.vallegrande.vg_ms_attorney.domain.model.Attorney;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Function;
+
+// Calcula el $set con los campos editables que realmente cambian entre el documento guardado
+// y su versión con la solicitud aplicada (AttorneyMapper.replace para PUT, AttorneyMapper.merge para PATCH).
+// Si cambia un campo de búsqueda, el mismo $set actualiza las claves normalizadas.
+public final class AttorneyUpdates {
+
+    private static final List<EditableField> EDITABLE_FIELDS = List.of(
+            new EditableField("names", Attorney::getNames),
+            new EditableField("surnames", Attorney::getSurnames),
+            new EditableField("sex", Attorney::getSex),
+            new EditableField("birth_date", Attorney::getBirth_date),
+            new EditableField("baptism", Attorney::getBaptism),
+            new EditableField("first_Communion", Attorney::getFirst_Communion),
+            new EditableField("confirmation", Attorney::getConfirmation),
+            new EditableField("marriage", Attorney::getMarriage),
+            new EditableField("relationship", Attorney::getRelationship),
+            new EditableField("email", Attorney::getEmail),
+            new EditableField("cellphone", Attorney::getCellphone),
+            new EditableField("address", Attorney::getAddress),
+            new EditableField("documentType", Attorney::getDocumentType),
+            new EditableField("documentNumber", Attorney::getDocumentNumber));
+
+    private AttorneyUpdates() {
+    }
+
+    public static Update diff(Attorney existing, Attorney updated) {
+        Update update = new Update();
+        for (EditableField field : EDITABLE_FIELDS) {
+            Object requested = field.getter().apply(updated);
+            if (!Objects.equals(requested, field.getter().apply(existing))) {
+                update.set(field.name(), requested);
+            }
+        }
+        if (AttorneySearchKeys.SOURCE_FIELDS.stream().anyMatch(update::modifies)) {
+            update.set("searchTokens", AttorneySearchKeys.tokens(updated));
+            update.set("searchName", AttorneySearchKeys.searchName(updated.getNames(), updated.getSurnames()));
+        }
+        return update;
+    }
+
+    public static boolean displayNameChanged(Update update) {
+        return update.modifies("names") || update.modifies("surnames");
+    }
+
+    private record EditableField(String name, Function<Attorney, Object> getter) {
+    }
+}
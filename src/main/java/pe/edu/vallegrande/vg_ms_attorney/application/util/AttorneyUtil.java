@@ -3,4 +3,5 @@ package pe.edu.vallegrande.vg_ms_attorney.application.util;
 public class AttorneyUtil {
     public static final String Activo = "A";
     public static final String Inactivo = "I";
+    public static final String RolApoderado = "APODERADO";
 }
\ No newline at end of file
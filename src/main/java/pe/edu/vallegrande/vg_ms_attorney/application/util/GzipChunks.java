@@ -0,0 +1,58 @@
+package pe.edu.vallegrande.vg_ms_attorney.application.util;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.zip.GZIPOutputStream;
+
+// Gzip por partes para respuestas en streaming: cada compress() devuelve lo comprimido hasta ese momento
+// (SYNC_FLUSH, el cliente puede descomprimir sin esperar al final) y finish() el cierre del stream.
+// No es thread-safe: se usa desde un único flujo secuencial.
+public final class GzipChunks implements AutoCloseable {
+
+    private final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+    private final GZIPOutputStream gzip;
+
+    public GzipChunks() {
+        try {
+            this.gzip = new GZIPOutputStream(buffer, true);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public byte[] compress(byte[] chunk) {
+        try {
+            gzip.write(chunk);
+            gzip.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return drain();
+    }
+
+    public byte[] finish() {
+        try {
+            gzip.finish();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return drain();
+    }
+
+    private byte[] drain() {
+        byte[] bytes = buffer.toByteArray();
+        buffer.reset();
+        return bytes;
+    }
+
+    // Libera el Deflater también si el cliente cancela a mitad de la descarga
+    @Override
+    public void close() {
+        try {
+            gzip.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package pe.edu.vallegrande.vg_ms_attorney.application.util;
+
+import com.mongodb.MongoException;
+import reactor.util.retry.Retry;
+import reactor.util.retry.RetryBackoffSpec;
+
+import java.time.Duration;
+
+// Mongo aborta una transacción con la etiqueta TransientTransactionError cuando choca con otra escritura
+// (por ejemplo, dos altas que incrementan el mismo documento de contadores). La transacción completa puede
+// repetirse; el error original se propaga si se agotan los reintentos.
+public final class MongoTransactions {
+
+    public static final RetryBackoffSpec TRANSIENT_ERRORS = Retry.backoff(3, Duration.ofMillis(20))
+            .filter(MongoTransactions::isTransient)
+            .onRetryExhaustedThrow((spec, signal) -> signal.failure());
+
+    private MongoTransactions() {
+    }
+
+    public static boolean isTransient(Throwable error) {
+        for (Throwable e = error; e != null; e = e.getCause()) {
+            if (e instanceof MongoException mongoException
+                    && mongoException.hasErrorLabel(MongoException.TRANSIENT_TRANSACTION_ERROR_LABEL)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
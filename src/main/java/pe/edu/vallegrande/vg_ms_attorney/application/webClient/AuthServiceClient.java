@@ -1,45 +1,71 @@
 package pe.edu.vallegrande.vg_ms_attorney.application.webClient;
 
-import com.google.common.net.HttpHeaders;
-import io.netty.channel.ChannelOption;
-import io.netty.handler.logging.LogLevel;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
-import org.springframework.web.reactive.function.client.WebClient;
+import pe.edu.vallegrande.vg_ms_attorney.application.metrics.ReactiveTimers;
 import pe.edu.vallegrande.vg_ms_attorney.domain.dto.TokenValidationResponse;
 import reactor.core.publisher.Mono;
-import reactor.netty.http.client.HttpClient;
-import reactor.netty.transport.logging.AdvancedByteBufFormat;
-
-import java.time.Duration;
 
 @Component
 public class AuthServiceClient {
 
-    private final WebClient webClient;
+    // REMOTE: valida contra /firebase-users/validate. LOCAL: verifica el ID token con el SDK de Firebase
+    public enum VerificationMode { REMOTE, LOCAL }
+
+    private static final TokenValidationResponse INVALID_TOKEN = new TokenValidationResponse(false, null);
+    // validateToken: validación completa (incluye caché); fetchValidation: solo la llamada al servicio remoto
+    private static final String AUTH_METRIC = "auth.client";
+
+    private final AuthServiceHttpClient authServiceHttpClient;
+    private final TokenValidationCache tokenValidationCache;
+    private final FirebaseTokenVerifier firebaseTokenVerifier;
+    private final VerificationMode verificationMode;
+    private final boolean remoteFallback;
+    private final ReactiveTimers timers;
 
     @Autowired
-    public AuthServiceClient(WebClient.Builder webClientBuilder) {
-        this.webClient = webClientBuilder
-                .baseUrl("https://profound-lark-web-maria-enriqueta-dominicci-7da37999.koyeb.app/firebase-users")
-                .clientConnector(new ReactorClientHttpConnector(HttpClient.create()
-                        .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, 5000)
-                        .responseTimeout(Duration.ofSeconds(5))
-                        .wiretap("reactor.netty.http.client.HttpClient", LogLevel.DEBUG, AdvancedByteBufFormat.TEXTUAL)))
-                .build();
+    public AuthServiceClient(AuthServiceHttpClient authServiceHttpClient,
+                             TokenValidationCache tokenValidationCache,
+                             FirebaseTokenVerifier firebaseTokenVerifier,
+                             @Value("${auth.verification.mode:REMOTE}") VerificationMode verificationMode,
+                             @Value("${auth.verification.remote-fallback:true}") boolean remoteFallback,
+                             ReactiveTimers timers) {
+        this.authServiceHttpClient = authServiceHttpClient;
+        this.tokenValidationCache = tokenValidationCache;
+        this.firebaseTokenVerifier = firebaseTokenVerifier;
+        this.verificationMode = verificationMode;
+        this.remoteFallback = remoteFallback;
+        this.timers = timers;
     }
 
     public Mono<TokenValidationResponse> validateToken(String token) {
-        return webClient.get()
-                .uri("/validate")
-                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
-                .retrieve()
-                .bodyToMono(TokenValidationResponse.class);
+        return tokenValidationCache.get(token, this::verify)
+                .transform(timers.mono(AUTH_METRIC, "validateToken"));
+    }
+
+    private Mono<TokenValidationResponse> verify(String token) {
+        if (verificationMode == VerificationMode.REMOTE) {
+            return fetchValidation(token);
+        }
+        // Un token inválido, expirado o revocado se rechaza aquí, sin consultar al servicio remoto
+        Mono<TokenValidationResponse> local = firebaseTokenVerifier.verify(token)
+                .onErrorResume(FirebaseTokenVerifier::isInvalidToken, e -> Mono.just(INVALID_TOKEN));
+        if (remoteFallback) {
+            // Solo se consulta al servicio remoto ante fallos de infraestructura (pool lleno, timeout, claves
+            // públicas no disponibles) o si el token es válido pero no trae rol
+            return local
+                    .onErrorResume(e -> fetchValidation(token))
+                    .switchIfEmpty(Mono.defer(() -> fetchValidation(token)));
+        }
+        return local.defaultIfEmpty(INVALID_TOKEN);
     }
 
-    public WebClient getWebClient() {
-        return webClient;
+    private Mono<TokenValidationResponse> fetchValidation(String token) {
+        return authServiceHttpClient.validate(token)
+                // Un 4xx es la respuesta del servicio a un token que no acepta
+                .onErrorResume(e -> !AuthServiceHttpClient.isServiceFailure(e), e -> Mono.just(INVALID_TOKEN))
+                .transform(timers.mono(AUTH_METRIC, "fetchValidation"));
     }
 
 }
@@ -0,0 +1,152 @@
+package pe.edu.vallegrande.vg_ms_attorney.application.webClient;
+
+import com.google.common.net.HttpHeaders;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.netty.channel.ChannelOption;
+import io.netty.handler.logging.LogLevel;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import pe.edu.vallegrande.vg_ms_attorney.domain.dto.TokenValidationResponse;
+import reactor.core.Exceptions;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+import reactor.netty.transport.logging.AdvancedByteBufFormat;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+
+// Llamadas HTTP a /firebase-users/validate:
+// - pool de conexiones propio y acotado, con desalojo de conexiones inactivas (métricas reactor.netty.connection.provider.*)
+// - circuit breaker: si el servicio falla o tarda más que response-timeout, las solicitudes fallan de inmediato
+//   (CircuitBreaker.OpenException) en lugar de esperar y acumular conexiones
+// - hedging opcional: si no hay respuesta en hedge-delay se lanza una segunda solicitud y gana la primera que responde
+//   con un valor; si una falla se espera a la otra
+// - wiretap solo cuando el logger WIRETAP_LOGGER está en DEBUG; con el logger apagado el handler no está en el pipeline
+@Component
+public class AuthServiceHttpClient implements DisposableBean {
+
+    public static final String WIRETAP_LOGGER = AuthServiceHttpClient.class.getName() + ".wiretap";
+
+    private static final Logger wiretapLogger = LoggerFactory.getLogger(WIRETAP_LOGGER);
+
+    private final ConnectionProvider connectionProvider;
+    private final WebClient webClient;
+    private final WebClient wiretapClient;
+    private final CircuitBreaker circuitBreaker;
+    private final Duration hedgeDelay;
+    private final Counter hedged;
+
+    public AuthServiceHttpClient(WebClient.Builder webClientBuilder,
+                                 @Value("${auth.service.base-url:https://profound-lark-web-maria-enriqueta-dominicci-7da37999.koyeb.app/firebase-users}") String baseUrl,
+                                 @Value("${auth.service.connect-timeout:PT2S}") Duration connectTimeout,
+                                 @Value("${auth.service.response-timeout:PT2S}") Duration responseTimeout,
+                                 @Value("${auth.service.hedge-delay:PT0S}") Duration hedgeDelay,
+                                 @Value("${auth.service.pool.max-connections:100}") int maxConnections,
+                                 @Value("${auth.service.pool.pending-acquire-timeout:PT1S}") Duration pendingAcquireTimeout,
+                                 @Value("${auth.service.pool.max-idle-time:PT30S}") Duration maxIdleTime,
+                                 @Value("${auth.service.pool.max-life-time:PT5M}") Duration maxLifeTime,
+                                 @Value("${auth.service.circuit-breaker.window-size:20}") int windowSize,
+                                 @Value("${auth.service.circuit-breaker.minimum-calls:10}") int minimumCalls,
+                                 @Value("${auth.service.circuit-breaker.failure-rate-threshold:50}") int failureRateThreshold,
+                                 @Value("${auth.service.circuit-breaker.open-duration:PT10S}") Duration openDuration,
+                                 MeterRegistry meterRegistry) {
+        this.hedgeDelay = hedgeDelay;
+        this.hedged = meterRegistry.counter("auth.client.hedged");
+        this.circuitBreaker = new CircuitBreaker("auth.client", windowSize, minimumCalls, failureRateThreshold, openDuration,
+                AuthServiceHttpClient::isServiceFailure, meterRegistry);
+
+        this.connectionProvider = ConnectionProvider.builder("auth-service")
+                .maxConnections(maxConnections)
+                // Cola de espera acotada: con el pool lleno se falla rápido en lugar de encolar sin límite
+                .pendingAcquireMaxCount(maxConnections * 2)
+                .pendingAcquireTimeout(pendingAcquireTimeout)
+                .maxIdleTime(maxIdleTime)
+                .maxLifeTime(maxLifeTime)
+                .evictInBackground(maxIdleTime)
+                .metrics(true)
+                .build();
+        // La URI se agrupa para no crear una serie por URL
+        HttpClient httpClient = HttpClient.create(connectionProvider)
+                .metrics(true, uri -> uri.endsWith("/validate") ? "/validate" : "other")
+                .keepAlive(true)
+                .option(ChannelOption.SO_KEEPALIVE, true)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) connectTimeout.toMillis())
+                .responseTimeout(responseTimeout);
+        this.webClient = webClientBuilder.clone()
+                .baseUrl(baseUrl)
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .build();
+        this.wiretapClient = webClientBuilder.clone()
+                .baseUrl(baseUrl)
+                .clientConnector(new ReactorClientHttpConnector(httpClient.wiretap(WIRETAP_LOGGER, LogLevel.DEBUG, AdvancedByteBufFormat.TEXTUAL)))
+                .build();
+    }
+
+    public Mono<TokenValidationResponse> validate(String token) {
+        Mono<TokenValidationResponse> primary = circuitBreaker.protect(request(token));
+        if (hedgeDelay.isZero() || hedgeDelay.isNegative()) {
+            return primary;
+        }
+        // El hedge no se lanza si el circuito está abierto; en ese caso decide la primera solicitud
+        Mono<TokenValidationResponse> hedge = Mono.delay(hedgeDelay)
+                .then(Mono.defer(() -> {
+                    hedged.increment();
+                    return circuitBreaker.protect(request(token));
+                }))
+                .onErrorResume(CircuitBreaker.OpenException.class, e -> Mono.empty());
+        // Gana la primera respuesta con valor: un error de una solicitud no descarta a la otra
+        return Mono.firstWithValue(primary, hedge)
+                .onErrorResume(NoSuchElementException.class, AuthServiceHttpClient::hedgeFailure);
+    }
+
+    // Si ninguna solicitud respondió con valor, firstWithValue falla con NoSuchElementException y los errores de ambas
+    // como causa. Se propaga el error original, prefiriendo un 4xx (token rechazado) sobre un fallo del servicio.
+    private static Mono<TokenValidationResponse> hedgeFailure(NoSuchElementException e) {
+        List<Throwable> errors = e.getCause() == null ? List.of() : Exceptions.unwrapMultiple(e.getCause()).stream()
+                .filter(Objects::nonNull)
+                .toList();
+        if (errors.isEmpty()) {
+            return Mono.empty();
+        }
+        return Mono.error(errors.stream()
+                .filter(error -> !isServiceFailure(error))
+                .findFirst()
+                .orElse(errors.get(0)));
+    }
+
+    public CircuitBreaker.State circuitState() {
+        return circuitBreaker.state();
+    }
+
+    private Mono<TokenValidationResponse> request(String token) {
+        WebClient client = wiretapLogger.isDebugEnabled() ? wiretapClient : webClient;
+        return client.get()
+                .uri("/validate")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                .retrieve()
+                .bodyToMono(TokenValidationResponse.class);
+    }
+
+    // Un 4xx es una respuesta válida del servicio (token rechazado); solo los 5xx, timeouts y errores de conexión abren el circuito
+    static boolean isServiceFailure(Throwable e) {
+        if (e instanceof WebClientResponseException response) {
+            return response.getStatusCode().is5xxServerError();
+        }
+        return true;
+    }
+
+    @Override
+    public void destroy() {
+        connectionProvider.dispose();
+    }
+}
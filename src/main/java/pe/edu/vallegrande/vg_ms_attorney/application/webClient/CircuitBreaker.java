@@ -0,0 +1,159 @@
+package pe.edu.vallegrande.vg_ms_attorney.application.webClient;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.function.LongSupplier;
+import java.util.function.Predicate;
+
+// Circuit breaker por conteo: mira el resultado de las últimas `windowSize` llamadas y, si el porcentaje de fallos
+// llega a `failureRateThreshold` (con al menos `minimumCalls`), deja de llamar durante `openDuration` y falla
+// de inmediato con OpenException. Luego deja pasar HALF_OPEN_CALLS llamadas de prueba: si todas salen bien
+// vuelve a cerrarse, si una falla se abre de nuevo.
+public class CircuitBreaker {
+
+    public enum State { CLOSED, OPEN, HALF_OPEN }
+
+    static final int HALF_OPEN_CALLS = 3;
+
+    private final String name;
+    private final int windowSize;
+    private final int minimumCalls;
+    private final double failureRateThreshold;
+    private final long openNanos;
+    private final Predicate<Throwable> isFailure;
+    private final LongSupplier clock;
+    private final Counter rejected;
+    private final MeterRegistry meterRegistry;
+
+    // Resultados recientes en un buffer circular; true = fallo
+    private final boolean[] outcomes;
+    private int recorded;
+    private int next;
+    private int failures;
+
+    private State state = State.CLOSED;
+    private long openUntil;
+    private int probesInFlight;
+    private int probesSucceeded;
+
+    public CircuitBreaker(String name, int windowSize, int minimumCalls, int failureRateThreshold, Duration openDuration,
+                          Predicate<Throwable> isFailure, MeterRegistry meterRegistry) {
+        this(name, windowSize, minimumCalls, failureRateThreshold, openDuration, isFailure, meterRegistry, System::nanoTime);
+    }
+
+    CircuitBreaker(String name, int windowSize, int minimumCalls, int failureRateThreshold, Duration openDuration,
+                   Predicate<Throwable> isFailure, MeterRegistry meterRegistry, LongSupplier clock) {
+        this.name = name;
+        this.windowSize = Math.max(windowSize, 1);
+        this.minimumCalls = Math.min(Math.max(minimumCalls, 1), this.windowSize);
+        this.failureRateThreshold = failureRateThreshold / 100.0;
+        this.openNanos = openDuration.toNanos();
+        this.isFailure = isFailure;
+        this.clock = clock;
+        this.outcomes = new boolean[this.windowSize];
+        this.meterRegistry = meterRegistry;
+
+        // 0 = cerrado, 1 = abierto, 2 = medio abierto
+        Gauge.builder(name + ".circuit.state", this, breaker -> breaker.state().ordinal()).register(meterRegistry);
+        this.rejected = meterRegistry.counter(name + ".circuit.rejected");
+    }
+
+    public <T> Mono<T> protect(Mono<T> call) {
+        return Mono.defer(() -> {
+            if (!tryAcquire()) {
+                rejected.increment();
+                return Mono.error(new OpenException(name));
+            }
+            return call
+                    .doOnSuccess(value -> onResult(false))
+                    .doOnError(e -> onResult(isFailure.test(e)))
+                    // Una llamada cancelada (p. ej. la que pierde un hedge) no cuenta como resultado
+                    .doOnCancel(this::onCancel);
+        });
+    }
+
+    public synchronized State state() {
+        if (state == State.OPEN && clock.getAsLong() - openUntil >= 0) {
+            return State.HALF_OPEN;
+        }
+        return state;
+    }
+
+    synchronized boolean tryAcquire() {
+        if (state == State.OPEN) {
+            if (clock.getAsLong() - openUntil < 0) {
+                return false;
+            }
+            transition(State.HALF_OPEN);
+        }
+        if (state == State.HALF_OPEN) {
+            if (probesInFlight + probesSucceeded >= HALF_OPEN_CALLS) {
+                return false;
+            }
+            probesInFlight++;
+        }
+        return true;
+    }
+
+    synchronized void onResult(boolean failed) {
+        if (state == State.HALF_OPEN) {
+            probesInFlight = Math.max(probesInFlight - 1, 0);
+            if (failed) {
+                open();
+            } else if (++probesSucceeded >= HALF_OPEN_CALLS) {
+                transition(State.CLOSED);
+            }
+            return;
+        }
+        if (state == State.OPEN) {
+            return; // Respuesta tardía de una llamada iniciada antes de abrirse
+        }
+        if (recorded == windowSize && outcomes[next]) {
+            failures--;
+        }
+        outcomes[next] = failed;
+        if (failed) {
+            failures++;
+        }
+        next = (next + 1) % windowSize;
+        recorded = Math.min(recorded + 1, windowSize);
+        if (recorded >= minimumCalls && failures >= failureRateThreshold * recorded) {
+            open();
+        }
+    }
+
+    synchronized void onCancel() {
+        if (state == State.HALF_OPEN) {
+            probesInFlight = Math.max(probesInFlight - 1, 0);
+        }
+    }
+
+    private void open() {
+        openUntil = clock.getAsLong() + openNanos;
+        transition(State.OPEN);
+    }
+
+    private void transition(State target) {
+        if (state == target) {
+            return;
+        }
+        state = target;
+        recorded = 0;
+        next = 0;
+        failures = 0;
+        probesInFlight = 0;
+        probesSucceeded = 0;
+        meterRegistry.counter(name + ".circuit.transitions", "state", target.name()).increment();
+    }
+
+    public static class OpenException extends RuntimeException {
+
+        public OpenException(String name) {
+            super("Circuit breaker " + name + " is open");
+        }
+    }
+}
@@ -0,0 +1,251 @@
+package pe.edu.vallegrande.vg_ms_attorney.application.webClient;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import io.netty.channel.ChannelOption;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.buffer.DataBufferLimitException;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.reactive.function.BodyExtractors;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import pe.edu.vallegrande.vg_ms_attorney.application.metrics.ReactiveTimers;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.net.URI;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Solicitudes GET salientes de safeExternalRequest:
+// - solo a orígenes de la lista permitida (OutboundUrlPolicy) y sin seguir redirecciones
+// - pool de conexiones propio, separado del cliente de autenticación
+// - caché de respuestas que respeta Cache-Control (max-age, no-cache, no-store, private) y revalida con ETag
+// - solicitudes concurrentes a la misma URL comparten una sola llamada
+// - el cuerpo de la respuesta no puede superar max-body-size
+@Component
+public class ExternalFetchClient implements DisposableBean {
+
+    private static final CachePolicy NOT_STORABLE = new CachePolicy(false, Duration.ZERO);
+
+    private final OutboundUrlPolicy urlPolicy;
+    private final ConnectionProvider connectionProvider;
+    private final WebClient webClient;
+    private final Cache<String, CachedResponse> cache;
+    private final Map<String, Mono<String>> inFlight = new ConcurrentHashMap<>();
+    private final int maxBodyBytes;
+    private final ReactiveTimers timers;
+    private final Counter coalesced;
+    private final Counter notModified;
+
+    public ExternalFetchClient(@Value("${external.fetch.allowed-origins:https://api.permitido.com}") List<String> allowedOrigins,
+                               @Value("${external.fetch.max-body-size:1MB}") DataSize maxBodySize,
+                               @Value("${external.fetch.response-timeout:PT5S}") Duration responseTimeout,
+                               @Value("${external.fetch.cache.max-size:10MB}") DataSize cacheMaxSize,
+                               @Value("${external.fetch.pool.max-connections:50}") int maxConnections,
+                               @Value("${external.fetch.pool.pending-acquire-timeout:PT5S}") Duration pendingAcquireTimeout,
+                               MeterRegistry meterRegistry,
+                               ReactiveTimers timers) {
+        this.urlPolicy = new OutboundUrlPolicy(allowedOrigins);
+        this.maxBodyBytes = (int) Math.min(maxBodySize.toBytes(), Integer.MAX_VALUE);
+        this.timers = timers;
+        this.coalesced = meterRegistry.counter("external.fetch.coalesced");
+        this.notModified = meterRegistry.counter("external.fetch.not.modified");
+
+        this.connectionProvider = ConnectionProvider.builder("external-fetch")
+                .maxConnections(maxConnections)
+                .pendingAcquireTimeout(pendingAcquireTimeout)
+                .maxIdleTime(Duration.ofSeconds(30))
+                .metrics(true)
+                .build();
+        this.webClient = WebClient.builder()
+                .clientConnector(new ReactorClientHttpConnector(HttpClient.create(connectionProvider)
+                        .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, 5000)
+                        .responseTimeout(responseTimeout)))
+                .build();
+
+        // El peso de cada entrada es el tamaño aproximado del cuerpo en bytes
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(cacheMaxSize.toBytes())
+                .<String, CachedResponse>weigher((url, response) -> response.body().length() * 2 + url.length())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "external.fetch");
+    }
+
+    public Mono<String> fetch(String url) {
+        URI uri = urlPolicy.allowedUri(url);
+        if (uri == null) {
+            return Mono.error(new SecurityException("URL no permitida o inválida"));
+        }
+        String key = uri.toString();
+        CachedResponse cached = cache.getIfPresent(key);
+        if (cached != null && cached.isFresh()) {
+            return Mono.just(cached.body());
+        }
+        Mono<String> running = inFlight.get(key);
+        if (running != null) {
+            coalesced.increment();
+            return running;
+        }
+        return inFlight.computeIfAbsent(key, k -> load(uri, k, cached)
+                .doFinally(signal -> inFlight.remove(k))
+                .cache());
+    }
+
+    private Mono<String> load(URI uri, String key, CachedResponse cached) {
+        return webClient.get()
+                .uri(uri)
+                .headers(headers -> {
+                    if (cached != null && cached.etag() != null) {
+                        headers.setIfNoneMatch(cached.etag());
+                    }
+                })
+                .exchangeToMono(response -> {
+                    HttpHeaders headers = response.headers().asHttpHeaders();
+                    if (response.statusCode().value() == HttpStatus.NOT_MODIFIED.value() && cached != null) {
+                        notModified.increment();
+                        return response.releaseBody().then(Mono.fromSupplier(() -> revalidated(key, cached, headers)));
+                    }
+                    if (!response.statusCode().is2xxSuccessful()) {
+                        return response.createError();
+                    }
+                    if (headers.getContentLength() > maxBodyBytes) {
+                        return response.releaseBody().then(Mono.error(tooLarge()));
+                    }
+                    return readBody(response)
+                            .doOnNext(body -> store(key, body, headers));
+                })
+                .transform(timers.mono("external.fetch", "fetch"));
+    }
+
+    // Lee el cuerpo sin superar maxBodyBytes; si el servidor envía más, se corta con DataBufferLimitException
+    private Mono<String> readBody(ClientResponse response) {
+        Charset charset = response.headers().contentType()
+                .map(MediaType::getCharset)
+                .orElse(StandardCharsets.UTF_8);
+        return DataBufferUtils.join(response.body(BodyExtractors.toDataBuffers()), maxBodyBytes)
+                .map(buffer -> {
+                    try {
+                        return buffer.toString(charset);
+                    } finally {
+                        DataBufferUtils.release(buffer);
+                    }
+                })
+                .onErrorMap(DataBufferLimitException.class, e -> tooLarge())
+                .defaultIfEmpty("");
+    }
+
+    private DataBufferLimitException tooLarge() {
+        return new DataBufferLimitException("La respuesta externa supera el máximo de " + maxBodyBytes + " bytes");
+    }
+
+    private void store(String key, String body, HttpHeaders headers) {
+        CachePolicy policy = cachePolicy(headers);
+        if (policy.storable()) {
+            cache.put(key, new CachedResponse(body, headers.getETag(), policy.freshFor()));
+        } else {
+            cache.invalidate(key);
+        }
+    }
+
+    // 304: el cuerpo guardado sigue siendo válido; la nueva vigencia sale de los encabezados del 304 si los trae
+    private String revalidated(String key, CachedResponse cached, HttpHeaders headers) {
+        Duration freshFor = cached.freshFor();
+        if (headers.getCacheControl() != null) {
+            CachePolicy policy = cachePolicy(headers);
+            if (!policy.storable()) {
+                cache.invalidate(key);
+                return cached.body();
+            }
+            freshFor = policy.freshFor();
+        }
+        String etag = headers.getETag() != null ? headers.getETag() : cached.etag();
+        cache.put(key, new CachedResponse(cached.body(), etag, freshFor));
+        return cached.body();
+    }
+
+    // Sin max-age explícito la respuesta solo se guarda si tiene ETag, y se revalida en cada uso
+    static CachePolicy cachePolicy(HttpHeaders headers) {
+        Duration maxAge = null;
+        Duration sharedMaxAge = null;
+        boolean noCache = false;
+        String cacheControl = headers.getCacheControl();
+        if (cacheControl != null) {
+            for (String directive : cacheControl.split(",")) {
+                String value = directive.trim().toLowerCase(Locale.ROOT);
+                if (value.equals("no-store") || value.equals("private")) {
+                    return NOT_STORABLE; // La respuesta se comparte entre usuarios: private no se guarda
+                } else if (value.equals("no-cache")) {
+                    noCache = true;
+                } else if (value.startsWith("s-maxage=")) {
+                    sharedMaxAge = seconds(value.substring("s-maxage=".length()));
+                } else if (value.startsWith("max-age=")) {
+                    maxAge = seconds(value.substring("max-age=".length()));
+                }
+            }
+        }
+        Duration freshFor = noCache ? Duration.ZERO : sharedMaxAge != null ? sharedMaxAge : maxAge;
+        if (freshFor == null) {
+            freshFor = Duration.ZERO;
+        }
+        // Age: tiempo que la respuesta ya pasó en cachés intermedias
+        Duration age = seconds(headers.getFirst(HttpHeaders.AGE));
+        if (age != null) {
+            freshFor = freshFor.minus(age);
+        }
+        if (freshFor.isNegative()) {
+            freshFor = Duration.ZERO;
+        }
+        if (freshFor.isZero() && headers.getETag() == null) {
+            return NOT_STORABLE;
+        }
+        return new CachePolicy(true, freshFor);
+    }
+
+    private static Duration seconds(String value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return Duration.ofSeconds(Long.parseLong(value.trim().replace("\"", "")));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    @Override
+    public void destroy() {
+        connectionProvider.dispose();
+    }
+
+    record CachePolicy(boolean storable, Duration freshFor) {
+    }
+
+    private record CachedResponse(String body, String etag, Duration freshFor, long storedAt) {
+
+        CachedResponse(String body, String etag, Duration freshFor) {
+            this(body, etag, freshFor, System.nanoTime());
+        }
+
+        boolean isFresh() {
+            return System.nanoTime() - storedAt < freshFor.toNanos();
+        }
+    }
+}
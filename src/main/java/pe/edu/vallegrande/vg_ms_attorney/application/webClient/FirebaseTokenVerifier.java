@@ -0,0 +1,44 @@
+package pe.edu.vallegrande.vg_ms_attorney.application.webClient;
+
+import com.google.firebase.auth.AuthErrorCode;
+import com.google.firebase.auth.FirebaseAuthException;
+import com.google.firebase.auth.FirebaseToken;
+import org.springframework.stereotype.Component;
+import pe.edu.vallegrande.vg_ms_attorney.application.firebase.FirebaseExecutor;
+import pe.edu.vallegrande.vg_ms_attorney.domain.dto.TokenValidationResponse;
+import reactor.core.publisher.Mono;
+
+@Component
+public class FirebaseTokenVerifier {
+
+    private static final String ROLE_CLAIM = "role";
+
+    private final FirebaseExecutor firebaseExecutor;
+
+    public FirebaseTokenVerifier(FirebaseExecutor firebaseExecutor) {
+        this.firebaseExecutor = firebaseExecutor;
+    }
+
+    // Verifica la firma del ID token contra las claves públicas de Google (cacheadas por el SDK)
+    // y lee el claim "role" asignado en createAttorney. Vacío si el token no trae rol.
+    public Mono<TokenValidationResponse> verify(String token) {
+        return firebaseExecutor.verify("verifyIdToken", auth -> auth.verifyIdToken(token))
+                .flatMap(decoded -> Mono.justOrEmpty(roleOf(decoded))
+                        .map(role -> new TokenValidationResponse(true, role, decoded.getUid())));
+    }
+
+    // Error del propio token (mal formado, firma inválida, expirado, revocado). No incluye la descarga fallida de las
+    // claves públicas, que es un fallo de infraestructura como el pool lleno o el timeout
+    public static boolean isInvalidToken(Throwable e) {
+        if (e instanceof FirebaseAuthException authException) {
+            AuthErrorCode code = authException.getAuthErrorCode();
+            return code != null && code != AuthErrorCode.CERTIFICATE_FETCH_FAILED;
+        }
+        return e instanceof IllegalArgumentException;
+    }
+
+    private static String roleOf(FirebaseToken decoded) {
+        Object role = decoded.getClaims().get(ROLE_CLAIM);
+        return role instanceof String value ? value : null;
+    }
+}
@@ -0,0 +1,47 @@
+package pe.edu.vallegrande.vg_ms_attorney.application.webClient;
+
+import java.net.URI;
+import java.util.Collection;
+import java.util.Locale;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+// Lista de orígenes permitidos para solicitudes salientes, normalizada una sola vez al arrancar.
+// Un origen es esquema + host + puerto (por ejemplo https://api.permitido.com); la URL debe coincidir exactamente.
+public class OutboundUrlPolicy {
+
+    private final Set<String> allowedOrigins;
+
+    public OutboundUrlPolicy(Collection<String> allowedOrigins) {
+        this.allowedOrigins = allowedOrigins.stream()
+                .map(origin -> origin(URI.create(origin.trim())))
+                .collect(Collectors.toUnmodifiableSet());
+    }
+
+    // Devuelve la URI si la URL es absoluta, sin credenciales y de un origen permitido; null en otro caso
+    public URI allowedUri(String url) {
+        if (url == null || url.isBlank()) {
+            return null;
+        }
+        URI uri;
+        try {
+            uri = new URI(url);
+        } catch (Exception e) {
+            return null;
+        }
+        if (!uri.isAbsolute() || uri.getHost() == null || uri.getRawUserInfo() != null) {
+            return null;
+        }
+        return allowedOrigins.contains(origin(uri)) ? uri : null;
+    }
+
+    private static String origin(URI uri) {
+        String scheme = uri.getScheme() == null ? "" : uri.getScheme().toLowerCase(Locale.ROOT);
+        String host = uri.getHost() == null ? "" : uri.getHost().toLowerCase(Locale.ROOT);
+        int port = uri.getPort();
+        if (port == -1) {
+            port = "https".equals(scheme) ? 443 : "http".equals(scheme) ? 80 : -1;
+        }
+        return scheme + "://" + host + ":" + port;
+    }
+}
@@ -0,0 +1,112 @@
+package pe.edu.vallegrande.vg_ms_attorney.application.webClient;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import pe.edu.vallegrande.vg_ms_attorney.domain.dto.TokenValidationResponse;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.function.Function;
+
+@Component
+public class TokenValidationCache {
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+
+    private final AsyncCache<String, CachedValidation> cache;
+    private final Duration ttl;
+
+    public TokenValidationCache(@Value("${auth.token-cache.max-size:10000}") long maxSize,
+                                @Value("${auth.token-cache.ttl:PT5M}") Duration ttl,
+                                MeterRegistry meterRegistry) {
+        this.ttl = ttl;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new Expiry<String, CachedValidation>() {
+                    @Override
+                    public long expireAfterCreate(String key, CachedValidation value, long currentTime) {
+                        return value.ttlNanos();
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, CachedValidation value, long currentTime, long currentDuration) {
+                        return value.ttlNanos();
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, CachedValidation value, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .buildAsync();
+        // Expone cache.gets{result=hit|miss}, cache.evictions y cache.size
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "auth.token.validation");
+    }
+
+    // Devuelve la validación en caché o ejecuta el loader una sola vez por token,
+    // compartiendo la misma validación en curso entre solicitudes concurrentes
+    public Mono<TokenValidationResponse> get(String token, Function<String, Mono<TokenValidationResponse>> loader) {
+        String key = hash(token);
+        return Mono.fromFuture(() -> cache.get(key, (k, executor) -> loader.apply(token)
+                        .map(response -> new CachedValidation(response, ttlFor(token)))
+                        .toFuture()), true)
+                .map(CachedValidation::response);
+    }
+
+    public void invalidate(String token) {
+        cache.synchronous().invalidate(hash(token));
+    }
+
+    // El TTL nunca supera la expiración (claim "exp") del propio token
+    private long ttlFor(String token) {
+        Instant expiresAt = readExpiration(token);
+        if (expiresAt == null) {
+            return ttl.toNanos();
+        }
+        Duration remaining = Duration.between(Instant.now(), expiresAt);
+        if (remaining.isNegative()) {
+            return 0;
+        }
+        return Math.min(ttl.toNanos(), remaining.toNanos());
+    }
+
+    private static Instant readExpiration(String token) {
+        String[] parts = token.split("\\.");
+        if (parts.length < 2) {
+            return null;
+        }
+        try {
+            JsonNode payload = JSON.readTree(Base64.getUrlDecoder().decode(parts[1]));
+            JsonNode exp = payload.get("exp");
+            return exp != null && exp.canConvertToLong() ? Instant.ofEpochSecond(exp.asLong()) : null;
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    private static String hash(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 no disponible", e);
+        }
+    }
+
+    private record CachedValidation(TokenValidationResponse response, long ttlNanos) {
+    }
+}
@@ -0,0 +1,26 @@
+package pe.edu.vallegrande.vg_ms_attorney.domain.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.List;
+
+// Evento del feed de cambios. id es el resume token del change stream (se envía de vuelta para reanudar);
+// operation es insert, update, replace o delete, o bien "reset" (hay que recargar el estado completo) o
+// "dropped" (se descartaron `dropped` eventos por consumir lento). attorney es el documento actual sin password,
+// null en delete.
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AttorneyChangeEvent {
+    private String id;
+    private String operation;
+    private String idAttorney;
+    private String status;
+    private List<String> updatedFields;
+    private AttorneyDetail attorney;
+    private Instant clusterTime;
+    private Long dropped;
+}
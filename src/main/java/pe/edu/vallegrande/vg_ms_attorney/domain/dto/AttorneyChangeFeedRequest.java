@@ -0,0 +1,20 @@
+package pe.edu.vallegrande.vg_ms_attorney.domain.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+// Parámetros de /changes: operations (insert, update, replace, delete) y status ("A" o "I") filtran en el servidor;
+// after es el id del último evento recibido (en SSE también vale la cabecera Last-Event-ID);
+// overflow (drop o disconnect) decide qué pasa si el cliente no consume al ritmo de los eventos
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AttorneyChangeFeedRequest {
+    private List<String> operations;
+    private String status;
+    private String after;
+    private String overflow;
+}
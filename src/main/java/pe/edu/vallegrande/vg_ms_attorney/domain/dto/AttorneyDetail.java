@@ -0,0 +1,38 @@
+package pe.edu.vallegrande.vg_ms_attorney.domain.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+
+import java.time.LocalDateTime;
+
+// Vista de Attorney sin password ni claves de búsqueda, para respuestas en lote y el feed de cambios.
+// Se lee con proyección de campos en Mongo o se arma con AttorneyMapper.toDetail.
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AttorneyDetail {
+    @Id
+    private String idAttorney;
+    private String uid;
+    private String names;
+    private String surnames;
+    private String sex;
+    private String birth_date;
+    private String baptism;
+    private String first_Communion;
+    private String confirmation;
+    private String marriage;
+    private String relationship;
+    private String role;
+    private String email;
+    private String cellphone;
+    private String address;
+    private String documentType;
+    private String documentNumber;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+    private String status;
+    private Long version;
+}
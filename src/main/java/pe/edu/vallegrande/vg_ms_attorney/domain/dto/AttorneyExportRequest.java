@@ -0,0 +1,25 @@
+package pe.edu.vallegrande.vg_ms_attorney.domain.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+// Parámetros de /export: format ndjson o csv; fields separados por comas (por defecto todos los exportables);
+// status "A" o "I"; updatedFrom (inclusive) y updatedTo (exclusive) en ISO, p. ej. 2024-01-01T00:00:00
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AttorneyExportRequest {
+    private String format = "ndjson";
+    private List<String> fields;
+    private String status;
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime updatedFrom;
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime updatedTo;
+    private Integer batchSize;
+}
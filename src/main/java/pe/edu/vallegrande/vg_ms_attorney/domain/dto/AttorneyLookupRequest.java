@@ -0,0 +1,17 @@
+package pe.edu.vallegrande.vg_ms_attorney.domain.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+// Claves a resolver en una sola solicitud; se puede enviar cualquier combinación de las tres listas
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AttorneyLookupRequest {
+    private List<String> ids;
+    private List<String> documentNumbers;
+    private List<String> emails;
+}
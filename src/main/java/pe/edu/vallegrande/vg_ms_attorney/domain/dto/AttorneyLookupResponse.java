@@ -0,0 +1,19 @@
+package pe.edu.vallegrande.vg_ms_attorney.domain.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+// Una entrada por cada clave pedida, en el orden recibido; el valor es null si no existe un apoderado con esa clave
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AttorneyLookupResponse {
+    private Map<String, AttorneyDetail> ids;
+    private Map<String, AttorneyDetail> documentNumbers;
+    private Map<String, AttorneyDetail> emails;
+    private int found;
+    private int notFound;
+}
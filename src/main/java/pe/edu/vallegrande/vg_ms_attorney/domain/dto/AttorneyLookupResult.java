@@ -0,0 +1,24 @@
+package pe.edu.vallegrande.vg_ms_attorney.domain.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Resultado por clave de la búsqueda en lote; by es "id", "documentNumber" o "email" y attorney es null si found es false
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AttorneyLookupResult {
+    private String by;
+    private String key;
+    private boolean found;
+    private AttorneyDetail attorney;
+
+    public static AttorneyLookupResult found(String by, String key, AttorneyDetail attorney) {
+        return new AttorneyLookupResult(by, key, true, attorney);
+    }
+
+    public static AttorneyLookupResult notFound(String by, String key) {
+        return new AttorneyLookupResult(by, key, false, null);
+    }
+}
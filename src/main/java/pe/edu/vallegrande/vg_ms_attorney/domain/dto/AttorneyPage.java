@@ -0,0 +1,14 @@
+package pe.edu.vallegrande.vg_ms_attorney.domain.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+// nextCursor es el último idAttorney de la página, o null si no hay más resultados
+@Data
+@AllArgsConstructor
+public class AttorneyPage {
+    private List<AttorneySummary> items;
+    private String nextCursor;
+}
@@ -0,0 +1,29 @@
+package pe.edu.vallegrande.vg_ms_attorney.domain.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Campos que el cliente puede enviar al crear o editar un apoderado. Los que administra el servicio
+// (id, uid, rol, estado, contraseña, fechas) no forman parte de la solicitud.
+// version: en PATCH, la versión leída por el cliente; si no coincide se responde 409.
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AttorneyRequest {
+    private String names;
+    private String surnames;
+    private String sex;
+    private String birth_date;
+    private String baptism;
+    private String first_Communion;
+    private String confirmation;
+    private String marriage;
+    private String relationship;
+    private String email;
+    private String cellphone;
+    private String address;
+    private String documentType;
+    private String documentNumber;
+    private Long version;
+}
@@ -0,0 +1,18 @@
+package pe.edu.vallegrande.vg_ms_attorney.domain.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+// Página de resultados de búsqueda ordenados por relevancia; page empieza en 0.
+// truncated indica que la consulta tuvo más coincidencias que las candidatas evaluadas (attorney.search.max-candidates)
+@Data
+@AllArgsConstructor
+public class AttorneySearchPage {
+    private List<AttorneySummary> items;
+    private int page;
+    private int size;
+    private boolean hasMore;
+    private boolean truncated;
+}
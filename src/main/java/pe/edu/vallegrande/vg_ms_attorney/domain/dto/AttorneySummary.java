@@ -0,0 +1,19 @@
+package pe.edu.vallegrande.vg_ms_attorney.domain.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+
+// Vista liviana de Attorney para listados; se lee con proyección de campos en Mongo
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AttorneySummary {
+    @Id
+    private String idAttorney;
+    private String names;
+    private String surnames;
+    private String documentNumber;
+    private String status;
+}
@@ -0,0 +1,12 @@
+package pe.edu.vallegrande.vg_ms_attorney.domain.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+// modified: documentos que cambiaron de estado (Firebase se sincroniza después desde el outbox)
+@Data
+@AllArgsConstructor
+public class BulkStatusResult {
+    private int requested;
+    private long modified;
+}
@@ -0,0 +1,23 @@
+package pe.edu.vallegrande.vg_ms_attorney.domain.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+// Resultado por fila de una importación masiva; row es la posición (desde 0) dentro del archivo
+@Data
+@AllArgsConstructor
+public class ImportResult {
+    private long row;
+    private String email;
+    private boolean success;
+    private String idAttorney;
+    private String error;
+
+    public static ImportResult ok(long row, String email, String idAttorney) {
+        return new ImportResult(row, email, true, idAttorney, null);
+    }
+
+    public static ImportResult failed(long row, String email, String error) {
+        return new ImportResult(row, email, false, null, error);
+    }
+}
@@ -0,0 +1,14 @@
+package pe.edu.vallegrande.vg_ms_attorney.domain.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class QueryPlanReport {
+    private String query;
+    private List<String> stages;
+    private boolean collectionScan;
+}
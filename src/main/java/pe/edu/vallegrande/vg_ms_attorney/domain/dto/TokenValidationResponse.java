@@ -2,11 +2,18 @@ package pe.edu.vallegrande.vg_ms_attorney.domain.dto;
 
 import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 
 @Data
+@NoArgsConstructor
 @AllArgsConstructor
 public class TokenValidationResponse {
     private boolean valid;
     private String role;
+    private String uid;
+
+    public TokenValidationResponse(boolean valid, String role) {
+        this(valid, role, null);
+    }
 
 }
@@ -1,16 +1,25 @@
 package pe.edu.vallegrande.vg_ms_attorney.domain.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.List;
 
 @Data
+@NoArgsConstructor
 @AllArgsConstructor
 @Document(collection = "attorney")
+@CompoundIndex(name = "status_id", def = "{'status': 1, '_id': 1}")
+@CompoundIndex(name = "status_search_tokens", def = "{'status': 1, 'searchTokens': 1}")
+@CompoundIndex(name = "status_search_name", def = "{'status': 1, 'searchName': 1, '_id': 1}")
 public class Attorney {
     @Id
     private String idAttorney;
@@ -25,13 +34,23 @@ public class Attorney {
     private String marriage;
     private String relationship;
     private String role;
+    @Indexed(unique = true, sparse = true)
     private String email;
     private String password;
     private String cellphone;
     private String address;
     private String documentType;
+    @Indexed(unique = true, sparse = true)
     private String documentNumber;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
     private String status;
+    // Versión para control optimista en las actualizaciones parciales; se incrementa con $inc en cada escritura.
+    // No usa @Version porque los documentos existentes no tienen el campo y save() los trataría como nuevos.
+    private Long version;
+    // Claves normalizadas para la búsqueda por nombre o documento (AttorneySearchKeys); no se exponen en la API
+    @JsonIgnore
+    private List<String> searchTokens;
+    @JsonIgnore
+    private String searchName;
 }
@@ -0,0 +1,29 @@
+package pe.edu.vallegrande.vg_ms_attorney.domain.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+
+// Contadores de apoderados por estado y por campo (AttorneyStatsCounters). Se guardan repartidos en varios
+// documentos (id "attorney-0", "attorney-1", ...) para que las escrituras concurrentes no compitan por uno solo;
+// la lectura los suma.
+// totals: estado -> cantidad. breakdowns: estado -> campo -> valor -> cantidad.
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "attorney_stats")
+public class AttorneyStatistics {
+    @Id
+    private String id;
+    private Map<String, Long> totals = new HashMap<>();
+    private Map<String, Map<String, Map<String, Long>>> breakdowns = new HashMap<>();
+    private LocalDateTime updatedAt;
+    // Última vez que los contadores se recalcularon desde la colección attorney
+    private LocalDateTime reconciledAt;
+}
@@ -0,0 +1,42 @@
+package pe.edu.vallegrande.vg_ms_attorney.domain.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+
+// Evento pendiente de sincronizar con Firebase (outbox). Solo guarda el apoderado y el tipo de cambio:
+// el worker lee el estado actual del Attorney al procesarlo, así que repetir un evento es idempotente.
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "attorney_outbox")
+@CompoundIndex(name = "status_next_attempt", def = "{'status': 1, 'nextAttemptAt': 1}")
+public class FirebaseSyncEvent {
+
+    public enum Type { CREATE_USER, UPDATE_PROFILE, SET_DISABLED, SET_PASSWORD }
+
+    public enum Status { PENDING, PROCESSING, DONE, FAILED }
+
+    @Id
+    private String id;
+    private String attorneyId;
+    private Type type;
+    private Status status;
+    private int attempts;
+    private LocalDateTime nextAttemptAt;
+    private LocalDateTime lockedUntil;
+    // Identifica el lote que reclamó el evento; se borra al terminar de procesarlo
+    @Indexed(sparse = true)
+    private String claimToken;
+    private LocalDateTime createdAt;
+    // Los eventos procesados se eliminan solos a los 7 días; los FAILED se conservan para revisión
+    @Indexed(expireAfter = "7d")
+    private LocalDateTime processedAt;
+    private String lastError;
+}
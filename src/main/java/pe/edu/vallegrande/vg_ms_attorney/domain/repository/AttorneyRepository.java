@@ -5,6 +5,8 @@ import pe.edu.vallegrande.vg_ms_attorney.domain.model.Attorney;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.Collection;
+
 public interface AttorneyRepository extends ReactiveMongoRepository  <Attorney, String>{
 
     Flux<Attorney> findByStatus (String Status);
@@ -12,4 +14,6 @@ public interface AttorneyRepository extends ReactiveMongoRepository  <Attorney,
 
     Mono<Attorney> findByEmail(String email);
 
+    Flux<Attorney> findByEmailInOrDocumentNumberIn(Collection<String> emails, Collection<String> documentNumbers);
+
 }
\ No newline at end of file
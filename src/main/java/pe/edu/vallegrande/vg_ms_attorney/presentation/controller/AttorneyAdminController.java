@@ -1,173 +1,255 @@
 package pe.edu.vallegrande.vg_ms_attorney.presentation.controller;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.web.bind.annotation.*;
+import pe.edu.vallegrande.vg_ms_attorney.application.changefeed.AttorneyChangeFeed;
+import pe.edu.vallegrande.vg_ms_attorney.application.service.AttorneyExportService;
+import pe.edu.vallegrande.vg_ms_attorney.application.service.AttorneyImportService;
 import pe.edu.vallegrande.vg_ms_attorney.application.service.impl.AttorneyServiceImpl;
+import pe.edu.vallegrande.vg_ms_attorney.application.util.AttorneyCsvParser;
+import pe.edu.vallegrande.vg_ms_attorney.application.util.AttorneyExportWriter;
+import pe.edu.vallegrande.vg_ms_attorney.domain.dto.AttorneyChangeEvent;
+import pe.edu.vallegrande.vg_ms_attorney.domain.dto.AttorneyChangeFeedRequest;
+import pe.edu.vallegrande.vg_ms_attorney.domain.dto.AttorneyExportRequest;
+import pe.edu.vallegrande.vg_ms_attorney.domain.dto.ImportResult;
+import pe.edu.vallegrande.vg_ms_attorney.domain.dto.AttorneyLookupRequest;
+import pe.edu.vallegrande.vg_ms_attorney.domain.dto.AttorneyLookupResponse;
+import pe.edu.vallegrande.vg_ms_attorney.domain.dto.AttorneyLookupResult;
+import pe.edu.vallegrande.vg_ms_attorney.domain.dto.AttorneyPage;
+import pe.edu.vallegrande.vg_ms_attorney.domain.dto.AttorneySearchPage;
+import pe.edu.vallegrande.vg_ms_attorney.domain.dto.AttorneyRequest;
+import pe.edu.vallegrande.vg_ms_attorney.domain.dto.BulkStatusRequest;
+import pe.edu.vallegrande.vg_ms_attorney.domain.dto.BulkStatusResult;
 import pe.edu.vallegrande.vg_ms_attorney.domain.model.Attorney;
+import pe.edu.vallegrande.vg_ms_attorney.domain.model.AttorneyStatistics;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
-import java.util.Arrays;
 import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeoutException;
 
+// El token y el rol se validan en AuthenticationFilter antes de llegar a estos métodos
 @CrossOrigin(origins = "*")
 @RestController
 @RequestMapping("/directives/attorney${api.version}")
 public class AttorneyAdminController {
 
     private final AttorneyServiceImpl attorneyService;
+    private final AttorneyImportService attorneyImportService;
+    private final AttorneyExportService attorneyExportService;
+    private final AttorneyChangeFeed attorneyChangeFeed;
 
     // Lista de roles permitidos
-    private static final List<String> ALLOWED_ROLES = Arrays.asList("DEVELOP", "SUBDIRECTOR", "SUPERIOR", "DIRECTOR", "ADMIN");
+    public static final List<String> ALLOWED_ROLES = List.of("DEVELOP", "SUBDIRECTOR", "SUPERIOR", "DIRECTOR", "ADMIN");
 
     @Autowired
-    public AttorneyAdminController(AttorneyServiceImpl attorneyService) {
+    public AttorneyAdminController(AttorneyServiceImpl attorneyService, AttorneyImportService attorneyImportService,
+                                   AttorneyExportService attorneyExportService, AttorneyChangeFeed attorneyChangeFeed) {
         this.attorneyService = attorneyService;
+        this.attorneyImportService = attorneyImportService;
+        this.attorneyExportService = attorneyExportService;
+        this.attorneyChangeFeed = attorneyChangeFeed;
     }
 
     @GetMapping("/actives")
-    public Mono<ResponseEntity<Flux<Attorney>>> getListAllActive(@RequestHeader("Authorization") String authorizationHeader) {
-        String token = authorizationHeader.substring(7); // Extraer el token Bearer
-        return attorneyService.validateTokenAndRoles(token, ALLOWED_ROLES)
-                .flatMap(isValid -> {
-                    if (isValid) {
-                        return Mono.just(ResponseEntity.ok(attorneyService.listAllActive()));
-                    } else {
-                        return Mono.just(ResponseEntity.status(403).build()); // Acceso denegado
-                    }
-                });
+    public Mono<ResponseEntity<Flux<Attorney>>> getListAllActive() {
+        return Mono.just(ResponseEntity.ok(attorneyService.listAllActive()));
     }
 
     @GetMapping("/inactive")
-    public Mono<ResponseEntity<Flux<Attorney>>> getListAllInactive(@RequestHeader("Authorization") String authorizationHeader) {
-        String token = authorizationHeader.substring(7); // Extraer el token Bearer
-        return attorneyService.validateTokenAndRoles(token, ALLOWED_ROLES)
-                .flatMap(isValid -> {
-                    if (isValid) {
-                        return Mono.just(ResponseEntity.ok(attorneyService.listAllInactive()));
-                    } else {
-                        return Mono.just(ResponseEntity.status(403).build()); // Acceso denegado
-                    }
-                });
+    public Mono<ResponseEntity<Flux<Attorney>>> getListAllInactive() {
+        return Mono.just(ResponseEntity.ok(attorneyService.listAllInactive()));
+    }
+
+    @GetMapping("/actives/page")
+    public Mono<ResponseEntity<AttorneyPage>> getPageActive(@RequestParam(required = false) String cursor,
+                                                            @RequestParam(defaultValue = "50") int size) {
+        return attorneyService.listActivePage(cursor, size)
+                .map(ResponseEntity::ok)
+                .onErrorResume(IllegalArgumentException.class, e -> Mono.just(ResponseEntity.badRequest().build()));
+    }
+
+    @GetMapping("/inactive/page")
+    public Mono<ResponseEntity<AttorneyPage>> getPageInactive(@RequestParam(required = false) String cursor,
+                                                              @RequestParam(defaultValue = "50") int size) {
+        return attorneyService.listInactivePage(cursor, size)
+                .map(ResponseEntity::ok)
+                .onErrorResume(IllegalArgumentException.class, e -> Mono.just(ResponseEntity.badRequest().build()));
+    }
+
+    // Búsqueda para autocompletar por nombres, apellidos o documento (prefijo, sin tildes), ordenada por relevancia
+    @GetMapping("/search")
+    public Mono<ResponseEntity<AttorneySearchPage>> search(@RequestParam("q") String query,
+                                                           @RequestParam(defaultValue = "A") String status,
+                                                           @RequestParam(defaultValue = "0") int page,
+                                                           @RequestParam(defaultValue = "10") int size) {
+        return attorneyService.search(query, status, page, size)
+                .map(ResponseEntity::ok)
+                .onErrorResume(TimeoutException.class, e -> Mono.just(ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build()));
+    }
+
+    // Totales y desgloses por estado leídos de los contadores materializados, sin recorrer la colección
+    @GetMapping("/stats")
+    public Mono<ResponseEntity<AttorneyStatistics>> getStatistics() {
+        return attorneyService.getStatistics()
+                .map(ResponseEntity::ok);
+    }
+
+    // Feed de cambios (altas, modificaciones, cambios de estado) en lugar de consultar /actives e /inactive cada
+    // pocos segundos; para reanudar se envía el id del último evento (Last-Event-ID o ?after=)
+    @GetMapping(value = "/changes", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Mono<ResponseEntity<Flux<ServerSentEvent<AttorneyChangeEvent>>>> getChanges(AttorneyChangeFeedRequest request,
+                                                                                        @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        return Mono.fromCallable(() -> ResponseEntity.ok(attorneyChangeFeed.serverSentEvents(attorneyChangeFeed.subscribe(request, lastEventId))))
+                .onErrorResume(IllegalArgumentException.class, e -> Mono.just(ResponseEntity.badRequest().build()))
+                .onErrorResume(IllegalStateException.class, e -> Mono.just(ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build()));
+    }
+
+    @GetMapping(value = "/changes", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Mono<ResponseEntity<Flux<AttorneyChangeEvent>>> getChangesNdjson(AttorneyChangeFeedRequest request,
+                                                                             @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        return Mono.fromCallable(() -> ResponseEntity.ok(attorneyChangeFeed.subscribe(request, lastEventId)))
+                .onErrorResume(IllegalArgumentException.class, e -> Mono.just(ResponseEntity.badRequest().build()))
+                .onErrorResume(IllegalStateException.class, e -> Mono.just(ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build()));
+    }
+
+    // Búsqueda en lote por ids, documentos y/o emails (hasta 5000 claves) en lugar de una solicitud por apoderado
+    @PostMapping("/lookup")
+    public Mono<ResponseEntity<AttorneyLookupResponse>> lookup(@RequestBody AttorneyLookupRequest request) {
+        return attorneyService.lookup(request)
+                .map(ResponseEntity::ok)
+                .onErrorResume(IllegalArgumentException.class, e -> Mono.just(ResponseEntity.badRequest().build()));
+    }
+
+    // Con Accept: application/x-ndjson el resultado de cada clave se envía a medida que se resuelve
+    @PostMapping(value = "/lookup", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Mono<ResponseEntity<Flux<AttorneyLookupResult>>> lookupStream(@RequestBody AttorneyLookupRequest request) {
+        return Mono.fromCallable(() -> ResponseEntity.ok(attorneyService.lookupStream(request)))
+                .onErrorResume(IllegalArgumentException.class, e -> Mono.just(ResponseEntity.badRequest().build()));
     }
 
     @GetMapping("/document/{dni}")
-    public Mono<ResponseEntity<Attorney>> getAttorneyByDni(@PathVariable String dni, @RequestHeader("Authorization") String authorizationHeader) {
-        String token = authorizationHeader.substring(7); // Extraer el token Bearer
-        return attorneyService.validateTokenAndRoles(token, ALLOWED_ROLES)
-                .flatMap(isValid -> {
-                    if (isValid) {
-                        return attorneyService.findByDni(dni)
-                                .map(ResponseEntity::ok)
-                                .defaultIfEmpty(ResponseEntity.notFound().build());
-                    } else {
-                        return Mono.just(ResponseEntity.status(403).build());
-                    }
-                });
+    public Mono<ResponseEntity<Attorney>> getAttorneyByDni(@PathVariable String dni) {
+        return attorneyService.findByDni(dni)
+                .map(ResponseEntity::ok)
+                .defaultIfEmpty(ResponseEntity.notFound().build());
     }
 
     @GetMapping("/email/{email}")
-    public Mono<ResponseEntity<Attorney>> getAttorneyByEmail(@PathVariable String email, @RequestHeader("Authorization") String authorizationHeader) {
-        String token = authorizationHeader.substring(7); // Extraer el token Bearer
-        return attorneyService.validateTokenAndRoles(token, ALLOWED_ROLES)
-                .flatMap(isValid -> {
-                    if (isValid) {
-                        return attorneyService.findByEmail(email)
-                                .map(ResponseEntity::ok)
-                                .defaultIfEmpty(ResponseEntity.notFound().build());
-                    } else {
-                        return Mono.just(ResponseEntity.status(403).build());
-                    }
-                });
+    public Mono<ResponseEntity<Attorney>> getAttorneyByEmail(@PathVariable String email) {
+        return attorneyService.findByEmail(email)
+                .map(ResponseEntity::ok)
+                .defaultIfEmpty(ResponseEntity.notFound().build());
     }
 
     @GetMapping("/{id}")
-    public Mono<ResponseEntity<Attorney>> getAttorneyById(@PathVariable String id, @RequestHeader("Authorization") String authorizationHeader) {
-        String token = authorizationHeader.substring(7); // Extraer el token Bearer
-        return attorneyService.validateTokenAndRoles(token, ALLOWED_ROLES)
-                .flatMap(isValid -> {
-                    if (isValid) {
-                        return attorneyService.findById(id)
-                                .map(ResponseEntity::ok)
-                                .defaultIfEmpty(ResponseEntity.notFound().build());
-                    } else {
-                        return Mono.just(ResponseEntity.status(403).build());
-                    }
-                });
+    public Mono<ResponseEntity<Attorney>> getAttorneyById(@PathVariable String id) {
+        return attorneyService.findById(id)
+                .map(ResponseEntity::ok)
+                .defaultIfEmpty(ResponseEntity.notFound().build());
     }
 
     @PostMapping("/create")
-    public Mono<ResponseEntity<Attorney>> createAttorney(@RequestBody Attorney attorney, @RequestHeader("Authorization") String authorizationHeader) {
-        String token = authorizationHeader.substring(7); // Extraer el token Bearer
-        return attorneyService.validateTokenAndRoles(token, ALLOWED_ROLES)
-                .flatMap(isValid -> {
-                    if (isValid) {
-                        return attorneyService.createAttorney(attorney)
-                                .map(ResponseEntity::ok);
-                    } else {
-                        return Mono.just(ResponseEntity.status(403).build());
+    public Mono<ResponseEntity<Attorney>> createAttorney(@RequestBody AttorneyRequest attorney) {
+        return attorneyService.createAttorney(attorney)
+                .map(ResponseEntity::ok);
+    }
+
+    // Importación masiva: una fila por línea (NDJSON) y un resultado por fila en la respuesta
+    @PostMapping(value = "/import", consumes = MediaType.APPLICATION_NDJSON_VALUE, produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<ImportResult> importAttorneys(@RequestBody Flux<AttorneyRequest> attorneys) {
+        return attorneyImportService.importAttorneys(attorneys);
+    }
+
+    @PostMapping(value = "/import", consumes = "text/csv", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<ImportResult> importAttorneysCsv(@RequestBody Flux<String> lines) {
+        return attorneyImportService.importAttorneys(AttorneyCsvParser.parse(lines));
+    }
+
+    // Exportación masiva en NDJSON o CSV escrita a medida que se lee el cursor, sin armar la lista completa.
+    // Comprimida con gzip si el cliente envía Accept-Encoding: gzip
+    @GetMapping("/export")
+    public Mono<ResponseEntity<Flux<DataBuffer>>> exportAttorneys(AttorneyExportRequest request,
+                                                                  @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        boolean gzip = acceptsGzip(acceptEncoding);
+        return Mono.fromCallable(() -> {
+                    AttorneyExportWriter writer = AttorneyExportWriter.create(request.getFormat(), request.getFields());
+                    Flux<DataBuffer> body = attorneyExportService.export(request, writer, gzip)
+                            .map(DefaultDataBufferFactory.sharedInstance::wrap);
+                    ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                            .contentType(writer.mediaType())
+                            .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+                    if (gzip) {
+                        response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
                     }
-                });
+                    return response.body(body);
+                })
+                .onErrorResume(IllegalArgumentException.class, e -> Mono.just(ResponseEntity.badRequest().build()));
+    }
+
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.toLowerCase(Locale.ROOT).split(",")) {
+            String[] parts = coding.trim().split(";");
+            if (parts[0].trim().equals("gzip")) {
+                return parts.length < 2 || !parts[1].replace(" ", "").matches("q=0(\\.0*)?");
+            }
+        }
+        return false;
     }
 
     @DeleteMapping("/delete/{id}")
-    public Mono<ResponseEntity<Attorney>> deleteAttorney(@PathVariable String id, @RequestHeader("Authorization") String authorizationHeader) {
-        String token = authorizationHeader.substring(7); // Extraer el token Bearer
-        return attorneyService.validateTokenAndRoles(token, ALLOWED_ROLES)
-                .flatMap(isValid -> {
-                    if (isValid) {
-                        return attorneyService.deleteAttorney(id)
-                                .map(ResponseEntity::ok)
-                                .defaultIfEmpty(ResponseEntity.notFound().build());
-                    } else {
-                        return Mono.just(ResponseEntity.status(403).build());
-                    }
-                });
+    public Mono<ResponseEntity<Attorney>> deleteAttorney(@PathVariable String id) {
+        return attorneyService.deleteAttorney(id)
+                .map(ResponseEntity::ok)
+                .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+
+    // Cambio de estado masivo (por ejemplo, desactivación de fin de año)
+    @PostMapping("/status/bulk")
+    public Mono<ResponseEntity<BulkStatusResult>> changeStatus(@RequestBody BulkStatusRequest request) {
+        return attorneyService.changeStatus(request.getIds(), request.getStatus())
+                .map(ResponseEntity::ok)
+                .onErrorResume(IllegalArgumentException.class, e -> Mono.just(ResponseEntity.badRequest().build()));
     }
 
     @PutMapping("/reactivate/{id}")
-    public Mono<ResponseEntity<Attorney>> reactivateAttorney(@PathVariable String id, @RequestHeader("Authorization") String authorizationHeader) {
-        String token = authorizationHeader.substring(7); // Extraer el token Bearer
-        return attorneyService.validateTokenAndRoles(token, ALLOWED_ROLES)
-                .flatMap(isValid -> {
-                    if (isValid) {
-                        return attorneyService.reactivateAttorney(id)
-                                .map(ResponseEntity::ok)
-                                .defaultIfEmpty(ResponseEntity.notFound().build());
-                    } else {
-                        return Mono.just(ResponseEntity.status(403).build());
-                    }
-                });
+    public Mono<ResponseEntity<Attorney>> reactivateAttorney(@PathVariable String id) {
+        return attorneyService.reactivateAttorney(id)
+                .map(ResponseEntity::ok)
+                .defaultIfEmpty(ResponseEntity.notFound().build());
     }
 
     @PutMapping("/update/{id}")
-    public Mono<ResponseEntity<Attorney>> updateAttorney(@PathVariable String id, @RequestBody Attorney attorney, @RequestHeader("Authorization") String authorizationHeader) {
-        String token = authorizationHeader.substring(7); // Extraer el token Bearer
-        return attorneyService.validateTokenAndRoles(token, ALLOWED_ROLES)
-                .flatMap(isValid -> {
-                    if (isValid) {
-                        return attorneyService.updateAttorney(id, attorney)
-                                .map(ResponseEntity::ok)
-                                .defaultIfEmpty(ResponseEntity.notFound().build());
-                    } else {
-                        return Mono.just(ResponseEntity.status(403).build());
-                    }
-                });
+    public Mono<ResponseEntity<Attorney>> updateAttorney(@PathVariable String id, @RequestBody AttorneyRequest attorney) {
+        return attorneyService.updateAttorney(id, attorney)
+                .map(ResponseEntity::ok)
+                .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+
+    @PatchMapping("/patch/{id}")
+    public Mono<ResponseEntity<Attorney>> patchAttorney(@PathVariable String id, @RequestBody AttorneyRequest changes) {
+        return attorneyService.patchAttorney(id, changes)
+                .map(ResponseEntity::ok)
+                .defaultIfEmpty(ResponseEntity.notFound().build())
+                .onErrorResume(OptimisticLockingFailureException.class, e -> Mono.just(ResponseEntity.status(HttpStatus.CONFLICT).build()));
     }
 
     @PatchMapping("/updatePassword/{id}")
-    public Mono<ResponseEntity<Attorney>> updatePassword(@PathVariable String id, @RequestBody String newPassword, @RequestHeader("Authorization") String authorizationHeader) {
-        String token = authorizationHeader.substring(7); // Extraer el token Bearer
-        return attorneyService.validateTokenAndRoles(token, ALLOWED_ROLES)
-                .flatMap(isValid -> {
-                    if (isValid) {
-                        return attorneyService.updatePassword(id, newPassword)
-                                .map(ResponseEntity::ok)
-                                .defaultIfEmpty(ResponseEntity.notFound().build());
-                    } else {
-                        return Mono.just(ResponseEntity.status(403).build());
-                    }
-                });
+    public Mono<ResponseEntity<Attorney>> updatePassword(@PathVariable String id, @RequestBody String newPassword) {
+        return attorneyService.updatePassword(id, newPassword)
+                .map(ResponseEntity::ok)
+                .defaultIfEmpty(ResponseEntity.notFound().build());
     }
 }
@@ -0,0 +1,35 @@
+package pe.edu.vallegrande.vg_ms_attorney.presentation.controller;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import pe.edu.vallegrande.vg_ms_attorney.application.healthcheck.QueryPlanInspector;
+import pe.edu.vallegrande.vg_ms_attorney.domain.dto.QueryPlanReport;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+// Comparte el prefijo de AttorneyAdminController, por lo que exige los mismos roles
+@CrossOrigin(origins = "*")
+@RestController
+@RequestMapping("/directives/attorney${api.version}/diagnostics")
+public class AttorneyDiagnosticsController {
+
+    private final QueryPlanInspector queryPlanInspector;
+
+    @Autowired
+    public AttorneyDiagnosticsController(QueryPlanInspector queryPlanInspector) {
+        this.queryPlanInspector = queryPlanInspector;
+    }
+
+    // Responde 500 si alguna consulta del repositorio cae en COLLSCAN
+    @GetMapping("/query-plans")
+    public Mono<ResponseEntity<List<QueryPlanReport>>> getQueryPlans() {
+        return queryPlanInspector.inspect()
+                .collectList()
+                .map(reports -> reports.stream().anyMatch(QueryPlanReport::isCollectionScan)
+                        ? ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(reports)
+                        : ResponseEntity.ok(reports));
+    }
+}
@@ -1,23 +1,38 @@
 package pe.edu.vallegrande.vg_ms_attorney.presentation.controller;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.web.bind.annotation.*;
+import pe.edu.vallegrande.vg_ms_attorney.application.changefeed.AttorneyChangeFeed;
 import pe.edu.vallegrande.vg_ms_attorney.application.service.impl.AttorneyServiceImpl;
+import pe.edu.vallegrande.vg_ms_attorney.domain.dto.AttorneyChangeEvent;
+import pe.edu.vallegrande.vg_ms_attorney.domain.dto.AttorneyChangeFeedRequest;
+import pe.edu.vallegrande.vg_ms_attorney.domain.dto.AttorneyPage;
+import pe.edu.vallegrande.vg_ms_attorney.domain.dto.AttorneySearchPage;
+import pe.edu.vallegrande.vg_ms_attorney.domain.dto.AttorneyRequest;
 import pe.edu.vallegrande.vg_ms_attorney.domain.model.Attorney;
+import pe.edu.vallegrande.vg_ms_attorney.domain.model.AttorneyStatistics;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.concurrent.TimeoutException;
+
 @CrossOrigin(origins = "*")
 @RestController
 @RequestMapping("/public/attorney${api.version}")
 public class AttorneyPublicController {
 
     private final AttorneyServiceImpl attorneyService;
+    private final AttorneyChangeFeed attorneyChangeFeed;
 
     @Autowired
-    public AttorneyPublicController(AttorneyServiceImpl attorneyService) {
+    public AttorneyPublicController(AttorneyServiceImpl attorneyService, AttorneyChangeFeed attorneyChangeFeed) {
         this.attorneyService = attorneyService;
+        this.attorneyChangeFeed = attorneyChangeFeed;
     }
 
     @GetMapping("/welcome")
@@ -37,6 +52,58 @@ public class AttorneyPublicController {
         return Mono.just(ResponseEntity.ok(attorneyService.listAllInactive()));
     }
 
+    @GetMapping("/actives/page")
+    public Mono<ResponseEntity<AttorneyPage>> getPageActive(@RequestParam(required = false) String cursor,
+                                                            @RequestParam(defaultValue = "50") int size) {
+        return attorneyService.listActivePage(cursor, size)
+                .map(ResponseEntity::ok)
+                .onErrorResume(IllegalArgumentException.class, e -> Mono.just(ResponseEntity.badRequest().build()));
+    }
+
+    @GetMapping("/inactive/page")
+    public Mono<ResponseEntity<AttorneyPage>> getPageInactive(@RequestParam(required = false) String cursor,
+                                                              @RequestParam(defaultValue = "50") int size) {
+        return attorneyService.listInactivePage(cursor, size)
+                .map(ResponseEntity::ok)
+                .onErrorResume(IllegalArgumentException.class, e -> Mono.just(ResponseEntity.badRequest().build()));
+    }
+
+    // Búsqueda para autocompletar por nombres, apellidos o documento (prefijo, sin tildes), ordenada por relevancia
+    @GetMapping("/search")
+    public Mono<ResponseEntity<AttorneySearchPage>> search(@RequestParam("q") String query,
+                                                           @RequestParam(defaultValue = "A") String status,
+                                                           @RequestParam(defaultValue = "0") int page,
+                                                           @RequestParam(defaultValue = "10") int size) {
+        return attorneyService.search(query, status, page, size)
+                .map(ResponseEntity::ok)
+                .onErrorResume(TimeoutException.class, e -> Mono.just(ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build()));
+    }
+
+    // Totales y desgloses por estado leídos de los contadores materializados, sin recorrer la colección
+    @GetMapping("/stats")
+    public Mono<ResponseEntity<AttorneyStatistics>> getStatistics() {
+        return attorneyService.getStatistics()
+                .map(ResponseEntity::ok);
+    }
+
+    // Feed de cambios (altas, modificaciones, cambios de estado) en lugar de consultar /actives e /inactive cada
+    // pocos segundos; para reanudar se envía el id del último evento (Last-Event-ID o ?after=)
+    @GetMapping(value = "/changes", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Mono<ResponseEntity<Flux<ServerSentEvent<AttorneyChangeEvent>>>> getChanges(AttorneyChangeFeedRequest request,
+                                                                                        @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        return Mono.fromCallable(() -> ResponseEntity.ok(attorneyChangeFeed.serverSentEvents(attorneyChangeFeed.subscribe(request, lastEventId))))
+                .onErrorResume(IllegalArgumentException.class, e -> Mono.just(ResponseEntity.badRequest().build()))
+                .onErrorResume(IllegalStateException.class, e -> Mono.just(ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build()));
+    }
+
+    @GetMapping(value = "/changes", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Mono<ResponseEntity<Flux<AttorneyChangeEvent>>> getChangesNdjson(AttorneyChangeFeedRequest request,
+                                                                             @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        return Mono.fromCallable(() -> ResponseEntity.ok(attorneyChangeFeed.subscribe(request, lastEventId)))
+                .onErrorResume(IllegalArgumentException.class, e -> Mono.just(ResponseEntity.badRequest().build()))
+                .onErrorResume(IllegalStateException.class, e -> Mono.just(ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build()));
+    }
+
     @GetMapping("/document/{dni}")
     public Mono<ResponseEntity<Attorney>> getAttorneyByDni(@PathVariable String dni) {
         return attorneyService.findByDni(dni)
@@ -59,7 +126,7 @@ public class AttorneyPublicController {
     }
 
     @PostMapping("/create")
-    public Mono<ResponseEntity<Attorney>> createAttorney(@RequestBody Attorney attorney) {
+    public Mono<ResponseEntity<Attorney>> createAttorney(@RequestBody AttorneyRequest attorney) {
         return attorneyService.createAttorney(attorney)
                 .map(ResponseEntity::ok);
     }
@@ -79,12 +146,20 @@ public class AttorneyPublicController {
     }
 
     @PutMapping("/update/{id}")
-    public Mono<ResponseEntity<Attorney>> updateAttorney(@PathVariable String id, @RequestBody Attorney attorney) {
+    public Mono<ResponseEntity<Attorney>> updateAttorney(@PathVariable String id, @RequestBody AttorneyRequest attorney) {
         return attorneyService.updateAttorney(id, attorney)
                 .map(ResponseEntity::ok)
                 .defaultIfEmpty(ResponseEntity.notFound().build());
     }
 
+    @PatchMapping("/patch/{id}")
+    public Mono<ResponseEntity<Attorney>> patchAttorney(@PathVariable String id, @RequestBody AttorneyRequest changes) {
+        return attorneyService.patchAttorney(id, changes)
+                .map(ResponseEntity::ok)
+                .defaultIfEmpty(ResponseEntity.notFound().build())
+                .onErrorResume(OptimisticLockingFailureException.class, e -> Mono.just(ResponseEntity.status(HttpStatus.CONFLICT).build()));
+    }
+
     @PatchMapping("/updatePassword/{id}")
     public Mono<ResponseEntity<Attorney>> updatePassword(@PathVariable String id, @RequestBody String newPassword) {
         return attorneyService.updatePassword(id, newPassword)
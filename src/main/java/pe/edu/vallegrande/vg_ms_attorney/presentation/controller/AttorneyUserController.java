@@ -1,16 +1,21 @@
 package pe.edu.vallegrande.vg_ms_attorney.presentation.controller;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import pe.edu.vallegrande.vg_ms_attorney.application.service.impl.AttorneyServiceImpl;
+import pe.edu.vallegrande.vg_ms_attorney.application.util.AttorneyUtil;
+import pe.edu.vallegrande.vg_ms_attorney.domain.dto.AttorneyPage;
+import pe.edu.vallegrande.vg_ms_attorney.domain.dto.AttorneySearchPage;
 import pe.edu.vallegrande.vg_ms_attorney.domain.model.Attorney;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
-import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.TimeoutException;
 
+// El token y el rol se validan en AuthenticationFilter antes de llegar a estos métodos
 @CrossOrigin(origins = "*")
 @RestController
 @RequestMapping("${api.version}/shared/attorney")
@@ -19,7 +24,7 @@ public class AttorneyUserController {
     private final AttorneyServiceImpl attorneyService;
 
     // Lista de roles permitidos
-    private static final List<String> ALLOWED_ROLES = Arrays.asList("DEVELOP", "APODERADO");
+    public static final List<String> ALLOWED_ROLES = List.of("DEVELOP", "APODERADO");
 
     @Autowired
     public AttorneyUserController(AttorneyServiceImpl attorneyService) {
@@ -27,57 +32,46 @@ public class AttorneyUserController {
     }
 
     @GetMapping("/actives")
-    public Mono<ResponseEntity<Flux<Attorney>>> getListAllActive(@RequestHeader("Authorization") String authorizationHeader) {
-        String token = authorizationHeader.substring(7); // Extraer el token Bearer
-        return attorneyService.validateTokenAndRoles(token, ALLOWED_ROLES)
-                .flatMap(isValid -> {
-                    if (isValid) {
-                        return Mono.just(ResponseEntity.ok(attorneyService.listAllActive()));
-                    } else {
-                        return Mono.just(ResponseEntity.status(403).build()); // Acceso denegado
-                    }
-                });
+    public Mono<ResponseEntity<Flux<Attorney>>> getListAllActive() {
+        return Mono.just(ResponseEntity.ok(attorneyService.listAllActive()));
+    }
+
+    @GetMapping("/actives/page")
+    public Mono<ResponseEntity<AttorneyPage>> getPageActive(@RequestParam(required = false) String cursor,
+                                                            @RequestParam(defaultValue = "50") int size) {
+        return attorneyService.listActivePage(cursor, size)
+                .map(ResponseEntity::ok)
+                .onErrorResume(IllegalArgumentException.class, e -> Mono.just(ResponseEntity.badRequest().build()));
+    }
+
+    // Búsqueda para autocompletar entre los apoderados activos
+    @GetMapping("/search")
+    public Mono<ResponseEntity<AttorneySearchPage>> search(@RequestParam("q") String query,
+                                                           @RequestParam(defaultValue = "0") int page,
+                                                           @RequestParam(defaultValue = "10") int size) {
+        return attorneyService.search(query, AttorneyUtil.Activo, page, size)
+                .map(ResponseEntity::ok)
+                .onErrorResume(TimeoutException.class, e -> Mono.just(ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build()));
     }
 
     @GetMapping("/document/{dni}")
-    public Mono<ResponseEntity<Attorney>> getAttorneyByDni(@PathVariable String dni, @RequestHeader("Authorization") String authorizationHeader) {
-        String token = authorizationHeader.substring(7);
-        return attorneyService.validateTokenAndRoles(token, ALLOWED_ROLES).flatMap(isValid -> {
-            if (isValid) {
-                return attorneyService.findByDni(dni)
-                        .map(ResponseEntity::ok)
-                        .defaultIfEmpty(ResponseEntity.notFound().build());
-            } else {
-                return Mono.just(ResponseEntity.status(403).build());
-            }
-        });
+    public Mono<ResponseEntity<Attorney>> getAttorneyByDni(@PathVariable String dni) {
+        return attorneyService.findByDni(dni)
+                .map(ResponseEntity::ok)
+                .defaultIfEmpty(ResponseEntity.notFound().build());
     }
 
     @GetMapping("/{id}")
-    public Mono<ResponseEntity<Attorney>> getAttorneyById(@PathVariable String id, @RequestHeader("Authorization") String authorizationHeader) {
-        String token = authorizationHeader.substring(7);
-        return attorneyService.validateTokenAndRoles(token, ALLOWED_ROLES).flatMap(isValid -> {
-            if (isValid) {
-                return attorneyService.findById(id)
-                        .map(ResponseEntity::ok)
-                        .defaultIfEmpty(ResponseEntity.notFound().build());
-            } else {
-                return Mono.just(ResponseEntity.status(403).build());
-            }
-        });
+    public Mono<ResponseEntity<Attorney>> getAttorneyById(@PathVariable String id) {
+        return attorneyService.findById(id)
+                .map(ResponseEntity::ok)
+                .defaultIfEmpty(ResponseEntity.notFound().build());
     }
 
     @PatchMapping("/updatePassword/{id}")
-    public Mono<ResponseEntity<Attorney>> updatePassword(@PathVariable String id, @RequestBody String newPassword, @RequestHeader("Authorization") String authorizationHeader) {
-        String token = authorizationHeader.substring(7);
-        return attorneyService.validateTokenAndRoles(token, ALLOWED_ROLES).flatMap(isValid -> {
-            if (isValid) {
-                return attorneyService.updatePassword(id, newPassword)
-                        .map(ResponseEntity::ok)
-                        .defaultIfEmpty(ResponseEntity.notFound().build());
-            } else {
-                return Mono.just(ResponseEntity.status(403).build());
-            }
-        });
+    public Mono<ResponseEntity<Attorney>> updatePassword(@PathVariable String id, @RequestBody String newPassword) {
+        return attorneyService.updatePassword(id, newPassword)
+                .map(ResponseEntity::ok)
+                .defaultIfEmpty(ResponseEntity.notFound().build());
     }
 }
@@ -0,0 +1,21 @@
+package pe.edu.vallegrande.vg_ms_attorney.presentation.filter;
+
+import reactor.core.publisher.Mono;
+import reactor.util.context.Context;
+
+// Acceso al usuario autenticado que AuthenticationFilter deja en el Context de Reactor
+public final class AuthContext {
+
+    private static final Class<AuthenticatedUser> KEY = AuthenticatedUser.class;
+
+    private AuthContext() {
+    }
+
+    public static Context with(AuthenticatedUser user) {
+        return Context.of(KEY, user);
+    }
+
+    public static Mono<AuthenticatedUser> currentUser() {
+        return Mono.deferContextual(ctx -> Mono.justOrEmpty(ctx.getOrEmpty(KEY)));
+    }
+}
@@ -0,0 +1,5 @@
+package pe.edu.vallegrande.vg_ms_attorney.presentation.filter;
+
+// uid es null cuando el token se validó con el servicio remoto, que solo devuelve el rol
+public record AuthenticatedUser(String uid, String role) {
+}
@@ -0,0 +1,94 @@
+package pe.edu.vallegrande.vg_ms_attorney.presentation.filter;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import pe.edu.vallegrande.vg_ms_attorney.application.webClient.AuthServiceClient;
+import pe.edu.vallegrande.vg_ms_attorney.application.webClient.CircuitBreaker;
+import pe.edu.vallegrande.vg_ms_attorney.domain.dto.TokenValidationResponse;
+import pe.edu.vallegrande.vg_ms_attorney.presentation.controller.AttorneyAdminController;
+import pe.edu.vallegrande.vg_ms_attorney.presentation.controller.AttorneyUserController;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Set;
+
+// Valida el token una sola vez por solicitud y deja el usuario autenticado en el Context de Reactor
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+public class AuthenticationFilter implements WebFilter {
+
+    private static final String BEARER_PREFIX = "Bearer ";
+    private static final TokenValidationResponse INVALID_TOKEN = new TokenValidationResponse(false, null);
+
+    private final AuthServiceClient authServiceClient;
+    private final List<RouteRule> rules;
+
+    public AuthenticationFilter(AuthServiceClient authServiceClient, @Value("${api.version}") String apiVersion) {
+        this.authServiceClient = authServiceClient;
+        // Rutas protegidas y roles permitidos, calculados una sola vez al arrancar
+        this.rules = List.of(
+                new RouteRule("/directives/attorney" + apiVersion + "/", Set.copyOf(AttorneyAdminController.ALLOWED_ROLES)),
+                new RouteRule(apiVersion + "/shared/attorney/", Set.copyOf(AttorneyUserController.ALLOWED_ROLES)));
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        if (HttpMethod.OPTIONS.equals(exchange.getRequest().getMethod())) {
+            return chain.filter(exchange);
+        }
+        RouteRule rule = ruleFor(exchange.getRequest().getPath().value());
+        if (rule == null) {
+            return chain.filter(exchange);
+        }
+
+        String token = bearerToken(exchange.getRequest().getHeaders().getFirst(HttpHeaders.AUTHORIZATION));
+        if (token == null) {
+            return reject(exchange, HttpStatus.UNAUTHORIZED); // Cabecera ausente o mal formada
+        }
+
+        return authServiceClient.validateToken(token)
+                .defaultIfEmpty(INVALID_TOKEN)
+                .flatMap(validation -> {
+                    if (validation.isValid() && validation.getRole() != null && rule.roles().contains(validation.getRole())) {
+                        AuthenticatedUser user = new AuthenticatedUser(validation.getUid(), validation.getRole());
+                        return chain.filter(exchange).contextWrite(AuthContext.with(user));
+                    }
+                    return reject(exchange, HttpStatus.FORBIDDEN); // Acceso denegado
+                })
+                // Servicio de autenticación caído: se responde de inmediato sin esperar el timeout
+                .onErrorResume(CircuitBreaker.OpenException.class, e -> reject(exchange, HttpStatus.SERVICE_UNAVAILABLE));
+    }
+
+    private static String bearerToken(String header) {
+        if (header == null || !header.regionMatches(true, 0, BEARER_PREFIX, 0, BEARER_PREFIX.length())) {
+            return null;
+        }
+        String token = header.substring(BEARER_PREFIX.length()).trim();
+        return token.isEmpty() ? null : token;
+    }
+
+    private RouteRule ruleFor(String path) {
+        for (RouteRule rule : rules) {
+            if (path.startsWith(rule.prefix())) {
+                return rule;
+            }
+        }
+        return null;
+    }
+
+    private static Mono<Void> reject(ServerWebExchange exchange, HttpStatus status) {
+        exchange.getResponse().setStatusCode(status);
+        return exchange.getResponse().setComplete();
+    }
+
+    private record RouteRule(String prefix, Set<String> roles) {
+    }
+}
@@ -0,0 +1,258 @@
+package pe.edu.vallegrande.vg_ms_attorney.startup;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.jar.JarFile;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// Tiempo hasta la primera solicitud atendida: lanza el jar en un JVM nuevo, consulta /welcome hasta recibir 200 y mide
+// desde que se crea el proceso. Repite `runs` veces por variante y escribe mediana, mínimo y máximo en JSON.
+// Variantes: jar (java -jar) y cds (jar extraído + archivo AppCDS generado con una ejecución de entrenamiento, como
+// en Dockerfile.fast-startup). Si el jar trae el procesamiento AOT se activa con -Dspring.aot.enabled=true.
+//   --jar=target/vg-ms-attorney-0.0.1-SNAPSHOT.jar
+//   --runs=5
+//   --variants=jar,cds
+//   --timeout=PT2M            espera máxima por ejecución
+//   --mongo-uri=mongodb://localhost:27017/startup-benchmark   /welcome no consulta MongoDB; solo evita conectar a Atlas
+//   --jvm-args=-Xmx512m       opciones extra del JVM, separadas por espacios
+//   --report=target/startup-report.json
+public class StartupBenchmark {
+
+    private static final String WELCOME = "/public/attorney/api/v1/welcome";
+    private static final Pattern STARTED = Pattern.compile("Started \\S+ in ([\\d.]+) seconds \\(process running for ([\\d.]+)\\)");
+
+    private final Map<String, String> options;
+    private final Path jar;
+    private final Path workDir;
+    private final boolean aot;
+    private final HttpClient http = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofMillis(200))
+            .build();
+
+    private StartupBenchmark(Map<String, String> options) throws IOException {
+        this.options = options;
+        this.jar = Path.of(options.getOrDefault("jar", "target/vg-ms-attorney-0.0.1-SNAPSHOT.jar")).toAbsolutePath();
+        if (!Files.isRegularFile(jar)) {
+            throw new IllegalArgumentException("No existe el jar " + jar + " (ejecutar antes mvn package)");
+        }
+        this.workDir = jar.getParent().resolve("startup-benchmark");
+        this.aot = hasAotInitializer(jar);
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new LinkedHashMap<>();
+        for (String arg : args) {
+            if (arg.isBlank()) {
+                continue;
+            }
+            String option = arg.startsWith("--") ? arg.substring(2) : arg;
+            int separator = option.indexOf('=');
+            if (separator <= 0) {
+                throw new IllegalArgumentException("Argumento inválido: " + arg + " (se espera --clave=valor)");
+            }
+            options.put(option.substring(0, separator), option.substring(separator + 1));
+        }
+        new StartupBenchmark(options).run();
+    }
+
+    private void run() throws Exception {
+        int runs = Integer.parseInt(options.getOrDefault("runs", "5"));
+        List<String> variants = Arrays.asList(options.getOrDefault("variants", "jar,cds").split(","));
+        System.out.println("Jar " + jar + (aot ? " (AOT)" : "") + ", " + runs + " ejecuciones por variante");
+
+        Map<String, Object> results = new LinkedHashMap<>();
+        for (String variant : variants) {
+            List<String> command = switch (variant.trim()) {
+                case "jar" -> launch(List.of(), jar);
+                case "cds" -> prepareCds();
+                default -> throw new IllegalArgumentException("Variante desconocida: " + variant + " (jar o cds)");
+            };
+            List<Double> firstRequest = new ArrayList<>();
+            List<Double> started = new ArrayList<>();
+            for (int i = 0; i < runs; i++) {
+                Run run = measure(command, workDir.resolve(variant.trim() + "-" + i + ".log"));
+                System.out.printf(Locale.ROOT, "%-4s #%d  primera solicitud %7.0f ms  Spring %7.0f ms%n",
+                        variant, i + 1, run.firstRequestMillis(), run.startedMillis());
+                firstRequest.add(run.firstRequestMillis());
+                if (run.startedMillis() >= 0) {
+                    started.add(run.startedMillis());
+                }
+            }
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("command", String.join(" ", command));
+            entry.put("firstRequestMillis", summary(firstRequest));
+            entry.put("springStartedMillis", summary(started));
+            results.put(variant.trim(), entry);
+        }
+        write(runs, results);
+        System.exit(0);
+    }
+
+    // Ejecuta el jar una vez en modo entrenamiento (el contexto se cierra tras el refresh) y guarda las clases cargadas
+    private List<String> prepareCds() throws Exception {
+        Path extracted = workDir.resolve("cds");
+        exec(List.of(javaBin(), "-Djarmode=tools", "-jar", jar.toString(), "extract", "--force",
+                "--destination", extracted.toString()), workDir.resolve("cds-extract.log"));
+        Path extractedJar = extracted.resolve(jar.getFileName());
+        Path archive = extracted.resolve("app.jsa");
+        List<String> training = new ArrayList<>(launch(List.of("-XX:ArchiveClassesAtExit=" + archive,
+                "-Dspring.context.exit=onRefresh"), extractedJar));
+        System.out.println("Generando " + archive + "...");
+        exec(training, workDir.resolve("cds-training.log"));
+        if (!Files.isRegularFile(archive)) {
+            throw new IllegalStateException("La ejecución de entrenamiento no generó " + archive);
+        }
+        return launch(List.of("-XX:SharedArchiveFile=" + archive), extractedJar);
+    }
+
+    private List<String> launch(List<String> jvmOptions, Path target) {
+        List<String> command = new ArrayList<>();
+        command.add(javaBin());
+        command.addAll(jvmOptions);
+        String extra = options.getOrDefault("jvm-args", "").trim();
+        if (!extra.isEmpty()) {
+            command.addAll(Arrays.asList(extra.split("\\s+")));
+        }
+        if (aot) {
+            command.add("-Dspring.aot.enabled=true");
+            command.add("-Dspring.profiles.active=fast-startup");
+        }
+        command.add("-jar");
+        command.add(target.toString());
+        command.add("--spring.data.mongodb.uri=" + options.getOrDefault("mongo-uri", "mongodb://localhost:27017/startup-benchmark"));
+        return command;
+    }
+
+    private Run measure(List<String> command, Path log) throws Exception {
+        int port = freePort();
+        List<String> withPort = new ArrayList<>(command);
+        withPort.add("--server.port=" + port);
+        Duration timeout = Duration.parse(options.getOrDefault("timeout", "PT2M"));
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://127.0.0.1:" + port + WELCOME))
+                .timeout(Duration.ofSeconds(5))
+                .build();
+
+        Files.createDirectories(log.getParent());
+        long start = System.nanoTime();
+        Process process = new ProcessBuilder(withPort).redirectErrorStream(true).redirectOutput(log.toFile()).start();
+        try {
+            while (true) {
+                if (!process.isAlive()) {
+                    throw new IllegalStateException("La aplicación terminó con código " + process.exitValue() + ", ver " + log);
+                }
+                if (System.nanoTime() - start > timeout.toNanos()) {
+                    throw new IllegalStateException("Sin respuesta de " + WELCOME + " en " + timeout + ", ver " + log);
+                }
+                try {
+                    if (http.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                        break;
+                    }
+                } catch (ConnectException e) {
+                    // Puerto aún cerrado
+                }
+                Thread.sleep(5);
+            }
+            double firstRequest = (System.nanoTime() - start) / 1_000_000.0;
+            return new Run(firstRequest, startedMillis(log));
+        } finally {
+            process.destroy();
+            if (!process.waitFor(30, TimeUnit.SECONDS)) {
+                process.destroyForcibly().waitFor();
+            }
+        }
+    }
+
+    // "process running for" de Spring Boot: incluye el arranque del JVM, a diferencia de "Started ... in"; -1 si no aparece
+    private static double startedMillis(Path log) throws IOException {
+        Matcher matcher = STARTED.matcher(Files.readString(log));
+        return matcher.find() ? Double.parseDouble(matcher.group(2)) * 1000 : -1;
+    }
+
+    private static void exec(List<String> command, Path log) throws Exception {
+        Files.createDirectories(log.getParent());
+        Process process = new ProcessBuilder(command).redirectErrorStream(true).redirectOutput(log.toFile()).start();
+        if (!process.waitFor(5, TimeUnit.MINUTES) || process.exitValue() != 0) {
+            process.destroyForcibly();
+            throw new IllegalStateException("Falló " + String.join(" ", command) + ", ver " + log);
+        }
+    }
+
+    private void write(int runs, Map<String, Object> results) throws IOException {
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("jar", jar.getFileName().toString());
+        report.put("aot", aot);
+        report.put("runs", runs);
+        Map<String, Object> environment = new LinkedHashMap<>();
+        environment.put("javaVersion", System.getProperty("java.version"));
+        environment.put("javaVendor", System.getProperty("java.vendor"));
+        environment.put("os", System.getProperty("os.name") + " " + System.getProperty("os.arch"));
+        environment.put("availableProcessors", Runtime.getRuntime().availableProcessors());
+        report.put("environment", environment);
+        report.put("variants", results);
+
+        Path path = Path.of(options.getOrDefault("report", "target/startup-report.json"));
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(path.toFile(), report);
+        System.out.println("Reporte: " + path.toAbsolutePath());
+    }
+
+    private static Map<String, Object> summary(List<Double> values) {
+        Map<String, Object> summary = new LinkedHashMap<>();
+        if (values.isEmpty()) {
+            return summary;
+        }
+        List<Double> sorted = values.stream().sorted().toList();
+        int middle = sorted.size() / 2;
+        double median = sorted.size() % 2 == 1 ? sorted.get(middle) : (sorted.get(middle - 1) + sorted.get(middle)) / 2;
+        summary.put("median", round(median));
+        summary.put("min", round(sorted.get(0)));
+        summary.put("max", round(sorted.get(sorted.size() - 1)));
+        summary.put("values", values.stream().map(StartupBenchmark::round).toList());
+        return summary;
+    }
+
+    private static double round(double millis) {
+        return Math.round(millis * 10) / 10.0;
+    }
+
+    // El plugin de Spring Boot genera <Aplicación>__ApplicationContextInitializer al procesar AOT
+    private static boolean hasAotInitializer(Path jar) throws IOException {
+        try (JarFile file = new JarFile(jar.toFile())) {
+            return file.stream().anyMatch(entry -> entry.getName().endsWith("__ApplicationContextInitializer.class"));
+        }
+    }
+
+    private static String javaBin() {
+        return Path.of(System.getProperty("java.home"), "bin", "java").toString();
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private record Run(double firstRequestMillis, double startedMillis) {
+    }
+}
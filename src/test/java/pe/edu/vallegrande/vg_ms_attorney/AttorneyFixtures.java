@@ -0,0 +1,139 @@
+package pe.edu.vallegrande.vg_ms_attorney;
+
+import org.bson.types.ObjectId;
+import pe.edu.vallegrande.vg_ms_attorney.domain.model.Attorney;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+// Datos de prueba compartidos por las pruebas y los benchmarks (el perfil benchmark compila src/test):
+// - attorney(i) y attorneys(n): apoderados completos, con el tamaño y forma de uno real
+// - builder(): apoderado con solo los campos que la prueba necesita
+public final class AttorneyFixtures {
+
+    private AttorneyFixtures() {
+    }
+
+    public static Attorney attorney(int i) {
+        Attorney attorney = new Attorney();
+        attorney.setIdAttorney(new ObjectId().toHexString());
+        attorney.setUid("uid" + String.format("%025d", i));
+        attorney.setNames("María Fernanda");
+        attorney.setSurnames("Quispe Huamán");
+        attorney.setSex("F");
+        attorney.setBirth_date("1985-04-12");
+        attorney.setBaptism("Sí");
+        attorney.setFirst_Communion("Sí");
+        attorney.setConfirmation("No");
+        attorney.setMarriage("Sí");
+        attorney.setRelationship("Madre");
+        attorney.setRole("APODERADO");
+        attorney.setEmail("apoderado" + i + "@vallegrande.edu.pe");
+        attorney.setPassword(String.format("%08d", i));
+        attorney.setCellphone("987654321");
+        attorney.setAddress("Av. Los Próceres 1234, San Vicente de Cañete");
+        attorney.setDocumentType("DNI");
+        attorney.setDocumentNumber(String.format("%08d", i));
+        attorney.setCreatedAt(LocalDateTime.of(2024, 3, 1, 8, 30));
+        attorney.setUpdatedAt(LocalDateTime.of(2024, 6, 15, 17, 45));
+        attorney.setStatus("A");
+        attorney.setVersion(3L);
+        return attorney;
+    }
+
+    public static List<Attorney> attorneys(int size) {
+        List<Attorney> attorneys = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            attorneys.add(attorney(i));
+        }
+        return attorneys;
+    }
+
+    public static Builder builder() {
+        return new Builder(Attorney::new);
+    }
+
+    // Cada setter devuelve un builder nuevo y cada build() un apoderado nuevo: un builder sirve de plantilla
+    // compartida entre pruebas sin que una altere a otra
+    public static final class Builder {
+
+        private final Supplier<Attorney> base;
+        private final List<Consumer<Attorney>> fields;
+
+        private Builder(Supplier<Attorney> base) {
+            this(base, List.of());
+        }
+
+        private Builder(Supplier<Attorney> base, List<Consumer<Attorney>> fields) {
+            this.base = base;
+            this.fields = fields;
+        }
+
+        public Builder id(String id) {
+            return set(attorney -> attorney.setIdAttorney(id));
+        }
+
+        public Builder names(String names) {
+            return set(attorney -> attorney.setNames(names));
+        }
+
+        public Builder surnames(String surnames) {
+            return set(attorney -> attorney.setSurnames(surnames));
+        }
+
+        public Builder email(String email) {
+            return set(attorney -> attorney.setEmail(email));
+        }
+
+        public Builder documentNumber(String documentNumber) {
+            return set(attorney -> attorney.setDocumentNumber(documentNumber));
+        }
+
+        public Builder password(String password) {
+            return set(attorney -> attorney.setPassword(password));
+        }
+
+        public Builder cellphone(String cellphone) {
+            return set(attorney -> attorney.setCellphone(cellphone));
+        }
+
+        public Builder sex(String sex) {
+            return set(attorney -> attorney.setSex(sex));
+        }
+
+        public Builder relationship(String relationship) {
+            return set(attorney -> attorney.setRelationship(relationship));
+        }
+
+        public Builder status(String status) {
+            return set(attorney -> attorney.setStatus(status));
+        }
+
+        public Builder searchName(String searchName) {
+            return set(attorney -> attorney.setSearchName(searchName));
+        }
+
+        public Builder updatedAt(LocalDateTime updatedAt) {
+            return set(attorney -> attorney.setUpdatedAt(updatedAt));
+        }
+
+        public Builder version(Long version) {
+            return set(attorney -> attorney.setVersion(version));
+        }
+
+        public Attorney build() {
+            Attorney attorney = base.get();
+            fields.forEach(field -> field.accept(attorney));
+            return attorney;
+        }
+
+        private Builder set(Consumer<Attorney> field) {
+            List<Consumer<Attorney>> next = new ArrayList<>(fields);
+            next.add(field);
+            return new Builder(base, next);
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package pe.edu.vallegrande.vg_ms_attorney.application.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.mapstruct.factory.Mappers;
+import pe.edu.vallegrande.vg_ms_attorney.AttorneyFixtures;
+import pe.edu.vallegrande.vg_ms_attorney.application.mapper.AttorneyMapper;
+import pe.edu.vallegrande.vg_ms_attorney.domain.model.Attorney;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class AttorneyCacheTest {
+
+    private static final AttorneyFixtures.Builder ANA = AttorneyFixtures.builder()
+            .id("1").email("ana@correo.pe").documentNumber("12345678");
+
+    private final AttorneyCache cache = new AttorneyCache(Mappers.getMapper(AttorneyMapper.class), 100,
+            Duration.ofMinutes(5), new SimpleMeterRegistry());
+
+    @Test
+    void sharesOneEntryAcrossKeys() {
+        AtomicInteger loads = new AtomicInteger();
+        Attorney attorney = ANA.build();
+
+        StepVerifier.create(cache.findById("1", id -> {
+            loads.incrementAndGet();
+            return Mono.just(attorney);
+        })).assertNext(found -> assertEquals("1", found.getIdAttorney())).verifyComplete();
+
+        StepVerifier.create(cache.findByEmail("ana@correo.pe", email -> Mono.error(new AssertionError("no debe cargar"))))
+                .assertNext(found -> assertEquals("1", found.getIdAttorney())).verifyComplete();
+        StepVerifier.create(cache.findByDni("12345678", dni -> Mono.error(new AssertionError("no debe cargar"))))
+                .assertNext(found -> assertEquals("1", found.getIdAttorney())).verifyComplete();
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void invalidationClearsEveryKey() {
+        Attorney attorney = ANA.build();
+        cache.findById("1", id -> Mono.just(attorney)).block();
+
+        cache.invalidate("1");
+
+        AtomicInteger loads = new AtomicInteger();
+        cache.findByEmail("ana@correo.pe", email -> {
+            loads.incrementAndGet();
+            return Mono.empty();
+        }).block();
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void loadStartedBeforeInvalidationIsNotCached() {
+        Sinks.One<Attorney> slowLoad = Sinks.one();
+        AtomicInteger loads = new AtomicInteger();
+
+        // La carga lee el documento anterior; mientras tanto una escritura invalida el id
+        StepVerifier.create(cache.findById("1", id -> {
+                    loads.incrementAndGet();
+                    return slowLoad.asMono();
+                }))
+                .then(() -> cache.invalidate("1"))
+                .then(() -> slowLoad.tryEmitValue(ANA.build()))
+                .expectNextCount(1)
+                .verifyComplete();
+
+        cache.findById("1", id -> {
+            loads.incrementAndGet();
+            return Mono.just(ANA.build());
+        }).block();
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void loadStartedBeforeInvalidateAllIsNotCached() {
+        Sinks.One<Attorney> slowLoad = Sinks.one();
+
+        StepVerifier.create(cache.findByEmail("ana@correo.pe", email -> slowLoad.asMono()))
+                .then(cache::invalidateAll)
+                .then(() -> slowLoad.tryEmitValue(ANA.build()))
+                .expectNextCount(1)
+                .verifyComplete();
+
+        AtomicInteger loads = new AtomicInteger();
+        cache.findById("1", id -> {
+            loads.incrementAndGet();
+            return Mono.empty();
+        }).block();
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void invalidationOfAnotherIdDoesNotDiscardLoad() {
+        Sinks.One<Attorney> slowLoad = Sinks.one();
+
+        StepVerifier.create(cache.findById("1", id -> slowLoad.asMono()))
+                .then(() -> cache.invalidate("2"))
+                .then(() -> slowLoad.tryEmitValue(ANA.build()))
+                .expectNextCount(1)
+                .verifyComplete();
+
+        StepVerifier.create(cache.findById("1", id -> Mono.error(new AssertionError("no debe cargar"))))
+                .expectNextCount(1)
+                .verifyComplete();
+    }
+
+    @Test
+    void returnsCopiesWithoutPassword() {
+        Attorney loaded = ANA.build();
+        loaded.setPassword("12345678");
+        loaded.setSearchTokens(new ArrayList<>(List.of("ana")));
+
+        Attorney first = cache.findById("1", id -> Mono.just(loaded)).block();
+        first.setNames("Modificado");
+        first.getSearchTokens().add("otro");
+        Attorney second = cache.findById("1", id -> Mono.error(new AssertionError("no debe cargar"))).block();
+
+        assertNull(first.getPassword());
+        assertNull(second.getPassword());
+        assertNull(second.getNames());
+        assertEquals(List.of("ana"), second.getSearchTokens());
+        assertNotSame(first, second);
+        assertEquals("12345678", loaded.getPassword());
+    }
+}
@@ -0,0 +1,176 @@
+package pe.edu.vallegrande.vg_ms_attorney.application.changefeed;
+
+import com.mongodb.MongoCommandException;
+import com.mongodb.ServerAddress;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.bson.BsonDocument;
+import org.bson.BsonInt32;
+import org.bson.BsonString;
+import org.junit.jupiter.api.Test;
+import pe.edu.vallegrande.vg_ms_attorney.application.changefeed.AttorneyChangeFeed.Overflow;
+import pe.edu.vallegrande.vg_ms_attorney.domain.dto.AttorneyChangeEvent;
+import pe.edu.vallegrande.vg_ms_attorney.domain.dto.AttorneyChangeFeedRequest;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class AttorneyChangeFeedTest {
+
+    private static final int BUFFER_SIZE = 8;
+    // Lo que un suscriptor que no pide nada retiene antes de desbordar: su buffer más lo que ya tomó publishOn
+    private static final int HELD = BUFFER_SIZE + AttorneyChangeFeed.DELIVERY_PREFETCH;
+    private static final Duration TIMEOUT = Duration.ofSeconds(5);
+    // Resume token tal como lo recibe el cliente (el _data del token)
+    private static final String TOKEN = "8265F0A1B2000000012B022C0100296E5A1004";
+
+    private final AttorneyChangeHistory history = mock(AttorneyChangeHistory.class);
+
+    @Test
+    void filtersByOperationAndStatusIncludingDocumentsLeavingTheStatus() {
+        AttorneyChangeFeed feed = feed(Overflow.DISCONNECT);
+
+        StepVerifier.create(feed.subscribe(new AttorneyChangeFeedRequest(List.of("update"), "A", null, null), null))
+                .then(() -> {
+                    feed.onChange(event("t1", "insert", "A", null));
+                    feed.onChange(event("t2", "update", "A", List.of("names")));
+                    feed.onChange(event("t3", "update", "I", List.of("status", "updatedAt")));
+                    feed.onChange(event("t4", "update", "I", List.of("names")));
+                })
+                .expectNextMatches(event -> event.getId().equals("t2"))
+                .expectNextMatches(event -> event.getId().equals("t3"))
+                .thenCancel()
+                .verify(TIMEOUT);
+    }
+
+    @Test
+    void resumesAfterTheLastReceivedEventOrAsksForAReloadWhenItIsNoLongerKept() {
+        AttorneyChangeFeed feed = feed(Overflow.DISCONNECT);
+        feed.onChange(event("t1", "insert", "A", null));
+        feed.onChange(event("t2", "update", "A", List.of("names")));
+        feed.onChange(event("t3", "update", "A", List.of("email")));
+
+        StepVerifier.create(feed.subscribe(new AttorneyChangeFeedRequest(), "t1"))
+                .expectNextMatches(event -> event.getId().equals("t2"))
+                .expectNextMatches(event -> event.getId().equals("t3"))
+                .then(() -> feed.onChange(event("t4", "delete", null, null)))
+                .expectNextMatches(event -> event.getId().equals("t4"))
+                .thenCancel()
+                .verify(TIMEOUT);
+
+        StepVerifier.create(feed.subscribe(new AttorneyChangeFeedRequest(null, null, "desconocido", null), null))
+                .expectNextMatches(event -> event.getOperation().equals(AttorneyChangeFeed.RESET))
+                .thenCancel()
+                .verify(TIMEOUT);
+    }
+
+    @Test
+    void resumesFromMongoWhenTheLastEventIsNoLongerInMemory() {
+        // Instancia recién reiniciada: no tiene eventos en memoria, pero Mongo aún tiene el token en el oplog
+        AttorneyChangeFeed feed = feed(Overflow.DISCONNECT);
+        when(history.after(TOKEN)).thenReturn(Flux.just(
+                event("t2", "update", "I", List.of("names")),
+                event("t3", "update", "A", List.of("email"))));
+
+        StepVerifier.create(feed.subscribe(new AttorneyChangeFeedRequest(null, "A", null, null), TOKEN))
+                .expectNextMatches(event -> event.getId().equals("t3"))
+                .verifyComplete();
+    }
+
+    @Test
+    void resetsOnlyWhenMongoNoLongerHasTheResumePoint() {
+        AttorneyChangeFeed feed = feed(Overflow.DISCONNECT);
+        when(history.after(TOKEN)).thenReturn(Flux.error(new MongoCommandException(
+                new BsonDocument("ok", new BsonInt32(0)).append("code", new BsonInt32(286))
+                        .append("errmsg", new BsonString("Resume of change stream was not possible")),
+                new ServerAddress())));
+
+        StepVerifier.create(feed.subscribe(new AttorneyChangeFeedRequest(), TOKEN))
+                .expectNextMatches(event -> event.getOperation().equals(AttorneyChangeFeed.RESET))
+                // Tras el reset el cliente sigue con el stream compartido
+                .then(() -> feed.onChange(event("t4", "insert", "A", null)))
+                .expectNextMatches(event -> event.getId().equals("t4"))
+                .thenCancel()
+                .verify(TIMEOUT);
+    }
+
+    @Test
+    void dropsEventsForASlowConsumerAndReportsHowManyBeforeTheNextOne() {
+        AttorneyChangeFeed feed = feed(Overflow.DISCONNECT);
+
+        StepVerifier.create(feed.subscribe(new AttorneyChangeFeedRequest(null, null, null, "drop"), null), 0)
+                .then(() -> {
+                    for (int i = 0; i < HELD + 5; i++) {
+                        feed.onChange(event("t" + i, "insert", "A", null));
+                    }
+                })
+                .thenRequest(HELD)
+                .expectNextCount(HELD)
+                .then(() -> feed.onChange(event("last", "update", "A", List.of("names"))))
+                .thenRequest(2)
+                .expectNextMatches(event -> event.getOperation().equals(AttorneyChangeFeed.DROPPED) && event.getDropped() == 5)
+                .expectNextMatches(event -> event.getId().equals("last"))
+                .thenCancel()
+                .verify(TIMEOUT);
+    }
+
+    @Test
+    void disconnectsASlowConsumerAfterDeliveringWhatWasBuffered() {
+        AttorneyChangeFeed feed = feed(Overflow.DISCONNECT);
+
+        StepVerifier.create(feed.subscribe(new AttorneyChangeFeedRequest(), null), 0)
+                .then(() -> {
+                    for (int i = 0; i <= HELD; i++) {
+                        feed.onChange(event("t" + i, "insert", "A", null));
+                    }
+                })
+                .thenRequest(Long.MAX_VALUE)
+                .expectNextCount(HELD)
+                .verifyComplete();
+    }
+
+    @Test
+    void enforcesTheSubscriberLimitWhenRegistering() {
+        AttorneyChangeFeed feed = new AttorneyChangeFeed(history, new SimpleMeterRegistry(), BUFFER_SIZE, 100, 1, Overflow.DROP, Duration.ofMinutes(1));
+        // Ambos flujos se obtienen con el cupo libre; solo el primero en suscribirse queda registrado
+        Flux<AttorneyChangeEvent> first = feed.subscribe(new AttorneyChangeFeedRequest(), null);
+        Flux<AttorneyChangeEvent> second = feed.subscribe(new AttorneyChangeFeedRequest(), null);
+
+        StepVerifier.create(first)
+                .then(() -> StepVerifier.create(second).verifyError(IllegalStateException.class))
+                .then(() -> assertThrows(IllegalStateException.class, () -> feed.subscribe(new AttorneyChangeFeedRequest(), null)))
+                .thenCancel()
+                .verify(TIMEOUT);
+
+        // Al cancelar el primero se libera el cupo
+        StepVerifier.create(feed.subscribe(new AttorneyChangeFeedRequest(), null))
+                .then(() -> feed.onChange(event("t1", "insert", "A", null)))
+                .expectNextMatches(event -> event.getId().equals("t1"))
+                .thenCancel()
+                .verify(TIMEOUT);
+    }
+
+    @Test
+    void rejectsUnknownFilters() {
+        AttorneyChangeFeed feed = feed(Overflow.DROP);
+        assertThrows(IllegalArgumentException.class,
+                () -> feed.subscribe(new AttorneyChangeFeedRequest(List.of("upsert"), null, null, null), null));
+        assertThrows(IllegalArgumentException.class,
+                () -> feed.subscribe(new AttorneyChangeFeedRequest(null, "X", null, null), null));
+        assertThrows(IllegalArgumentException.class,
+                () -> feed.subscribe(new AttorneyChangeFeedRequest(null, null, null, "block"), null));
+    }
+
+    private AttorneyChangeFeed feed(Overflow overflow) {
+        return new AttorneyChangeFeed(history, new SimpleMeterRegistry(), BUFFER_SIZE, 100, 10, overflow, Duration.ofMinutes(1));
+    }
+
+    private static AttorneyChangeEvent event(String id, String operation, String status, List<String> updatedFields) {
+        return new AttorneyChangeEvent(id, operation, "65f0a1b2c3d4e5f6a7b8c9d0", status, updatedFields, null, null, null);
+    }
+}
@@ -0,0 +1,43 @@
+package pe.edu.vallegrande.vg_ms_attorney.application.changefeed;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mongodb.client.model.changestream.OperationType;
+import org.junit.jupiter.api.Test;
+import org.mapstruct.factory.Mappers;
+import org.springframework.data.mongodb.core.ChangeStreamEvent;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import pe.edu.vallegrande.vg_ms_attorney.application.mapper.AttorneyMapper;
+import pe.edu.vallegrande.vg_ms_attorney.domain.dto.AttorneyChangeEvent;
+import pe.edu.vallegrande.vg_ms_attorney.domain.model.Attorney;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class AttorneyChangeHistoryTest {
+
+    private final AttorneyChangeHistory history = new AttorneyChangeHistory(mock(ReactiveMongoTemplate.class),
+            Mappers.getMapper(AttorneyMapper.class));
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void eventCarriesTheDocumentWithoutPassword() throws Exception {
+        Attorney attorney = new Attorney();
+        attorney.setDocumentNumber("12345678");
+        attorney.setPassword("12345678");
+        attorney.setStatus("A");
+        ChangeStreamEvent<Attorney> change = mock(ChangeStreamEvent.class);
+        when(change.getBody()).thenReturn(attorney);
+        when(change.getOperationType()).thenReturn(OperationType.INSERT);
+
+        AttorneyChangeEvent event = history.toEvent(change);
+
+        assertEquals("insert", event.getOperation());
+        assertEquals("A", event.getStatus());
+        assertEquals("12345678", event.getAttorney().getDocumentNumber());
+        assertNull(event.getUpdatedFields());
+        assertFalse(new ObjectMapper().findAndRegisterModules().writeValueAsString(event).contains("password"));
+    }
+}
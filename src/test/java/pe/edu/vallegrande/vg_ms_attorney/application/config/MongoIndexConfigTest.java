@@ -0,0 +1,94 @@
+package pe.edu.vallegrande.vg_ms_attorney.application.config;
+
+import com.mongodb.MongoCommandException;
+import com.mongodb.ServerAddress;
+import org.bson.BsonDocument;
+import org.bson.BsonInt32;
+import org.bson.BsonString;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.index.IndexDefinition;
+import org.springframework.data.mongodb.core.index.ReactiveIndexOperations;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class MongoIndexConfigTest {
+
+    private final ReactiveMongoTemplate mongoTemplate = mock(ReactiveMongoTemplate.class);
+    private final ReactiveIndexOperations indexOps = mock(ReactiveIndexOperations.class);
+    private final MongoIndexConfig config = new MongoIndexConfig(mongoTemplate, Duration.ofMillis(10));
+    private final HealthIndicator health = config.mongoIndexesHealthIndicator();
+
+    MongoIndexConfigTest() {
+        MongoMappingContext mappingContext = new MongoMappingContext();
+        mappingContext.setSimpleTypeHolder(new MongoCustomConversions(List.of()).getSimpleTypeHolder());
+        when(mongoTemplate.getConverter()).thenReturn(new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, mappingContext));
+        when(mongoTemplate.indexOps(any(Class.class))).thenReturn(indexOps);
+        when(indexOps.dropIndex(any())).thenReturn(Mono.empty());
+    }
+
+    @Test
+    void staysDownUntilARequiredIndexIsCreated() throws InterruptedException {
+        AtomicInteger attempts = new AtomicInteger();
+        when(indexOps.ensureIndex(any())).thenAnswer(invocation -> {
+            String name = invocation.<IndexDefinition>getArgument(0).getIndexOptions().getString("name");
+            if (name.equals("email") && attempts.incrementAndGet() <= 3) {
+                return Mono.error(new IllegalStateException("E11000 duplicate key"));
+            }
+            return Mono.just(name);
+        });
+
+        assertEquals(Status.UNKNOWN, health.health().getStatus());
+        config.ensureIndexes();
+        assertEquals(Status.DOWN, health.health().getStatus());
+        assertEquals("E11000 duplicate key", health.health().getDetails().get("Attorney.email"));
+
+        waitForStatus(Status.UP);
+        assertTrue(health.health().getDetails().isEmpty());
+        config.destroy();
+    }
+
+    @Test
+    void replacesAnIndexCreatedWithOtherOptions() throws InterruptedException {
+        AtomicInteger attempts = new AtomicInteger();
+        when(indexOps.ensureIndex(any())).thenAnswer(invocation -> {
+            String name = invocation.<IndexDefinition>getArgument(0).getIndexOptions().getString("name");
+            if (name.equals("documentNumber") && attempts.incrementAndGet() == 1) {
+                BsonDocument response = new BsonDocument("ok", new BsonInt32(0))
+                        .append("code", new BsonInt32(85))
+                        .append("errmsg", new BsonString("An existing index has the same name as the requested index"));
+                return Mono.error(new MongoCommandException(response, new ServerAddress()));
+            }
+            return Mono.just(name);
+        });
+
+        config.ensureIndexes();
+
+        waitForStatus(Status.UP);
+        verify(indexOps).dropIndex("documentNumber");
+        config.destroy();
+    }
+
+    private void waitForStatus(Status status) throws InterruptedException {
+        for (int i = 0; i < 200 && !health.health().getStatus().equals(status); i++) {
+            Thread.sleep(10);
+        }
+        assertEquals(status, health.health().getStatus());
+    }
+}
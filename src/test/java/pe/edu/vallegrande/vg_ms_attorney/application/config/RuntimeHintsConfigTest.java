@@ -0,0 +1,24 @@
+package pe.edu.vallegrande.vg_ms_attorney.application.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+import pe.edu.vallegrande.vg_ms_attorney.domain.dto.AttorneyRequest;
+import pe.edu.vallegrande.vg_ms_attorney.domain.model.Attorney;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RuntimeHintsConfigTest {
+
+    @Test
+    void registersLombokAccessorsAndFieldsOfTheDomainTypes() throws NoSuchMethodException {
+        RuntimeHints hints = new RuntimeHints();
+        new RuntimeHintsConfig.DomainHints().registerHints(hints, getClass().getClassLoader());
+
+        assertTrue(RuntimeHintsPredicates.reflection().onMethod(Attorney.class.getMethod("getDocumentNumber")).test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection().onMethod(AttorneyRequest.class.getMethod("setEmail", String.class)).test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection().onType(Attorney.class)
+                .withMemberCategory(MemberCategory.DECLARED_FIELDS).test(hints));
+    }
+}
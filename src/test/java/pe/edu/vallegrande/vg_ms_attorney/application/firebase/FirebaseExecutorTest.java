@@ -0,0 +1,87 @@
+package pe.edu.vallegrande.vg_ms_attorney.application.firebase;
+
+import com.google.auth.oauth2.AccessToken;
+import com.google.auth.oauth2.GoogleCredentials;
+import com.google.firebase.FirebaseApp;
+import com.google.firebase.FirebaseOptions;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import pe.edu.vallegrande.vg_ms_attorney.application.metrics.ReactiveTimers;
+import reactor.core.Disposable;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class FirebaseExecutorTest {
+
+    private final FirebaseApp app = FirebaseApp.initializeApp(FirebaseOptions.builder()
+            .setCredentials(GoogleCredentials.create(new AccessToken("test", null)))
+            .setProjectId("vg-ms-attorney-test")
+            .build(), "firebase-executor-test");
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final FirebaseExecutor executor = executor(1, 1, Duration.ofMillis(200));
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        executor.destroy();
+        app.delete();
+    }
+
+    @Test
+    void verificationRunsWhileWritePoolIsSaturated() {
+        // Un hilo ocupado y una llamada en cola llenan el pool de escrituras
+        Disposable running = executor.run("importUsers", auth -> awaitRelease()).subscribe();
+        Disposable queued = executor.run("importUsers", auth -> awaitRelease()).subscribe();
+
+        StepVerifier.create(executor.run("createUser", auth -> { }))
+                .verifyError(RejectedExecutionException.class);
+        StepVerifier.create(executor.verify("verifyIdToken", auth -> auth != null))
+                .expectNext(true)
+                .verifyComplete();
+
+        assertEquals(1.0, meterRegistry.get("firebase.calls.rejected").tag("pool", "firebase").counter().count());
+        assertEquals(0.0, meterRegistry.get("firebase.calls.rejected").tag("pool", "firebase-verify").counter().count());
+        running.dispose();
+        queued.dispose();
+    }
+
+    @Test
+    void verificationUsesItsOwnTimeout() {
+        StepVerifier.create(executor.verify("verifyIdToken", auth -> {
+                    awaitRelease();
+                    return true;
+                }))
+                .verifyError(TimeoutException.class);
+
+        assertEquals(1.0, meterRegistry.get("firebase.calls.timeout").tag("pool", "firebase-verify").counter().count());
+    }
+
+    // Al cancelar (timeout, dispose) el hilo se interrumpe: se termina sin propagar el error
+    private void awaitRelease() {
+        try {
+            release.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private FirebaseExecutor executor(int threads, int queueCapacity, Duration verificationTimeout) {
+        ObjectProvider<FirebaseApp> provider = mock(ObjectProvider.class);
+        when(provider.getObject()).thenReturn(app);
+        return new FirebaseExecutor(provider, meterRegistry, new ReactiveTimers(meterRegistry),
+                threads, queueCapacity, Duration.ofSeconds(10), threads, queueCapacity, verificationTimeout);
+    }
+}
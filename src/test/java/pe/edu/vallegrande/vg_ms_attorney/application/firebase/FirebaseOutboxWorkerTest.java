@@ -0,0 +1,171 @@
+package pe.edu.vallegrande.vg_ms_attorney.application.firebase;
+
+import com.mongodb.client.result.UpdateResult;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.UpdateDefinition;
+import pe.edu.vallegrande.vg_ms_attorney.domain.model.Attorney;
+import pe.edu.vallegrande.vg_ms_attorney.domain.model.FirebaseSyncEvent;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class FirebaseOutboxWorkerTest {
+
+    private static final Duration INITIAL = Duration.ofSeconds(2);
+    private static final Duration MAX = Duration.ofMinutes(10);
+
+    private final ReactiveMongoTemplate mongoTemplate = mock(ReactiveMongoTemplate.class);
+    private final FirebaseExecutor firebaseExecutor = mock(FirebaseExecutor.class);
+    // Colección simulada del outbox: el mock aplica el límite, el reclamo por _id $in, la lectura por claimToken
+    // y el cierre solo con el token vigente
+    private final Map<String, FirebaseSyncEvent> outbox = new LinkedHashMap<>();
+    private final List<String> done = Collections.synchronizedList(new ArrayList<>());
+    private final AtomicInteger claimQueries = new AtomicInteger();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void backoffDoublesAfterEachAttempt() {
+        assertEquals(Duration.ofSeconds(2), FirebaseOutboxWorker.backoff(1, INITIAL, MAX));
+        assertEquals(Duration.ofSeconds(4), FirebaseOutboxWorker.backoff(2, INITIAL, MAX));
+        assertEquals(Duration.ofSeconds(16), FirebaseOutboxWorker.backoff(4, INITIAL, MAX));
+    }
+
+    @Test
+    void backoffIsCappedAtMax() {
+        assertEquals(MAX, FirebaseOutboxWorker.backoff(10, INITIAL, MAX));
+        assertEquals(MAX, FirebaseOutboxWorker.backoff(1000, INITIAL, MAX));
+    }
+
+    @Test
+    void drainCompletesWithManyAttorneysAndKeepsOrderPerAttorney() {
+        // Más apoderados que la concurrencia y más eventos que el prefetch de groupBy (256)
+        LocalDateTime createdAt = LocalDateTime.now().minusMinutes(5);
+        for (int i = 0; i < 600; i++) {
+            for (FirebaseSyncEvent.Type type : List.of(FirebaseSyncEvent.Type.UPDATE_PROFILE, FirebaseSyncEvent.Type.SET_DISABLED)) {
+                FirebaseSyncEvent event = new FirebaseSyncEvent();
+                event.setId("event-" + outbox.size());
+                event.setAttorneyId("attorney-" + i);
+                event.setType(type);
+                event.setStatus(FirebaseSyncEvent.Status.PENDING);
+                event.setCreatedAt(createdAt.plusNanos(outbox.size()));
+                outbox.put(event.getId(), event);
+            }
+        }
+        FirebaseOutboxWorker worker = worker(5000);
+
+        StepVerifier.create(worker.drain()).expectComplete().verify(Duration.ofSeconds(30));
+
+        // El lote se corta en MAX_BATCH_SIZE y se reclama con una sola ronda de consultas
+        assertEquals(FirebaseOutboxWorker.MAX_BATCH_SIZE, done.size());
+        assertEquals(1, claimQueries.get());
+        Map<String, List<String>> byAttorney = new LinkedHashMap<>();
+        for (String id : new ArrayList<>(done)) {
+            byAttorney.computeIfAbsent(outbox.get(id).getAttorneyId(), a -> new ArrayList<>()).add(id);
+        }
+        byAttorney.values().forEach(ids -> {
+            List<String> sorted = new ArrayList<>(ids);
+            sorted.sort((a, b) -> outbox.get(a).getCreatedAt().compareTo(outbox.get(b).getCreatedAt()));
+            assertEquals(sorted, ids);
+        });
+        assertEquals(outbox.size() - done.size(), outbox.values().stream()
+                .filter(event -> event.getStatus() == FirebaseSyncEvent.Status.PENDING).count());
+    }
+
+    @Test
+    void eventReclaimedByAnotherReplicaIsNotClosedOrCounted() {
+        FirebaseSyncEvent event = new FirebaseSyncEvent();
+        event.setId("event-0");
+        event.setAttorneyId("attorney-0");
+        event.setType(FirebaseSyncEvent.Type.UPDATE_PROFILE);
+        event.setStatus(FirebaseSyncEvent.Status.PENDING);
+        event.setCreatedAt(LocalDateTime.now().minusMinutes(5));
+        outbox.put(event.getId(), event);
+        FirebaseOutboxWorker worker = worker(10);
+        // La llamada a Firebase tarda más que el lease y otra réplica reclama el evento con su propio token
+        FirebaseSyncEvent reclaimed = new FirebaseSyncEvent();
+        reclaimed.setId(event.getId());
+        reclaimed.setStatus(FirebaseSyncEvent.Status.PROCESSING);
+        reclaimed.setClaimToken("other-replica");
+        when(firebaseExecutor.run(anyString(), any())).thenAnswer(invocation -> Mono.fromRunnable(() -> outbox.put(event.getId(), reclaimed)));
+
+        StepVerifier.create(worker.drain()).expectComplete().verify(Duration.ofSeconds(5));
+
+        assertEquals(List.of(), done);
+        assertEquals(FirebaseSyncEvent.Status.PROCESSING, reclaimed.getStatus());
+        assertEquals(0.0, meterRegistry.get("firebase.outbox.processed").counter().count());
+        assertEquals(0, meterRegistry.get("firebase.outbox.lag").timer().count());
+    }
+
+    @SuppressWarnings("unchecked")
+    private FirebaseOutboxWorker worker(int batchSize) {
+        when(mongoTemplate.find(any(Query.class), eq(FirebaseSyncEvent.class))).thenAnswer(invocation -> {
+            Query query = invocation.getArgument(0);
+            Object token = query.getQueryObject().get("claimToken");
+            if (token != null) {
+                return Flux.fromIterable(outbox.values().stream().filter(event -> token.equals(event.getClaimToken())).toList());
+            }
+            claimQueries.incrementAndGet();
+            return Flux.fromIterable(outbox.values().stream()
+                    .filter(event -> event.getStatus() == FirebaseSyncEvent.Status.PENDING)
+                    .limit(query.getLimit())
+                    .toList());
+        });
+        when(mongoTemplate.updateMulti(any(Query.class), any(UpdateDefinition.class), eq(FirebaseSyncEvent.class))).thenAnswer(invocation -> {
+            Query query = invocation.getArgument(0);
+            Document set = (Document) ((UpdateDefinition) invocation.getArgument(1)).getUpdateObject().get("$set");
+            List<Document> and = (List<Document>) query.getQueryObject().get("$and");
+            Collection<String> ids = (Collection<String>) ((Document) and.get(0).get("_id")).get("$in");
+            long modified = 0;
+            for (String id : ids) {
+                FirebaseSyncEvent event = outbox.get(id);
+                if (event.getStatus() == FirebaseSyncEvent.Status.PENDING) {
+                    event.setStatus(FirebaseSyncEvent.Status.PROCESSING);
+                    event.setClaimToken(set.getString("claimToken"));
+                    modified++;
+                }
+            }
+            return Mono.just(UpdateResult.acknowledged(ids.size(), modified, null));
+        });
+        when(mongoTemplate.findById(anyString(), eq(Attorney.class))).thenAnswer(invocation -> {
+            Attorney attorney = new Attorney();
+            attorney.setUid("uid-" + invocation.getArgument(0));
+            return Mono.just(attorney);
+        });
+        when(mongoTemplate.updateFirst(any(Query.class), any(UpdateDefinition.class), eq(FirebaseSyncEvent.class))).thenAnswer(invocation -> {
+            Query query = invocation.getArgument(0);
+            String id = query.getQueryObject().getString("_id");
+            if (!outbox.get(id).getClaimToken().equals(query.getQueryObject().getString("claimToken"))) {
+                return Mono.just(UpdateResult.acknowledged(0, 0L, null));
+            }
+            outbox.get(id).setStatus(FirebaseSyncEvent.Status.DONE);
+            done.add(id);
+            return Mono.just(UpdateResult.acknowledged(1, 1L, null));
+        });
+        when(firebaseExecutor.concurrency()).thenReturn(8);
+        // Llamadas asíncronas para que los grupos se intercalen entre hilos
+        when(firebaseExecutor.run(anyString(), any())).thenAnswer(invocation -> Mono.delay(Duration.ofMillis(1)).then());
+        return new FirebaseOutboxWorker(mongoTemplate, firebaseExecutor, meterRegistry, true,
+                Duration.ofSeconds(1), batchSize, 10, Duration.ofMinutes(1), INITIAL, MAX);
+    }
+}
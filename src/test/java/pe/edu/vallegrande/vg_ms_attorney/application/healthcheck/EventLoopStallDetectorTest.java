@@ -0,0 +1,82 @@
+package pe.edu.vallegrande.vg_ms_attorney.application.healthcheck;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class EventLoopStallDetectorTest {
+
+    // Reloj y loop controlados por la prueba: las tareas encoladas solo corren con runPending()
+    private final AtomicLong clock = new AtomicLong(TimeUnit.SECONDS.toNanos(1));
+    private final Queue<Runnable> pending = new ArrayDeque<>();
+    private final Executor loop = pending::add;
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final EventLoopLagProbe probe = new EventLoopLagProbe(clock::get);
+    private final EventLoopStallDetector detector = new EventLoopStallDetector(meterRegistry, probe, true,
+            Duration.ofMillis(50), Duration.ofMillis(10));
+
+    @Test
+    void reportsAStalledLoopOnceAndRecordsHowLongItLasted() {
+        // Una primera ronda para conocer el hilo del loop
+        check();
+        advance(1);
+        runPending();
+
+        check();
+        advance(30);
+        check();
+        assertTrue(meterRegistry.find("eventloop.stalls").counters().isEmpty());
+
+        advance(70);
+        check();
+        advance(100);
+        check();
+        assertEquals(1.0, meterRegistry.get("eventloop.stalls").tag("thread", Thread.currentThread().getName()).counter().count());
+
+        // El loop se libera: la tarea que esperaba desde el inicio del bloqueo mide su duración total
+        runPending();
+        check();
+        assertEquals(1, meterRegistry.get("eventloop.stall.duration").timer().count());
+        assertEquals(200, meterRegistry.get("eventloop.stall.duration").timer().totalTime(TimeUnit.MILLISECONDS));
+
+        advance(10);
+        runPending();
+        check();
+        assertEquals(1.0, meterRegistry.get("eventloop.stalls").counter().count());
+        assertEquals(1, meterRegistry.get("eventloop.stall.duration").timer().count());
+    }
+
+    @Test
+    void sharedProbeKeepsOneTaskPerLoop() {
+        check();
+        // RuntimeDiagnostics muestrea el mismo probe: no encola una segunda tarea mientras la primera espera
+        advance(20);
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(20), probe.sample(List.of(loop)));
+        assertEquals(1, pending.size());
+    }
+
+    private void check() {
+        detector.check(List.of(loop));
+    }
+
+    private void advance(long millis) {
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(millis));
+    }
+
+    private void runPending() {
+        Runnable task;
+        while ((task = pending.poll()) != null) {
+            task.run();
+        }
+    }
+}
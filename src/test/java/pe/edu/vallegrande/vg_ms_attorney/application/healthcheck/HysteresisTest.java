@@ -0,0 +1,35 @@
+package pe.edu.vallegrande.vg_ms_attorney.application.healthcheck;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HysteresisTest {
+
+    @Test
+    void activatesOnlyAfterConsecutiveSamplesAboveEnter() {
+        Hysteresis hysteresis = new Hysteresis(0.85, 0.75, 3);
+
+        assertFalse(hysteresis.update(0.90));
+        assertFalse(hysteresis.update(0.95));
+        assertFalse(hysteresis.update(0.50)); // Un valor sano reinicia la racha
+        assertFalse(hysteresis.update(0.90));
+        assertFalse(hysteresis.update(0.90));
+        assertTrue(hysteresis.update(0.90));
+    }
+
+    @Test
+    void staysActiveUntilValueDropsBelowExit() {
+        Hysteresis hysteresis = new Hysteresis(0.85, 0.75, 2);
+        hysteresis.update(0.90);
+        hysteresis.update(0.90);
+
+        // Entre exit y enter no cambia el estado, por muchas muestras que pasen
+        for (int i = 0; i < 10; i++) {
+            assertTrue(hysteresis.update(0.80));
+        }
+        assertTrue(hysteresis.update(0.70));
+        assertFalse(hysteresis.update(0.70));
+    }
+}
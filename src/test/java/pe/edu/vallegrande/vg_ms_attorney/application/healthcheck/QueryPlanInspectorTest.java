@@ -0,0 +1,66 @@
+package pe.edu.vallegrande.vg_ms_attorney.application.healthcheck;
+
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.query.Query;
+import pe.edu.vallegrande.vg_ms_attorney.domain.dto.QueryPlanReport;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class QueryPlanInspectorTest {
+
+    @Test
+    void detectsNestedCollectionScan() {
+        Document explain = Document.parse("""
+                {"queryPlanner": {"winningPlan": {"queryPlan": {"stage": "SUBPLAN",
+                  "inputStage": {"stage": "OR", "inputStages": [
+                    {"stage": "IXSCAN", "indexName": "email"},
+                    {"stage": "COLLSCAN"}]}}}}}
+                """);
+
+        QueryPlanReport report = QueryPlanInspector.report("or", explain);
+
+        assertEquals(List.of("SUBPLAN", "OR", "IXSCAN", "COLLSCAN"), report.getStages());
+        assertTrue(report.isCollectionScan());
+    }
+
+    @Test
+    void derivesFiltersFromRepositoryMethodNames() {
+        Map<String, Query> queries = QueryPlanInspector.queries();
+
+        assertEquals(List.of("findByDocumentNumber", "findByEmail", "findByEmailInOrDocumentNumberIn", "findByStatus", "listPage"),
+                List.copyOf(queries.keySet()));
+        assertEquals(Document.parse("{'status': 'explain'}"), queries.get("findByStatus").getQueryObject());
+        assertEquals(Document.parse("{'$or': [{'email': {'$in': ['explain']}}, {'documentNumber': {'$in': ['explain']}}]}"),
+                queries.get("findByEmailInOrDocumentNumberIn").getQueryObject());
+    }
+
+    @Test
+    void inspectsTheSamePageQueryAsTheService() {
+        Query page = QueryPlanInspector.queries().get("listPage");
+
+        assertEquals(Document.parse("{'_id': 1}"), page.getSortObject());
+        assertEquals(List.of("status", "_id"), List.copyOf(page.getQueryObject().keySet()));
+    }
+
+    @Test
+    void rejectsUnsupportedDerivedQueries() {
+        assertThrows(IllegalStateException.class, () -> QueryPlanInspector.derivedQuery("findByNamesLike"));
+    }
+
+    @Test
+    void acceptsIndexedPlan() {
+        Document explain = Document.parse("""
+                {"queryPlanner": {"winningPlan": {"stage": "FETCH",
+                  "inputStage": {"stage": "IXSCAN", "indexName": "status_id"}}}}
+                """);
+
+        assertFalse(QueryPlanInspector.report("findByStatus", explain).isCollectionScan());
+    }
+}
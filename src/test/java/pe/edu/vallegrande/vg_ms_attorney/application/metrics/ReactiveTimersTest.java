@@ -0,0 +1,39 @@
+package pe.edu.vallegrande.vg_ms_attorney.application.metrics;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class ReactiveTimersTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final ReactiveTimers timers = new ReactiveTimers(registry);
+
+    @Test
+    void recordsOnlyWhenSubscribed() {
+        Mono<String> mono = Mono.just("ok").transform(timers.mono("test.timer", "find"));
+
+        assertNull(registry.find("test.timer").timer());
+        StepVerifier.create(mono).expectNext("ok").verifyComplete();
+
+        Timer timer = registry.get("test.timer").tags("operation", "find", "outcome", "success", "exception", "none").timer();
+        assertEquals(1, timer.count());
+    }
+
+    @Test
+    void tagsErrorsWithExceptionClass() {
+        Flux<String> flux = Flux.<String>error(new IllegalStateException("boom")).transform(timers.flux("test.timer", "list"));
+
+        StepVerifier.create(flux).verifyError(IllegalStateException.class);
+
+        Timer timer = registry.get("test.timer")
+                .tags("operation", "list", "outcome", "error", "exception", "IllegalStateException").timer();
+        assertEquals(1, timer.count());
+    }
+}
@@ -0,0 +1,78 @@
+package pe.edu.vallegrande.vg_ms_attorney.application.search;
+
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.query.Update;
+import pe.edu.vallegrande.vg_ms_attorney.AttorneyFixtures;
+import pe.edu.vallegrande.vg_ms_attorney.application.util.AttorneyUpdates;
+import pe.edu.vallegrande.vg_ms_attorney.domain.model.Attorney;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AttorneySearchKeysTest {
+
+    private static final AttorneyFixtures.Builder ANA = AttorneyFixtures.builder()
+            .id("1").names("Ana").surnames("Pérez").documentNumber("45871236");
+
+    @Test
+    void normalizesAccentsCaseAndSeparators() {
+        assertEquals("jose maria nunez", AttorneySearchKeys.normalize("  José-María  NÚÑEZ "));
+        assertEquals(List.of("quispe", "hua"), AttorneySearchKeys.terms("Hua, QUISPE"));
+    }
+
+    @Test
+    void tokensCoverNamesSurnamesAndDocument() {
+        Attorney attorney = AttorneyFixtures.builder().id("1")
+                .names("María Fernanda").surnames("Quispe Huamán").documentNumber("45871236").build();
+        AttorneySearchKeys.apply(attorney);
+
+        assertEquals(List.of("maria", "fernanda", "quispe", "huaman", "45871236"), attorney.getSearchTokens());
+        assertEquals("quispe huaman maria fernanda", attorney.getSearchName());
+    }
+
+    @Test
+    void ranksDocumentAndSurnamePrefixesFirst() {
+        Attorney bySurname = AttorneyFixtures.builder().id("1")
+                .names("Rosa").surnames("Quispe Ramos").documentNumber("11111111").build();
+        Attorney byName = AttorneyFixtures.builder().id("2")
+                .names("Quispe").surnames("Ramos Torres").documentNumber("22222222").build();
+        Attorney bySecondSurname = AttorneyFixtures.builder().id("3")
+                .names("Ana").surnames("Torres Quispe").documentNumber("33333333").build();
+        Stream.of(bySurname, byName, bySecondSurname).forEach(AttorneySearchKeys::apply);
+
+        List<String> terms = AttorneySearchKeys.terms("quis");
+        List<String> ranked = Stream.of(bySecondSurname, byName, bySurname)
+                .sorted(Comparator.comparingInt((Attorney a) -> AttorneySearchKeys.score("quis", terms, a)).reversed())
+                .map(Attorney::getIdAttorney)
+                .toList();
+
+        assertEquals(List.of("1", "2", "3"), ranked);
+        Attorney byDocument = AttorneyFixtures.builder().id("4")
+                .names("Ana").surnames("Rojas").documentNumber("45871236").build();
+        assertTrue(AttorneySearchKeys.score("4587", List.of("4587"), byDocument)
+                > AttorneySearchKeys.score("quis", terms, bySurname));
+    }
+
+    @Test
+    void updatesRecomputeKeysOnlyWhenSearchFieldsChange() {
+        Attorney existing = ANA.build();
+        AttorneySearchKeys.apply(existing);
+
+        Attorney renamed = AttorneyFixtures.builder().id("1")
+                .names("Ana Lucía").surnames("Pérez").documentNumber("45871236").build();
+        Document set = AttorneyUpdates.diff(existing, renamed).getUpdateObject().get("$set", Document.class);
+        assertEquals("perez ana lucia", set.get("searchName"));
+        assertEquals(List.of("ana", "lucia", "perez", "45871236"), set.get("searchTokens"));
+
+        Attorney newPhone = ANA.build();
+        newPhone.setCellphone("988777666");
+        Update update = AttorneyUpdates.diff(existing, newPhone);
+        assertFalse(update.modifies("searchName"));
+    }
+}
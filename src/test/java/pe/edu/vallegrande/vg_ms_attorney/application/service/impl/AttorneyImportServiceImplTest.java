@@ -0,0 +1,180 @@
+package pe.edu.vallegrande.vg_ms_attorney.application.service.impl;
+
+import com.google.firebase.auth.ErrorInfo;
+import com.google.firebase.auth.FirebaseAuth;
+import com.google.firebase.auth.ImportUserRecord;
+import com.google.firebase.auth.UserImportOptions;
+import com.google.firebase.auth.UserImportResult;
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.ServerAddress;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.bulk.BulkWriteResult;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.bson.BsonDocument;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mapstruct.factory.Mappers;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.ReactiveBulkOperations;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import pe.edu.vallegrande.vg_ms_attorney.application.firebase.FirebaseExecutor;
+import pe.edu.vallegrande.vg_ms_attorney.application.mapper.AttorneyMapper;
+import pe.edu.vallegrande.vg_ms_attorney.application.metrics.ReactiveTimers;
+import pe.edu.vallegrande.vg_ms_attorney.application.stats.AttorneyStatsCounters;
+import pe.edu.vallegrande.vg_ms_attorney.domain.dto.AttorneyRequest;
+import pe.edu.vallegrande.vg_ms_attorney.domain.dto.ImportResult;
+import pe.edu.vallegrande.vg_ms_attorney.domain.model.Attorney;
+import pe.edu.vallegrande.vg_ms_attorney.domain.repository.AttorneyRepository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class AttorneyImportServiceImplTest {
+
+    private final AttorneyRepository attorneyRepository = mock(AttorneyRepository.class);
+    private final ReactiveMongoTemplate mongoTemplate = mock(ReactiveMongoTemplate.class);
+    private final ReactiveBulkOperations bulkOperations = mock(ReactiveBulkOperations.class);
+    private final FirebaseExecutor firebaseExecutor = mock(FirebaseExecutor.class);
+    private final FirebaseAuth auth = mock(FirebaseAuth.class);
+    private final AttorneyStatsCounters statsCounters = mock(AttorneyStatsCounters.class);
+    private final AttorneyImportServiceImpl service = service("test-hash-key");
+
+    @BeforeEach
+    void setUp() throws Exception {
+        when(firebaseExecutor.call(anyString(), any())).thenAnswer(invocation -> {
+            FirebaseExecutor.FirebaseCall<?> call = invocation.getArgument(1);
+            return Mono.fromCallable(() -> call.apply(auth));
+        });
+        when(attorneyRepository.findByEmailInOrDocumentNumberIn(anyCollection(), anyCollection())).thenReturn(Flux.empty());
+        when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Attorney.class)).thenReturn(bulkOperations);
+        when(bulkOperations.insert(anyList())).thenReturn(bulkOperations);
+        when(bulkOperations.execute()).thenReturn(Mono.just(BulkWriteResult.unacknowledged()));
+        when(statsCounters.apply(any())).thenReturn(Mono.empty());
+        UserImportResult imported = importResult(List.of());
+        when(auth.importUsers(anyList(), any(UserImportOptions.class))).thenReturn(imported);
+    }
+
+    @Test
+    void rejectsIncompleteAndDuplicateRowsWithoutCallingFirebase() {
+        Attorney existing = new Attorney();
+        existing.setEmail("taken@correo.pe");
+        existing.setDocumentNumber("11111111");
+        when(attorneyRepository.findByEmailInOrDocumentNumberIn(anyCollection(), anyCollection())).thenReturn(Flux.just(existing));
+
+        StepVerifier.create(service.importAttorneys(Flux.just(
+                        request(null, "22222222"),
+                        request("taken@correo.pe", "33333333"),
+                        request("new@correo.pe", "11111111"))))
+                .assertNext(result -> assertFailed(result, 0, "email y documentNumber son obligatorios"))
+                .assertNext(result -> assertFailed(result, 1, "El email ya está registrado"))
+                .assertNext(result -> assertFailed(result, 2, "El documento ya está registrado"))
+                .verifyComplete();
+        verify(firebaseExecutor, never()).call(anyString(), any());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void importsValidRowsInOneFirebaseCallAndOneBulkInsert() throws Exception {
+        UserImportResult partial = importResult(List.of(errorAt(1, "invalid email")));
+        when(auth.importUsers(anyList(), any(UserImportOptions.class))).thenReturn(partial);
+
+        StepVerifier.create(service.importAttorneys(Flux.just(
+                        request("ana@correo.pe", "10000001"),
+                        request("bad@correo.pe", "10000002"),
+                        request("luis@correo.pe", "10000003"))))
+                .assertNext(result -> assertOk(result, 0))
+                .assertNext(result -> assertFailed(result, 1, "invalid email"))
+                .assertNext(result -> assertOk(result, 2))
+                .verifyComplete();
+
+        ArgumentCaptor<List<ImportUserRecord>> records = ArgumentCaptor.forClass(List.class);
+        verify(auth).importUsers(records.capture(), any(UserImportOptions.class));
+        assertEquals(3, records.getValue().size());
+        ArgumentCaptor<List<Attorney>> inserted = ArgumentCaptor.forClass(List.class);
+        verify(bulkOperations).insert(inserted.capture());
+        assertEquals(List.of("ana@correo.pe", "luis@correo.pe"), inserted.getValue().stream().map(Attorney::getEmail).toList());
+    }
+
+    @Test
+    void deletesFirebaseUsersWhoseMongoInsertFailed() throws Exception {
+        BulkWriteError duplicate = new BulkWriteError(11000, "E11000 duplicate key", new BsonDocument(), 1);
+        when(bulkOperations.execute()).thenReturn(Mono.error(new MongoBulkWriteException(
+                BulkWriteResult.unacknowledged(), List.of(duplicate), null, new ServerAddress(), Set.of())));
+
+        StepVerifier.create(service.importAttorneys(Flux.just(
+                        request("ana@correo.pe", "10000001"),
+                        request("luis@correo.pe", "10000003"))))
+                .assertNext(result -> assertOk(result, 0))
+                .assertNext(result -> assertFailed(result, 1, "E11000 duplicate key"))
+                .verifyComplete();
+
+        verify(firebaseExecutor).call(eq("deleteUsers"), any());
+        verify(auth).deleteUsers(anyList());
+    }
+
+    @Test
+    void generatesARandomHashKeyWhenNoneIsConfigured() {
+        byte[] first = AttorneyImportServiceImpl.hashKey(" ");
+        assertEquals(32, first.length);
+        assertFalse(Arrays.equals(first, AttorneyImportServiceImpl.hashKey(null)));
+        assertArrayEquals("clave".getBytes(StandardCharsets.UTF_8), AttorneyImportServiceImpl.hashKey("clave"));
+    }
+
+    private AttorneyImportServiceImpl service(String hashKey) {
+        return new AttorneyImportServiceImpl(attorneyRepository, mongoTemplate, firebaseExecutor,
+                new ReactiveTimers(new SimpleMeterRegistry()), Mappers.getMapper(AttorneyMapper.class), statsCounters,
+                500, hashKey);
+    }
+
+    private static AttorneyRequest request(String email, String documentNumber) {
+        AttorneyRequest request = new AttorneyRequest();
+        request.setNames("Nombre");
+        request.setSurnames("Apellido");
+        request.setEmail(email);
+        request.setDocumentNumber(documentNumber);
+        return request;
+    }
+
+    private static UserImportResult importResult(List<ErrorInfo> errors) {
+        UserImportResult result = mock(UserImportResult.class);
+        when(result.getErrors()).thenReturn(errors);
+        return result;
+    }
+
+    private static ErrorInfo errorAt(int index, String reason) {
+        ErrorInfo error = mock(ErrorInfo.class);
+        when(error.getIndex()).thenReturn(index);
+        when(error.getReason()).thenReturn(reason);
+        return error;
+    }
+
+    private static void assertOk(ImportResult result, long row) {
+        assertEquals(row, result.getRow());
+        assertEquals(true, result.isSuccess());
+    }
+
+    private static void assertFailed(ImportResult result, long row, String error) {
+        assertEquals(row, result.getRow());
+        assertEquals(false, result.isSuccess());
+        assertEquals(error, result.getError());
+    }
+}
@@ -0,0 +1,333 @@
+package pe.edu.vallegrande.vg_ms_attorney.application.service.impl;
+
+import com.mongodb.client.result.UpdateResult;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mapstruct.factory.Mappers;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.UpdateDefinition;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import pe.edu.vallegrande.vg_ms_attorney.AttorneyFixtures;
+import pe.edu.vallegrande.vg_ms_attorney.application.cache.AttorneyCache;
+import pe.edu.vallegrande.vg_ms_attorney.application.firebase.FirebaseOutbox;
+import pe.edu.vallegrande.vg_ms_attorney.application.mapper.AttorneyMapper;
+import pe.edu.vallegrande.vg_ms_attorney.application.metrics.ReactiveTimers;
+import pe.edu.vallegrande.vg_ms_attorney.application.stats.AttorneyStatsCounters;
+import pe.edu.vallegrande.vg_ms_attorney.application.stats.AttorneyStatsDelta;
+import pe.edu.vallegrande.vg_ms_attorney.application.webClient.ExternalFetchClient;
+import pe.edu.vallegrande.vg_ms_attorney.domain.dto.AttorneyDetail;
+import pe.edu.vallegrande.vg_ms_attorney.domain.dto.AttorneyLookupRequest;
+import pe.edu.vallegrande.vg_ms_attorney.domain.dto.AttorneyPage;
+import pe.edu.vallegrande.vg_ms_attorney.domain.dto.AttorneySummary;
+import pe.edu.vallegrande.vg_ms_attorney.domain.dto.BulkStatusResult;
+import pe.edu.vallegrande.vg_ms_attorney.domain.model.Attorney;
+import pe.edu.vallegrande.vg_ms_attorney.domain.model.FirebaseSyncEvent;
+import pe.edu.vallegrande.vg_ms_attorney.domain.repository.AttorneyRepository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class AttorneyServiceImplTest {
+
+    private final AttorneyRepository attorneyRepository = mock(AttorneyRepository.class);
+    private final ReactiveMongoTemplate mongoTemplate = mock(ReactiveMongoTemplate.class);
+    private final FirebaseOutbox firebaseOutbox = mock(FirebaseOutbox.class);
+    private final TransactionalOperator transactionalOperator = mock(TransactionalOperator.class);
+    private final AttorneyStatsCounters statsCounters = mock(AttorneyStatsCounters.class);
+    private final AttorneyServiceImpl service = new AttorneyServiceImpl(attorneyRepository, mongoTemplate,
+            mock(ExternalFetchClient.class), firebaseOutbox, transactionalOperator,
+            mock(AttorneyCache.class), new ReactiveTimers(new SimpleMeterRegistry()), Mappers.getMapper(AttorneyMapper.class),
+            statsCounters, Duration.ofMillis(300), 200);
+    // Colección simulada: el mock aplica el filtro status + _id > cursor, el orden por _id y el límite de la consulta
+    private final List<AttorneySummary> collection = new ArrayList<>();
+    // Documentos para los cambios de estado: el mock aplica el filtro _id / _id $in + status y el $set de status
+    private final Map<String, Attorney> attorneys = new LinkedHashMap<>();
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        when(mongoTemplate.getCollectionName(Attorney.class)).thenReturn("attorney");
+        when(mongoTemplate.find(any(Query.class), eq(AttorneySummary.class), eq("attorney")))
+                .thenAnswer(invocation -> Flux.fromIterable(find(invocation.getArgument(0))));
+
+        when(mongoTemplate.find(any(Query.class), eq(Attorney.class)))
+                .thenAnswer(invocation -> Flux.fromIterable(matching(invocation.getArgument(0))));
+        when(mongoTemplate.updateMulti(any(Query.class), any(UpdateDefinition.class), eq(Attorney.class)))
+                .thenAnswer(invocation -> {
+                    List<Attorney> matched = matching(invocation.getArgument(0));
+                    matched.forEach(attorney -> applyStatus(attorney, invocation.getArgument(1)));
+                    return Mono.just(UpdateResult.acknowledged(matched.size(), (long) matched.size(), null));
+                });
+        when(mongoTemplate.findAndModify(any(Query.class), any(UpdateDefinition.class), any(FindAndModifyOptions.class), eq(Attorney.class)))
+                .thenAnswer(invocation -> Mono.justOrEmpty(matching(invocation.getArgument(0)).stream().findFirst())
+                        .doOnNext(attorney -> applyStatus(attorney, invocation.getArgument(1))));
+        when(attorneyRepository.findById(anyString())).thenAnswer(invocation -> Mono.justOrEmpty(attorneys.get(invocation.<String>getArgument(0))));
+        when(transactionalOperator.transactional(any(Mono.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(firebaseOutbox.enqueue(anyString(), any())).thenReturn(Mono.just(new FirebaseSyncEvent()));
+        when(firebaseOutbox.enqueueAll(anyCollection(), any())).thenReturn(Mono.empty());
+        when(statsCounters.apply(any())).thenReturn(Mono.empty());
+    }
+
+    @Test
+    void cursorContinuesAfterLastItemUntilExhausted() {
+        Date now = new Date();
+        for (int i = 0; i < 7; i++) {
+            collection.add(summary(new ObjectId(now, i), i % 3 == 2 ? "I" : "A"));
+        }
+
+        List<String> seen = readAllActive(2);
+
+        assertEquals(collection.stream().filter(item -> "A".equals(item.getStatus()))
+                .map(AttorneySummary::getIdAttorney).toList(), seen);
+    }
+
+    @Test
+    void pagesDoNotSkipOrRepeatIdsCreatedInTheSameSecond() {
+        // Misma marca de tiempo (p. ej. una importación masiva): el orden lo decide el contador del ObjectId
+        Date sameSecond = new Date(1_700_000_000_000L);
+        for (int counter = 10; counter > 0; counter--) {
+            collection.add(summary(new ObjectId(sameSecond, counter), "A"));
+        }
+
+        List<String> seen = readAllActive(3);
+
+        assertEquals(10, seen.size());
+        assertEquals(collection.stream().map(AttorneySummary::getIdAttorney).sorted().toList(), seen);
+    }
+
+    @Test
+    void lastPageHasNoCursor() {
+        collection.add(summary(new ObjectId(), "A"));
+        collection.add(summary(new ObjectId(), "A"));
+
+        StepVerifier.create(service.listActivePage(null, 2))
+                .assertNext(page -> {
+                    assertEquals(2, page.getItems().size());
+                    assertNull(page.getNextCursor());
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void rejectsTamperedOrInvalidCursor() {
+        String valid = new ObjectId().toHexString();
+        for (String cursor : List.of("", "abc", valid.substring(1), valid + "0", valid.replace(valid.charAt(0), 'z'),
+                "' || 1 == 1", "{\"$gt\": \"\"}")) {
+            StepVerifier.create(service.listActivePage(cursor, 10))
+                    .verifyError(IllegalArgumentException.class);
+        }
+    }
+
+    @Test
+    void bulkStatusChangesOnlyMatchingDocuments() {
+        attorneys.put("1", AttorneyFixtures.builder().id("1").status("A").build());
+        attorneys.put("2", AttorneyFixtures.builder().id("2").status("A").build());
+        attorneys.put("3", AttorneyFixtures.builder().id("3").status("I").build());
+        attorneys.put("4", AttorneyFixtures.builder().id("4").status("A").build());
+
+        StepVerifier.create(service.changeStatus(List.of("1", "2", "3", "99"), "I"))
+                .expectNext(new BulkStatusResult(4, 2))
+                .verifyComplete();
+
+        assertEquals(List.of("I", "I", "I", "A"), attorneys.values().stream().map(Attorney::getStatus).toList());
+        verify(firebaseOutbox).enqueueAll(List.of("1", "2"), FirebaseSyncEvent.Type.SET_DISABLED);
+        ArgumentCaptor<AttorneyStatsDelta> delta = ArgumentCaptor.forClass(AttorneyStatsDelta.class);
+        verify(statsCounters).apply(delta.capture());
+        assertEquals(-2L, delta.getValue().increments().get("totals.A"));
+        assertEquals(2L, delta.getValue().increments().get("totals.I"));
+    }
+
+    @Test
+    void bulkStatusAlreadyAppliedIsNoOp() {
+        attorneys.put("1", AttorneyFixtures.builder().id("1").status("I").build());
+        attorneys.put("2", AttorneyFixtures.builder().id("2").status("I").build());
+
+        StepVerifier.create(service.changeStatus(List.of("1", "2"), "I"))
+                .expectNext(new BulkStatusResult(2, 0))
+                .verifyComplete();
+
+        verify(firebaseOutbox).enqueueAll(List.of(), FirebaseSyncEvent.Type.SET_DISABLED);
+        ArgumentCaptor<AttorneyStatsDelta> delta = ArgumentCaptor.forClass(AttorneyStatsDelta.class);
+        verify(statsCounters).apply(delta.capture());
+        assertTrue(delta.getValue().isEmpty());
+    }
+
+    @Test
+    void bulkStatusRejectsInvalidInput() {
+        StepVerifier.create(service.changeStatus(List.of("1"), "X")).verifyError(IllegalArgumentException.class);
+        StepVerifier.create(service.changeStatus(List.of(), "A")).verifyError(IllegalArgumentException.class);
+    }
+
+    @Test
+    void searchReportsCandidateWindowTruncation() {
+        // 250 coincidencias con el mismo puntaje y max-candidates = 200
+        for (int i = 0; i < 250; i++) {
+            Attorney attorney = AttorneyFixtures.builder().id(String.format("%03d", i)).status("A")
+                    .names("Maria " + i).surnames("Quispe").searchName(String.format("quispe maria %03d", 249 - i))
+                    .build();
+            attorneys.put(attorney.getIdAttorney(), attorney);
+        }
+
+        StepVerifier.create(service.search("quispe", "A", 0, 10))
+                .assertNext(page -> {
+                    // La ventana se arma en orden de searchName, no en el orden de inserción
+                    assertEquals("Maria 249", page.getItems().get(0).getNames());
+                    assertTrue(page.isHasMore());
+                    assertTrue(page.isTruncated());
+                })
+                .verifyComplete();
+        // La última página de la ventana no tiene más resultados, pero se informa que la ventana se cortó
+        StepVerifier.create(service.search("quispe", "A", 19, 10))
+                .assertNext(page -> {
+                    assertEquals(10, page.getItems().size());
+                    assertFalse(page.isHasMore());
+                    assertTrue(page.isTruncated());
+                })
+                .verifyComplete();
+        StepVerifier.create(service.search("quispe", "A", 20, 10))
+                .assertNext(page -> {
+                    assertTrue(page.getItems().isEmpty());
+                    assertTrue(page.isTruncated());
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void searchWithinWindowIsNotTruncated() {
+        attorneys.put("1", AttorneyFixtures.builder().id("1").status("A")
+                .names("Maria").surnames("Quispe").searchName("quispe maria").build());
+
+        StepVerifier.create(service.search("quispe", "A", 0, 10))
+                .assertNext(page -> {
+                    assertEquals(1, page.getItems().size());
+                    assertFalse(page.isHasMore());
+                    assertFalse(page.isTruncated());
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void lookupLeavesPasswordOutOfTheProjection() {
+        AttorneyDetail found = new AttorneyDetail();
+        found.setDocumentNumber("111");
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        when(mongoTemplate.find(query.capture(), eq(AttorneyDetail.class), eq("attorney"))).thenReturn(Flux.just(found));
+
+        StepVerifier.create(service.lookup(new AttorneyLookupRequest(null, List.of("111", "222"), null)))
+                .assertNext(response -> {
+                    assertEquals(found, response.getDocumentNumbers().get("111"));
+                    assertEquals(1, response.getNotFound());
+                })
+                .verifyComplete();
+        assertEquals(new Document("password", 0).append("searchTokens", 0).append("searchName", 0),
+                query.getValue().getFieldsObject());
+    }
+
+    @Test
+    void deleteDeactivatesOnceAndSyncsFirebase() {
+        attorneys.put("1", AttorneyFixtures.builder().id("1").status("A").build());
+
+        StepVerifier.create(service.deleteAttorney("1"))
+                .assertNext(attorney -> assertEquals("I", attorney.getStatus()))
+                .verifyComplete();
+        // Segunda solicitud: la precondición status = A ya no se cumple y se devuelve el documento sin cambios
+        StepVerifier.create(service.deleteAttorney("1"))
+                .assertNext(attorney -> assertEquals("I", attorney.getStatus()))
+                .verifyComplete();
+
+        verify(firebaseOutbox, times(1)).enqueue("1", FirebaseSyncEvent.Type.SET_DISABLED);
+        verify(statsCounters, times(1)).apply(any());
+    }
+
+    @Test
+    void reactivatingActiveAttorneyIsNoOp() {
+        attorneys.put("1", AttorneyFixtures.builder().id("1").status("A").build());
+
+        StepVerifier.create(service.reactivateAttorney("1"))
+                .assertNext(attorney -> assertEquals("A", attorney.getStatus()))
+                .verifyComplete();
+
+        verify(firebaseOutbox, never()).enqueue(anyString(), any());
+        verify(statsCounters, never()).apply(any());
+    }
+
+    private List<Attorney> matching(Query query) {
+        Document filter = query.getQueryObject();
+        if (filter.containsKey("searchTokens")) {
+            // Búsqueda: todos los documentos del estado coinciden; se aplica el orden searchName + _id y el límite
+            assertEquals(new Document("searchName", 1).append("_id", 1), query.getSortObject());
+            return attorneys.values().stream()
+                    .filter(attorney -> attorney.getStatus().equals(filter.getString("status")))
+                    .sorted(Comparator.comparing(Attorney::getSearchName).thenComparing(Attorney::getIdAttorney))
+                    .limit(query.getLimit())
+                    .toList();
+        }
+        Object id = filter.get("_id");
+        List<?> ids = id instanceof Document in ? in.getList("$in", Object.class) : List.of(id);
+        return attorneys.values().stream()
+                .filter(attorney -> ids.contains(attorney.getIdAttorney()))
+                .filter(attorney -> attorney.getStatus().equals(filter.getString("status")))
+                .toList();
+    }
+
+    private static void applyStatus(Attorney attorney, UpdateDefinition update) {
+        attorney.setStatus(update.getUpdateObject().get("$set", Document.class).getString("status"));
+    }
+
+    private List<String> readAllActive(int size) {
+        List<String> seen = new ArrayList<>();
+        String cursor = null;
+        do {
+            AttorneyPage page = service.listActivePage(cursor, size).block();
+            assertNotNull(page);
+            page.getItems().forEach(item -> seen.add(item.getIdAttorney()));
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+        return seen;
+    }
+
+    private List<AttorneySummary> find(Query query) {
+        Document filter = query.getQueryObject();
+        Document id = filter.get("_id", Document.class);
+        ObjectId after = id != null ? id.get("$gt", ObjectId.class) : null;
+        return collection.stream()
+                .filter(item -> item.getStatus().equals(filter.getString("status")))
+                .filter(item -> after == null || new ObjectId(item.getIdAttorney()).compareTo(after) > 0)
+                .sorted(Comparator.comparing(item -> new ObjectId(item.getIdAttorney())))
+                .limit(query.getLimit())
+                .toList();
+    }
+
+    private static AttorneySummary summary(ObjectId id, String status) {
+        return new AttorneySummary(id.toHexString(), "Nombre", "Apellido", "12345678", status);
+    }
+}
@@ -0,0 +1,74 @@
+package pe.edu.vallegrande.vg_ms_attorney.application.stats;
+
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+import pe.edu.vallegrande.vg_ms_attorney.AttorneyFixtures;
+import pe.edu.vallegrande.vg_ms_attorney.domain.model.Attorney;
+import pe.edu.vallegrande.vg_ms_attorney.domain.model.AttorneyStatistics;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AttorneyStatsDeltaTest {
+
+    private static final AttorneyFixtures.Builder MOTHER = AttorneyFixtures.builder().status("A").relationship("Madre").sex("F");
+    private static final AttorneyFixtures.Builder FATHER = AttorneyFixtures.builder().status("A").relationship("Padre").sex("M");
+
+    @Test
+    void createdCountsStatusAndEveryDimension() {
+        Attorney attorney = MOTHER.build();
+        Map<String, Long> increments = AttorneyStatsDelta.created(attorney).increments();
+
+        assertEquals(1L, increments.get("totals.A"));
+        assertEquals(1L, increments.get("breakdowns.A.relationship.Madre"));
+        assertEquals(1L, increments.get("breakdowns.A.sex.F"));
+        assertEquals(1L, increments.get("breakdowns.A.marriage." + AttorneyStatsDelta.NO_VALUE));
+        assertEquals(1 + AttorneyStatsDelta.FIELDS.size(), increments.size());
+    }
+
+    @Test
+    void updateOnlyTouchesChangedPaths() {
+        Attorney before = MOTHER.build();
+        Attorney after = AttorneyFixtures.builder().status("A").relationship("Tía").sex("F").build();
+
+        Document inc = AttorneyStatsDelta.updated(before, after).toUpdate().getUpdateObject().get("$inc", Document.class);
+        assertEquals(Map.of("breakdowns.A.relationship.Madre", -1L, "breakdowns.A.relationship.Tía", 1L), inc);
+
+        assertTrue(AttorneyStatsDelta.updated(before, MOTHER.build()).isEmpty());
+    }
+
+    @Test
+    void statusChangeMovesEveryPathToTheNewStatus() {
+        Map<String, Long> increments = AttorneyStatsDelta.statusChanged(FATHER.build(), "A", "I").increments();
+
+        assertEquals(-1L, increments.get("totals.A"));
+        assertEquals(1L, increments.get("totals.I"));
+        assertEquals(-1L, increments.get("breakdowns.A.sex.M"));
+        assertEquals(1L, increments.get("breakdowns.I.sex.M"));
+    }
+
+    @Test
+    void valuesAreSafeMongoFieldNames() {
+        assertEquals("Sr_ Pérez", AttorneyStatsDelta.key(" Sr. Pérez "));
+        assertEquals("_inc", AttorneyStatsDelta.key("$inc"));
+        assertEquals(AttorneyStatsDelta.NO_VALUE, AttorneyStatsDelta.key("  "));
+    }
+
+    @Test
+    void shardsMergeAndReconcileThroughPaths() {
+        AttorneyStatistics first = AttorneyStatsCounters.fromPaths(AttorneyStatsDelta.created(MOTHER.build()).increments());
+        AttorneyStatistics second = AttorneyStatsCounters.fromPaths(AttorneyStatsDelta.created(FATHER.build()).increments());
+        AttorneyStatistics total = AttorneyStatsCounters.merge(AttorneyStatsCounters.merge(new AttorneyStatistics(), first), second);
+
+        assertEquals(2L, total.getTotals().get("A"));
+        assertEquals(Map.of("Madre", 1L, "Padre", 1L), total.getBreakdowns().get("A").get("relationship"));
+
+        Map<String, Long> stored = AttorneyStatsCounters.paths(total);
+        Map<String, Long> actual = AttorneyStatsCounters.paths(AttorneyStatsCounters.merge(new AttorneyStatistics(), first));
+        assertEquals(0L, AttorneyStatsCounters.difference(stored, stored));
+        // Falta el segundo apoderado: su total y cada uno de sus campos difieren en uno
+        assertEquals(1 + AttorneyStatsDelta.FIELDS.size(), AttorneyStatsCounters.difference(stored, actual));
+    }
+}
@@ -0,0 +1,74 @@
+package pe.edu.vallegrande.vg_ms_attorney.application.util;
+
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class AttorneyCsvParserTest {
+
+    @Test
+    void mapsColumnsByHeaderName() {
+        Flux<String> lines = Flux.just(
+                "documentNumber,names,surnames,email,unknown",
+                "",
+                "12345678,\"María, José\",Pérez,maria@correo.pe,x",
+                "87654321,Juan,\"Ramos \"\"El Grande\"\"\",,");
+
+        StepVerifier.create(AttorneyCsvParser.parse(lines))
+                .assertNext(attorney -> {
+                    assertEquals("12345678", attorney.getDocumentNumber());
+                    assertEquals("María, José", attorney.getNames());
+                    assertEquals("maria@correo.pe", attorney.getEmail());
+                })
+                .assertNext(attorney -> {
+                    assertEquals("Ramos \"El Grande\"", attorney.getSurnames());
+                    assertNull(attorney.getEmail());
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void keepsLineBreaksInsideQuotedValues() {
+        Flux<String> lines = Flux.just(
+                "documentNumber,address,email",
+                "12345678,\"Av. Lima 123",
+                "",
+                "Dpto. \"\"B\"\"\",maria@correo.pe",
+                "87654321,Jr. Cusco,juan@correo.pe");
+
+        StepVerifier.create(AttorneyCsvParser.parse(lines))
+                .assertNext(attorney -> {
+                    assertEquals("Av. Lima 123\n\nDpto. \"B\"", attorney.getAddress());
+                    assertEquals("maria@correo.pe", attorney.getEmail());
+                })
+                .assertNext(attorney -> assertEquals("87654321", attorney.getDocumentNumber()))
+                .verifyComplete();
+    }
+
+    @Test
+    void rejectsUnterminatedQuote() {
+        Flux<String> lines = Flux.just("documentNumber,address", "12345678,\"Av. Lima", "87654321,Jr. Cusco");
+
+        StepVerifier.create(AttorneyCsvParser.parse(lines))
+                .verifyError(IllegalArgumentException.class);
+    }
+
+    @Test
+    void rejectsRecordsLongerThanLimit() {
+        String longLine = "x".repeat(AttorneyCsvParser.MAX_RECORD_LENGTH);
+        Flux<String> lines = Flux.just("documentNumber,address", "12345678,\"Av. Lima", longLine, "\"");
+
+        StepVerifier.create(AttorneyCsvParser.parse(lines))
+                .verifyError(IllegalArgumentException.class);
+    }
+
+    @Test
+    void splitsQuotedValues() {
+        assertEquals(List.of("a", "b,c", ""), AttorneyCsvParser.split("a,\"b,c\","));
+    }
+}
@@ -0,0 +1,68 @@
+package pe.edu.vallegrande.vg_ms_attorney.application.util;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import pe.edu.vallegrande.vg_ms_attorney.AttorneyFixtures;
+import pe.edu.vallegrande.vg_ms_attorney.domain.model.Attorney;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AttorneyExportWriterTest {
+
+    private static final AttorneyFixtures.Builder EXPORTED = AttorneyFixtures.builder().documentNumber("12345678")
+            .updatedAt(LocalDateTime.of(2024, 3, 1, 8, 30)).version(3L).password("secreto");
+
+    @Test
+    void writesSelectedFieldsAsCsvThatTheImportParserReadsBack() {
+        AttorneyExportWriter writer = AttorneyExportWriter.create("csv", List.of("documentNumber", "names", "surnames", "email"));
+        String csv = writer.header() + writer.write(List.of(EXPORTED.names("María, José").surnames("Ramos \"El Grande\"").build()));
+
+        assertEquals("documentNumber,names,surnames,email\n12345678,\"María, José\",\"Ramos \"\"El Grande\"\"\",\n", csv);
+        StepVerifier.create(AttorneyCsvParser.parse(Flux.fromArray(csv.split("\n"))))
+                .assertNext(parsed -> {
+                    assertEquals("María, José", parsed.getNames());
+                    assertEquals("Ramos \"El Grande\"", parsed.getSurnames());
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void writesOneJsonObjectPerLine() throws Exception {
+        AttorneyExportWriter writer = AttorneyExportWriter.create("NDJSON", List.of("names", "updatedAt", "version", "email"));
+        List<Attorney> attorneys = List.of(EXPORTED.names("Ana").surnames("Pérez").email("ana@correo.pe").build(),
+                EXPORTED.names("Luis").surnames("Soto").build());
+        String[] lines = writer.write(attorneys).split("\n");
+
+        assertEquals(MediaType.APPLICATION_NDJSON, writer.mediaType());
+        assertEquals("", writer.header());
+        assertEquals(2, lines.length);
+        JsonNode first = new ObjectMapper().readTree(lines[0]);
+        assertEquals(List.of("names", "updatedAt", "version", "email"), fieldNames(first));
+        assertEquals("2024-03-01T08:30:00", first.get("updatedAt").asText());
+        assertEquals(3, first.get("version").asLong());
+        assertTrue(new ObjectMapper().readTree(lines[1]).get("email").isNull());
+    }
+
+    @Test
+    void rejectsUnknownFormatsAndFieldsThatAreNotExported() {
+        assertThrows(IllegalArgumentException.class, () -> AttorneyExportWriter.create("xml", null));
+        assertThrows(IllegalArgumentException.class, () -> AttorneyExportWriter.create("csv", List.of("names", "password")));
+        assertEquals(21, AttorneyExportWriter.create(null, List.of()).fields().size());
+    }
+
+    private static List<String> fieldNames(JsonNode node) {
+        List<String> names = new ArrayList<>();
+        node.fieldNames().forEachRemaining(names::add);
+        return names;
+    }
+}
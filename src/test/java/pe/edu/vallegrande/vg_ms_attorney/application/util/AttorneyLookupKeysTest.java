@@ -0,0 +1,66 @@
+package pe.edu.vallegrande.vg_ms_attorney.application.util;
+
+import org.junit.jupiter.api.Test;
+import pe.edu.vallegrande.vg_ms_attorney.domain.dto.AttorneyDetail;
+import pe.edu.vallegrande.vg_ms_attorney.domain.dto.AttorneyLookupRequest;
+import pe.edu.vallegrande.vg_ms_attorney.domain.dto.AttorneyLookupResponse;
+import pe.edu.vallegrande.vg_ms_attorney.domain.dto.AttorneyLookupResult;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AttorneyLookupKeysTest {
+
+    @Test
+    void dropsBlankAndRepeatedKeysAndNormalizesObjectIds() {
+        AttorneyLookupKeys keys = AttorneyLookupKeys.of(new AttorneyLookupRequest(
+                List.of("65F0A1B2C3D4E5F6A7B8C9D0", "65f0a1b2c3d4e5f6a7b8c9d0", "no-es-objectid"),
+                Arrays.asList("12345678", " 12345678 ", "", null),
+                null), 10);
+
+        assertEquals(List.of("65f0a1b2c3d4e5f6a7b8c9d0", "no-es-objectid"), List.copyOf(keys.ids()));
+        assertEquals(List.of("12345678"), List.copyOf(keys.documentNumbers()));
+        assertTrue(keys.emails().isEmpty());
+        assertEquals(3, keys.size());
+    }
+
+    @Test
+    void rejectsEmptyAndOversizedRequests() {
+        assertThrows(IllegalArgumentException.class, () -> AttorneyLookupKeys.of(new AttorneyLookupRequest(), 10));
+        List<String> documents = new ArrayList<>();
+        for (int i = 0; i < 11; i++) {
+            documents.add(String.valueOf(10_000_000 + i));
+        }
+        assertThrows(IllegalArgumentException.class,
+                () -> AttorneyLookupKeys.of(new AttorneyLookupRequest(null, documents, null), 10));
+    }
+
+    @Test
+    void keysTheResponseByInputInRequestOrderWithNullForMissingEntries() {
+        AttorneyLookupKeys keys = AttorneyLookupKeys.of(new AttorneyLookupRequest(
+                null, List.of("222", "111", "333"), List.of("ana@correo.pe")), 10);
+        AttorneyDetail second = new AttorneyDetail();
+        second.setDocumentNumber("111");
+
+        AttorneyLookupResponse response = keys.toResponse(List.of(
+                AttorneyLookupResult.found(AttorneyLookupKeys.BY_DOCUMENT, "111", second),
+                AttorneyLookupResult.notFound(AttorneyLookupKeys.BY_DOCUMENT, "222"),
+                AttorneyLookupResult.notFound(AttorneyLookupKeys.BY_EMAIL, "ana@correo.pe")));
+
+        assertEquals(List.of("222", "111", "333"), List.copyOf(response.getDocumentNumbers().keySet()));
+        assertSame(second, response.getDocumentNumbers().get("111"));
+        assertNull(response.getDocumentNumbers().get("222"));
+        assertTrue(response.getEmails().containsKey("ana@correo.pe"));
+        assertEquals(Collections.emptyMap(), response.getIds());
+        assertEquals(1, response.getFound());
+        assertEquals(3, response.getNotFound());
+    }
+}
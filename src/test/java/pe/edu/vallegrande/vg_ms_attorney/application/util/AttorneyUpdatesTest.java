@@ -0,0 +1,70 @@
+package pe.edu.vallegrande.vg_ms_attorney.application.util;
+
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+import org.mapstruct.factory.Mappers;
+import org.springframework.data.mongodb.core.query.Update;
+import pe.edu.vallegrande.vg_ms_attorney.AttorneyFixtures;
+import pe.edu.vallegrande.vg_ms_attorney.application.mapper.AttorneyMapper;
+import pe.edu.vallegrande.vg_ms_attorney.domain.dto.AttorneyRequest;
+import pe.edu.vallegrande.vg_ms_attorney.domain.model.Attorney;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AttorneyUpdatesTest {
+
+    private final AttorneyMapper mapper = Mappers.getMapper(AttorneyMapper.class);
+
+    @Test
+    void patchSetsOnlyChangedNonNullFields() {
+        Attorney existing = AttorneyFixtures.builder().names("Ana").surnames("Pérez").cellphone("999111222").build();
+        AttorneyRequest changes = new AttorneyRequest();
+        changes.setNames("Ana");
+        changes.setCellphone("988777666");
+
+        Attorney updated = mapper.copy(existing);
+        mapper.merge(changes, updated);
+        Update update = AttorneyUpdates.diff(existing, updated);
+
+        assertEquals(new Document("cellphone", "988777666"), update.getUpdateObject().get("$set", Document.class));
+        assertFalse(AttorneyUpdates.displayNameChanged(update));
+    }
+
+    @Test
+    void putAlsoClearsFieldsSentAsNull() {
+        Attorney existing = AttorneyFixtures.builder().names("Ana").surnames("Pérez").cellphone("999111222").build();
+        AttorneyRequest changes = new AttorneyRequest();
+        changes.setNames("Ana María");
+        changes.setSurnames("Pérez");
+
+        Attorney updated = mapper.copy(existing);
+        mapper.replace(changes, updated);
+        Update update = AttorneyUpdates.diff(existing, updated);
+
+        Document set = update.getUpdateObject().get("$set", Document.class);
+        assertEquals("Ana María", set.get("names"));
+        assertTrue(set.containsKey("cellphone"));
+        assertTrue(AttorneyUpdates.displayNameChanged(update));
+    }
+
+    @Test
+    void mappersNeverTouchServerManagedFields() {
+        Attorney existing = AttorneyFixtures.builder().names("Ana").surnames("Pérez").cellphone("999111222").build();
+        existing.setIdAttorney("1");
+        existing.setStatus("A");
+        existing.setVersion(4L);
+        AttorneyRequest changes = new AttorneyRequest();
+        changes.setVersion(9L);
+
+        Attorney updated = mapper.copy(existing);
+        mapper.replace(changes, updated);
+
+        assertEquals("1", updated.getIdAttorney());
+        assertEquals("A", updated.getStatus());
+        assertEquals(4L, updated.getVersion());
+        assertNull(mapper.toNewAttorney(changes).getVersion());
+    }
+}
@@ -0,0 +1,35 @@
+package pe.edu.vallegrande.vg_ms_attorney.application.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class GzipChunksTest {
+
+    @Test
+    void eachChunkCanBeDecompressedBeforeTheStreamEnds() throws Exception {
+        ByteArrayOutputStream received = new ByteArrayOutputStream();
+        try (GzipChunks gzip = new GzipChunks()) {
+            received.write(gzip.compress("{\"names\":\"Ana\"}\n".getBytes(StandardCharsets.UTF_8)));
+
+            // Sin el cierre del stream ya se puede leer la primera línea completa
+            InputStream partial = new GZIPInputStream(new ByteArrayInputStream(received.toByteArray()));
+            byte[] line = new byte[16];
+            assertEquals(16, partial.readNBytes(line, 0, line.length));
+            assertArrayEquals("{\"names\":\"Ana\"}\n".getBytes(StandardCharsets.UTF_8), line);
+
+            received.write(gzip.compress("{\"names\":\"Luis\"}\n".getBytes(StandardCharsets.UTF_8)));
+            received.write(gzip.finish());
+        }
+        try (InputStream complete = new GZIPInputStream(new ByteArrayInputStream(received.toByteArray()))) {
+            assertEquals("{\"names\":\"Ana\"}\n{\"names\":\"Luis\"}\n", new String(complete.readAllBytes(), StandardCharsets.UTF_8));
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package pe.edu.vallegrande.vg_ms_attorney.application.webClient;
+
+import com.google.firebase.ErrorCode;
+import com.google.firebase.auth.AuthErrorCode;
+import com.google.firebase.auth.FirebaseAuthException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import pe.edu.vallegrande.vg_ms_attorney.application.metrics.ReactiveTimers;
+import pe.edu.vallegrande.vg_ms_attorney.application.webClient.AuthServiceClient.VerificationMode;
+import pe.edu.vallegrande.vg_ms_attorney.domain.dto.TokenValidationResponse;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeoutException;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class AuthServiceClientTest {
+
+    private static final TokenValidationResponse INVALID = new TokenValidationResponse(false, null);
+    private static final TokenValidationResponse LOCAL = new TokenValidationResponse(true, "APODERADO", "uid-1");
+    private static final TokenValidationResponse REMOTE = new TokenValidationResponse(true, "ADMIN");
+
+    private final AuthServiceHttpClient httpClient = mock(AuthServiceHttpClient.class);
+    private final FirebaseTokenVerifier verifier = mock(FirebaseTokenVerifier.class);
+
+    @Test
+    void remoteModeAsksAuthService() {
+        when(httpClient.validate("token")).thenReturn(Mono.just(REMOTE));
+
+        StepVerifier.create(client(VerificationMode.REMOTE, true).validateToken("token"))
+                .expectNext(REMOTE)
+                .verifyComplete();
+        verifyNoInteractions(verifier);
+    }
+
+    @Test
+    void remoteRejectionIsAnInvalidToken() {
+        when(httpClient.validate("token"))
+                .thenReturn(Mono.error(WebClientResponseException.create(HttpStatus.UNAUTHORIZED.value(), "", null, null, null)));
+
+        StepVerifier.create(client(VerificationMode.REMOTE, true).validateToken("token"))
+                .expectNext(INVALID)
+                .verifyComplete();
+    }
+
+    @Test
+    void localModeAcceptsVerifiedTokenWithoutRemoteCall() {
+        when(verifier.verify("token")).thenReturn(Mono.just(LOCAL));
+
+        StepVerifier.create(client(VerificationMode.LOCAL, true).validateToken("token"))
+                .expectNext(LOCAL)
+                .verifyComplete();
+        verifyNoInteractions(httpClient);
+    }
+
+    @Test
+    void localModeRejectsInvalidTokenWithoutFallback() {
+        when(verifier.verify("token")).thenReturn(Mono.error(authError(AuthErrorCode.EXPIRED_ID_TOKEN)));
+
+        StepVerifier.create(client(VerificationMode.LOCAL, false).validateToken("token"))
+                .expectNext(INVALID)
+                .verifyComplete();
+        verifyNoInteractions(httpClient);
+    }
+
+    @Test
+    void fallbackDoesNotCallRemoteForInvalidTokens() {
+        when(verifier.verify("bad")).thenReturn(Mono.error(authError(AuthErrorCode.INVALID_ID_TOKEN)));
+        when(verifier.verify("revoked")).thenReturn(Mono.error(authError(AuthErrorCode.REVOKED_ID_TOKEN)));
+        when(verifier.verify("")).thenReturn(Mono.error(new IllegalArgumentException("ID token must not be null or empty")));
+        AuthServiceClient client = client(VerificationMode.LOCAL, true);
+
+        StepVerifier.create(client.validateToken("bad")).expectNext(INVALID).verifyComplete();
+        StepVerifier.create(client.validateToken("revoked")).expectNext(INVALID).verifyComplete();
+        StepVerifier.create(client.validateToken("")).expectNext(INVALID).verifyComplete();
+        verifyNoInteractions(httpClient);
+    }
+
+    @Test
+    void fallbackCallsRemoteOnInfrastructureErrors() {
+        when(verifier.verify("rejected")).thenReturn(Mono.error(new RejectedExecutionException("Cola llena")));
+        when(verifier.verify("slow")).thenReturn(Mono.error(new TimeoutException()));
+        when(verifier.verify("keys")).thenReturn(Mono.error(authError(AuthErrorCode.CERTIFICATE_FETCH_FAILED)));
+        when(httpClient.validate("rejected")).thenReturn(Mono.just(REMOTE));
+        when(httpClient.validate("slow")).thenReturn(Mono.just(REMOTE));
+        when(httpClient.validate("keys")).thenReturn(Mono.just(REMOTE));
+        AuthServiceClient client = client(VerificationMode.LOCAL, true);
+
+        StepVerifier.create(client.validateToken("rejected")).expectNext(REMOTE).verifyComplete();
+        StepVerifier.create(client.validateToken("slow")).expectNext(REMOTE).verifyComplete();
+        StepVerifier.create(client.validateToken("keys")).expectNext(REMOTE).verifyComplete();
+    }
+
+    @Test
+    void fallbackCallsRemoteWhenTokenHasNoRole() {
+        when(verifier.verify("token")).thenReturn(Mono.empty());
+        when(httpClient.validate("token")).thenReturn(Mono.just(REMOTE));
+
+        StepVerifier.create(client(VerificationMode.LOCAL, true).validateToken("token"))
+                .expectNext(REMOTE)
+                .verifyComplete();
+        verify(httpClient).validate("token");
+    }
+
+    @Test
+    void infrastructureErrorPropagatesWithoutFallback() {
+        when(verifier.verify("token")).thenReturn(Mono.error(new RejectedExecutionException("Cola llena")));
+
+        StepVerifier.create(client(VerificationMode.LOCAL, false).validateToken("token"))
+                .verifyError(RejectedExecutionException.class);
+        verifyNoInteractions(httpClient);
+    }
+
+    private AuthServiceClient client(VerificationMode mode, boolean remoteFallback) {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        return new AuthServiceClient(httpClient, new TokenValidationCache(100, Duration.ofMinutes(5), meterRegistry),
+                verifier, mode, remoteFallback, new ReactiveTimers(meterRegistry));
+    }
+
+    private static FirebaseAuthException authError(AuthErrorCode code) {
+        return new FirebaseAuthException(ErrorCode.INVALID_ARGUMENT, code.name(), null, null, code);
+    }
+}
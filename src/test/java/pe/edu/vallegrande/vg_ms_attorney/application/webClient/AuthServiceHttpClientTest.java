@@ -0,0 +1,77 @@
+package pe.edu.vallegrande.vg_ms_attorney.application.webClient;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import pe.edu.vallegrande.vg_ms_attorney.domain.dto.TokenValidationResponse;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class AuthServiceHttpClientTest {
+
+    private static final String VALID = "{\"valid\":true,\"role\":\"ADMIN\"}";
+
+    private final AtomicInteger hits = new AtomicInteger();
+    private DisposableServer server;
+    private AuthServiceHttpClient client;
+
+    @BeforeEach
+    void startServer() {
+        // "primary-fails": la primera solicitud tarda y falla con 503, la segunda responde de inmediato
+        server = HttpServer.create()
+                .host("127.0.0.1")
+                .port(0)
+                .route(routes -> routes.get("/validate", (request, response) -> {
+                    int hit = hits.incrementAndGet();
+                    String token = request.requestHeaders().get(HttpHeaders.AUTHORIZATION);
+                    if (token.endsWith("rejected")) {
+                        return response.status(HttpResponseStatus.UNAUTHORIZED).send();
+                    }
+                    if (hit == 1) {
+                        return Mono.delay(Duration.ofMillis(300))
+                                .then(response.status(HttpResponseStatus.SERVICE_UNAVAILABLE).send().then());
+                    }
+                    return response.header(HttpHeaders.CONTENT_TYPE, "application/json").sendString(Mono.just(VALID)).then();
+                }))
+                .bindNow();
+        client = new AuthServiceHttpClient(WebClient.builder(), "http://127.0.0.1:" + server.port(),
+                Duration.ofSeconds(2), Duration.ofSeconds(2), Duration.ofMillis(50), 10, Duration.ofSeconds(1),
+                Duration.ofSeconds(30), Duration.ofMinutes(5), 20, 10, 50, Duration.ofSeconds(10), new SimpleMeterRegistry());
+    }
+
+    @AfterEach
+    void stopServer() {
+        client.destroy();
+        server.disposeNow();
+    }
+
+    @Test
+    void hedgeAnswersWhenThePrimaryFails() {
+        StepVerifier.create(client.validate("primary-fails"))
+                .assertNext(response -> assertEquals("ADMIN", response.getRole()))
+                .expectComplete()
+                .verify(Duration.ofSeconds(5));
+        assertEquals(2, hits.get());
+    }
+
+    @Test
+    void rejectedTokenKeepsTheServiceResponse() {
+        StepVerifier.create(client.validate("rejected"))
+                .expectErrorSatisfies(e -> assertEquals(HttpStatus.UNAUTHORIZED,
+                        ((WebClientResponseException) e).getStatusCode()))
+                .verify(Duration.ofSeconds(5));
+    }
+}
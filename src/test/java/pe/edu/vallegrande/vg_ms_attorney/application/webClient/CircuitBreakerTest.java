@@ -0,0 +1,93 @@
+package pe.edu.vallegrande.vg_ms_attorney.application.webClient;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CircuitBreakerTest {
+
+    private final AtomicLong now = new AtomicLong();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final CircuitBreaker breaker = new CircuitBreaker("test", 4, 4, 50, Duration.ofSeconds(10),
+            AuthServiceHttpClient::isServiceFailure, meterRegistry, now::get);
+
+    @Test
+    void opensWhenFailureRateReachesThresholdAndFailsFast() {
+        call(Mono.just("ok"));
+        call(Mono.just("ok"));
+        call(Mono.error(new TimeoutException()));
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.state());
+
+        call(Mono.error(WebClientResponseException.create(HttpStatus.BAD_GATEWAY.value(), "", null, null, null)));
+        assertEquals(CircuitBreaker.State.OPEN, breaker.state());
+
+        StepVerifier.create(breaker.protect(Mono.just("ok")))
+                .expectError(CircuitBreaker.OpenException.class)
+                .verify();
+        assertEquals(1.0, meterRegistry.get("test.circuit.rejected").counter().count());
+    }
+
+    @Test
+    void clientErrorsDoNotCountAsFailures() {
+        for (int i = 0; i < 4; i++) {
+            call(Mono.error(WebClientResponseException.create(HttpStatus.UNAUTHORIZED.value(), "", null, null, null)));
+        }
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.state());
+    }
+
+    @Test
+    void halfOpenProbesCloseOrReopenTheCircuit() {
+        openCircuit();
+        now.addAndGet(Duration.ofSeconds(10).toNanos());
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.state());
+
+        // Solo HALF_OPEN_CALLS pruebas a la vez
+        for (int i = 0; i < CircuitBreaker.HALF_OPEN_CALLS; i++) {
+            assertTrue(breaker.tryAcquire());
+        }
+        assertFalse(breaker.tryAcquire());
+        breaker.onResult(true);
+        assertEquals(CircuitBreaker.State.OPEN, breaker.state());
+
+        now.addAndGet(Duration.ofSeconds(10).toNanos());
+        for (int i = 0; i < CircuitBreaker.HALF_OPEN_CALLS; i++) {
+            call(Mono.just("ok"));
+        }
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.state());
+    }
+
+    @Test
+    void cancelledProbeReleasesItsSlot() {
+        openCircuit();
+        now.addAndGet(Duration.ofSeconds(10).toNanos());
+
+        StepVerifier.create(breaker.protect(Mono.never()))
+                .thenCancel()
+                .verify();
+        for (int i = 0; i < CircuitBreaker.HALF_OPEN_CALLS; i++) {
+            assertTrue(breaker.tryAcquire());
+        }
+    }
+
+    private void openCircuit() {
+        for (int i = 0; i < 4; i++) {
+            call(Mono.error(new TimeoutException()));
+        }
+        assertEquals(CircuitBreaker.State.OPEN, breaker.state());
+    }
+
+    private void call(Mono<String> result) {
+        breaker.protect(result).onErrorResume(e -> Mono.empty()).block();
+    }
+}
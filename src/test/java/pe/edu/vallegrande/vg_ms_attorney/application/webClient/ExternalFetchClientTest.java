@@ -0,0 +1,127 @@
+package pe.edu.vallegrande.vg_ms_attorney.application.webClient;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.buffer.DataBufferLimitException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.util.unit.DataSize;
+import pe.edu.vallegrande.vg_ms_attorney.application.metrics.ReactiveTimers;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ExternalFetchClientTest {
+
+    private final AtomicInteger hits = new AtomicInteger();
+    private final AtomicInteger notModified = new AtomicInteger();
+    private DisposableServer server;
+    private ExternalFetchClient client;
+    private String origin;
+
+    @BeforeEach
+    void startServer() {
+        server = HttpServer.create()
+                .host("127.0.0.1")
+                .port(0)
+                .route(routes -> routes
+                        .get("/etag", (request, response) -> {
+                            hits.incrementAndGet();
+                            if ("\"v1\"".equals(request.requestHeaders().get(HttpHeaders.IF_NONE_MATCH))) {
+                                notModified.incrementAndGet();
+                                return response.status(HttpResponseStatus.NOT_MODIFIED).send();
+                            }
+                            // Respuesta lenta para que las solicitudes concurrentes coincidan
+                            return response.header(HttpHeaders.ETAG, "\"v1\"")
+                                    .header(HttpHeaders.CACHE_CONTROL, "no-cache")
+                                    .sendString(Mono.just("hola").delayElement(Duration.ofMillis(200)));
+                        })
+                        .get("/fresh", (request, response) -> {
+                            hits.incrementAndGet();
+                            return response.header(HttpHeaders.CACHE_CONTROL, "max-age=60").sendString(Mono.just("fresco"));
+                        })
+                        .get("/large", (request, response) -> response.sendString(Mono.just("x".repeat(4096)))))
+                .bindNow();
+        origin = "http://127.0.0.1:" + server.port();
+        client = new ExternalFetchClient(List.of(origin), DataSize.ofKilobytes(1), Duration.ofSeconds(5),
+                DataSize.ofMegabytes(1), 10, Duration.ofSeconds(5), new SimpleMeterRegistry(),
+                new ReactiveTimers(new SimpleMeterRegistry()));
+    }
+
+    @AfterEach
+    void stopServer() {
+        client.destroy();
+        server.disposeNow();
+    }
+
+    @Test
+    void rejectsOriginsOutsideTheAllowlist() {
+        StepVerifier.create(client.fetch("http://127.0.0.2:" + server.port() + "/fresh"))
+                .verifyError(SecurityException.class);
+        assertEquals(0, hits.get());
+    }
+
+    @Test
+    void concurrentFetchesShareOneUpstreamCall() {
+        String url = origin + "/etag";
+
+        StepVerifier.create(Mono.zip(client.fetch(url), client.fetch(url), client.fetch(url)))
+                .assertNext(bodies -> assertEquals("hola", bodies.getT3()))
+                .verifyComplete();
+
+        assertEquals(1, hits.get());
+    }
+
+    @Test
+    void revalidatesWithEtagAndReusesTheCachedBody() {
+        String url = origin + "/etag";
+
+        StepVerifier.create(client.fetch(url)).expectNext("hola").verifyComplete();
+        StepVerifier.create(client.fetch(url)).expectNext("hola").verifyComplete();
+
+        assertEquals(2, hits.get());
+        assertEquals(1, notModified.get());
+    }
+
+    @Test
+    void servesFreshResponsesFromCache() {
+        String url = origin + "/fresh";
+
+        StepVerifier.create(client.fetch(url)).expectNext("fresco").verifyComplete();
+        StepVerifier.create(client.fetch(url)).expectNext("fresco").verifyComplete();
+
+        assertEquals(1, hits.get());
+    }
+
+    @Test
+    void failsWhenTheBodyExceedsTheLimit() {
+        StepVerifier.create(client.fetch(origin + "/large")).verifyError(DataBufferLimitException.class);
+    }
+
+    @Test
+    void cachePolicyFollowsCacheControl() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setCacheControl("public, max-age=120");
+        headers.set(HttpHeaders.AGE, "20");
+        assertEquals(Duration.ofSeconds(100), ExternalFetchClient.cachePolicy(headers).freshFor());
+
+        headers.setCacheControl("private, max-age=120");
+        assertFalse(ExternalFetchClient.cachePolicy(headers).storable());
+
+        HttpHeaders noLifetime = new HttpHeaders();
+        assertFalse(ExternalFetchClient.cachePolicy(noLifetime).storable());
+        noLifetime.setETag("\"v2\"");
+        assertTrue(ExternalFetchClient.cachePolicy(noLifetime).storable());
+    }
+}
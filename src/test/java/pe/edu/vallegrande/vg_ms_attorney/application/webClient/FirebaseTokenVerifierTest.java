@@ -0,0 +1,71 @@
+package pe.edu.vallegrande.vg_ms_attorney.application.webClient;
+
+import com.google.firebase.auth.FirebaseAuth;
+import com.google.firebase.auth.FirebaseToken;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import pe.edu.vallegrande.vg_ms_attorney.application.firebase.FirebaseExecutor;
+import pe.edu.vallegrande.vg_ms_attorney.domain.dto.TokenValidationResponse;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.Map;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class FirebaseTokenVerifierTest {
+
+    private final FirebaseExecutor firebaseExecutor = mock(FirebaseExecutor.class);
+    private final FirebaseAuth auth = mock(FirebaseAuth.class);
+    private final FirebaseTokenVerifier verifier = new FirebaseTokenVerifier(firebaseExecutor);
+
+    @BeforeEach
+    void runCallsAgainstMockedAuth() {
+        when(firebaseExecutor.verify(anyString(), any())).thenAnswer(invocation -> {
+            FirebaseExecutor.FirebaseCall<?> call = invocation.getArgument(1);
+            return Mono.fromCallable(() -> call.apply(auth));
+        });
+    }
+
+    @Test
+    void readsRoleAndUidFromVerifiedToken() throws Exception {
+        FirebaseToken decoded = token(Map.of("role", "APODERADO"));
+        when(auth.verifyIdToken("id-token")).thenReturn(decoded);
+
+        StepVerifier.create(verifier.verify("id-token"))
+                .expectNext(new TokenValidationResponse(true, "APODERADO", "uid-1"))
+                .verifyComplete();
+    }
+
+    @Test
+    void completesEmptyWhenTokenHasNoRole() throws Exception {
+        FirebaseToken decoded = token(Map.of("email", "a@b.pe"));
+        when(auth.verifyIdToken("id-token")).thenReturn(decoded);
+
+        StepVerifier.create(verifier.verify("id-token")).verifyComplete();
+    }
+
+    @Test
+    void runsOnVerificationPoolInsteadOfWritePool() throws Exception {
+        FirebaseToken decoded = token(Map.of("role", "ADMIN"));
+        when(auth.verifyIdToken("id-token")).thenReturn(decoded);
+
+        StepVerifier.create(verifier.verify("id-token")).expectNextCount(1).verifyComplete();
+
+        verify(firebaseExecutor).verify(eq("verifyIdToken"), any());
+        verify(firebaseExecutor, never()).call(anyString(), any());
+    }
+
+    private static FirebaseToken token(Map<String, Object> claims) {
+        FirebaseToken decoded = mock(FirebaseToken.class);
+        when(decoded.getClaims()).thenReturn(claims);
+        when(decoded.getUid()).thenReturn("uid-1");
+        return decoded;
+    }
+}
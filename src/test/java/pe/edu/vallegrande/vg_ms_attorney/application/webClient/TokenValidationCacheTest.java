@@ -0,0 +1,65 @@
+package pe.edu.vallegrande.vg_ms_attorney.application.webClient;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import pe.edu.vallegrande.vg_ms_attorney.domain.dto.TokenValidationResponse;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class TokenValidationCacheTest {
+
+    private final TokenValidationCache cache = new TokenValidationCache(100, Duration.ofMinutes(5), new SimpleMeterRegistry());
+
+    @Test
+    void reusesCachedValidation() {
+        AtomicInteger calls = new AtomicInteger();
+        for (int i = 0; i < 3; i++) {
+            StepVerifier.create(cache.get("token", t -> {
+                        calls.incrementAndGet();
+                        return Mono.just(new TokenValidationResponse(true, "ADMIN"));
+                    }))
+                    .expectNext(new TokenValidationResponse(true, "ADMIN"))
+                    .verifyComplete();
+        }
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void coalescesConcurrentValidations() {
+        AtomicInteger calls = new AtomicInteger();
+        Sinks.One<TokenValidationResponse> pending = Sinks.one();
+        Mono<TokenValidationResponse> first = cache.get("shared", t -> {
+            calls.incrementAndGet();
+            return pending.asMono();
+        });
+        Mono<TokenValidationResponse> second = cache.get("shared", t -> {
+            calls.incrementAndGet();
+            return pending.asMono();
+        });
+
+        StepVerifier.create(Mono.zip(first, second))
+                .then(() -> pending.tryEmitValue(new TokenValidationResponse(true, "APODERADO")))
+                .assertNext(both -> assertEquals(both.getT1(), both.getT2()))
+                .verifyComplete();
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void doesNotCacheFailures() {
+        AtomicInteger calls = new AtomicInteger();
+        for (int i = 0; i < 2; i++) {
+            StepVerifier.create(cache.get("failing", t -> {
+                        calls.incrementAndGet();
+                        return Mono.error(new IllegalStateException("auth caído"));
+                    }))
+                    .verifyError(IllegalStateException.class);
+        }
+        assertEquals(2, calls.get());
+    }
+}
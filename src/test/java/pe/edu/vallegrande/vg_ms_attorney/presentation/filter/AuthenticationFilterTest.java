@@ -0,0 +1,83 @@
+package pe.edu.vallegrande.vg_ms_attorney.presentation.filter;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.WebFilterChain;
+import pe.edu.vallegrande.vg_ms_attorney.application.webClient.AuthServiceClient;
+import pe.edu.vallegrande.vg_ms_attorney.domain.dto.TokenValidationResponse;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class AuthenticationFilterTest {
+
+    private final AuthServiceClient authServiceClient = mock(AuthServiceClient.class);
+    private final AuthenticationFilter filter = new AuthenticationFilter(authServiceClient, "/api/v1");
+
+    @Test
+    void rejectsMissingHeaderWithUnauthorized() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(
+                MockServerHttpRequest.get("/directives/attorney/api/v1/actives"));
+
+        StepVerifier.create(filter.filter(exchange, e -> Mono.empty())).verifyComplete();
+
+        assertEquals(HttpStatus.UNAUTHORIZED, exchange.getResponse().getStatusCode());
+        verifyNoInteractions(authServiceClient);
+    }
+
+    @Test
+    void rejectsShortHeaderWithUnauthorized() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(
+                MockServerHttpRequest.get("/api/v1/shared/attorney/actives").header(HttpHeaders.AUTHORIZATION, "Bea"));
+
+        StepVerifier.create(filter.filter(exchange, e -> Mono.empty())).verifyComplete();
+
+        assertEquals(HttpStatus.UNAUTHORIZED, exchange.getResponse().getStatusCode());
+    }
+
+    @Test
+    void rejectsRoleOutsideRouteWithForbidden() {
+        when(authServiceClient.validateToken("abc")).thenReturn(Mono.just(new TokenValidationResponse(true, "APODERADO")));
+        MockServerWebExchange exchange = MockServerWebExchange.from(
+                MockServerHttpRequest.get("/directives/attorney/api/v1/actives").header(HttpHeaders.AUTHORIZATION, "Bearer abc"));
+
+        StepVerifier.create(filter.filter(exchange, e -> Mono.empty())).verifyComplete();
+
+        assertEquals(HttpStatus.FORBIDDEN, exchange.getResponse().getStatusCode());
+    }
+
+    @Test
+    void passesAuthenticatedUserThroughContext() {
+        when(authServiceClient.validateToken("abc")).thenReturn(Mono.just(new TokenValidationResponse(true, "APODERADO", "uid-1")));
+        MockServerWebExchange exchange = MockServerWebExchange.from(
+                MockServerHttpRequest.get("/api/v1/shared/attorney/actives").header(HttpHeaders.AUTHORIZATION, "Bearer abc"));
+        AtomicReference<AuthenticatedUser> seen = new AtomicReference<>();
+        WebFilterChain chain = e -> AuthContext.currentUser().doOnNext(seen::set).then();
+
+        StepVerifier.create(filter.filter(exchange, chain)).verifyComplete();
+
+        assertNull(exchange.getResponse().getStatusCode());
+        assertEquals(new AuthenticatedUser("uid-1", "APODERADO"), seen.get());
+    }
+
+    @Test
+    void leavesPublicRoutesUntouched() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(
+                MockServerHttpRequest.get("/public/attorney/api/v1/actives"));
+
+        StepVerifier.create(filter.filter(exchange, e -> Mono.empty())).verifyComplete();
+
+        assertNull(exchange.getResponse().getStatusCode());
+        verifyNoInteractions(authServiceClient);
+    }
+}